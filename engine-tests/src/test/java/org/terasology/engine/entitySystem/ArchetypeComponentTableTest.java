@@ -0,0 +1,242 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.entitySystem;
+
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.internal.ArchetypeComponentTable;
+import org.terasology.unittest.stubs.IntegerComponent;
+import org.terasology.unittest.stubs.StringComponent;
+
+import java.util.ConcurrentModificationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArchetypeComponentTableTest {
+
+    private ArchetypeComponentTable table;
+
+    @BeforeEach
+    public void setup() {
+        table = new ArchetypeComponentTable();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        IntegerComponent integerComponent = new IntegerComponent(1);
+        StringComponent stringComponent = new StringComponent("a");
+
+        assertNull(table.put(1, integerComponent));
+        assertNull(table.put(1, stringComponent));
+
+        assertSame(integerComponent, table.get(1, IntegerComponent.class));
+        assertSame(stringComponent, table.get(1, StringComponent.class));
+        assertNull(table.get(1, FlagComponent.class));
+        assertNull(table.get(2, IntegerComponent.class));
+    }
+
+    @Test
+    public void testPutReplaces() {
+        IntegerComponent first = new IntegerComponent(1);
+        IntegerComponent second = new IntegerComponent(2);
+        table.put(1, first);
+
+        assertSame(first, table.put(1, second));
+        assertSame(second, table.get(1, IntegerComponent.class));
+        assertEquals(1, table.getComponentCount(IntegerComponent.class));
+    }
+
+    @Test
+    public void testRemoveKeepsOtherEntities() {
+        for (long id = 1; id <= 10; id++) {
+            table.put(id, new IntegerComponent((int) id));
+            table.put(id, new StringComponent("" + id));
+        }
+
+        assertEquals(new IntegerComponent(3), table.remove(3, IntegerComponent.class));
+        table.remove(5);
+
+        assertNull(table.get(3, IntegerComponent.class));
+        assertEquals(new StringComponent("3"), table.get(3, StringComponent.class));
+        assertNull(table.get(5, StringComponent.class));
+        for (long id = 1; id <= 10; id++) {
+            if (id != 3 && id != 5) {
+                assertEquals(new IntegerComponent((int) id), table.get(id, IntegerComponent.class));
+                assertEquals(new StringComponent("" + id), table.get(id, StringComponent.class));
+            }
+        }
+        assertEquals(8, table.getComponentCount(IntegerComponent.class));
+        assertEquals(9, table.getComponentCount(StringComponent.class));
+        assertEquals(9, table.numEntities());
+    }
+
+    @Test
+    public void testRemovingLastComponentRemovesEntity() {
+        table.put(1, new IntegerComponent());
+
+        table.remove(1, IntegerComponent.class);
+
+        assertEquals(0, table.numEntities());
+        assertTrue(table.getComponentsInNewList(1).isEmpty());
+    }
+
+    @Test
+    public void testEntitiesWith() {
+        for (long id = 1; id <= 100; id++) {
+            table.put(id, new IntegerComponent());
+            if (id % 2 == 0) {
+                table.put(id, new StringComponent());
+            }
+            if (id % 3 == 0) {
+                table.put(id, new FlagComponent());
+            }
+        }
+
+        TLongSet found = new TLongHashSet(table.getEntityIdsWith(StringComponent.class, FlagComponent.class));
+
+        assertEquals(16, found.size());
+        for (long id = 6; id <= 100; id += 6) {
+            assertTrue(found.contains(id));
+        }
+        assertEquals(16, table.getEntityCountWith(StringComponent.class, FlagComponent.class));
+        assertEquals(50, table.getEntityCountWith(IntegerComponent.class, StringComponent.class));
+        assertEquals(100, table.getEntityCountWith());
+    }
+
+    @Test
+    public void testComponentIterator() {
+        for (long id = 1; id <= 10; id++) {
+            table.put(id, new IntegerComponent((int) id));
+            if (id % 2 == 0) {
+                table.put(id, new StringComponent());
+            }
+        }
+
+        TLongSet found = new TLongHashSet();
+        TLongObjectIterator<IntegerComponent> iterator = table.componentIterator(IntegerComponent.class);
+        while (iterator.hasNext()) {
+            iterator.advance();
+            assertEquals(iterator.key(), iterator.value().value);
+            found.add(iterator.key());
+        }
+
+        assertEquals(10, found.size());
+        assertNull(table.componentIterator(FlagComponent.class));
+    }
+
+    @Test
+    public void testComponentIteratorFailsFastWhenEntitiesMove() {
+        for (long id = 1; id <= 10; id++) {
+            table.put(id, new IntegerComponent((int) id));
+        }
+
+        TLongObjectIterator<IntegerComponent> iterator = table.componentIterator(IntegerComponent.class);
+        iterator.advance();
+        table.put(iterator.key(), new StringComponent());
+
+        assertThrows(ConcurrentModificationException.class, iterator::advance);
+    }
+
+    @Test
+    public void testComponentIteratorFailsFastWhenEntitiesAreRemoved() {
+        for (long id = 1; id <= 10; id++) {
+            table.put(id, new IntegerComponent((int) id));
+        }
+
+        TLongObjectIterator<IntegerComponent> iterator = table.componentIterator(IntegerComponent.class);
+        iterator.advance();
+        table.remove(iterator.key());
+
+        assertThrows(ConcurrentModificationException.class, iterator::advance);
+    }
+
+    @Test
+    public void testComponentIteratorAllowsReplacingComponents() {
+        for (long id = 1; id <= 10; id++) {
+            table.put(id, new IntegerComponent((int) id));
+        }
+
+        int visited = 0;
+        TLongObjectIterator<IntegerComponent> iterator = table.componentIterator(IntegerComponent.class);
+        while (iterator.hasNext()) {
+            iterator.advance();
+            table.put(iterator.key(), new IntegerComponent(0));
+            visited++;
+        }
+
+        assertEquals(10, visited);
+    }
+
+    @Test
+    public void testComponentIteratorIgnoresEntitiesWithoutItsComponent() {
+        for (long id = 1; id <= 10; id++) {
+            table.put(id, new IntegerComponent((int) id));
+        }
+        table.put(11, new StringComponent());
+
+        int visited = 0;
+        TLongObjectIterator<IntegerComponent> iterator = table.componentIterator(IntegerComponent.class);
+        while (iterator.hasNext()) {
+            iterator.advance();
+            table.put(100 + iterator.key(), new StringComponent());
+            table.put(11, new FlagComponent());
+            table.remove(11, FlagComponent.class);
+            visited++;
+        }
+
+        assertEquals(10, visited);
+    }
+
+    @Test
+    public void testComponentIteratorRemove() {
+        for (long id = 1; id <= 10; id++) {
+            table.put(id, new IntegerComponent((int) id));
+            if (id % 2 == 0) {
+                table.put(id, new StringComponent());
+            }
+        }
+
+        TLongSet visited = new TLongHashSet();
+        TLongObjectIterator<IntegerComponent> iterator = table.componentIterator(IntegerComponent.class);
+        while (iterator.hasNext()) {
+            iterator.advance();
+            assertTrue(visited.add(iterator.key()));
+            if (iterator.key() % 3 != 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(10, visited.size());
+        assertEquals(3, table.getComponentCount(IntegerComponent.class));
+        assertEquals(3, table.getEntityCountWith(IntegerComponent.class));
+        for (long id = 1; id <= 10; id++) {
+            assertEquals(id % 3 == 0, table.get(id, IntegerComponent.class) != null);
+        }
+        // entities which had other components keep them
+        assertEquals(5, table.getComponentCount(StringComponent.class));
+        assertNull(table.get(1, StringComponent.class));
+        assertEquals(7, table.numEntities());
+    }
+
+    @Test
+    public void testComponentIteratorRemoveNeedsAdvance() {
+        table.put(1, new IntegerComponent(1));
+        table.put(2, new IntegerComponent(2));
+
+        TLongObjectIterator<IntegerComponent> iterator = table.componentIterator(IntegerComponent.class);
+        assertThrows(IllegalStateException.class, iterator::remove);
+        iterator.advance();
+        iterator.remove();
+        assertThrows(IllegalStateException.class, iterator::remove);
+    }
+
+    private static final class FlagComponent implements Component {
+    }
+}
@@ -190,6 +190,46 @@ public void testEventReceiverRegistration() {
         assertEquals(1, receiver.eventList.size());
     }
 
+    @Test
+    public void testHandlersFollowComponentChanges() {
+        TestCompoundComponentEventHandler handler = new TestCompoundComponentEventHandler();
+        eventSystem.registerEventHandler(handler);
+
+        entity.addComponent(new StringComponent());
+        eventSystem.send(entity, new TestEvent());
+        assertEquals(0, handler.receivedList.size());
+
+        entity.addComponent(new IntegerComponent());
+        eventSystem.send(entity, new TestEvent());
+        assertEquals(1, handler.receivedList.size());
+
+        entity.removeComponent(StringComponent.class);
+        eventSystem.send(entity, new TestEvent());
+        assertEquals(1, handler.receivedList.size());
+    }
+
+    @Test
+    public void testHandlersFollowRegistrationChanges() {
+        entity.addComponent(new StringComponent());
+        TestEventHandler handlerNormal = new TestEventHandler();
+        eventSystem.registerEventHandler(handlerNormal);
+
+        eventSystem.send(entity, new TestEvent());
+        assertEquals(1, handlerNormal.receivedList.size());
+
+        TestHighPriorityEventHandler handlerHigh = new TestHighPriorityEventHandler();
+        handlerHigh.cancel = true;
+        eventSystem.registerEventHandler(handlerHigh);
+        eventSystem.send(entity, new TestEvent());
+        assertEquals(1, handlerHigh.receivedList.size());
+        assertEquals(1, handlerNormal.receivedList.size());
+
+        eventSystem.unregisterEventHandler(handlerHigh);
+        eventSystem.send(entity, new TestEvent());
+        assertEquals(1, handlerHigh.receivedList.size());
+        assertEquals(2, handlerNormal.receivedList.size());
+    }
+
     private static class TestEvent extends AbstractConsumableEvent {
 
     }
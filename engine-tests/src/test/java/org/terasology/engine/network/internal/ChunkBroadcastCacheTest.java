@@ -0,0 +1,100 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.blockdata.TeraArray;
+import org.terasology.engine.world.chunks.blockdata.TeraDenseArray16Bit;
+import org.terasology.engine.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.engine.world.chunks.internal.ChunkImpl;
+import org.terasology.protobuf.EntityData;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ChunkBroadcastCacheTest {
+
+    private static final long BUDGET = 1024 * 1024;
+
+    @Test
+    public void testEncodesOnce() {
+        ChunkBroadcastCache cache = new ChunkBroadcastCache(BUDGET);
+        Chunk chunk = createChunk(new Vector3i(1, 2, 3));
+
+        EntityData.ChunkStore first = cache.getEncoded(chunk);
+        EntityData.ChunkStore second = cache.getEncoded(chunk);
+
+        assertSame(first, second);
+        assertEquals(chunk.encode().build(), first);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testChangeInvalidatesChunk() {
+        ChunkBroadcastCache cache = new ChunkBroadcastCache(BUDGET);
+        Chunk chunk = createChunk(new Vector3i(1, 0, 0));
+        Chunk otherChunk = createChunk(new Vector3i(0, 0, 0));
+        EntityData.ChunkStore encoded = cache.getEncoded(chunk);
+        EntityData.ChunkStore otherEncoded = cache.getEncoded(otherChunk);
+
+        Vector3i blockPos = new Vector3i(Chunks.SIZE_X + 1, 2, 3);
+        chunk.setExtraData(0, Chunks.toRelative(blockPos, new Vector3i()), 7);
+        cache.onExtraDataChanged(0, blockPos, 7, 0);
+
+        EntityData.ChunkStore updated = cache.getEncoded(chunk);
+        assertNotSame(encoded, updated);
+        assertEquals(chunk.encode().build(), updated);
+        assertSame(otherEncoded, cache.getEncoded(otherChunk));
+    }
+
+    @Test
+    public void testReloadedChunkIsEncodedAgain() {
+        ChunkBroadcastCache cache = new ChunkBroadcastCache(BUDGET);
+        EntityData.ChunkStore encoded = cache.getEncoded(createChunk(new Vector3i()));
+
+        assertNotSame(encoded, cache.getEncoded(createChunk(new Vector3i())));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        Chunk first = createChunk(new Vector3i(0, 0, 0));
+        Chunk second = createChunk(new Vector3i(1, 0, 0));
+        Chunk third = createChunk(new Vector3i(2, 0, 0));
+        int chunkSize = first.encode().build().getSerializedSize();
+        ChunkBroadcastCache cache = new ChunkBroadcastCache(2L * chunkSize);
+
+        EntityData.ChunkStore firstEncoded = cache.getEncoded(first);
+        EntityData.ChunkStore secondEncoded = cache.getEncoded(second);
+        cache.getEncoded(first);
+        cache.getEncoded(third);
+
+        assertEquals(2L * chunkSize, cache.getSize());
+        assertSame(firstEncoded, cache.getEncoded(first));
+        assertNotSame(secondEncoded, cache.getEncoded(second));
+    }
+
+    @Test
+    public void testZeroBudgetKeepsNothing() {
+        ChunkBroadcastCache cache = new ChunkBroadcastCache(0);
+        Chunk chunk = createChunk(new Vector3i());
+
+        cache.getEncoded(chunk);
+        cache.getEncoded(chunk);
+
+        assertEquals(0, cache.getSize());
+        assertEquals(2, cache.getMisses());
+    }
+
+    private static Chunk createChunk(Vector3i pos) {
+        TeraArray blocks = new TeraDenseArray16Bit(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z);
+        blocks.set(0, 0, 0, 1);
+        TeraArray[] extra = {new TeraDenseArray8Bit(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z)};
+        return new ChunkImpl(pos, blocks, extra, null);
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.chunks.Chunk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ChunkSendQueueTest {
+
+    private ChunkSendQueue queue;
+
+    @BeforeEach
+    public void setup() {
+        queue = new ChunkSendQueue();
+    }
+
+    @Test
+    public void testPollsNearestFirst() {
+        Chunk far = mock(Chunk.class);
+        Chunk near = mock(Chunk.class);
+        Chunk middle = mock(Chunk.class);
+        queue.add(new Vector3i(5, 0, 0), far);
+        queue.add(new Vector3i(0, 1, 0), near);
+        queue.add(new Vector3i(0, 0, -3), middle);
+
+        assertEquals(3, queue.size());
+        assertSame(near, queue.poll());
+        assertSame(middle, queue.poll());
+        assertSame(far, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testReordersWhenCenterMoves() {
+        Chunk west = mock(Chunk.class);
+        Chunk east = mock(Chunk.class);
+        queue.add(new Vector3i(-2, 0, 0), west);
+        queue.add(new Vector3i(3, 0, 0), east);
+
+        queue.setCenter(new Vector3i(3, 0, 0));
+
+        assertSame(east, queue.poll());
+        assertSame(west, queue.poll());
+    }
+
+    @Test
+    public void testRemovedChunksAreSkipped() {
+        Chunk removed = mock(Chunk.class);
+        Chunk kept = mock(Chunk.class);
+        queue.add(new Vector3i(0, 0, 0), removed);
+        queue.add(new Vector3i(1, 0, 0), kept);
+
+        assertTrue(queue.remove(new Vector3i(0, 0, 0)));
+        assertFalse(queue.remove(new Vector3i(0, 0, 0)));
+
+        assertEquals(1, queue.size());
+        assertSame(kept, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testReaddedChunkReplacesPrevious() {
+        Chunk previous = mock(Chunk.class);
+        Chunk current = mock(Chunk.class);
+        queue.add(new Vector3i(0, 0, 0), previous);
+        queue.remove(new Vector3i(0, 0, 0));
+        for (int i = 0; i < 100; i++) {
+            queue.add(new Vector3i(0, 0, 0), previous);
+        }
+        queue.add(new Vector3i(0, 0, 0), current);
+
+        assertEquals(1, queue.size());
+        assertSame(current, queue.poll());
+        assertNull(queue.poll());
+    }
+}
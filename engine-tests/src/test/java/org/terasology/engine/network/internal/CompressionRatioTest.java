@@ -0,0 +1,51 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressionRatioTest {
+
+    @Test
+    public void testUncompressedUntilSampled() {
+        CompressionRatio ratio = new CompressionRatio();
+        ratio.record(CompressionRatio.SAMPLE_BYTES - 1, 100);
+
+        assertEquals(1, ratio.getRatio());
+        assertEquals(1000, ratio.estimateWireSize(1000));
+    }
+
+    @Test
+    public void testApproachesMeasuredRatio() {
+        CompressionRatio ratio = new CompressionRatio();
+        for (int i = 0; i < 100; i++) {
+            ratio.record(CompressionRatio.SAMPLE_BYTES, CompressionRatio.SAMPLE_BYTES / 4);
+        }
+
+        assertEquals(0.25f, ratio.getRatio(), 0.001f);
+        assertEquals(250, ratio.estimateWireSize(1000));
+    }
+
+    @Test
+    public void testSamplesCollectAcrossCalls() {
+        CompressionRatio ratio = new CompressionRatio();
+        ratio.record(CompressionRatio.SAMPLE_BYTES / 2, 0);
+        ratio.record(CompressionRatio.SAMPLE_BYTES / 2, CompressionRatio.SAMPLE_BYTES / 2);
+
+        assertTrue(ratio.getRatio() < 1);
+    }
+
+    @Test
+    public void testEstimateIsAtLeastOneByte() {
+        CompressionRatio ratio = new CompressionRatio();
+        for (int i = 0; i < 100; i++) {
+            ratio.record(CompressionRatio.SAMPLE_BYTES, 0);
+        }
+
+        assertTrue(ratio.getRatio() > 0);
+        assertEquals(1, ratio.estimateWireSize(1));
+    }
+}
@@ -0,0 +1,85 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.protobuf.EntityData;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EntityDeltaCacheTest {
+
+    private NetworkEntitySerializer serializer;
+    private EntityRef entity;
+    private EntityDeltaCache cache;
+
+    @BeforeEach
+    public void setup() {
+        serializer = mock(NetworkEntitySerializer.class);
+        when(serializer.serialize(any(EntityRef.class), any(BitSet.class), any(BitSet.class), any(BitSet.class), any()))
+                .thenAnswer(invocation -> EntityData.PackedEntity.newBuilder().build());
+        entity = mock(EntityRef.class);
+        cache = new EntityDeltaCache();
+    }
+
+    @Test
+    public void testSameChangesSerializedOnce() {
+        EntityData.PackedEntity first = cache.getUpdate(serializer, 1, entity, changed(4), false);
+        EntityData.PackedEntity second = cache.getUpdate(serializer, 1, entity, changed(4), false);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testOwnerAndOtherChangesSerializedSeparately() {
+        cache.getUpdate(serializer, 1, entity, changed(4), true);
+        cache.getUpdate(serializer, 1, entity, changed(4), false);
+        cache.getUpdate(serializer, 1, entity, changed(5), false);
+        cache.getUpdate(serializer, 2, entity, changed(4), false);
+
+        assertEquals(0, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void testInvalidatedEntitySerializedAgain() {
+        cache.getUpdate(serializer, 1, entity, changed(4), false);
+        cache.invalidate(1);
+        cache.getUpdate(serializer, 1, entity, changed(4), false);
+        cache.clear();
+        cache.getUpdate(serializer, 1, entity, changed(4), false);
+
+        verify(serializer, times(3)).serialize(any(EntityRef.class), any(BitSet.class), any(BitSet.class),
+                any(BitSet.class), any());
+    }
+
+    @Test
+    public void testEmptyUpdateIsShared() {
+        when(serializer.serialize(any(EntityRef.class), any(BitSet.class), any(BitSet.class), any(BitSet.class), any()))
+                .thenReturn(null);
+
+        assertNull(cache.getUpdate(serializer, 1, entity, changed(4), false));
+        assertNull(cache.getUpdate(serializer, 1, entity, changed(4), false));
+        assertEquals(1, cache.getMisses());
+    }
+
+    private static EntityDelta changed(int componentId) {
+        EntityDelta delta = new EntityDelta();
+        delta.componentChanged(componentId);
+        return delta;
+    }
+}
@@ -0,0 +1,69 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EntityDeltaTest {
+
+    @Test
+    public void testChangeOfAddedComponentIsPartOfAdd() {
+        EntityDelta delta = new EntityDelta();
+        delta.componentAdded(3);
+        delta.componentChanged(3);
+
+        assertEquals(bits(3), delta.getAdded());
+        assertTrue(delta.getChanged().isEmpty());
+    }
+
+    @Test
+    public void testAddAndRemoveCancelOut() {
+        EntityDelta delta = new EntityDelta();
+        delta.componentAdded(3);
+        delta.componentRemoved(3);
+
+        assertTrue(delta.isEmpty());
+    }
+
+    @Test
+    public void testRemoveAndAddIsChange() {
+        EntityDelta delta = new EntityDelta();
+        delta.componentChanged(1);
+        delta.componentRemoved(1);
+        assertEquals(bits(1), delta.getRemoved());
+        assertTrue(delta.getChanged().isEmpty());
+
+        delta.componentAdded(1);
+        assertEquals(bits(1), delta.getChanged());
+        assertTrue(delta.getRemoved().isEmpty());
+    }
+
+    @Test
+    public void testEqualChanges() {
+        EntityDelta first = new EntityDelta();
+        first.componentChanged(2);
+        first.componentAdded(5);
+        EntityDelta second = new EntityDelta();
+        second.componentAdded(5);
+        second.componentChanged(2);
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        second.componentRemoved(7);
+        assertNotEquals(first, second);
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet result = new BitSet();
+        for (int id : ids) {
+            result.set(id);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,146 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.network.NetworkComponent.ReplicateMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NetworkInterestManagerTest {
+
+    private static final String FIRST = "first";
+    private static final String SECOND = "second";
+
+    private SetMultimap<String, Integer> replicated;
+    private NetworkInterestManager<String> manager;
+
+    @BeforeEach
+    public void setup() {
+        replicated = HashMultimap.create();
+        manager = new NetworkInterestManager<>(
+                (client, netId) -> assertTrue(replicated.put(client, netId)),
+                (client, netId) -> assertTrue(replicated.remove(client, netId)));
+        manager.addClient(FIRST);
+        manager.addClient(SECOND);
+    }
+
+    @Test
+    public void testAlwaysReplicatedToAllClients() {
+        manager.addEntity(1, ReplicateMode.ALWAYS, new Vector3i(4, 0, 0), null);
+
+        assertTrue(replicated.containsEntry(FIRST, 1));
+        assertTrue(replicated.containsEntry(SECOND, 1));
+    }
+
+    @Test
+    public void testOwnerReplicatedToOwnerOnly() {
+        manager.addEntity(1, ReplicateMode.OWNER, null, FIRST);
+        assertTrue(replicated.containsEntry(FIRST, 1));
+        assertFalse(replicated.containsEntry(SECOND, 1));
+
+        manager.setOwner(1, SECOND);
+        assertFalse(replicated.containsEntry(FIRST, 1));
+        assertTrue(replicated.containsEntry(SECOND, 1));
+    }
+
+    @Test
+    public void testRelevantReplicatedToClientsWithChunk() {
+        manager.addRelevantChunk(FIRST, new Vector3i(0, 0, 0));
+        manager.addEntity(1, ReplicateMode.RELEVANT, new Vector3i(0, 0, 0), null);
+        manager.addEntity(2, ReplicateMode.RELEVANT, new Vector3i(1, 0, 0), null);
+
+        assertTrue(replicated.containsEntry(FIRST, 1));
+        assertFalse(replicated.containsEntry(SECOND, 1));
+        assertFalse(replicated.containsEntry(FIRST, 2));
+        assertEquals(1, manager.getSubscribers(1).size());
+        assertTrue(manager.getSubscribers(2).isEmpty());
+    }
+
+    @Test
+    public void testRelevantWithoutPositionReplicatedToAllClients() {
+        manager.addEntity(1, ReplicateMode.RELEVANT, null, null);
+
+        assertTrue(replicated.containsEntry(FIRST, 1));
+        assertTrue(replicated.containsEntry(SECOND, 1));
+    }
+
+    @Test
+    public void testEntityMovingBetweenChunks() {
+        manager.addRelevantChunk(FIRST, new Vector3i(0, 0, 0));
+        manager.addRelevantChunk(SECOND, new Vector3i(1, 0, 0));
+        manager.addEntity(1, ReplicateMode.RELEVANT, new Vector3i(0, 0, 0), null);
+
+        manager.moveEntity(1, new Vector3i(1, 0, 0));
+        assertFalse(replicated.containsEntry(FIRST, 1));
+        assertTrue(replicated.containsEntry(SECOND, 1));
+
+        manager.moveEntity(1, null);
+        assertTrue(replicated.containsEntry(FIRST, 1));
+        assertTrue(replicated.containsEntry(SECOND, 1));
+    }
+
+    @Test
+    public void testClientGainingAndLosingChunk() {
+        manager.addEntity(1, ReplicateMode.RELEVANT, new Vector3i(2, 0, 0), null);
+        assertFalse(replicated.containsEntry(FIRST, 1));
+
+        manager.addRelevantChunk(FIRST, new Vector3i(2, 0, 0));
+        assertTrue(replicated.containsEntry(FIRST, 1));
+
+        manager.removeRelevantChunk(FIRST, new Vector3i(2, 0, 0));
+        assertFalse(replicated.containsEntry(FIRST, 1));
+    }
+
+    @Test
+    public void testOwnerKeepsRelevantEntityOutsideChunks() {
+        manager.addEntity(1, ReplicateMode.RELEVANT, new Vector3i(5, 0, 0), FIRST);
+        assertTrue(replicated.containsEntry(FIRST, 1));
+        assertFalse(replicated.containsEntry(SECOND, 1));
+
+        manager.addRelevantChunk(FIRST, new Vector3i(5, 0, 0));
+        manager.removeRelevantChunk(FIRST, new Vector3i(5, 0, 0));
+        assertTrue(replicated.containsEntry(FIRST, 1));
+    }
+
+    @Test
+    public void testRemovedEntityUnsubscribesClients() {
+        manager.addEntity(1, ReplicateMode.ALWAYS, null, null);
+        manager.removeEntity(1);
+
+        assertTrue(replicated.isEmpty());
+        assertTrue(manager.getSubscribers(1).isEmpty());
+    }
+
+    @Test
+    public void testNewClientReceivesRelevantEntities() {
+        manager.addEntity(1, ReplicateMode.ALWAYS, null, null);
+        manager.addEntity(2, ReplicateMode.OWNER, null, "third");
+        manager.addEntity(3, ReplicateMode.RELEVANT, new Vector3i(), null);
+
+        manager.addClient("third");
+
+        assertTrue(replicated.containsEntry("third", 1));
+        assertTrue(replicated.containsEntry("third", 2));
+        assertFalse(replicated.containsEntry("third", 3));
+    }
+
+    @Test
+    public void testRemovedClientIsForgotten() {
+        manager.addRelevantChunk(FIRST, new Vector3i());
+        manager.addEntity(1, ReplicateMode.RELEVANT, new Vector3i(), null);
+
+        manager.removeClient(FIRST);
+        manager.moveEntity(1, new Vector3i(1, 0, 0));
+        manager.moveEntity(1, new Vector3i());
+
+        assertFalse(manager.isSubscribed(FIRST, 1));
+        assertTrue(manager.getSubscribers(1).isEmpty());
+    }
+}
@@ -0,0 +1,122 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.protobuf.ProtobufDecoder;
+import io.netty.handler.codec.protobuf.ProtobufEncoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+import org.junit.jupiter.api.Test;
+import org.terasology.protobuf.EntityData;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ProtobufFrameEncoderTest {
+
+    /**
+     * Payload sizes giving messages whose lengths take 1 (up to 127), 2 (up to 16383) and 3 byte varints.
+     */
+    private static final int[] PAYLOAD_SIZES = {0, 1, 125, 126, 1000, 16380, 16381, 20000, 300000};
+
+    @Test
+    public void testPayloadSizesCoverVarintLengths() {
+        List<Integer> varintSizes = IntStream.of(PAYLOAD_SIZES)
+                .map(size -> CodedOutputStream.computeRawVarint32Size(message(size).getSerializedSize()))
+                .distinct().boxed().collect(Collectors.toList());
+
+        assertEquals(List.of(1, 2, 3), varintSizes);
+    }
+
+    @Test
+    public void testOutputMatchesEncoderAndPrepender() {
+        for (int size : PAYLOAD_SIZES) {
+            EntityData.Value message = message(size);
+
+            byte[] expected = writeOutbound(new EmbeddedChannel(new ProtobufVarint32LengthFieldPrepender(),
+                    new ProtobufEncoder()), message);
+            byte[] actual = writeOutbound(new EmbeddedChannel(new ProtobufFrameEncoder()), message);
+
+            assertArrayEquals(expected, actual, "payload of " + size + " bytes");
+        }
+    }
+
+    @Test
+    public void testHeapAndDirectBuffersGetSameOutput() throws Exception {
+        ProtobufFrameEncoder encoder = new ProtobufFrameEncoder();
+        for (int size : PAYLOAD_SIZES) {
+            EntityData.Value message = message(size);
+            ByteBuf heap = Unpooled.buffer();
+            ByteBuf direct = Unpooled.directBuffer();
+            try {
+                encoder.encode(null, message, heap);
+                encoder.encode(null, message, direct);
+
+                assertArrayEquals(ByteBufUtil.getBytes(heap), ByteBufUtil.getBytes(direct),
+                        "payload of " + size + " bytes");
+            } finally {
+                heap.release();
+                direct.release();
+            }
+        }
+    }
+
+    @Test
+    public void testOutputDecodesWithFrameDecoder() {
+        EmbeddedChannel encoder = new EmbeddedChannel(new ProtobufFrameEncoder());
+        for (int size : PAYLOAD_SIZES) {
+            encoder.writeOutbound(message(size));
+        }
+        EmbeddedChannel decoder = new EmbeddedChannel(new ProtobufVarint32FrameDecoder(),
+                new ProtobufDecoder(EntityData.Value.getDefaultInstance()));
+        // hand the frames over in small pieces, so frames and their lengths are split between reads
+        ByteBuf stream = Unpooled.buffer();
+        for (ByteBuf frame = encoder.readOutbound(); frame != null; frame = encoder.readOutbound()) {
+            stream.writeBytes(frame);
+            frame.release();
+        }
+        while (stream.isReadable()) {
+            decoder.writeInbound(stream.readRetainedSlice(Math.min(1000, stream.readableBytes())));
+        }
+        stream.release();
+
+        for (int size : PAYLOAD_SIZES) {
+            assertEquals(message(size), decoder.readInbound());
+        }
+        assertNull(decoder.readInbound());
+        encoder.finishAndReleaseAll();
+        decoder.finishAndReleaseAll();
+    }
+
+    private static EntityData.Value message(int payloadSize) {
+        byte[] payload = new byte[payloadSize];
+        for (int i = 0; i < payloadSize; i++) {
+            payload[i] = (byte) i;
+        }
+        return EntityData.Value.newBuilder().setBytes(ByteString.copyFrom(payload)).build();
+    }
+
+    private static byte[] writeOutbound(EmbeddedChannel channel, EntityData.Value message) {
+        channel.writeOutbound(message);
+        ByteBuf output = Unpooled.buffer();
+        for (ByteBuf buffer = channel.readOutbound(); buffer != null; buffer = channel.readOutbound()) {
+            output.writeBytes(buffer);
+            buffer.release();
+        }
+        channel.finishAndReleaseAll();
+        byte[] result = ByteBufUtil.getBytes(output);
+        output.release();
+        return result;
+    }
+}
@@ -4,20 +4,36 @@
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
+import org.joml.Vector3f;
 import org.junit.jupiter.api.Test;
 import org.terasology.engine.core.module.ModuleManager;
 import org.terasology.engine.entitySystem.Component;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.particles.ParticleData;
+import org.terasology.engine.particles.ParticleDataMask;
+import org.terasology.engine.particles.ParticlePool;
 import org.terasology.engine.particles.components.ParticleEmitterComponent;
+import org.terasology.engine.particles.components.affectors.AccelerationAffectorComponent;
 import org.terasology.engine.particles.components.affectors.VelocityAffectorComponent;
 import org.terasology.engine.particles.components.generators.EnergyRangeGeneratorComponent;
+import org.terasology.engine.particles.functions.affectors.AccelerationAffectorFunction;
+import org.terasology.engine.particles.functions.affectors.AffectorFunction;
+import org.terasology.engine.particles.functions.affectors.VelocityAffectorFunction;
 import org.terasology.engine.physics.Physics;
 import org.terasology.engine.physics.engine.PhysicsEngine;
+import org.terasology.engine.utilities.random.FastRandom;
+import org.terasology.engine.utilities.random.Random;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -27,12 +43,16 @@
  */
 public class ParticleUpdaterImplTest {
 
+    private static final int POOL_SIZE = 500;
+
+    private Physics physics;
+    private ModuleManager moduleManager;
     private ParticleUpdater particleUpdater;
 
     @BeforeEach
     public void setUp() throws Exception {
-        Physics physics = mock(PhysicsEngine.class);
-        ModuleManager moduleManager = mock(ModuleManager.class);
+        physics = mock(PhysicsEngine.class);
+        moduleManager = mock(ModuleManager.class);
         particleUpdater = new ParticleUpdaterImpl(physics, moduleManager);
     }
 
@@ -89,4 +109,125 @@ public void testEmitterConfiguration() {
             }
         }
     }
+
+    @Test
+    public void testBulkAffectorUpdateMatchesPerParticleUpdate() {
+        VelocityAffectorFunction velocityFunction = new VelocityAffectorFunction();
+        VelocityAffectorComponent velocityComponent = new VelocityAffectorComponent();
+        AccelerationAffectorFunction accelerationFunction = new AccelerationAffectorFunction();
+        AccelerationAffectorComponent accelerationComponent =
+                new AccelerationAffectorComponent(new Vector3f(0.5f, -9.81f, 2));
+        ParticlePool bulk = createPool(new FastRandom(12));
+        ParticlePool perParticle = createPool(new FastRandom(12));
+        FastRandom random = new FastRandom();
+
+        velocityFunction.update(velocityComponent, bulk, 0, bulk.livingParticles(), random, 0.1f);
+        accelerationFunction.update(accelerationComponent, bulk, 0, bulk.livingParticles(), random, 0.1f);
+        for (int i = 0; i < perParticle.livingParticles(); i++) {
+            perParticle.loadTemporaryDataFrom(i, ParticleDataMask.ALL.toInt());
+            velocityFunction.update(velocityComponent, perParticle.temporaryParticleData, random, 0.1f);
+            accelerationFunction.update(accelerationComponent, perParticle.temporaryParticleData, random, 0.1f);
+            perParticle.storeTemporaryDataAt(i, ParticleDataMask.ALL.toInt());
+        }
+
+        assertArrayEquals(perParticle.position, bulk.position);
+        assertArrayEquals(perParticle.velocity, bulk.velocity);
+    }
+
+    @Test
+    public void testParallelPoolUpdatesMatchSerialUpdates() {
+        ParticleUpdaterImpl serialUpdater = new ParticleUpdaterImpl(physics, moduleManager, false);
+        ParticleUpdaterImpl parallelUpdater = new ParticleUpdaterImpl(physics, moduleManager, true);
+        List<ParticleEmitterComponent> serialEmitters = createEmitters(new FastRandom(12), 32);
+        List<ParticleEmitterComponent> parallelEmitters = createEmitters(new FastRandom(12), 32);
+
+        for (int step = 0; step < 10; step++) {
+            serialUpdater.updateParticlePools(serialEmitters, 0.1f);
+            parallelUpdater.updateParticlePools(parallelEmitters, 0.1f);
+        }
+
+        for (int i = 0; i < serialEmitters.size(); i++) {
+            ParticlePool serialPool = serialEmitters.get(i).particlePool;
+            ParticlePool parallelPool = parallelEmitters.get(i).particlePool;
+            assertEquals(serialPool.livingParticles(), parallelPool.livingParticles());
+            assertArrayEquals(serialPool.energy, parallelPool.energy);
+            assertArrayEquals(serialPool.position, parallelPool.position);
+            assertArrayEquals(serialPool.velocity, parallelPool.velocity);
+        }
+    }
+
+    @Test
+    public void testPoolsWithUnsafeAffectorsAreUpdatedOnCallingThread() {
+        ParticleUpdaterImpl updater = new ParticleUpdaterImpl(physics, moduleManager, true);
+        List<ParticleEmitterComponent> emitters = createEmitters(new FastRandom(12), 32);
+        List<Thread> threads = new ArrayList<>();
+        AffectorFunction<VelocityAffectorComponent> unsafeFunction =
+                new AffectorFunction<VelocityAffectorComponent>(ParticleDataMask.VELOCITY) {
+                    @Override
+                    public void update(VelocityAffectorComponent component, ParticleData particleData, Random random,
+                                       float delta) {
+                        // does nothing
+                    }
+
+                    @Override
+                    public void beforeUpdates(VelocityAffectorComponent component, Random random, float delta) {
+                        threads.add(Thread.currentThread());
+                    }
+                };
+        for (int i = 0; i < emitters.size(); i += 2) {
+            emitters.get(i).affectorFunctionMap.put(new VelocityAffectorComponent(), unsafeFunction);
+        }
+
+        updater.updateParticlePools(emitters, 0.1f);
+
+        assertEquals(emitters.size() / 2, threads.size());
+        for (Thread thread : threads) {
+            assertSame(Thread.currentThread(), thread);
+        }
+    }
+
+    @Test
+    public void testSharedPoolIsUpdatedOnce() {
+        ParticleUpdaterImpl updater = new ParticleUpdaterImpl(physics, moduleManager, true);
+        List<ParticleEmitterComponent> emitters = createEmitters(new FastRandom(12), 2);
+        emitters.get(1).particlePool = emitters.get(0).particlePool;
+        Arrays.fill(emitters.get(0).particlePool.energy, 1f);
+        float[] expectedEnergy = new float[POOL_SIZE];
+        Arrays.fill(expectedEnergy, 1f - 0.1f);
+
+        List<ParticleEmitterComponent> updated = updater.updateParticlePools(emitters, 0.1f);
+
+        assertEquals(1, updated.size());
+        assertSame(emitters.get(0), updated.get(0));
+        assertArrayEquals(expectedEnergy, emitters.get(0).particlePool.energy);
+    }
+
+    private List<ParticleEmitterComponent> createEmitters(FastRandom random, int count) {
+        List<ParticleEmitterComponent> emitters = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ParticleEmitterComponent emitter = new ParticleEmitterComponent();
+            emitter.particlePool = createPool(random);
+            emitter.affectorFunctionMap.put(new VelocityAffectorComponent(), new VelocityAffectorFunction());
+            emitter.affectorFunctionMap.put(new AccelerationAffectorComponent(new Vector3f(0, -9.81f, 0)),
+                    new AccelerationAffectorFunction());
+            emitters.add(emitter);
+        }
+        return emitters;
+    }
+
+    /**
+     * Creates a full pool of particles with random positions and velocities, which live for 0 to 2 seconds.
+     */
+    private ParticlePool createPool(FastRandom random) {
+        ParticlePool pool = new ParticlePool(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            pool.reviveParticle();
+            pool.energy[i] = 2 * random.nextFloat();
+        }
+        for (int i = 0; i < pool.position.length; i++) {
+            pool.position[i] = random.nextFloat(-10, 10);
+            pool.velocity[i] = random.nextFloat(-1, 1);
+        }
+        return pool;
+    }
 }
@@ -0,0 +1,173 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.particles.updating;
+
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.particles.ParticlePool;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.ChunkProvider;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class VoxelRaycasterTest {
+
+    private final Set<Vector3i> solidBlocks = new HashSet<>();
+    private final Block air = new Block();
+    private final Block stone = new Block();
+    private ChunkProvider chunkProvider;
+    private VoxelRaycaster raycaster;
+
+    @BeforeEach
+    public void setup() {
+        air.setPenetrable(true);
+        stone.setPenetrable(false);
+        chunkProvider = mock(ChunkProvider.class);
+        when(chunkProvider.getChunk(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Vector3i chunkPos = new Vector3i(invocation.getArgument(0, Integer.class),
+                    invocation.getArgument(1, Integer.class), invocation.getArgument(2, Integer.class));
+            return chunkPos.y < 0 ? null : createChunk(chunkPos);
+        });
+        raycaster = new VoxelRaycaster(chunkProvider);
+    }
+
+    @Test
+    public void testRayHitsBlockInFront() {
+        solidBlocks.add(new Vector3i(5, 1, 0));
+
+        assertTrue(raycaster.raycast(0, 1, 0, 1, 0, 0, 5));
+        assertFalse(raycaster.raycast(0, 1, 0, 1, 0, 0, 4.4f));
+        assertFalse(raycaster.raycast(0, 1, 0, -1, 0, 0, 10));
+    }
+
+    @Test
+    public void testBlocksAreCenteredOnIntegerCoordinates() {
+        solidBlocks.add(new Vector3i(2, 1, 0));
+
+        assertTrue(raycaster.raycast(0, 1, 0, 1, 0, 0, 1.6f));
+        assertFalse(raycaster.raycast(0, 1, 0, 1, 0, 0, 1.4f));
+        assertTrue(raycaster.raycast(3, 1, 0, -1, 0, 0, 0.6f));
+        assertFalse(raycaster.raycast(3, 1, 0, -1, 0, 0, 0.4f));
+    }
+
+    @Test
+    public void testBlockAtOriginIsNotHit() {
+        solidBlocks.add(new Vector3i(2, 1, 0));
+        solidBlocks.add(new Vector3i(3, 1, 0));
+
+        assertFalse(raycaster.raycast(2.4f, 1.4f, 0.4f, 0, 0, 0, 0));
+        assertFalse(raycaster.raycast(2, 1, 0, -1, 0, 0, 5));
+        assertTrue(raycaster.raycast(2, 1, 0, 1, 0, 0, 0.6f));
+    }
+
+    @Test
+    public void testDiagonalRayDoesNotSkipBlocks() {
+        solidBlocks.add(new Vector3i(3, 4, 3));
+
+        assertTrue(raycaster.raycast(0, 1, 0, 1, 1, 1, 10));
+        assertFalse(raycaster.raycast(0, 1, 0, 1, 1, -1, 10));
+    }
+
+    @Test
+    public void testRayCrossesChunkBorders() {
+        solidBlocks.add(new Vector3i(Chunks.SIZE_X + 3, 1, -2));
+
+        assertTrue(raycaster.raycast(Chunks.SIZE_X - 3, 1, -2, 1, 0, 0, 10));
+    }
+
+    @Test
+    public void testUnloadedChunksDoNotBlockRays() {
+        assertFalse(raycaster.raycast(0, 1, 0, 0, -1, 0, 100));
+    }
+
+    @Test
+    public void testParticlesHittingBlocksLoseTheirEnergy() {
+        for (int x = -4; x <= 4; x++) {
+            for (int z = -4; z <= 4; z++) {
+                solidBlocks.add(new Vector3i(x, 0, z));
+            }
+        }
+        ParticlePool pool = new ParticlePool(3);
+        for (int i = 0; i < 3; i++) {
+            pool.reviveParticle();
+            pool.energy[i] = 1;
+        }
+        setParticle(pool, 0, 0, 2, 0, 0, -20, 0);
+        setParticle(pool, 1, 1, 2, 1, 0, 10, 0);
+        setParticle(pool, 2, 2, 2, 2, 0, -1, 0);
+
+        int hits = raycaster.checkCollisions(pool, 0.1f);
+
+        assertEquals(1, hits);
+        assertEquals(0, pool.energy[0]);
+        assertEquals(1, pool.energy[1]);
+        assertEquals(1, pool.energy[2]);
+    }
+
+    @Test
+    public void testParticlesInsideStoneKeepTheirEnergy() {
+        solidBlocks.add(new Vector3i(0, 1, 0));
+        ParticlePool pool = new ParticlePool(2);
+        for (int i = 0; i < 2; i++) {
+            pool.reviveParticle();
+            pool.energy[i] = 1;
+        }
+        // emitted at the center of a stone block, moving within it or out into the air
+        setParticle(pool, 0, 0, 1, 0, 1, 2, 0);
+        setParticle(pool, 1, 0, 1, 0, -10, 0, 0);
+
+        int hits = raycaster.checkCollisions(pool, 0.1f);
+
+        assertEquals(0, hits);
+        assertEquals(1, pool.energy[0]);
+        assertEquals(1, pool.energy[1]);
+    }
+
+    @Test
+    public void testChunkLookupsAreCachedWithinBatch() {
+        ParticlePool pool = new ParticlePool(100);
+        for (int i = 0; i < 100; i++) {
+            pool.reviveParticle();
+            setParticle(pool, i, i % 10, 2, i / 10, 1, 0, 1);
+        }
+
+        raycaster.checkCollisions(pool, 1);
+
+        verify(chunkProvider, atMost(1)).getChunk(anyInt(), anyInt(), anyInt());
+    }
+
+    private void setParticle(ParticlePool pool, int index, float x, float y, float z, float velX, float velY,
+                             float velZ) {
+        int i3 = index * 3;
+        pool.position[i3] = x;
+        pool.position[i3 + 1] = y;
+        pool.position[i3 + 2] = z;
+        pool.velocity[i3] = velX;
+        pool.velocity[i3 + 1] = velY;
+        pool.velocity[i3 + 2] = velZ;
+    }
+
+    private Chunk createChunk(Vector3i chunkPos) {
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getBlock(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Vector3i worldPos = new Vector3i(invocation.getArgument(0, Integer.class),
+                    invocation.getArgument(1, Integer.class), invocation.getArgument(2, Integer.class))
+                    .add(chunkPos.x * Chunks.SIZE_X, chunkPos.y * Chunks.SIZE_Y, chunkPos.z * Chunks.SIZE_Z);
+            return solidBlocks.contains(worldPos) ? stone : air;
+        });
+        return chunk;
+    }
+}
@@ -0,0 +1,51 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.persistence.internal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.utilities.compression.CompressionCodec;
+import org.terasology.engine.utilities.compression.CompressionCodecs;
+import org.terasology.protobuf.EntityData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+class ChunkCompressionTest {
+    private static final EntityData.ChunkStore STORE = EntityData.ChunkStore.newBuilder()
+            .setX(1)
+            .setY(-2)
+            .setZ(3)
+            .build();
+
+    @Test
+    void roundTripsWithEveryCodec() throws IOException {
+        for (CompressionCodec codec : CompressionCodecs.getAll()) {
+            byte[] compressed = ChunkCompression.compress(STORE, codec);
+            Assertions.assertSame(codec, ChunkCompression.getCodec(compressed));
+            Assertions.assertEquals(STORE, ChunkCompression.decompress(compressed));
+        }
+    }
+
+    @Test
+    void readsChunksWithoutHeader() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(baos)) {
+            STORE.writeTo(out);
+        }
+        byte[] legacy = baos.toByteArray();
+
+        Assertions.assertSame(CompressionCodecs.DEFLATE, ChunkCompression.getCodec(legacy));
+        Assertions.assertEquals(STORE, ChunkCompression.decompress(legacy));
+    }
+
+    @Test
+    void rejectsUnknownCodec() {
+        byte[] compressed = ChunkCompression.compress(STORE, CompressionCodecs.LZ4);
+        compressed[1] = 127;
+
+        Assertions.assertThrows(IOException.class, () -> ChunkCompression.decompress(compressed));
+    }
+}
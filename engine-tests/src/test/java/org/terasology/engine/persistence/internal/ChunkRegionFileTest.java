@@ -0,0 +1,155 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.persistence.internal;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+class ChunkRegionFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private StoragePathProvider storagePathProvider;
+    private Path regionPath;
+
+    @BeforeEach
+    void setup() throws IOException {
+        storagePathProvider = new StoragePathProvider(tempDir);
+        Files.createDirectories(storagePathProvider.getWorldPath());
+        regionPath = storagePathProvider.getChunkRegionPath(new Vector3i());
+    }
+
+    @Test
+    void writtenChunksCanBeReadBack() throws IOException {
+        byte[] small = randomBytes(10, 1);
+        byte[] large = randomBytes(3 * ChunkRegionFile.SECTOR_SIZE, 2);
+        try (ChunkRegionFile regionFile = ChunkRegionFile.openForWriting(regionPath, storagePathProvider)) {
+            regionFile.write(ImmutableMap.of(0, small, 42, large));
+        }
+
+        try (ChunkRegionFile regionFile = ChunkRegionFile.open(regionPath, storagePathProvider)) {
+            Assertions.assertArrayEquals(small, regionFile.read(0));
+            Assertions.assertArrayEquals(large, regionFile.read(42));
+            Assertions.assertNull(regionFile.read(1));
+        }
+    }
+
+    @Test
+    void rewritingChunkKeepsOtherChunks() throws IOException {
+        byte[] other = randomBytes(100, 1);
+        byte[] updated = randomBytes(5000, 3);
+        try (ChunkRegionFile regionFile = ChunkRegionFile.openForWriting(regionPath, storagePathProvider)) {
+            regionFile.write(ImmutableMap.of(0, randomBytes(100, 2), 1, other));
+            regionFile.write(ImmutableMap.of(0, updated));
+            Assertions.assertArrayEquals(updated, regionFile.read(0));
+            Assertions.assertArrayEquals(other, regionFile.read(1));
+        }
+    }
+
+    @Test
+    void applyingDeltaTwiceHasNoFurtherEffect() throws IOException {
+        Path deltaPath = tempDir.resolve("delta");
+        byte[] first = randomBytes(100, 1);
+        byte[] second = randomBytes(100, 2);
+        ChunkRegionFile.writeDelta(deltaPath, ImmutableMap.of(7, first, 8, second));
+
+        ChunkRegionFile.applyDelta(deltaPath, regionPath, storagePathProvider);
+        // Happens if the merge gets interrupted before the delta is deleted
+        ChunkRegionFile.applyDelta(deltaPath, regionPath, storagePathProvider);
+
+        try (ChunkRegionFile regionFile = ChunkRegionFile.open(regionPath, storagePathProvider)) {
+            Assertions.assertArrayEquals(first, regionFile.read(7));
+            Assertions.assertArrayEquals(second, regionFile.read(8));
+        }
+    }
+
+    @Test
+    void compactionShrinksFileAndKeepsChunks() throws IOException {
+        byte[] kept = randomBytes(100, 1);
+        byte[] shrunk = randomBytes(100, 2);
+        try (ChunkRegionFile regionFile = ChunkRegionFile.openForWriting(regionPath, storagePathProvider)) {
+            Map<Integer, byte[]> chunks = Maps.newHashMap();
+            chunks.put(0, kept);
+            for (int i = 1; i <= 10; i++) {
+                chunks.put(i, randomBytes(100 * ChunkRegionFile.SECTOR_SIZE, i));
+            }
+            regionFile.write(chunks);
+            Assertions.assertFalse(regionFile.needsCompaction());
+
+            chunks.clear();
+            for (int i = 1; i <= 10; i++) {
+                chunks.put(i, shrunk);
+            }
+            regionFile.write(chunks);
+            Assertions.assertTrue(regionFile.needsCompaction());
+        }
+        long sizeBefore = Files.size(regionPath);
+
+        ChunkRegionFile.compact(regionPath, storagePathProvider);
+
+        Assertions.assertTrue(Files.size(regionPath) < sizeBefore);
+        try (ChunkRegionFile regionFile = ChunkRegionFile.open(regionPath, storagePathProvider)) {
+            Assertions.assertArrayEquals(kept, regionFile.read(0));
+            for (int i = 1; i <= 10; i++) {
+                Assertions.assertArrayEquals(shrunk, regionFile.read(i));
+            }
+            Assertions.assertFalse(regionFile.needsCompaction());
+        }
+    }
+
+    @Test
+    void convertsChunkZip() throws IOException {
+        Vector3i chunkPos = new Vector3i(-1, 2, -33);
+        Vector3i regionPos = storagePathProvider.getChunkZipPosition(chunkPos);
+        Path zipPath = storagePathProvider.getChunkZipPath(regionPos);
+        byte[] data = randomBytes(1000, 1);
+        try (FileSystem zip = FileSystems.newFileSystem(URI.create("jar:" + zipPath.toUri()),
+                ImmutableMap.of("create", "true", "encoding", "UTF-8"))) {
+            Files.write(zip.getPath(storagePathProvider.getChunkFilename(chunkPos)), data);
+        }
+
+        Assertions.assertEquals(1, ChunkRegionConverter.convertAll(storagePathProvider));
+
+        Assertions.assertFalse(Files.exists(zipPath));
+        try (ChunkRegionFile regionFile = ChunkRegionFile.open(storagePathProvider.getChunkRegionPath(regionPos),
+                storagePathProvider)) {
+            Assertions.assertArrayEquals(data, regionFile.read(chunkPos));
+            Assertions.assertNull(regionFile.read(new Vector3i(0, 2, -33)));
+        }
+    }
+
+    @Test
+    void chunkIndicesWithinRegionAreUnique() {
+        Map<Integer, Vector3i> seen = Maps.newHashMap();
+        for (int x = -64; x < 0; x++) {
+            Vector3i chunkPos = new Vector3i(x, 0, 0);
+            Vector3i regionPos = storagePathProvider.getChunkZipPosition(chunkPos);
+            if (regionPos.x == -2) {
+                Vector3i previous = seen.put(storagePathProvider.getChunkIndexInRegion(chunkPos), chunkPos);
+                Assertions.assertNull(previous, "Chunks " + previous + " and " + chunkPos + " share an index");
+            }
+        }
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] result = new byte[length];
+        new Random(seed).nextBytes(result);
+        return result;
+    }
+}
@@ -0,0 +1,108 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.persistence.internal;
+
+import com.google.common.collect.ImmutableMap;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+class RegionFileCacheTest {
+    private static final Vector3i CHUNK_A = new Vector3i(0, 0, 0);
+    private static final Vector3i CHUNK_B = new Vector3i(1, 0, 0);
+    private static final Vector3i CHUNK_C = new Vector3i(2, 0, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private StoragePathProvider storagePathProvider;
+
+    @BeforeEach
+    void setup() {
+        storagePathProvider = new StoragePathProvider(tempDir);
+    }
+
+    @Test
+    void readsEntriesWrittenByZipFileSystem() throws IOException {
+        byte[] incompressible = new byte[10000];
+        new Random(42).nextBytes(incompressible);
+        byte[] compressible = new byte[10000];
+        Path region = createRegion("region.zip", ImmutableMap.of(CHUNK_A, incompressible, CHUNK_B, compressible));
+
+        RegionFileCache cache = new RegionFileCache(this::open);
+        Assertions.assertArrayEquals(incompressible, cache.read(region, CHUNK_A));
+        Assertions.assertArrayEquals(compressible, cache.read(region, CHUNK_B));
+        Assertions.assertNull(cache.read(region, CHUNK_C));
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    void missingRegionIsNotCached() throws IOException {
+        RegionFileCache cache = new RegionFileCache(this::open);
+        Assertions.assertNull(cache.read(tempDir.resolve("missing.zip"), CHUNK_A));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedRegion() throws IOException {
+        RegionFileCache cache = new RegionFileCache(this::open, 2);
+        Path first = createRegion("1.zip", ImmutableMap.of(CHUNK_A, bytes("1")));
+        Path second = createRegion("2.zip", ImmutableMap.of(CHUNK_A, bytes("2")));
+        Path third = createRegion("3.zip", ImmutableMap.of(CHUNK_A, bytes("3")));
+
+        cache.read(first, CHUNK_A);
+        cache.read(second, CHUNK_A);
+        cache.read(first, CHUNK_A);
+        cache.read(third, CHUNK_A);
+        Assertions.assertEquals(2, cache.size());
+
+        // The evicted region gets opened again transparently
+        Assertions.assertArrayEquals(bytes("2"), cache.read(second, CHUNK_A));
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    void invalidateAllPicksUpReplacedRegion() throws IOException {
+        RegionFileCache cache = new RegionFileCache(this::open);
+        Path region = createRegion("region.zip", ImmutableMap.of(CHUNK_A, bytes("old")));
+        Assertions.assertArrayEquals(bytes("old"), cache.read(region, CHUNK_A));
+
+        cache.invalidateAll();
+        Assertions.assertEquals(0, cache.size());
+        Files.delete(region);
+        createRegion("region.zip", ImmutableMap.of(CHUNK_A, bytes("new")));
+        Assertions.assertArrayEquals(bytes("new"), cache.read(region, CHUNK_A));
+    }
+
+    private ChunkRegionReader open(Path path) throws IOException {
+        return RegionZipReader.open(path, storagePathProvider);
+    }
+
+    private Path createRegion(String name, ImmutableMap<Vector3i, byte[]> entries) throws IOException {
+        Path path = tempDir.resolve(name);
+        try (FileSystem zip = FileSystems.newFileSystem(URI.create("jar:" + path.toUri()),
+                ImmutableMap.of("create", "true", "encoding", "UTF-8"))) {
+            for (Map.Entry<Vector3i, byte[]> entry : entries.entrySet()) {
+                Files.write(zip.getPath(storagePathProvider.getChunkFilename(entry.getKey())), entry.getValue());
+            }
+        }
+        return path;
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
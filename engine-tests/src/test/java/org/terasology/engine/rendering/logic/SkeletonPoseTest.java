@@ -0,0 +1,117 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.rendering.logic;
+
+import com.google.common.collect.ImmutableList;
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.rendering.assets.animation.MeshAnimationFrame;
+import org.terasology.engine.rendering.assets.skeletalmesh.Bone;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SkeletonPoseTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    private Bone root;
+    private Bone child;
+    private Bone leaf;
+    private SkeletonPose pose;
+
+    @BeforeEach
+    public void setup() {
+        root = new Bone(0, "root", new Matrix4f().translation(0, 1, 0));
+        child = new Bone(1, "child", new Matrix4f().translationRotateScale(new Vector3f(0, 0.5f, 0),
+                new Quaternionf().rotationX(0.3f), 1));
+        leaf = new Bone(2, "leaf", new Matrix4f().translation(0.25f, 0, 0));
+        root.addChild(child);
+        child.addChild(leaf);
+        Matrix4f rootObject = new Matrix4f(root.getLocalTransform());
+        Matrix4f childObject = new Matrix4f(rootObject).mul(child.getLocalTransform());
+        Matrix4f leafObject = new Matrix4f(childObject).mul(leaf.getLocalTransform());
+        root.setInverseBindMatrix(rootObject.invert());
+        child.setInverseBindMatrix(childObject.invert());
+        leaf.setInverseBindMatrix(leafObject.invert());
+        // the children are listed first, to check that parents are still evaluated before them
+        pose = new SkeletonPose(ImmutableList.of(leaf, child, root));
+    }
+
+    @Test
+    public void testBindPoseHasIdentitySkinningTransforms() {
+        for (Matrix4f transform : pose.getSkinningTransforms()) {
+            assertTrue(transform.equals(new Matrix4f(), EPSILON), transform.toString());
+        }
+    }
+
+    @Test
+    public void testInterpolatedPoseMatchesBoneHierarchy() {
+        pose.setAnimatedBones(ImmutableList.of("root", "child"));
+        MeshAnimationFrame frameA = frame(new Vector3f(0, 1, 0), new Vector3f(0, 0.5f, 0),
+                new Quaternionf(), new Quaternionf().rotationX(0.3f));
+        MeshAnimationFrame frameB = frame(new Vector3f(2, 1, 0), new Vector3f(0, 1.5f, 0),
+                new Quaternionf().rotationY(1f), new Quaternionf().rotationZ(0.5f));
+        pose.setFrames(frameA, frameB, 0.25f);
+        pose.evaluate();
+
+        Matrix4f rootLocal = new Matrix4f().translationRotateScale(new Vector3f(0.5f, 1, 0),
+                new Quaternionf().slerp(new Quaternionf().rotationY(1f), 0.25f).normalize(), 1);
+        Matrix4f childLocal = new Matrix4f().translationRotateScale(new Vector3f(0, 0.75f, 0),
+                new Quaternionf().rotationX(0.3f).slerp(new Quaternionf().rotationZ(0.5f), 0.25f).normalize(), 1);
+        Matrix4f leafObject = new Matrix4f(rootLocal).mul(childLocal).mul(leaf.getLocalTransform());
+
+        assertTrue(pose.getObjectTransform(2).equals(leafObject, EPSILON), pose.getObjectTransform(2).toString());
+        Matrix4f expectedSkinning = leafObject.mul(leaf.getInverseBindMatrix()).transpose();
+        assertTrue(pose.getSkinningTransforms().get(2).equals(expectedSkinning, EPSILON));
+    }
+
+    @Test
+    public void testUnanimatedBonesKeepBindPose() {
+        pose.setAnimatedBones(ImmutableList.of("unknown", "child"));
+        MeshAnimationFrame frame = frame(new Vector3f(5, 5, 5), new Vector3f(0, 2, 0),
+                new Quaternionf(), new Quaternionf());
+        pose.setFrames(frame, frame, 0);
+        pose.evaluate();
+
+        assertEquals(new Vector3f(0, 1, 0), pose.getLocalPosition(0, new Vector3f()));
+        assertEquals(new Vector3f(0, 2, 0), pose.getLocalPosition(1, new Vector3f()));
+        assertEquals(new Vector3f(0.25f, 0, 0), pose.getLocalPosition(2, new Vector3f()));
+    }
+
+    @Test
+    public void testSetLocalTransformLastsUntilBoneIsAnimated() {
+        pose.setLocalTransform(1, new Vector3f(0, 2, 0), new Quaternionf(), 1);
+        pose.evaluate();
+
+        Matrix4f leafObject = new Matrix4f(root.getLocalTransform()).translate(0, 2, 0).mul(leaf.getLocalTransform());
+        assertTrue(pose.getObjectTransform(2).equals(leafObject, EPSILON), pose.getObjectTransform(2).toString());
+
+        pose.setAnimatedBones(ImmutableList.of("root", "child"));
+        MeshAnimationFrame frame = frame(new Vector3f(0, 1, 0), new Vector3f(0, 0.5f, 0),
+                new Quaternionf(), new Quaternionf());
+        pose.setFrames(frame, frame, 0);
+        pose.evaluate();
+
+        assertEquals(new Vector3f(0, 0.5f, 0), pose.getLocalPosition(1, new Vector3f()));
+    }
+
+    @Test
+    public void testParentIndices() {
+        assertEquals(-1, pose.getParentIndex(0));
+        assertEquals(0, pose.getParentIndex(1));
+        assertEquals(1, pose.getParentIndex(2));
+    }
+
+    private static MeshAnimationFrame frame(Vector3f rootPosition, Vector3f childPosition, Quaternionf rootRotation,
+                                            Quaternionf childRotation) {
+        List<Vector3f> scales = ImmutableList.of(new Vector3f(1, 1, 1), new Vector3f(1, 1, 1));
+        return new MeshAnimationFrame(ImmutableList.of(rootPosition, childPosition),
+                ImmutableList.of(rootRotation, childRotation), scales);
+    }
+}
@@ -0,0 +1,108 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.rendering.primitives;
+
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ChunkVertexFormatTest {
+
+    @Test
+    public void testBytesPerVertex() {
+        assertEquals(46, opaque(new ChunkMesh(ChunkVertexFormat.STANDARD)).buffer.inStride());
+        assertEquals(18, opaque(new ChunkMesh(ChunkVertexFormat.PACKED)).buffer.inStride());
+    }
+
+    @Test
+    public void testStandardFormatIsExact() {
+        ChunkMesh.VertexElements elements = opaque(new ChunkMesh(ChunkVertexFormat.STANDARD));
+        addVertex(elements, new Vector3f(12.3456f, 0.001f, 31.5f), new Vector3f(0.6f, 0.8f, 0), new Vector2f(0.123456f,
+                0.987654f), 0.3f, 0.7f, 0.12345f);
+
+        assertEquals(new Vector3f(12.3456f, 0.001f, 31.5f), elements.position.get(0, new Vector3f()));
+        assertEquals(new Vector3f(0.6f, 0.8f, 0), elements.normals.get(0, new Vector3f()));
+        assertEquals(new Vector2f(0.123456f, 0.987654f), elements.uv0.get(0, new Vector2f()));
+        assertEquals(0.12345f, elements.ambientOcclusion.get(0));
+    }
+
+    @Test
+    public void testPackedPositionsKeepBlockFractions() {
+        ChunkMesh.VertexElements elements = opaque(new ChunkMesh(ChunkVertexFormat.PACKED));
+        int vertex = 0;
+        for (float x = -1; x < 64; x += 1 / 32f) {
+            Vector3f position = new Vector3f(x, 63 - x, x / 2);
+            addVertex(elements, position, new Vector3f(0, 1, 0), new Vector2f(), 0, 0, 0);
+            assertEquals(position, elements.position.get(vertex++, new Vector3f()));
+        }
+    }
+
+    @Test
+    public void testPackedAttributesRoundTrip() {
+        ChunkMesh.VertexElements elements = opaque(new ChunkMesh(ChunkVertexFormat.PACKED));
+        addVertex(elements, new Vector3f(7.3f, 50.1f, -0.4f), new Vector3f(0.6f, -0.8f, 0), new Vector2f(0.123456f,
+                0.987654f), 0.3f, 1f, 0.12345f);
+
+        Vector3f position = elements.position.get(0, new Vector3f());
+        assertEquals(7.3f, position.x, 1 / 128f);
+        assertEquals(50.1f, position.y, 1 / 32f);
+        assertEquals(-0.4f, position.z, 1 / 2048f);
+        Vector3f normal = elements.normals.get(0, new Vector3f());
+        assertEquals(0.6f, normal.x, 1 / 254f);
+        assertEquals(-0.8f, normal.y, 1 / 254f);
+        assertEquals(0f, normal.z);
+        Vector2f uv = elements.uv0.get(0, new Vector2f());
+        assertEquals(0.123456f, uv.x, 1 / 131070f);
+        assertEquals(0.987654f, uv.y, 1 / 131070f);
+        assertEquals(0.3f, elements.sunlight.get(0), 1 / 255f);
+        assertEquals(1f, elements.blockLight.get(0));
+        assertEquals(0.12345f, elements.ambientOcclusion.get(0), 1 / 255f);
+    }
+
+    @Test
+    public void testPackedValuesAreClamped() {
+        ChunkMesh.VertexElements elements = opaque(new ChunkMesh(ChunkVertexFormat.PACKED));
+        addVertex(elements, new Vector3f(), new Vector3f(-2, 2, 0), new Vector2f(-0.5f, 1.5f), 2, -1, 0);
+
+        assertEquals(new Vector3f(-1, 1, 0), elements.normals.get(0, new Vector3f()));
+        assertEquals(new Vector2f(0, 1), elements.uv0.get(0, new Vector2f()));
+        assertEquals(1f, elements.sunlight.get(0));
+        assertEquals(0f, elements.blockLight.get(0));
+    }
+
+    @Test
+    public void testDataSize() {
+        for (ChunkVertexFormat format : ChunkVertexFormat.values()) {
+            ChunkMesh mesh = new ChunkMesh(format);
+            ChunkMesh.VertexElements elements = opaque(mesh);
+            for (int i = 0; i < 4; i++) {
+                addVertex(elements, new Vector3f(i), new Vector3f(0, 1, 0), new Vector2f(), 0, 0, 0);
+            }
+            for (int index : new int[]{0, 1, 2, 0, 2, 3}) {
+                elements.indices.put(index);
+            }
+
+            assertEquals(4 * elements.buffer.inStride() + 6 * Integer.BYTES, mesh.getDataSize());
+        }
+    }
+
+    private static ChunkMesh.VertexElements opaque(ChunkMesh mesh) {
+        return mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+    }
+
+    private static void addVertex(ChunkMesh.VertexElements elements, Vector3f position, Vector3f normal, Vector2f uv,
+                                  float sunlight, float blockLight, float ambientOcclusion) {
+        elements.buffer.reserveElements(elements.vertexCount + 1);
+        elements.position.put(position);
+        elements.normals.put(normal);
+        elements.uv0.put(uv);
+        elements.flags.put(ChunkVertexFlag.NORMAL.getValue());
+        elements.frames.put(0);
+        elements.sunlight.put(sunlight);
+        elements.blockLight.put(blockLight);
+        elements.ambientOcclusion.put(ambientOcclusion);
+        elements.vertexCount++;
+    }
+}
@@ -0,0 +1,181 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.rendering.primitives;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.TerasologyTestingEnvironment;
+import org.terasology.engine.registry.CoreRegistry;
+import org.terasology.engine.utilities.random.FastRandom;
+import org.terasology.engine.utilities.random.Random;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockUri;
+import org.terasology.engine.world.block.family.SymmetricFamily;
+import org.terasology.engine.world.block.internal.BlockManagerImpl;
+import org.terasology.engine.world.block.loader.BlockFamilyDefinition;
+import org.terasology.engine.world.block.loader.BlockFamilyDefinitionData;
+import org.terasology.engine.world.block.shapes.BlockShape;
+import org.terasology.engine.world.block.tiles.NullWorldAtlas;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.chunks.internal.ChunkImpl;
+import org.terasology.engine.world.internal.ChunkViewCore;
+import org.terasology.engine.world.internal.ChunkViewCoreImpl;
+import org.terasology.gestalt.assets.ResourceUrn;
+import org.terasology.gestalt.assets.management.AssetManager;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("TteTest")
+public class GreedyMeshingTest extends TerasologyTestingEnvironment {
+
+    private Block airBlock;
+    private Block stoneBlock;
+    private Block dirtBlock;
+    private BlockManager blockManager;
+    private ExtraBlockDataManager extraDataManager;
+
+    @BeforeEach
+    public void setup() {
+        AssetManager assetManager = CoreRegistry.get(AssetManager.class);
+        blockManager = new BlockManagerImpl(new NullWorldAtlas(), assetManager);
+        CoreRegistry.put(BlockManager.class, blockManager);
+        airBlock = blockManager.getBlock(BlockManager.AIR_ID);
+        extraDataManager = new ExtraBlockDataManager();
+
+        stoneBlock = createCube(assetManager, "engine:stone");
+        dirtBlock = createCube(assetManager, "engine:dirt");
+    }
+
+    private Block createCube(AssetManager assetManager, String uri) {
+        BlockFamilyDefinitionData data = new BlockFamilyDefinitionData();
+        data.getBaseSection().setDisplayName(uri);
+        data.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        data.getBaseSection().setTranslucent(false);
+        data.setBlockFamily(SymmetricFamily.class);
+        assetManager.loadAsset(new ResourceUrn(uri), data, BlockFamilyDefinition.class);
+        return blockManager.getBlock(new BlockUri(new ResourceUrn(uri)));
+    }
+
+    @Test
+    public void testFlatLayerIsMerged() {
+        Chunk chunk = createChunk();
+        for (int x = 0; x < Chunks.SIZE_X; x++) {
+            for (int z = 0; z < Chunks.SIZE_Z; z++) {
+                chunk.setBlock(x, 0, z, stoneBlock);
+            }
+        }
+        ChunkViewCore view = createView(chunk);
+
+        ChunkMesh.VertexElements perBlock = opaque(new ChunkTessellator(false).generateMesh(view));
+        ChunkMesh.VertexElements greedy = opaque(new ChunkTessellator(true).generateMesh(view));
+
+        assertTrue(greedy.vertexCount < perBlock.vertexCount);
+        assertEquals(faceArea(perBlock), faceArea(greedy));
+    }
+
+    @Test
+    public void testMixedBlocksCoverSameFaces() {
+        Chunk chunk = createChunk();
+        Random random = new FastRandom(12);
+        for (int x = 0; x < Chunks.SIZE_X; x++) {
+            for (int z = 0; z < Chunks.SIZE_Z; z++) {
+                int height = random.nextInt(8);
+                for (int y = 0; y < height; y++) {
+                    chunk.setBlock(x, y, z, random.nextBoolean() ? stoneBlock : dirtBlock);
+                }
+            }
+        }
+        ChunkViewCore view = createView(chunk);
+
+        ChunkMesh.VertexElements perBlock = opaque(new ChunkTessellator(false).generateMesh(view));
+        ChunkMesh.VertexElements greedy = opaque(new ChunkTessellator(true).generateMesh(view));
+
+        assertTrue(greedy.vertexCount <= perBlock.vertexCount);
+        assertEquals(faceArea(perBlock), faceArea(greedy));
+    }
+
+    @Test
+    public void testSingleBlockIsUnchanged() {
+        Chunk chunk = createChunk();
+        chunk.setBlock(4, 4, 4, stoneBlock);
+        ChunkViewCore view = createView(chunk);
+
+        ChunkMesh.VertexElements perBlock = opaque(new ChunkTessellator(false).generateMesh(view));
+        ChunkMesh.VertexElements greedy = opaque(new ChunkTessellator(true).generateMesh(view));
+
+        assertEquals(perBlock.vertexCount, greedy.vertexCount);
+        assertEquals(faceArea(perBlock), faceArea(greedy));
+    }
+
+    @Test
+    public void testPackedFormatFallsBackToStandard() {
+        Chunk chunk = createChunk();
+        for (int x = 0; x < Chunks.SIZE_X; x++) {
+            for (int z = 0; z < Chunks.SIZE_Z; z++) {
+                chunk.setBlock(x, 0, z, stoneBlock);
+            }
+        }
+        ChunkViewCore view = createView(chunk);
+
+        ChunkTessellator packed = new ChunkTessellator(true, ChunkVertexFormat.PACKED);
+        ChunkMesh.VertexElements expected = opaque(new ChunkTessellator(true).generateMesh(view));
+        ChunkMesh.VertexElements actual = opaque(packed.generateMesh(view));
+
+        assertEquals(ChunkVertexFormat.STANDARD, packed.getVertexFormat());
+        assertEquals(ChunkVertexFormat.PACKED, new ChunkTessellator(false, ChunkVertexFormat.PACKED).getVertexFormat());
+        // the texture coordinates of the merged quads, which repeat the texture of a tile, are not clamped
+        assertEquals(expected.vertexCount, actual.vertexCount);
+        for (int i = 0; i < expected.vertexCount; i++) {
+            assertEquals(expected.uv0.get(i, new Vector2f()), actual.uv0.get(i, new Vector2f()));
+        }
+    }
+
+    private Chunk createChunk() {
+        return new ChunkImpl(new Vector3i(), blockManager, extraDataManager);
+    }
+
+    private ChunkViewCore createView(Chunk chunk) {
+        return new ChunkViewCoreImpl(new Chunk[]{chunk}, new BlockRegion(0, 0, 0), new Vector3i(), airBlock);
+    }
+
+    private static ChunkMesh.VertexElements opaque(ChunkMesh mesh) {
+        return mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+    }
+
+    /**
+     * Sums up the area of the quads in the mesh for each normal direction.
+     */
+    private static Map<Vector3i, Float> faceArea(ChunkMesh.VertexElements elements) {
+        Map<Vector3i, Float> result = Maps.newHashMap();
+        Vector3f pos = new Vector3f();
+        Vector3f normal = new Vector3f();
+        for (int quad = 0; quad < elements.vertexCount; quad += 4) {
+            Vector3f min = new Vector3f(Float.POSITIVE_INFINITY);
+            Vector3f max = new Vector3f(Float.NEGATIVE_INFINITY);
+            for (int i = quad; i < quad + 4; i++) {
+                elements.position.get(i, pos);
+                min.min(pos);
+                max.max(pos);
+            }
+            Vector3f extent = max.sub(min);
+            elements.normals.get(quad, normal);
+            Vector3i direction = new Vector3i(Math.round(normal.x), Math.round(normal.y), Math.round(normal.z));
+            float area = direction.x != 0 ? extent.y * extent.z
+                    : direction.y != 0 ? extent.x * extent.z : extent.x * extent.y;
+            result.merge(direction, area, Float::sum);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,151 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.rendering.world;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.rendering.cameras.Camera;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.joml.geom.AABBf;
+import org.terasology.joml.geom.AABBfc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChunkVisibilityGridTest {
+
+    private ChunkVisibilityGrid grid;
+    private Camera camera;
+
+    @BeforeEach
+    public void setup() {
+        grid = new ChunkVisibilityGrid();
+        // the camera only sees what is on the positive x side of the world
+        camera = mock(Camera.class);
+        when(camera.hasInSight(any())).thenAnswer(invocation -> invocation.getArgument(0, AABBfc.class).maxX() > 0);
+    }
+
+    @Test
+    public void testVisibleChunksAreOrderedFrontToBack() {
+        for (int x = -8; x <= 8; x++) {
+            for (int z = -8; z <= 8; z++) {
+                grid.add(createChunk(new Vector3i(x, 0, z)));
+            }
+        }
+
+        List<Chunk> visible = Lists.newArrayList();
+        grid.collectVisible(camera::hasInSight, visible);
+
+        assertEquals(9 * 17, visible.size());
+        int previousDistance = -1;
+        for (Chunk chunk : visible) {
+            Vector3ic position = chunk.getPosition();
+            assertTrue(position.x() >= 0);
+            int distance = bucket(position);
+            assertTrue(distance >= previousDistance, "chunk " + position + " is out of order");
+            previousDistance = distance;
+        }
+    }
+
+    @Test
+    public void testChunksOfCellsOutOfSightAreNotTested() {
+        for (int x = -8; x < 0; x++) {
+            for (int z = 0; z < 8; z++) {
+                grid.add(createChunk(new Vector3i(x, 0, z)));
+            }
+        }
+        int[] tests = new int[1];
+
+        List<Chunk> visible = Lists.newArrayList();
+        grid.collectVisible(bounds -> {
+            tests[0]++;
+            return camera.hasInSight(bounds);
+        }, visible);
+
+        assertTrue(visible.isEmpty());
+        assertEquals(4, tests[0]);
+    }
+
+    @Test
+    public void testRemovedChunksAreNotVisible() {
+        Chunk near = createChunk(new Vector3i(1, 0, 0));
+        Chunk far = createChunk(new Vector3i(6, 0, 0));
+        grid.add(near);
+        grid.add(far);
+
+        assertSame(near, grid.remove(new Vector3i(1, 0, 0)));
+        assertNull(grid.remove(new Vector3i(1, 0, 0)));
+
+        List<Chunk> visible = Lists.newArrayList();
+        grid.collectVisible(camera::hasInSight, visible);
+        assertEquals(Lists.newArrayList(far), visible);
+        assertFalse(grid.contains(near));
+        assertTrue(grid.contains(far));
+        assertEquals(1, grid.size());
+    }
+
+    @Test
+    public void testAddingChunkReplacesChunkAtSamePosition() {
+        Chunk first = createChunk(new Vector3i(2, 0, 0));
+        Chunk second = createChunk(new Vector3i(2, 0, 0));
+        grid.add(first);
+        grid.add(second);
+
+        assertEquals(1, grid.size());
+        assertSame(second, grid.get(new Vector3i(2, 0, 0)));
+        assertFalse(grid.contains(first));
+    }
+
+    @Test
+    public void testMovingCenterChangesOrder() {
+        Chunk left = createChunk(new Vector3i(1, 0, 0));
+        Chunk right = createChunk(new Vector3i(9, 0, 0));
+        grid.add(right);
+        grid.add(left);
+
+        List<Chunk> nearest = Lists.newArrayList();
+        grid.collectNearest(2, nearest);
+        assertEquals(Lists.newArrayList(left, right), nearest);
+
+        grid.setCenter(new Vector3i(10, 0, 0));
+        nearest.clear();
+        grid.collectNearest(2, nearest);
+        assertEquals(Lists.newArrayList(right, left), nearest);
+
+        nearest.clear();
+        grid.collectNearest(1, nearest);
+        assertEquals(Lists.newArrayList(right), nearest);
+    }
+
+    private static int bucket(Vector3ic position) {
+        long dx = (long) position.x() * Chunks.SIZE_X;
+        long dy = (long) position.y() * Chunks.SIZE_Y;
+        long dz = (long) position.z() * Chunks.SIZE_Z;
+        return (int) Math.sqrt(dx * dx + dy * dy + dz * dz) / ChunkVisibilityGrid.BUCKET_WIDTH;
+    }
+
+    private static Chunk createChunk(Vector3ic position) {
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getPosition()).thenReturn(position);
+        when(chunk.getPosition(any(Vector3i.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, Vector3i.class).set(position));
+        float minX = position.x() * Chunks.SIZE_X - 0.5f;
+        float minY = position.y() * Chunks.SIZE_Y - 0.5f;
+        float minZ = position.z() * Chunks.SIZE_Z - 0.5f;
+        when(chunk.getAABB()).thenReturn(new AABBf(minX, minY, minZ,
+                minX + Chunks.SIZE_X, minY + Chunks.SIZE_Y, minZ + Chunks.SIZE_Z));
+        return chunk;
+    }
+}
@@ -0,0 +1,154 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.world.chunks.blockdata;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.terasology.engine.world.chunks.deflate.TeraStandardDeflator;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the run-length codec of every {@link TeraArray} implementation agrees with encoding and decoding
+ * element by element through {@link TeraArray#get(int, int, int)} and {@link TeraArray#set(int, int, int, int)}.
+ */
+public class TeraArrayRunLengthTest {
+
+    private static final int SIZE_X = 16;
+    private static final int SIZE_Y = 32;
+    private static final int SIZE_Z = 16;
+
+    public static List<TeraArray.Factory<?>> factories() {
+        return Lists.newArrayList(
+                new TeraDenseArray4Bit.Factory(),
+                new TeraDenseArray8Bit.Factory(),
+                new TeraDenseArray16Bit.Factory(),
+                new TeraSparseArray4Bit.Factory(),
+                new TeraSparseArray8Bit.Factory(),
+                new TeraSparseArray16Bit.Factory()
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("factories")
+    public void testEncodeEmpty(TeraArray.Factory<?> factory) {
+        TeraArray array = factory.create(SIZE_X, SIZE_Y, SIZE_Z);
+
+        assertRuns(encodeElementwise(array), encode(array));
+    }
+
+    @ParameterizedTest
+    @MethodSource("factories")
+    public void testEncode(TeraArray.Factory<?> factory) {
+        TeraArray array = fill(factory.create(SIZE_X, SIZE_Y, SIZE_Z));
+
+        assertRuns(encodeElementwise(array), encode(array));
+    }
+
+    @ParameterizedTest
+    @MethodSource("factories")
+    public void testEncodeDeflated(TeraArray.Factory<?> factory) {
+        TeraArray array = new TeraStandardDeflator().deflate(fill(factory.create(SIZE_X, SIZE_Y, SIZE_Z)));
+
+        assertRuns(encodeElementwise(array), encode(array));
+    }
+
+    @ParameterizedTest
+    @MethodSource("factories")
+    public void testDecode(TeraArray.Factory<?> factory) {
+        TeraArray expected = fill(factory.create(SIZE_X, SIZE_Y, SIZE_Z));
+        TeraArray actual = factory.create(SIZE_X, SIZE_Y, SIZE_Z);
+
+        actual.decodeRuns(encodeElementwise(expected));
+
+        assertElements(expected, actual);
+    }
+
+    @ParameterizedTest
+    @MethodSource("factories")
+    public void testDecodeLeavesRemainderUnchanged(TeraArray.Factory<?> factory) {
+        TeraArray expected = fill(factory.create(SIZE_X, SIZE_Y, SIZE_Z));
+        TeraArray actual = fill(factory.create(SIZE_X, SIZE_Y, SIZE_Z));
+        RunLengthBuffer runs = new RunLengthBuffer();
+        runs.add(5, SIZE_X * SIZE_Z + 3);
+        for (int i = 0; i < SIZE_X * SIZE_Z + 3; i++) {
+            expected.set(i % SIZE_X, i / (SIZE_X * SIZE_Z), i / SIZE_X % SIZE_Z, 5);
+        }
+
+        actual.decodeRuns(runs);
+
+        assertElements(expected, actual);
+    }
+
+    /**
+     * Fills the array with rows of a single value, rows split into halves of different values and rows of random
+     * values, leaving the topmost rows empty.
+     */
+    private static TeraArray fill(TeraArray array) {
+        Random random = new Random(0xBEEF);
+        for (int y = 0; y < SIZE_Y - 4; y++) {
+            for (int z = 0; z < SIZE_Z; z++) {
+                for (int x = 0; x < SIZE_X; x++) {
+                    int value;
+                    switch (y % 4) {
+                        case 0:
+                            value = 1 + y % 15;
+                            break;
+                        case 1:
+                            value = z < SIZE_Z / 2 ? 3 : 7;
+                            break;
+                        case 2:
+                            value = random.nextInt(3) == 0 ? random.nextInt(16) : 2;
+                            break;
+                        default:
+                            value = 2;
+                            break;
+                    }
+                    array.set(x, y, z, value);
+                }
+            }
+        }
+        return array;
+    }
+
+    private static RunLengthBuffer encode(TeraArray array) {
+        RunLengthBuffer runs = new RunLengthBuffer();
+        array.encodeRuns(runs);
+        return runs;
+    }
+
+    private static RunLengthBuffer encodeElementwise(TeraArray array) {
+        RunLengthBuffer runs = new RunLengthBuffer();
+        for (int y = 0; y < array.getSizeY(); y++) {
+            for (int z = 0; z < array.getSizeZ(); z++) {
+                for (int x = 0; x < array.getSizeX(); x++) {
+                    runs.add(array.get(x, y, z), 1);
+                }
+            }
+        }
+        return runs;
+    }
+
+    private static void assertRuns(RunLengthBuffer expected, RunLengthBuffer actual) {
+        assertEquals(expected.size(), actual.size(), "Number of runs");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getValue(i), actual.getValue(i), "Value of run " + i);
+            assertEquals(expected.getLength(i), actual.getLength(i), "Length of run " + i);
+        }
+    }
+
+    private static void assertElements(TeraArray expected, TeraArray actual) {
+        for (int y = 0; y < expected.getSizeY(); y++) {
+            for (int z = 0; z < expected.getSizeZ(); z++) {
+                for (int x = 0; x < expected.getSizeX(); x++) {
+                    assertEquals(expected.get(x, y, z), actual.get(x, y, z), "Element at " + x + ", " + y + ", " + z);
+                }
+            }
+        }
+    }
+}
@@ -50,7 +50,7 @@ class ChunkProcessingPipelineTest extends TerasologyTestingEnvironment {
 
     @Test
     void simpleProcessingSuccess() throws ExecutionException, InterruptedException, TimeoutException {
-        pipeline = new ChunkProcessingPipeline((p) -> null, (o1, o2) -> 0);
+        pipeline = new ChunkProcessingPipeline((p) -> null, (p) -> 0);
 
         Vector3i chunkPos = new Vector3i(0, 0, 0);
         Chunk chunk = createChunkAt(chunkPos);
@@ -66,7 +66,7 @@ void simpleProcessingSuccess() throws ExecutionException, InterruptedException,
 
     @Test
     void simpleStopProcessingSuccess() {
-        pipeline = new ChunkProcessingPipeline((p) -> null, (o1, o2) -> 0);
+        pipeline = new ChunkProcessingPipeline((p) -> null, (p) -> 0);
 
         Vector3i position = new Vector3i(0, 0, 0);
         Chunk chunk = createChunkAt(position);
@@ -105,7 +105,7 @@ void multiRequirementsChunksExistsSuccess() throws ExecutionException, Interrupt
                                 Function.identity()
                         ));
 
-        pipeline = new ChunkProcessingPipeline(chunkCache::get, (o1, o2) -> 0);
+        pipeline = new ChunkProcessingPipeline(chunkCache::get, (p) -> 0);
         pipeline.addStage(ChunkTaskProvider.createMulti(
                 "flat merging task",
                 (chunks) -> chunks.stream()
@@ -139,7 +139,7 @@ void multiRequirementsChunksWillGeneratedSuccess() throws ExecutionException, In
                                 Function.identity()
                         ));
 
-        pipeline = new ChunkProcessingPipeline((p) -> null, (o1, o2) -> 0);
+        pipeline = new ChunkProcessingPipeline((p) -> null, (p) -> 0);
         pipeline.addStage(ChunkTaskProvider.createMulti(
                 "flat merging task",
                 (chunks) -> chunks.stream()
@@ -163,16 +163,49 @@ void multiRequirementsChunksWillGeneratedSuccess() throws ExecutionException, In
                 "Chunk after processing must have equals position, probably pipeline lost you chunk");
     }
 
+    /**
+     * Imagine that we have task, which requires neighbors with same Z level. neighbors appear in chunk cache later,
+     * without passing through the pipeline.
+     */
+    @Test
+    void multiRequirementsChunksAppearInCacheSuccess() throws ExecutionException, InterruptedException,
+            TimeoutException {
+        Vector3i positionToGenerate = new Vector3i(0, 0, 0);
+        Map<Vector3ic, Chunk> chunkCache = Maps.newConcurrentMap();
+
+        pipeline = new ChunkProcessingPipeline(chunkCache::get, (p) -> 0);
+        pipeline.addStage(ChunkTaskProvider.createMulti(
+                "flat merging task",
+                (chunks) -> chunks.stream()
+                        .filter((c) -> c.getPosition().equals(positionToGenerate)).findFirst() // return central chunk.
+                        .get(),
+                this::getNearChunkPositions));
+
+        Chunk chunk = createChunkAt(positionToGenerate);
+        Future<Chunk> chunkFuture = pipeline.invokeGeneratorTask(new Vector3i(0, 0, 0), () -> chunk);
+
+        Thread.sleep(500);
+        Assertions.assertFalse(chunkFuture.isDone(), "Chunk must be not generated, because ChunkTask have not exists " +
+                "neighbors in requirements");
+
+        getNearChunkPositions(positionToGenerate).stream()
+                .filter((p) -> !p.equals(positionToGenerate))
+                .forEach((p) -> chunkCache.put(p, createChunkAt(p)));
+
+        Chunk chunkAfterProcessing = chunkFuture.get(1, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(chunkAfterProcessing.getPosition(new Vector3i()), chunk.getPosition(new Vector3i()),
+                "Chunk after processing must have equals position, probably pipeline lost you chunk");
+    }
+
     @Test
     void emulateEntityMoving() throws InterruptedException {
         final AtomicReference<Vector3ic> position = new AtomicReference<>();
         Map<Vector3ic, Future<Chunk>> futures = Maps.newHashMap();
         Map<Vector3ic, Chunk> chunkCache = Maps.newConcurrentMap();
-        pipeline = new ChunkProcessingPipeline(chunkCache::get, (o1, o2) -> {
+        pipeline = new ChunkProcessingPipeline(chunkCache::get, (p) -> {
             if (position.get() != null) {
-                Vector3ic entityPos = position.get();
-                return (int) (entityPos.distance(((PositionFuture<?>) o1).getPosition())
-                            - entityPos.distance(((PositionFuture<?>) o2).getPosition()));
+                return (int) position.get().distance(p);
             }
             return 0;
         });
@@ -214,6 +247,7 @@ void emulateEntityMoving() throws InterruptedException {
                     }
             );
             relativeRegion = newRegion;
+            pipeline.updatePriorities();
 
             Assertions.assertTrue(Sets.difference(chunkCache.keySet(), relativeRegion).isEmpty(), "We must haven't " +
                     "chunks not related to relativeRegion");
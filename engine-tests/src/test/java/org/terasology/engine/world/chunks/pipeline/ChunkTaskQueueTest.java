@@ -0,0 +1,92 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.world.chunks.pipeline;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+class ChunkTaskQueueTest {
+
+    @Test
+    void pollsInScoreOrder() {
+        ChunkTaskQueue queue = new ChunkTaskQueue(Vector3ic::x);
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            queue.offer(taskAt(new Vector3i(random.nextInt(50), 0, 0)));
+        }
+
+        int previous = Integer.MIN_VALUE;
+        while (!queue.isEmpty()) {
+            int score = ((PositionFuture<?>) queue.poll()).getPosition().x();
+            Assertions.assertTrue(score >= previous, "Tasks must be polled in ascending score order");
+            previous = score;
+        }
+    }
+
+    @Test
+    void equalScoresKeepSubmissionOrder() {
+        ChunkTaskQueue queue = new ChunkTaskQueue((p) -> 0);
+        List<PositionFuture<?>> tasks = Lists.newArrayList();
+        for (int i = 0; i < 10; i++) {
+            PositionFuture<?> task = taskAt(new Vector3i(i, 0, 0));
+            tasks.add(task);
+            queue.offer(task);
+        }
+
+        for (PositionFuture<?> task : tasks) {
+            Assertions.assertSame(task, queue.poll());
+        }
+    }
+
+    @Test
+    void removeCancelledTask() {
+        ChunkTaskQueue queue = new ChunkTaskQueue(Vector3ic::x);
+        List<PositionFuture<?>> tasks = Lists.newArrayList();
+        for (int i = 0; i < 10; i++) {
+            PositionFuture<?> task = taskAt(new Vector3i(i, 0, 0));
+            tasks.add(task);
+            queue.offer(task);
+        }
+
+        Assertions.assertTrue(queue.remove(tasks.get(0)));
+        Assertions.assertTrue(queue.remove(tasks.get(5)));
+        Assertions.assertFalse(queue.remove(tasks.get(5)), "Task must be removed only once");
+        Assertions.assertEquals(8, queue.size());
+
+        tasks.remove(5);
+        tasks.remove(0);
+        for (PositionFuture<?> task : tasks) {
+            Assertions.assertSame(task, queue.poll());
+        }
+    }
+
+    @Test
+    void updatePrioritiesReordersQueue() {
+        AtomicReference<Vector3ic> center = new AtomicReference<>(new Vector3i(0, 0, 0));
+        ChunkTaskQueue queue = new ChunkTaskQueue((p) -> (int) p.distance(center.get()));
+        for (int i = 0; i < 10; i++) {
+            queue.offer(taskAt(new Vector3i(i, 0, 0)));
+        }
+
+        center.set(new Vector3i(9, 0, 0));
+        queue.updatePriorities();
+
+        for (int i = 9; i >= 0; i--) {
+            Assertions.assertEquals(i, ((PositionFuture<?>) queue.poll()).getPosition().x(),
+                    "Tasks closest to the new center must be polled first");
+        }
+    }
+
+    private PositionFuture<?> taskAt(Vector3ic position) {
+        return new PositionFuture<>(new FutureTask<>(() -> null), position);
+    }
+}
@@ -0,0 +1,210 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.generation;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.context.Context;
+import org.terasology.engine.context.internal.ContextImpl;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.generation.facets.base.BaseFacet2D;
+import org.terasology.engine.world.generation.facets.base.BaseFacet3D;
+import org.terasology.engine.world.generator.plugin.WorldGeneratorPluginLibrary;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnFacetCacheTest {
+
+    private static final BlockRegion LOWER = new BlockRegion(0, 0, 0, 31, 63, 31);
+    private static final BlockRegion UPPER = new BlockRegion(0, 64, 0, 31, 127, 31);
+
+    private Context context = new ContextImpl();
+
+    @Test
+    public void testStackedRegionsShareFacets() {
+        HeightProvider heightProvider = new HeightProvider();
+        WorldImpl world = build(heightProvider, new DensityProvider());
+
+        Height lower = world.getChunkData(LOWER, 1).getFacet(Height.class);
+        Height upper = world.getChunkData(UPPER, 1).getFacet(Height.class);
+
+        assertSame(lower, upper);
+        assertEquals(1, heightProvider.calls.get());
+        assertEquals(1, world.getFacetCache().getMisses());
+        assertEquals(1, world.getFacetCache().getHits());
+    }
+
+    @Test
+    public void testDependentFacetsUseCachedFacets() {
+        HeightProvider heightProvider = new HeightProvider();
+        WorldImpl world = build(heightProvider, new DensityProvider());
+
+        Region lower = world.getChunkData(LOWER, 1);
+        Region upper = world.getChunkData(UPPER, 1);
+
+        assertNotSame(lower.getFacet(Density.class), upper.getFacet(Density.class));
+        assertSame(lower.getFacet(Height.class), upper.getFacet(Height.class));
+        assertEquals(1, heightProvider.calls.get());
+    }
+
+    @Test
+    public void testDifferentColumnsDoNotShareFacets() {
+        HeightProvider heightProvider = new HeightProvider();
+        WorldImpl world = build(heightProvider, new DensityProvider());
+
+        Height first = world.getChunkData(LOWER, 1).getFacet(Height.class);
+        Height second = world.getChunkData(new BlockRegion(32, 0, 0, 63, 63, 31), 1).getFacet(Height.class);
+
+        assertNotSame(first, second);
+        assertEquals(2, heightProvider.calls.get());
+        assertEquals(0, world.getFacetCache().getHits());
+    }
+
+    @Test
+    public void testWorldDataIsNotCached() {
+        HeightProvider heightProvider = new HeightProvider();
+        WorldImpl world = build(heightProvider, new DensityProvider());
+
+        world.getWorldData(LOWER).getFacet(Height.class);
+        world.getWorldData(UPPER).getFacet(Height.class);
+
+        assertEquals(2, heightProvider.calls.get());
+        assertEquals(0, world.getFacetCache().size());
+    }
+
+    @Test
+    public void testUpdatedFacetsAreCached() {
+        HeightProvider heightProvider = new HeightProvider();
+        WorldImpl world = build(heightProvider, new HeightUpdater(), new DensityProvider());
+
+        Height lower = world.getChunkData(LOWER, 1).getFacet(Height.class);
+        Height upper = world.getChunkData(UPPER, 1).getFacet(Height.class);
+
+        assertSame(lower, upper);
+        assertTrue(lower.updated);
+        assertEquals(1, heightProvider.calls.get());
+    }
+
+    @Test
+    public void testFacetsDependingOn3DFacetsAreNotCached() {
+        HeightProvider heightProvider = new HeightProvider();
+        WorldImpl world = build(heightProvider, new CaveHeightUpdater(), new CaveProvider(), new DensityProvider());
+
+        Height lower = world.getChunkData(LOWER, 1).getFacet(Height.class);
+        Height upper = world.getChunkData(UPPER, 1).getFacet(Height.class);
+
+        assertNotSame(lower, upper);
+        assertTrue(lower.updated);
+        assertTrue(upper.updated);
+        assertEquals(2, heightProvider.calls.get());
+        assertEquals(0, world.getFacetCache().size());
+    }
+
+    @Test
+    public void testCacheEvictsLeastRecentlyUsed() {
+        ColumnFacetCache cache = new ColumnFacetCache(2);
+        AtomicInteger generated = new AtomicInteger();
+        BlockRegionc[] columns = {
+                new BlockRegion(0, 0, 0, 31, 63, 31),
+                new BlockRegion(32, 0, 0, 63, 63, 31),
+                new BlockRegion(64, 0, 0, 95, 63, 31)
+        };
+        for (int column : new int[] {0, 1, 0, 2, 0, 1}) {
+            cache.get(Height.class, columns[column], 1, () -> {
+                generated.incrementAndGet();
+                return Collections.emptyMap();
+            });
+        }
+
+        assertEquals(4, generated.get());
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.size());
+    }
+
+    private WorldImpl build(FacetProvider... providers) {
+        WorldBuilder worldBuilder = new WorldBuilder(context.get(WorldGeneratorPluginLibrary.class));
+        worldBuilder.setSeed(12);
+        for (FacetProvider provider : providers) {
+            worldBuilder.addProvider(provider);
+        }
+        return (WorldImpl) worldBuilder.build();
+    }
+
+    public static class Height extends BaseFacet2D {
+        public boolean updated;
+
+        public Height(BlockRegionc targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    public static class Caves extends BaseFacet3D {
+        public Caves(BlockRegion targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    public static class Density extends BaseFacet3D {
+        public Density(BlockRegion targetRegion, Border3D border) {
+            super(targetRegion, border);
+        }
+    }
+
+    @Produces(Height.class)
+    public static class HeightProvider implements FacetProvider {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public void process(GeneratingRegion region) {
+            calls.incrementAndGet();
+            region.setRegionFacet(Height.class, new Height(region.getRegion(), region.getBorderForFacet(Height.class)));
+        }
+    }
+
+    @Produces(Density.class)
+    @Requires(@Facet(Height.class))
+    public static class DensityProvider implements FacetProvider {
+
+        @Override
+        public void process(GeneratingRegion region) {
+            region.getRegionFacet(Height.class);
+            region.setRegionFacet(Density.class,
+                    new Density(region.getRegion(), region.getBorderForFacet(Density.class)));
+        }
+    }
+
+    @Produces(Caves.class)
+    public static class CaveProvider implements FacetProvider {
+
+        @Override
+        public void process(GeneratingRegion region) {
+            region.setRegionFacet(Caves.class, new Caves(region.getRegion(), region.getBorderForFacet(Caves.class)));
+        }
+    }
+
+    @Updates(@Facet(Height.class))
+    public static class HeightUpdater implements FacetProvider {
+
+        @Override
+        public void process(GeneratingRegion region) {
+            region.getRegionFacet(Height.class).updated = true;
+        }
+    }
+
+    @Updates(@Facet(Height.class))
+    @Requires(@Facet(Caves.class))
+    public static class CaveHeightUpdater implements FacetProvider {
+
+        @Override
+        public void process(GeneratingRegion region) {
+            region.getRegionFacet(Caves.class);
+            region.getRegionFacet(Height.class).updated = true;
+        }
+    }
+}
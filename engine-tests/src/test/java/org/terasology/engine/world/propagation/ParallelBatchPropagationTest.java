@@ -0,0 +1,353 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.propagation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.TerasologyTestingEnvironment;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.registry.CoreRegistry;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.block.BlockUri;
+import org.terasology.engine.world.block.family.SymmetricFamily;
+import org.terasology.engine.world.block.internal.BlockManagerImpl;
+import org.terasology.engine.world.block.loader.BlockFamilyDefinition;
+import org.terasology.engine.world.block.loader.BlockFamilyDefinitionData;
+import org.terasology.engine.world.block.shapes.BlockShape;
+import org.terasology.engine.world.block.tiles.NullWorldAtlas;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.ChunkProvider;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.chunks.internal.ChunkImpl;
+import org.terasology.engine.world.internal.ChunkViewCore;
+import org.terasology.engine.world.internal.WorldProviderCoreImpl;
+import org.terasology.engine.world.propagation.light.InternalLightProcessor;
+import org.terasology.gestalt.assets.ResourceUrn;
+import org.terasology.gestalt.assets.management.AssetManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@Tag("TteTest")
+public class ParallelBatchPropagationTest extends TerasologyTestingEnvironment {
+
+    private static final int WORLD_COLUMNS = 7;
+    private static final int WORLD_LAYERS = 2;
+    private static final int ROUNDS = 6;
+
+    private BlockManagerImpl blockManager;
+    private ExtraBlockDataManager extraDataManager;
+    private Block air;
+    private Block stone;
+    private Block torch;
+    private ExecutorService executor;
+
+    @BeforeEach
+    @Override
+    public void setup() throws Exception {
+        super.setup();
+        AssetManager assetManager = CoreRegistry.get(AssetManager.class);
+        blockManager = new BlockManagerImpl(new NullWorldAtlas(), assetManager, true);
+        CoreRegistry.put(BlockManager.class, blockManager);
+        extraDataManager = new ExtraBlockDataManager();
+
+        BlockFamilyDefinitionData torchData = new BlockFamilyDefinitionData();
+        torchData.getBaseSection().setDisplayName("Torch");
+        torchData.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        torchData.getBaseSection().setLuminance(Chunks.MAX_LIGHT);
+        torchData.getBaseSection().setTranslucent(true);
+        torchData.setBlockFamily(SymmetricFamily.class);
+        assetManager.loadAsset(new ResourceUrn("engine:torch"), torchData, BlockFamilyDefinition.class);
+        torch = blockManager.getBlock(new BlockUri(new ResourceUrn("engine:torch")));
+
+        BlockFamilyDefinitionData stoneData = new BlockFamilyDefinitionData();
+        stoneData.getBaseSection().setDisplayName("Stone");
+        stoneData.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        stoneData.getBaseSection().setTranslucent(false);
+        stoneData.setBlockFamily(SymmetricFamily.class);
+        assetManager.loadAsset(new ResourceUrn("engine:stone"), stoneData, BlockFamilyDefinition.class);
+        stone = blockManager.getBlock(new BlockUri(new ResourceUrn("engine:stone")));
+
+        air = blockManager.getBlock(BlockManager.AIR_ID);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testChangesAreGroupedByChunk() {
+        BlockChange first = change(0, 10, 0);
+        BlockChange second = change(Chunks.SIZE_X, 10, 0);
+        BlockChange third = change(5, 10, 5);
+        BlockChange fourth = change(5, Chunks.SIZE_Y + 10, 5);
+        Map<Vector3ic, List<BlockChange>> chunks =
+                ParallelBatchPropagation.groupByChunk(Lists.newArrayList(first, second, third, fourth));
+
+        assertEquals(Lists.newArrayList(new Vector3i(0, 0, 0), new Vector3i(1, 0, 0), new Vector3i(0, 1, 0)),
+                Lists.newArrayList(chunks.keySet()));
+        assertEquals(Lists.newArrayList(first, third), chunks.get(new Vector3i(0, 0, 0)));
+    }
+
+    @Test
+    public void testMatchesSerialPropagation() {
+        Random random = new Random(4242);
+        long terrainSeed = random.nextLong();
+        TestChunkProvider serialWorld = createWorld(new Random(terrainSeed));
+        TestChunkProvider parallelWorld = createWorld(new Random(terrainSeed));
+        List<BatchPropagator> serialPropagators = WorldProviderCoreImpl.createPropagators(serialWorld);
+        ParallelBatchPropagation parallelPropagation = new ParallelBatchPropagation(
+                wrapView -> WorldProviderCoreImpl.createPropagators(parallelWorld, wrapView), executor);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            Map<Vector3i, BlockChange> serialChanges = Maps.newLinkedHashMap();
+            Map<Vector3i, BlockChange> parallelChanges = Maps.newLinkedHashMap();
+            int clusters = 1 + random.nextInt(6);
+            for (int cluster = 0; cluster < clusters; cluster++) {
+                int centerX = random.nextInt(WORLD_COLUMNS * Chunks.SIZE_X);
+                int centerY = random.nextInt(WORLD_LAYERS * Chunks.SIZE_Y);
+                int centerZ = random.nextInt(WORLD_COLUMNS * Chunks.SIZE_Z);
+                int blocks = 1 + random.nextInt(40);
+                for (int i = 0; i < blocks; i++) {
+                    Vector3i pos = new Vector3i(
+                            clamp(centerX + random.nextInt(13) - 6, WORLD_COLUMNS * Chunks.SIZE_X),
+                            clamp(centerY + random.nextInt(13) - 6, WORLD_LAYERS * Chunks.SIZE_Y),
+                            clamp(centerZ + random.nextInt(13) - 6, WORLD_COLUMNS * Chunks.SIZE_Z));
+                    Block block = randomBlock(random);
+                    setBlock(serialWorld, serialChanges, pos, block);
+                    setBlock(parallelWorld, parallelChanges, pos, block);
+                }
+            }
+
+            for (BatchPropagator propagator : serialPropagators) {
+                propagator.process(serialChanges.values());
+            }
+            parallelPropagation.process(parallelChanges.values());
+
+            assertSameLight(serialWorld, parallelWorld, round);
+        }
+    }
+
+    /**
+     * Digs lit tunnels through a block of several chunks, so most chunks get changes and the light of some stays
+     * inside of them while that of others crosses into their neighbours.
+     */
+    @Test
+    public void testContiguousEditMatchesSerialPropagation() {
+        long terrainSeed = 1234;
+        TestChunkProvider serialWorld = createWorld(new Random(terrainSeed));
+        TestChunkProvider parallelWorld = createWorld(new Random(terrainSeed));
+        List<BatchPropagator> serialPropagators = WorldProviderCoreImpl.createPropagators(serialWorld);
+        ParallelBatchPropagation parallelPropagation = new ParallelBatchPropagation(
+                wrapView -> WorldProviderCoreImpl.createPropagators(parallelWorld, wrapView), executor);
+
+        Map<Vector3i, BlockChange> serialChanges = Maps.newLinkedHashMap();
+        Map<Vector3i, BlockChange> parallelChanges = Maps.newLinkedHashMap();
+        Vector3i pos = new Vector3i();
+        for (int x = Chunks.SIZE_X; x < 5 * Chunks.SIZE_X; x++) {
+            for (int z = Chunks.SIZE_Z; z < 5 * Chunks.SIZE_Z; z++) {
+                for (int y = 4; y < 24; y++) {
+                    Block block = stone;
+                    if (x % 8 != 0 && z % 8 != 0 && y % 8 != 0) {
+                        block = x % 8 == 4 && z % 8 == 4 && y % 8 == 4 ? torch : air;
+                    }
+                    setBlock(serialWorld, serialChanges, pos.set(x, y, z), block);
+                    setBlock(parallelWorld, parallelChanges, pos, block);
+                }
+            }
+        }
+        assertTrue(ParallelBatchPropagation.groupByChunk(parallelChanges.values()).size() > 1);
+
+        for (BatchPropagator propagator : serialPropagators) {
+            propagator.process(serialChanges.values());
+        }
+        parallelPropagation.process(parallelChanges.values());
+
+        assertSameLight(serialWorld, parallelWorld, 0);
+    }
+
+    @Test
+    public void testCallingThreadProcessesChunksNotTakenByHelpers() {
+        long terrainSeed = 5678;
+        TestChunkProvider serialWorld = createWorld(new Random(terrainSeed));
+        TestChunkProvider parallelWorld = createWorld(new Random(terrainSeed));
+        List<BatchPropagator> serialPropagators = WorldProviderCoreImpl.createPropagators(serialWorld);
+        // an executor too busy to ever start the helpers
+        ParallelBatchPropagation parallelPropagation = new ParallelBatchPropagation(
+                wrapView -> WorldProviderCoreImpl.createPropagators(parallelWorld, wrapView), runnable -> { });
+
+        Map<Vector3i, BlockChange> serialChanges = Maps.newLinkedHashMap();
+        Map<Vector3i, BlockChange> parallelChanges = Maps.newLinkedHashMap();
+        for (int x = 0; x < WORLD_COLUMNS; x++) {
+            Vector3i pos = new Vector3i(x * Chunks.SIZE_X + Chunks.SIZE_X / 2, Chunks.SIZE_Y / 4, Chunks.SIZE_Z / 2);
+            setBlock(serialWorld, serialChanges, pos, torch);
+            setBlock(parallelWorld, parallelChanges, pos, torch);
+        }
+
+        for (BatchPropagator propagator : serialPropagators) {
+            propagator.process(serialChanges.values());
+        }
+        parallelPropagation.process(parallelChanges.values());
+
+        assertSameLight(serialWorld, parallelWorld, 0);
+    }
+
+    private TestChunkProvider createWorld(Random random) {
+        TestChunkProvider world = new TestChunkProvider();
+        for (int x = 0; x < WORLD_COLUMNS; x++) {
+            for (int y = 0; y < WORLD_LAYERS; y++) {
+                for (int z = 0; z < WORLD_COLUMNS; z++) {
+                    world.addChunk(new ChunkImpl(new Vector3i(x, y, z), blockManager, extraDataManager));
+                }
+            }
+        }
+        Vector3i pos = new Vector3i();
+        for (int x = 0; x < WORLD_COLUMNS * Chunks.SIZE_X; x++) {
+            for (int z = 0; z < WORLD_COLUMNS * Chunks.SIZE_Z; z++) {
+                int height = Chunks.SIZE_Y / 2 + random.nextInt(Chunks.SIZE_Y);
+                for (int y = 0; y < height; y++) {
+                    world.setBlock(pos.set(x, y, z), random.nextInt(200) == 0 ? torch : stone);
+                }
+            }
+        }
+        for (Chunk chunk : world.getAllChunks()) {
+            InternalLightProcessor.generateInternalLighting(chunk);
+        }
+        return world;
+    }
+
+    private Block randomBlock(Random random) {
+        int choice = random.nextInt(10);
+        if (choice < 5) {
+            return air;
+        }
+        return choice < 9 ? stone : torch;
+    }
+
+    private static void setBlock(TestChunkProvider world, Map<Vector3i, BlockChange> changes, Vector3i pos,
+                                 Block block) {
+        Block oldBlock = world.setBlock(pos, block);
+        if (oldBlock != block) {
+            BlockChange oldChange = changes.get(pos);
+            if (oldChange == null) {
+                changes.put(new Vector3i(pos), new BlockChange(pos, oldBlock, block));
+            } else {
+                oldChange.setTo(block);
+            }
+        }
+    }
+
+    private static void assertSameLight(TestChunkProvider expected, TestChunkProvider actual, int round) {
+        for (Chunk expectedChunk : expected.getAllChunks()) {
+            Vector3i chunkPos = expectedChunk.getPosition(new Vector3i());
+            Chunk actualChunk = actual.getChunk(chunkPos);
+            for (Vector3ic pos : Chunks.CHUNK_REGION) {
+                if (expectedChunk.getLight(pos) != actualChunk.getLight(pos)
+                        || expectedChunk.getSunlight(pos) != actualChunk.getSunlight(pos)
+                        || expectedChunk.getSunlightRegen(pos) != actualChunk.getSunlightRegen(pos)) {
+                    fail("Light differs in round " + round + " in chunk " + chunkPos + " at position " + pos);
+                }
+            }
+        }
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+
+    private BlockChange change(int x, int y, int z) {
+        return new BlockChange(new Vector3i(x, y, z), air, stone);
+    }
+
+    private static class TestChunkProvider implements ChunkProvider {
+        private final Map<Vector3ic, Chunk> chunks = Maps.newHashMap();
+
+        void addChunk(Chunk chunk) {
+            chunks.put(chunk.getPosition(new Vector3i()), chunk);
+        }
+
+        Block setBlock(Vector3ic worldPos, Block block) {
+            Chunk chunk = getChunk(Chunks.toChunkPos(worldPos, new Vector3i()));
+            return chunk.setBlock(Chunks.toRelative(worldPos, new Vector3i()), block);
+        }
+
+        @Override
+        public ChunkViewCore getSubview(BlockRegionc region, Vector3ic offset) {
+            return null;
+        }
+
+        @Override
+        public boolean reloadChunk(Vector3ic pos) {
+            return false;
+        }
+
+        @Override
+        public void setWorldEntity(EntityRef entity) {
+            // do nothing
+        }
+
+        @Override
+        public Collection<Chunk> getAllChunks() {
+            return chunks.values();
+        }
+
+        @Override
+        public void update() {
+            // do nothing
+        }
+
+        @Override
+        public boolean isChunkReady(Vector3ic pos) {
+            return chunks.containsKey(pos);
+        }
+
+        @Override
+        public Chunk getChunk(int x, int y, int z) {
+            return getChunk(new Vector3i(x, y, z));
+        }
+
+        @Override
+        public Chunk getChunk(Vector3ic chunkPos) {
+            return chunks.get(chunkPos);
+        }
+
+        @Override
+        public void dispose() {
+            // do nothing
+        }
+
+        @Override
+        public void restart() {
+            // do nothing
+        }
+
+        @Override
+        public void shutdown() {
+            // do nothing
+        }
+
+        @Override
+        public void purgeWorld() {
+            // do nothing
+        }
+    }
+}
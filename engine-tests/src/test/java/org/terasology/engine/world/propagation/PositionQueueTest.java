@@ -0,0 +1,105 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.propagation;
+
+import gnu.trove.list.array.TLongArrayList;
+import org.joml.Vector3i;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PositionQueueTest {
+
+    @Test
+    public void testPackRoundTrip() {
+        int[][] positions = {
+                {0, 0, 0}, {-1, -1, -1}, {15, -64, 300},
+                {2097151, 524287, 2097151}, {-2097152, -524288, -2097152}
+        };
+        for (int[] pos : positions) {
+            Vector3i expected = new Vector3i(pos[0], pos[1], pos[2]);
+            assertEquals(expected, PositionQueue.unpack(PositionQueue.pack(expected), new Vector3i()));
+        }
+    }
+
+    @Test
+    public void testDrainKeepsInsertionOrder() {
+        PositionQueue queue = new PositionQueue();
+        queue.add(new Vector3i(3, 0, 0));
+        queue.add(new Vector3i(1, 0, 0));
+        queue.add(new Vector3i(2, 0, 0));
+
+        assertEquals(positions(new Vector3i(3, 0, 0), new Vector3i(1, 0, 0), new Vector3i(2, 0, 0)), drain(queue));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDuplicatesAreIgnored() {
+        PositionQueue queue = new PositionQueue();
+        assertTrue(queue.add(new Vector3i(1, 2, 3)));
+        assertTrue(queue.add(new Vector3i(4, 5, 6)));
+        assertFalse(queue.add(new Vector3i(1, 2, 3)));
+
+        assertEquals(positions(new Vector3i(1, 2, 3), new Vector3i(4, 5, 6)), drain(queue));
+    }
+
+    @Test
+    public void testRemovedPositionIsSkipped() {
+        PositionQueue queue = new PositionQueue();
+        queue.add(new Vector3i(1, 0, 0));
+        queue.add(new Vector3i(2, 0, 0));
+        assertTrue(queue.remove(new Vector3i(1, 0, 0)));
+        assertFalse(queue.remove(new Vector3i(1, 0, 0)));
+
+        assertEquals(positions(new Vector3i(2, 0, 0)), drain(queue));
+    }
+
+    @Test
+    public void testReaddedPositionMovesToBack() {
+        PositionQueue queue = new PositionQueue();
+        queue.add(new Vector3i(1, 0, 0));
+        queue.add(new Vector3i(2, 0, 0));
+        queue.remove(new Vector3i(1, 0, 0));
+        queue.add(new Vector3i(1, 0, 0));
+
+        assertEquals(positions(new Vector3i(2, 0, 0), new Vector3i(1, 0, 0)), drain(queue));
+    }
+
+    @Test
+    public void testRemovingAllLeavesQueueEmpty() {
+        PositionQueue queue = new PositionQueue();
+        queue.add(new Vector3i(1, 0, 0));
+        queue.remove(new Vector3i(1, 0, 0));
+
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testReuseAfterLargeBatch() {
+        PositionQueue queue = new PositionQueue();
+        for (int i = 0; i < 1000; i++) {
+            queue.add(new Vector3i(i, 0, -i));
+        }
+        assertEquals(1000, drain(queue).size());
+
+        queue.add(new Vector3i(5, 0, -5));
+        queue.add(new Vector3i(7, 1, 7));
+        assertEquals(positions(new Vector3i(5, 0, -5), new Vector3i(7, 1, 7)), drain(queue));
+    }
+
+    private static TLongArrayList drain(PositionQueue queue) {
+        TLongArrayList result = new TLongArrayList();
+        queue.drainTo(result);
+        return result;
+    }
+
+    private static TLongArrayList positions(Vector3i... positions) {
+        TLongArrayList result = new TLongArrayList();
+        for (Vector3i pos : positions) {
+            result.add(PositionQueue.pack(pos));
+        }
+        return result;
+    }
+}
@@ -4,6 +4,7 @@
 package org.terasology.utilities;
 
 import com.google.common.collect.Lists;
+import org.joml.Vector3f;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.terasology.engine.utilities.procedural.BrownianNoise;
@@ -11,9 +12,12 @@
 import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.PerlinNoise;
 import org.terasology.engine.utilities.procedural.SimplexNoise;
+import org.terasology.engine.utilities.procedural.SubSampledNoise;
 import org.terasology.engine.utilities.procedural.WhiteNoise;
 import org.terasology.engine.utilities.random.FastRandom;
 import org.terasology.engine.utilities.random.Random;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockRegion;
 
 import java.util.List;
 
@@ -88,4 +92,72 @@ public void testResolution(Noise noiseGen) {
 
         fail();
     }
+
+    public static List<Noise> batchData() {
+        List<Noise> noises = data();
+        noises.add(new BrownianNoise(new SimplexNoise(0xCAFE), 8));
+        noises.add(new SimplexNoise(0xCAFE, 100));
+        noises.add(new SubSampledNoise(new SimplexNoise(0xCAFE), new Vector3f(0.01f, 0.01f, 0.01f), 4));
+        return noises;
+    }
+
+    @ParameterizedTest
+    @MethodSource("batchData")
+    public void testBatchMatchesScalar(Noise noiseGen) {
+        int count = 1000;
+        float[] posX = new float[count];
+        float[] posY = new float[count];
+        float[] posZ = new float[count];
+        for (int i = 0; i < count; i++) {
+            posX[i] = (rng.nextFloat() - 0.5f) * 1000f;
+            posY[i] = (rng.nextFloat() - 0.5f) * 1000f;
+            posZ[i] = (rng.nextFloat() - 0.5f) * 1000f;
+        }
+
+        float[] result = new float[count];
+        noiseGen.noise(posX, posY, result, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(noiseGen.noise(posX[i], posY[i]), result[i], 1e-6f);
+        }
+        noiseGen.noise(posX, posY, posZ, result, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(noiseGen.noise(posX[i], posY[i], posZ[i]), result[i], 1e-6f);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("batchData")
+    public void testAreaMatchesScalar(Noise noiseGen) {
+        BlockArea area = new BlockArea(-3, 5, 12, 20);
+        float[] result = noiseGen.noise(area, 0.5f);
+
+        assertEquals(area.getSizeX() * area.getSizeY(), result.length);
+        if (!(noiseGen instanceof SubSampledNoise)) {
+            int index = 0;
+            for (int y = area.minY(); y <= area.maxY(); y++) {
+                for (int x = area.minX(); x <= area.maxX(); x++) {
+                    assertEquals(noiseGen.noise(0.5f * x, 0.5f * y), result[index++], 1e-6f);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("batchData")
+    public void testRegionMatchesScalar(Noise noiseGen) {
+        BlockRegion region = new BlockRegion(-3, 5, 0, 4, 12, 6);
+        float[] result = noiseGen.noise(region, 0.5f);
+
+        assertEquals(region.volume(), result.length);
+        if (!(noiseGen instanceof SubSampledNoise)) {
+            int index = 0;
+            for (int z = region.minZ(); z <= region.maxZ(); z++) {
+                for (int y = region.minY(); y <= region.maxY(); y++) {
+                    for (int x = region.minX(); x <= region.maxX(); x++) {
+                        assertEquals(noiseGen.noise(0.5f * x, 0.5f * y, 0.5f * z), result[index++], 1e-6f);
+                    }
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,103 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.chunks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.terasology.engine.math.Side;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockUri;
+import org.terasology.engine.world.block.family.BlockFamily;
+import org.terasology.gestalt.assets.ResourceUrn;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Block manager for benchmarks, which knows only air and one opaque block, without needing any assets.
+ */
+public class BenchmarkBlockManager extends BlockManager {
+    public static final BlockUri STONE_ID = new BlockUri(new ResourceUrn("benchmark:stone"));
+
+    private final Block air;
+    private final Block stone;
+    private final List<Block> blocks;
+
+    public BenchmarkBlockManager() {
+        air = new Block();
+        air.setId((short) 0);
+        air.setUri(AIR_ID);
+        air.setTranslucent(true);
+        air.setPenetrable(true);
+
+        stone = new Block();
+        stone.setId((short) 1);
+        stone.setUri(STONE_ID);
+        for (Side side : Side.values()) {
+            stone.setFullSide(side, true);
+        }
+        blocks = ImmutableList.of(air, stone);
+    }
+
+    public Block getAir() {
+        return air;
+    }
+
+    public Block getStone() {
+        return stone;
+    }
+
+    @Override
+    public Map<String, Short> getBlockIdMap() {
+        return ImmutableMap.of(AIR_ID.toString(), air.getId(), STONE_ID.toString(), stone.getId());
+    }
+
+    @Override
+    public BlockFamily getBlockFamily(String uri) {
+        return null;
+    }
+
+    @Override
+    public BlockFamily getBlockFamily(BlockUri uri) {
+        return null;
+    }
+
+    @Override
+    public Block getBlock(String uri) {
+        return getBlock(new BlockUri(uri));
+    }
+
+    @Override
+    public Block getBlock(BlockUri uri) {
+        return STONE_ID.equals(uri) ? stone : air;
+    }
+
+    @Override
+    public Block getBlock(short id) {
+        return id == stone.getId() ? stone : air;
+    }
+
+    @Override
+    public Collection<BlockUri> listRegisteredBlockUris() {
+        return ImmutableList.of(AIR_ID, STONE_ID);
+    }
+
+    @Override
+    public Collection<BlockFamily> listRegisteredBlockFamilies() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public int getBlockFamilyCount() {
+        return 0;
+    }
+
+    @Override
+    public Collection<Block> listRegisteredBlocks() {
+        return blocks;
+    }
+}
@@ -0,0 +1,40 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.chunks;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.chunks.internal.ChunkImpl;
+
+/**
+ * Generates chunks of a simple terrain for benchmarks: stone below a gently rolling surface, which lies in the chunk
+ * layer {@code y = 0}.
+ */
+public final class BenchmarkTerrain {
+
+    private BenchmarkTerrain() {
+    }
+
+    public static ChunkImpl generateChunk(Vector3ic position, BenchmarkBlockManager blockManager,
+                                          ExtraBlockDataManager extraDataManager) {
+        ChunkImpl chunk = new ChunkImpl(position, blockManager, extraDataManager);
+        Vector3i worldPos = new Vector3i();
+        for (int x = 0; x < Chunks.SIZE_X; x++) {
+            for (int z = 0; z < Chunks.SIZE_Z; z++) {
+                chunk.chunkToWorldPosition(x, 0, z, worldPos);
+                int height = Chunks.SIZE_Y / 2
+                        + (int) (Chunks.SIZE_Y / 4 * Math.sin(worldPos.x / 20f) * Math.cos(worldPos.z / 20f));
+                for (int y = 0; y < Chunks.SIZE_Y; y++) {
+                    int worldY = position.y() * Chunks.SIZE_Y + y;
+                    if (worldY < height) {
+                        chunk.setBlock(x, y, z, blockManager.getStone());
+                    }
+                }
+            }
+        }
+        return chunk;
+    }
+}
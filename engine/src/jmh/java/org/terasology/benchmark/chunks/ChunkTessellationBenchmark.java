@@ -0,0 +1,132 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.chunks;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.math.Side;
+import org.terasology.engine.rendering.primitives.ChunkMesh;
+import org.terasology.engine.rendering.primitives.ChunkTessellator;
+import org.terasology.engine.rendering.primitives.ChunkVertexFormat;
+import org.terasology.engine.world.block.BlockAppearance;
+import org.terasology.engine.world.block.BlockPart;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.shapes.BlockMeshPart;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.internal.ChunkViewCore;
+import org.terasology.engine.world.internal.ChunkViewCoreImpl;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures tessellating the surface chunks of a small world of rolling terrain, with and without merging the faces of
+ * adjacent blocks, for each chunk vertex format.
+ * <p>
+ * The {@link MeshSize} counters report the bytes per vertex and the total size of the meshes of the world.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+@State(Scope.Thread)
+public class ChunkTessellationBenchmark {
+
+    private static final int WORLD_SIZE = 4;
+
+    @Param({"true", "false"})
+    private boolean greedyMeshing;
+
+    @Param({"STANDARD", "PACKED"})
+    private ChunkVertexFormat vertexFormat;
+
+    private ChunkTessellator tessellator;
+    private final ChunkViewCore[] views = new ChunkViewCore[WORLD_SIZE * WORLD_SIZE];
+
+    @Setup
+    public void setup() {
+        BenchmarkBlockManager blockManager = new BenchmarkBlockManager();
+        blockManager.getStone().setPrimaryAppearance(createCubeAppearance());
+        ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+        for (int i = 0; i < views.length; i++) {
+            Vector3i position = new Vector3i(i % WORLD_SIZE, 0, i / WORLD_SIZE);
+            Chunk chunk = BenchmarkTerrain.generateChunk(position, blockManager, extraDataManager);
+            views[i] = new ChunkViewCoreImpl(new Chunk[]{chunk}, new BlockRegion(0, 0, 0), new Vector3i(),
+                    blockManager.getAir());
+        }
+        tessellator = new ChunkTessellator(greedyMeshing, vertexFormat);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORLD_SIZE * WORLD_SIZE)
+    public void tessellate(MeshSize size) {
+        long meshBytes = 0;
+        for (ChunkViewCore view : views) {
+            ChunkMesh mesh = tessellator.generateMesh(view);
+            meshBytes += mesh.getDataSize();
+            size.bytesPerVertex = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE).buffer.inStride();
+        }
+        size.meshBytes = meshBytes;
+    }
+
+    /**
+     * Reports the memory taken by the tessellated meshes. The counters are overwritten on every invocation rather
+     * than summed up, so their values hold for a single tessellation of the whole world.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class MeshSize {
+        public long bytesPerVertex;
+        public long meshBytes;
+    }
+
+    /**
+     * Creates the appearance of a unit cube with a whole texture on each side, as the benchmark blocks have no assets
+     * to load the cube shape from.
+     */
+    private static BlockAppearance createCubeAppearance() {
+        Map<BlockPart, BlockMeshPart> parts = Maps.newEnumMap(BlockPart.class);
+        Map<BlockPart, Vector2f> atlasPos = Maps.newEnumMap(BlockPart.class);
+        float[][] corners = {{-0.5f, -0.5f}, {0.5f, -0.5f}, {0.5f, 0.5f}, {-0.5f, 0.5f}};
+        for (Side side : Side.values()) {
+            Vector3ic direction = side.direction();
+            int axis = direction.x() != 0 ? 0 : direction.y() != 0 ? 1 : 2;
+            Vector3f[] vertices = new Vector3f[corners.length];
+            Vector3f[] normals = new Vector3f[corners.length];
+            Vector2f[] texCoords = new Vector2f[corners.length];
+            for (int i = 0; i < corners.length; i++) {
+                vertices[i] = new Vector3f()
+                        .setComponent(axis, 0.5f * direction.get(axis))
+                        .setComponent((axis + 1) % 3, corners[i][0])
+                        .setComponent((axis + 2) % 3, corners[i][1]);
+                normals[i] = new Vector3f(direction);
+                texCoords[i] = new Vector2f(corners[i][0] + 0.5f, corners[i][1] + 0.5f);
+            }
+            int[] indices = {0, 1, 2, 0, 2, 3};
+            parts.put(BlockPart.fromSide(side), new BlockMeshPart(vertices, normals, texCoords, indices));
+        }
+        for (BlockPart part : BlockPart.values()) {
+            atlasPos.put(part, new Vector2f());
+        }
+        return new BlockAppearance(parts, atlasPos);
+    }
+}
@@ -0,0 +1,166 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.chunks.arrays;
+
+import org.joml.Vector3i;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.blockdata.RunLengthBuffer;
+import org.terasology.engine.world.chunks.blockdata.TeraArray;
+import org.terasology.engine.world.chunks.blockdata.TeraDenseArray16Bit;
+import org.terasology.engine.world.chunks.blockdata.TeraDenseArray4Bit;
+import org.terasology.engine.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.engine.world.chunks.blockdata.TeraSparseArray16Bit;
+import org.terasology.engine.world.chunks.blockdata.TeraSparseArray4Bit;
+import org.terasology.engine.world.chunks.blockdata.TeraSparseArray8Bit;
+import org.terasology.engine.world.chunks.deflate.TeraStandardDeflator;
+import org.terasology.engine.world.chunks.internal.ChunkSerializer;
+import org.terasology.protobuf.EntityData;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares run-length encoding and decoding a chunk sized {@link TeraArray} element by element, as
+ * {@link ChunkSerializer} used to, with the codec of the array implementations.
+ * <p>
+ * The arrays hold terrain like data and are deflated as chunks are in the chunk pipeline, so the sparse arrays have
+ * deflated rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class TeraArrayRunLengthBenchmark {
+
+    private static final TeraArray[] NO_EXTRA_DATA = new TeraArray[0];
+
+    @Benchmark
+    public EntityData.RunLengthEncoding16 encodeElementwise(ArrayState state) {
+        TeraArray array = state.array;
+        EntityData.RunLengthEncoding16.Builder builder = EntityData.RunLengthEncoding16.newBuilder();
+        short lastItem = (short) array.get(0, 0, 0);
+        int counter = 0;
+        for (int y = 0; y < array.getSizeY(); ++y) {
+            for (int z = 0; z < array.getSizeZ(); ++z) {
+                for (int x = 0; x < array.getSizeX(); ++x) {
+                    short item = (short) array.get(x, y, z);
+                    if (lastItem != item) {
+                        builder.addRunLengths(counter);
+                        builder.addValues(lastItem & 0xFFFF);
+                        lastItem = item;
+                        counter = 1;
+                    } else {
+                        counter++;
+                    }
+                }
+            }
+        }
+        if (lastItem != 0) {
+            builder.addRunLengths(counter);
+            builder.addValues(lastItem & 0xFFFF);
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public EntityData.RunLengthEncoding16 encodeRuns(ArrayState state) {
+        return ChunkSerializer.encode(state.position, state.array, NO_EXTRA_DATA).getBlockData();
+    }
+
+    @Benchmark
+    public TeraArray decodeElementwise(ArrayState state) {
+        EntityData.RunLengthEncoding16 data = state.encoded;
+        TeraArray array = state.arrayType.create();
+        int index = 0;
+        int count = 0;
+        int value = 0;
+        outer:
+        for (int y = 0; y < array.getSizeY(); ++y) {
+            for (int z = 0; z < array.getSizeZ(); ++z) {
+                for (int x = 0; x < array.getSizeX(); ++x) {
+                    if (count == 0) {
+                        if (index >= data.getRunLengthsCount()) {
+                            break outer;
+                        }
+                        count = data.getRunLengths(index);
+                        value = data.getValues(index);
+                        index++;
+                    }
+                    count--;
+                    array.set(x, y, z, value);
+                }
+            }
+        }
+        return array;
+    }
+
+    @Benchmark
+    public TeraArray decodeRuns(ArrayState state) {
+        EntityData.RunLengthEncoding16 data = state.encoded;
+        TeraArray array = state.arrayType.create();
+        RunLengthBuffer runs = new RunLengthBuffer(data.getRunLengthsCount());
+        for (int i = 0; i < data.getRunLengthsCount(); i++) {
+            runs.add(data.getValues(i), data.getRunLengths(i));
+        }
+        array.decodeRuns(runs);
+        return array;
+    }
+
+    public enum ArrayType {
+        DENSE_4BIT(new TeraDenseArray4Bit.Factory()),
+        DENSE_8BIT(new TeraDenseArray8Bit.Factory()),
+        DENSE_16BIT(new TeraDenseArray16Bit.Factory()),
+        SPARSE_4BIT(new TeraSparseArray4Bit.Factory()),
+        SPARSE_8BIT(new TeraSparseArray8Bit.Factory()),
+        SPARSE_16BIT(new TeraSparseArray16Bit.Factory());
+
+        private final TeraArray.Factory<?> factory;
+
+        ArrayType(TeraArray.Factory<?> factory) {
+            this.factory = factory;
+        }
+
+        public TeraArray create() {
+            return factory.create(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ArrayState {
+        @Param({"DENSE_4BIT", "DENSE_8BIT", "DENSE_16BIT", "SPARSE_4BIT", "SPARSE_8BIT", "SPARSE_16BIT"})
+        private ArrayType arrayType;
+
+        private final Vector3i position = new Vector3i();
+        private TeraArray array;
+        private EntityData.RunLengthEncoding16 encoded;
+
+        @Setup
+        public void setup() {
+            Random random = new Random(0xCAFE);
+            TeraArray terrain = arrayType.create();
+            for (int x = 0; x < terrain.getSizeX(); x++) {
+                for (int z = 0; z < terrain.getSizeZ(); z++) {
+                    int height = terrain.getSizeY() / 2 + (int) (8 * Math.sin(x / 5f) * Math.cos(z / 5f));
+                    for (int y = 0; y < height; y++) {
+                        terrain.set(x, y, z, random.nextInt(50) == 0 ? 2 : 1);
+                    }
+                }
+            }
+            array = new TeraStandardDeflator().deflate(terrain);
+            encoded = ChunkSerializer.encode(position, array, NO_EXTRA_DATA).getBlockData();
+        }
+    }
+}
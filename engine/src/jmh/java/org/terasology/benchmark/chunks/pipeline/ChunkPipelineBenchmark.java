@@ -0,0 +1,114 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.chunks.pipeline;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmark.chunks.BenchmarkBlockManager;
+import org.terasology.benchmark.chunks.BenchmarkTerrain;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.chunks.pipeline.ChunkProcessingPipeline;
+import org.terasology.engine.world.chunks.pipeline.stages.ChunkTaskProvider;
+import org.terasology.engine.world.propagation.light.InternalLightProcessor;
+import org.terasology.engine.world.propagation.light.LightMerger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Measures chunk throughput of the {@link ChunkProcessingPipeline} with the stages used by the local chunk provider,
+ * for different numbers of worker threads.
+ * <p>
+ * Each invocation generates a flat-ish terrain of {@code (INNER_SIZE + 2)^2 * 3} chunks and waits until the inner
+ * {@code INNER_SIZE^2} chunks, which have all their neighbours, went through light merging.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class ChunkPipelineBenchmark {
+    private static final int INNER_SIZE = 6;
+    private static final int INNER_CHUNKS = INNER_SIZE * INNER_SIZE;
+
+    @Benchmark
+    @OperationsPerInvocation(INNER_CHUNKS)
+    public void processChunks(PipelineState state) throws ExecutionException, InterruptedException {
+        Map<Vector3ic, Chunk> readyChunks = new ConcurrentHashMap<>();
+        ChunkProcessingPipeline pipeline = new ChunkProcessingPipeline(readyChunks::get, (p) -> 0,
+                state.threads, state.sharedPool);
+        pipeline.addStage(ChunkTaskProvider.create("Chunk generate internal lightning",
+                (Consumer<Chunk>) InternalLightProcessor::generateInternalLighting))
+                .addStage(ChunkTaskProvider.create("Chunk deflate", Chunk::deflate))
+                .addStage(ChunkTaskProvider.createMulti("Light merging",
+                        chunks -> new LightMerger().merge(chunks.toArray(new Chunk[0])),
+                        pos -> StreamSupport.stream(new BlockRegion(pos).expand(1, 1, 1).spliterator(), false)
+                                .map(Vector3i::new)
+                                .collect(Collectors.toSet())))
+                .addStage(ChunkTaskProvider.create("Chunk ready",
+                        (Consumer<Chunk>) chunk -> readyChunks.put(chunk.getPosition(new Vector3i()), chunk)));
+
+        List<Future<Chunk>> innerChunks = Lists.newArrayListWithCapacity(INNER_CHUNKS);
+        try {
+            for (int x = -1; x <= INNER_SIZE; x++) {
+                for (int z = -1; z <= INNER_SIZE; z++) {
+                    for (int y = -1; y <= 1; y++) {
+                        Vector3i position = new Vector3i(x, y, z);
+                        Future<Chunk> future = pipeline.invokeGeneratorTask(position,
+                                () -> state.generateChunk(position));
+                        if (y == 0 && x >= 0 && x < INNER_SIZE && z >= 0 && z < INNER_SIZE) {
+                            innerChunks.add(future);
+                        }
+                    }
+                }
+            }
+            for (Future<Chunk> future : innerChunks) {
+                future.get();
+            }
+        } finally {
+            pipeline.shutdown();
+            readyChunks.values().forEach(Chunk::dispose);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PipelineState {
+        @Param({"1", "2", "4", "8", "16"})
+        int threads;
+
+        @Param({"false", "true"})
+        boolean sharedPool;
+
+        private final BenchmarkBlockManager blockManager = new BenchmarkBlockManager();
+        private final ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+
+        /**
+         * Stone below a gently rolling surface in the middle chunk layer, so that lighting has some work to do.
+         */
+        Chunk generateChunk(Vector3ic position) {
+            return BenchmarkTerrain.generateChunk(position, blockManager, extraDataManager);
+        }
+    }
+}
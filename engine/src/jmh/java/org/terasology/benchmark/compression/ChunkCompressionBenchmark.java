@@ -0,0 +1,155 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.compression;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.joml.Vector3i;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmark.chunks.BenchmarkBlockManager;
+import org.terasology.benchmark.chunks.BenchmarkTerrain;
+import org.terasology.engine.utilities.compression.CompressionCodec;
+import org.terasology.engine.utilities.compression.CompressionCodecs;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.chunks.internal.ChunkImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link CompressionCodec}s on encoded chunks of a generated terrain, both as used for storage and as
+ * used in the network pipeline.
+ * <p>
+ * Throughput is reported in chunks per second. The {@link CompressedSize} counters report the encoded and compressed
+ * sizes of the chunks and the compression ratio of each codec.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class ChunkCompressionBenchmark {
+    private static final int SIZE = 4;
+    private static final int CHUNKS = SIZE * 3 * SIZE;
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNKS)
+    public long compress(CodecState state, CompressedSize counters) throws IOException {
+        long size = 0;
+        for (byte[] chunk : state.encodedChunks) {
+            size += compress(state.codec, chunk).length;
+        }
+        counters.encodedBytes = state.encodedSize;
+        counters.compressedBytes = size;
+        counters.compressionRatio = (double) size / state.encodedSize;
+        return size;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNKS)
+    public long decompress(CodecState state) throws IOException {
+        long size = 0;
+        for (byte[] chunk : state.compressedChunks) {
+            try (InputStream in = state.codec.decompress(new ByteArrayInputStream(chunk))) {
+                size += ByteStreams.toByteArray(in).length;
+            }
+        }
+        return size;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNKS)
+    public long networkEncode(CodecState state) {
+        EmbeddedChannel channel = new EmbeddedChannel(state.codec.createEncoder());
+        long size = 0;
+        try {
+            for (byte[] chunk : state.encodedChunks) {
+                channel.writeOutbound(Unpooled.wrappedBuffer(chunk));
+                for (ByteBuf buffer = channel.readOutbound(); buffer != null; buffer = channel.readOutbound()) {
+                    size += buffer.readableBytes();
+                    buffer.release();
+                }
+            }
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+        return size;
+    }
+
+    private static byte[] compress(CompressionCodec codec, byte[] data) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (OutputStream out = codec.compress(baos)) {
+            out.write(data);
+        }
+        return baos.toByteArray();
+    }
+
+    @State(Scope.Benchmark)
+    public static class CodecState {
+        @Param({"deflate", "lz4"})
+        String codecName;
+
+        CompressionCodec codec;
+        List<byte[]> encodedChunks = Lists.newArrayList();
+        List<byte[]> compressedChunks = Lists.newArrayList();
+        long encodedSize;
+
+        @Setup
+        public void setup() throws IOException {
+            codec = CompressionCodecs.byName(codecName).orElseThrow(IllegalArgumentException::new);
+
+            BenchmarkBlockManager blockManager = new BenchmarkBlockManager();
+            ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+            encodedSize = 0;
+            for (int x = 0; x < SIZE; x++) {
+                for (int y = -1; y <= 1; y++) {
+                    for (int z = 0; z < SIZE; z++) {
+                        ChunkImpl chunk = BenchmarkTerrain.generateChunk(new Vector3i(x, y, z), blockManager,
+                                extraDataManager);
+                        // Stored and sent chunks have been through the chunk pipeline, which deflates them
+                        chunk.deflate();
+                        byte[] encoded = chunk.encode().build().toByteArray();
+                        byte[] compressed = compress(codec, encoded);
+                        encodedChunks.add(encoded);
+                        compressedChunks.add(compressed);
+                        encodedSize += encoded.length;
+                        chunk.dispose();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports the total size of the chunks before and after compression, and the ratio of the two. The counters are
+     * overwritten on every invocation rather than summed up, so their values hold for a single pass over all chunks.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CompressedSize {
+        public long encodedBytes;
+        public long compressedBytes;
+        public double compressionRatio;
+    }
+}
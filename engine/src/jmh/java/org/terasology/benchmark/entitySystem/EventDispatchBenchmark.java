@@ -0,0 +1,128 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.entitySystem;
+
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.entitySystem.Component;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.engine.entitySystem.event.AbstractConsumableEvent;
+import org.terasology.engine.entitySystem.event.EventPriority;
+import org.terasology.engine.entitySystem.event.ReceiveEvent;
+import org.terasology.engine.entitySystem.event.internal.EventSystemImpl;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.rendering.logic.MeshComponent;
+import org.terasology.engine.utilities.random.FastRandom;
+import org.terasology.engine.world.block.BlockComponent;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many events per second are sent to entities, with and without the dispatch tables of
+ * {@link EventSystemImpl}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+public class EventDispatchBenchmark {
+
+    private static final int ENTITY_COUNT = 1000;
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITY_COUNT)
+    public void sendEvent(StateObject state) {
+        for (EntityRef entity : state.entities) {
+            entity.send(new BenchmarkEvent());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITY_COUNT)
+    public void sendEventToComponent(StateObject state) {
+        for (EntityRef entity : state.entities) {
+            LocationComponent location = entity.getComponent(LocationComponent.class);
+            if (location != null) {
+                state.eventSystem.send(entity, new BenchmarkEvent(), location);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class StateObject {
+        @Param({"true", "false"})
+        private boolean cacheDispatchTables;
+
+        private EventSystemImpl eventSystem;
+        private final List<EntityRef> entities = Lists.newArrayList();
+
+        @Setup
+        public void setup() {
+            PojoEntityManager entityManager = new PojoEntityManager();
+            FastRandom rand = new FastRandom(0L);
+            for (int i = 0; i < ENTITY_COUNT; ++i) {
+                List<Component> entityData = Lists.newArrayList();
+                if (rand.nextFloat() < 0.75f) {
+                    entityData.add(new LocationComponent());
+                }
+                if (rand.nextFloat() < 0.5f) {
+                    entityData.add(new MeshComponent());
+                }
+                if (rand.nextFloat() < 0.25f) {
+                    entityData.add(new BlockComponent());
+                }
+                entities.add(entityManager.create(entityData));
+            }
+
+            eventSystem = new EventSystemImpl(true, cacheDispatchTables);
+            eventSystem.registerEventHandler(new BenchmarkSystem());
+            entityManager.setEventSystem(eventSystem);
+        }
+    }
+
+    public static class BenchmarkEvent extends AbstractConsumableEvent {
+    }
+
+    public static class BenchmarkSystem extends BaseComponentSystem {
+        private int received;
+
+        @ReceiveEvent
+        public void onAnyEntity(BenchmarkEvent event, EntityRef entity) {
+            received++;
+        }
+
+        @ReceiveEvent(priority = EventPriority.PRIORITY_HIGH)
+        public void onLocation(BenchmarkEvent event, EntityRef entity, LocationComponent location) {
+            received++;
+        }
+
+        @ReceiveEvent(components = LocationComponent.class)
+        public void onMeshWithLocation(BenchmarkEvent event, EntityRef entity, MeshComponent mesh) {
+            received++;
+        }
+
+        @ReceiveEvent(priority = EventPriority.PRIORITY_LOW)
+        public void onBlock(BenchmarkEvent event, EntityRef entity, BlockComponent block) {
+            received++;
+        }
+
+        @ReceiveEvent(priority = EventPriority.PRIORITY_TRIVIAL)
+        public void onMeshAndBlock(BenchmarkEvent event, EntityRef entity, MeshComponent mesh, BlockComponent block) {
+            received++;
+        }
+    }
+}
@@ -9,13 +9,17 @@
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.terasology.engine.entitySystem.Component;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.internal.ArchetypeEntityPool;
 import org.terasology.engine.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.network.NetworkComponent;
 import org.terasology.engine.rendering.logic.MeshComponent;
 import org.terasology.engine.utilities.random.FastRandom;
 import org.terasology.engine.world.block.BlockComponent;
@@ -31,11 +35,21 @@ public class IterateComponentsBenchmark {
 
     @State(Scope.Benchmark)
     public static class StateObject {
-        private final PojoEntityManager entityManager = new PojoEntityManager();
+        @Param({"1000", "100000"})
+        private int entityCount;
 
+        @Param({"pojo", "archetype"})
+        private String storage;
+
+        private PojoEntityManager entityManager;
+
+        @Setup
         public void setup() {
+            entityManager = "archetype".equals(storage)
+                    ? new PojoEntityManager(ArchetypeEntityPool::new)
+                    : new PojoEntityManager();
             FastRandom rand = new FastRandom(0L);
-            for (int i = 0; i < 1000; ++i) {
+            for (int i = 0; i < entityCount; ++i) {
                 List<Component> entityData = Lists.newArrayList();
                 if (rand.nextFloat() < 0.75f) {
                     entityData.add(new LocationComponent());
@@ -46,11 +60,14 @@ public void setup() {
                 if (rand.nextFloat() < 0.25f) {
                     entityData.add(new BlockComponent());
                 }
+                if (rand.nextFloat() < 0.01f) {
+                    entityData.add(new NetworkComponent());
+                }
                 entityManager.create(entityData);
             }
         }
     }
-    
+
     @Benchmark
     public void iterateMultipleComponent(StateObject state) {
         for (EntityRef entity : state.entityManager.getEntitiesWith(MeshComponent.class, LocationComponent.class)) {
@@ -68,4 +85,16 @@ public void iterateSingleComponent(StateObject state) {
         }
     }
 
+    @Benchmark
+    public void iterateRareComponents(StateObject state) {
+        for (EntityRef entity : state.entityManager.getEntitiesWith(NetworkComponent.class, BlockComponent.class)) {
+            LocationComponent loc = entity.getComponent(LocationComponent.class);
+        }
+    }
+
+    @Benchmark
+    public int countMultipleComponents(StateObject state) {
+        return state.entityManager.getCountOfEntitiesWith(MeshComponent.class, LocationComponent.class);
+    }
+
 }
@@ -0,0 +1,194 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.handler.codec.protobuf.ProtobufEncoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.network.internal.HandshakeCommon;
+import org.terasology.engine.network.internal.NettyTransport;
+import org.terasology.engine.network.internal.ProtobufFrameEncoder;
+import org.terasology.engine.utilities.compression.CompressionCodecs;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends net tick sized messages from a server to clients connected over loopback, through the outgoing part of the
+ * server pipeline.
+ * <p>
+ * Each operation is a net tick sending one message to every client and flushing each channel once. The messages
+ * counter gives the messages per second. Run with {@code -prof gc} and divide {@code gc.alloc.rate.norm} by the
+ * number of clients for the allocation per message and client.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class NettyLoopbackBenchmark {
+
+    private static final int ENTITY_UPDATES = 20;
+    private static final int MAX_MESSAGES_IN_FLIGHT = 64;
+
+    @Benchmark
+    public void tick(Loopback loopback, Traffic traffic) {
+        for (Channel channel : loopback.serverChannels) {
+            channel.write(loopback.message);
+        }
+        for (Channel channel : loopback.serverChannels) {
+            channel.flush();
+        }
+        loopback.sent += loopback.serverChannels.size();
+        traffic.messages += loopback.serverChannels.size();
+        while (loopback.sent - loopback.received.get() > MAX_MESSAGES_IN_FLIGHT * loopback.clients) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Loopback {
+        @Param({"1", "16"})
+        private int clients;
+
+        @Param({"false", "true"})
+        private boolean nativeTransport;
+
+        @Param({"frame", "protobuf"})
+        private String encoder;
+
+        private final List<Channel> serverChannels = new CopyOnWriteArrayList<>();
+        private final List<Channel> clientChannels = Lists.newArrayList();
+        private final AtomicLong received = new AtomicLong();
+        private long sent;
+        private EventLoopGroup serverGroup;
+        private EventLoopGroup clientGroup;
+        private Channel serverChannel;
+        private NetData.NetMessage message;
+
+        @Setup(Level.Trial)
+        public void setup() throws InterruptedException {
+            message = createMessage();
+            NettyTransport transport = NettyTransport.select(nativeTransport);
+            serverGroup = transport.createEventLoopGroup(0);
+            clientGroup = transport.createEventLoopGroup(0);
+
+            serverChannel = new ServerBootstrap()
+                    .group(serverGroup)
+                    .channel(transport.getServerChannelClass())
+                    .childOption(ChannelOption.TCP_NODELAY, true)
+                    .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                    .childHandler(new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            ChannelPipeline p = ch.pipeline();
+                            p.addLast("frameLengthEncoder", new LengthFieldPrepender(3));
+                            p.addLast(HandshakeCommon.COMPRESSION_ENCODER, CompressionCodecs.LZ4.createEncoder());
+                            if ("frame".equals(encoder)) {
+                                p.addLast("protobufEncoder", new ProtobufFrameEncoder());
+                            } else {
+                                p.addLast("frameEncoder", new ProtobufVarint32LengthFieldPrepender());
+                                p.addLast("protobufEncoder", new ProtobufEncoder());
+                            }
+                            serverChannels.add(ch);
+                        }
+                    })
+                    .bind(new InetSocketAddress("127.0.0.1", 0)).sync().channel();
+
+            Bootstrap clientBootstrap = new Bootstrap()
+                    .group(clientGroup)
+                    .channel(transport.getChannelClass())
+                    .option(ChannelOption.TCP_NODELAY, true)
+                    .handler(new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            ch.pipeline().addLast(new LengthFieldBasedFrameDecoder(8388608, 0, 3, 0, 3));
+                            ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                                @Override
+                                public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                                    ((ByteBuf) msg).release();
+                                    received.incrementAndGet();
+                                }
+                            });
+                        }
+                    });
+            for (int i = 0; i < clients; i++) {
+                clientChannels.add(clientBootstrap.connect(serverChannel.localAddress()).sync().channel());
+            }
+            while (serverChannels.size() < clients) {
+                Thread.sleep(1);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            for (Channel channel : clientChannels) {
+                channel.close().syncUninterruptibly();
+            }
+            serverChannel.close().syncUninterruptibly();
+            clientGroup.shutdownGracefully().syncUninterruptibly();
+            serverGroup.shutdownGracefully().syncUninterruptibly();
+        }
+
+        private static NetData.NetMessage createMessage() {
+            NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder().setTime(123456789L);
+            for (int netId = 0; netId < ENTITY_UPDATES; netId++) {
+                EntityData.PackedEntity.Builder entity = EntityData.PackedEntity.newBuilder()
+                        .addComponentId(1)
+                        .setComponentFieldCounts(ByteString.copyFrom(new byte[]{2}))
+                        .setFieldIds(ByteString.copyFrom(new byte[]{0, 1}))
+                        .addFieldValue(EntityData.Value.newBuilder()
+                                .addFloat(netId * 1.5f).addFloat(42.25f).addFloat(-87.75f))
+                        .addFieldValue(EntityData.Value.newBuilder()
+                                .addFloat(0).addFloat(0.38f).addFloat(0).addFloat(0.92f));
+                message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setNetId(netId).setEntity(entity));
+            }
+            return message.build();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Traffic {
+        public long messages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            messages = 0;
+        }
+    }
+}
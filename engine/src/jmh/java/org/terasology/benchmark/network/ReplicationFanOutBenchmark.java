@@ -0,0 +1,184 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.network;
+
+import com.google.protobuf.ByteString;
+import org.joml.Vector3i;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.network.NetworkComponent.ReplicateMode;
+import org.terasology.engine.network.internal.NetworkInterestManager;
+import org.terasology.engine.utilities.random.FastRandom;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Simulates a server replicating moving entities to moving players, and reports how many entity updates and bytes
+ * each tick sends against the number of players.
+ * <p>
+ * With interest management the entities are replicated as {@link ReplicateMode#RELEVANT} to the players whose view
+ * distance covers them, otherwise as {@link ReplicateMode#ALWAYS} to every player, as the server did before. The
+ * bytes are counted as the size of a location update per update sent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class ReplicationFanOutBenchmark {
+
+    private static final int WORLD_SIZE = 32;
+    private static final int VIEW_DISTANCE = 4;
+    private static final int ENTITY_COUNT = 2000;
+    private static final float PLAYER_MOVE_CHANCE = 0.05f;
+    private static final float ENTITY_MOVE_CHANCE = 0.1f;
+
+    @Benchmark
+    public void tick(WorldState world, Traffic traffic) {
+        FastRandom random = world.random;
+        for (int player = 0; player < world.players.length; player++) {
+            if (random.nextFloat() < PLAYER_MOVE_CHANCE) {
+                world.movePlayer(player, step(world.players[player], random));
+            }
+        }
+        for (int netId = 0; netId < ENTITY_COUNT; netId++) {
+            if (random.nextFloat() < ENTITY_MOVE_CHANCE) {
+                Vector3i pos = world.entities[netId];
+                pos.set(step(pos, random));
+                world.interestManager.moveEntity(netId, pos);
+            }
+            int updates = world.interestManager.getSubscribers(netId).size();
+            traffic.updates += updates;
+            traffic.bytes += (long) updates * world.updateSize;
+        }
+        traffic.ticks++;
+    }
+
+    private static Vector3i step(Vector3i pos, FastRandom random) {
+        Vector3i next = new Vector3i(pos);
+        if (random.nextBoolean()) {
+            next.x = Math.floorMod(next.x + (random.nextBoolean() ? 1 : -1), WORLD_SIZE);
+        } else {
+            next.z = Math.floorMod(next.z + (random.nextBoolean() ? 1 : -1), WORLD_SIZE);
+        }
+        return next;
+    }
+
+    @State(Scope.Benchmark)
+    public static class WorldState {
+        @Param({"1", "8", "32", "64"})
+        private int playerCount;
+
+        @Param({"true", "false"})
+        private boolean interestManagement;
+
+        private final FastRandom random = new FastRandom(0L);
+        private NetworkInterestManager<Integer> interestManager;
+        private Vector3i[] players;
+        private Vector3i[] entities;
+        private int updateSize;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            interestManager = new NetworkInterestManager<>((player, netId) -> { }, (player, netId) -> { });
+            players = new Vector3i[playerCount];
+            for (int i = 0; i < playerCount; i++) {
+                int player = i;
+                players[player] = randomChunk();
+                interestManager.addClient(player);
+                forEachVisibleChunk(players[player], pos -> interestManager.addRelevantChunk(player, pos));
+            }
+            ReplicateMode mode = interestManagement ? ReplicateMode.RELEVANT : ReplicateMode.ALWAYS;
+            entities = new Vector3i[ENTITY_COUNT];
+            for (int netId = 0; netId < ENTITY_COUNT; netId++) {
+                entities[netId] = randomChunk();
+                interestManager.addEntity(netId, mode, entities[netId], null);
+            }
+            updateSize = createLocationUpdate().getSerializedSize();
+        }
+
+        void movePlayer(int player, Vector3i pos) {
+            Vector3i previous = players[player];
+            forEachVisibleChunk(pos, chunk -> interestManager.addRelevantChunk(player, chunk));
+            forEachVisibleChunk(previous, chunk -> {
+                if (!isVisible(pos, chunk)) {
+                    interestManager.removeRelevantChunk(player, chunk);
+                }
+            });
+            players[player] = pos;
+        }
+
+        private Vector3i randomChunk() {
+            return new Vector3i(random.nextInt(WORLD_SIZE), 0, random.nextInt(WORLD_SIZE));
+        }
+
+        private static void forEachVisibleChunk(Vector3i center, Consumer<Vector3i> action) {
+            for (int x = -VIEW_DISTANCE; x <= VIEW_DISTANCE; x++) {
+                for (int z = -VIEW_DISTANCE; z <= VIEW_DISTANCE; z++) {
+                    action.accept(new Vector3i(Math.floorMod(center.x + x, WORLD_SIZE), 0,
+                            Math.floorMod(center.z + z, WORLD_SIZE)));
+                }
+            }
+        }
+
+        private static boolean isVisible(Vector3i center, Vector3i chunk) {
+            return wrappedDistance(center.x, chunk.x) <= VIEW_DISTANCE
+                    && wrappedDistance(center.z, chunk.z) <= VIEW_DISTANCE;
+        }
+
+        private static int wrappedDistance(int a, int b) {
+            int distance = Math.abs(a - b);
+            return Math.min(distance, WORLD_SIZE - distance);
+        }
+
+        private static NetData.UpdateEntityMessage createLocationUpdate() {
+            EntityData.PackedEntity.Builder entity = EntityData.PackedEntity.newBuilder()
+                    .addComponentId(1)
+                    .setComponentFieldCounts(ByteString.copyFrom(new byte[]{2}))
+                    .setFieldIds(ByteString.copyFrom(new byte[]{0, 1}))
+                    .addFieldValue(EntityData.Value.newBuilder()
+                            .addFloat(123.5f).addFloat(42.25f).addFloat(-87.75f))
+                    .addFieldValue(EntityData.Value.newBuilder()
+                            .addFloat(0).addFloat(0.38f).addFloat(0).addFloat(0.92f));
+            return NetData.UpdateEntityMessage.newBuilder().setNetId(ENTITY_COUNT).setEntity(entity).build();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Traffic {
+        private long ticks;
+        private long updates;
+        private long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ticks = 0;
+            updates = 0;
+            bytes = 0;
+        }
+
+        public double updatesPerTick() {
+            return ticks == 0 ? 0 : (double) updates / ticks;
+        }
+
+        public double bytesPerTick() {
+            return ticks == 0 ? 0 : (double) bytes / ticks;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.particles;
+
+import com.badlogic.gdx.physics.bullet.Bullet;
+import com.google.common.collect.Maps;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmark.chunks.BenchmarkBlockManager;
+import org.terasology.benchmark.chunks.BenchmarkTerrain;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.particles.ParticlePool;
+import org.terasology.engine.particles.updating.VoxelRaycaster;
+import org.terasology.engine.physics.StandardCollisionGroup;
+import org.terasology.engine.physics.bullet.BulletPhysics;
+import org.terasology.engine.physics.bullet.shapes.BulletCollisionShapeFactory;
+import org.terasology.engine.physics.bullet.world.VoxelBlockWorld;
+import org.terasology.engine.utilities.random.FastRandom;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.ChunkProvider;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.internal.ChunkViewCore;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares checking particles for collisions with the world by stepping through the block data of the chunks with the
+ * {@link VoxelRaycaster}, and by ray tracing through the voxel world of the Bullet physics engine, as the particle
+ * updater does when no chunk provider is available. Every particle casts a ray along the distance it moves in one
+ * frame. The scores are in nanoseconds per particle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+@State(Scope.Thread)
+public class ParticleCollisionBenchmark {
+
+    private static final int WORLD_SIZE = 4;
+    private static final int PARTICLES = 10000;
+    private static final float DELTA = 1 / 60f;
+
+    private final ParticlePool pool = new ParticlePool(PARTICLES);
+    private VoxelRaycaster raycaster;
+    private BulletPhysics physics;
+
+    @Setup
+    public void setup() {
+        Bullet.init(true, false);
+        physics = new BulletPhysics();
+        VoxelBlockWorld voxelWorld = new VoxelBlockWorld(physics);
+        BenchmarkChunkProvider chunkProvider = new BenchmarkChunkProvider();
+
+        BenchmarkBlockManager blockManager = new BenchmarkBlockManager();
+        BulletCollisionShapeFactory shapeFactory = new BulletCollisionShapeFactory();
+        for (Block block : new Block[] {blockManager.getAir(), blockManager.getStone()}) {
+            block.setCollision(new Vector3f(), shapeFactory.getNewUnitCube());
+            voxelWorld.registerBlock(block);
+        }
+        ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+        for (int i = 0; i < WORLD_SIZE * WORLD_SIZE; i++) {
+            Vector3i position = new Vector3i(i % WORLD_SIZE, 0, i / WORLD_SIZE);
+            Chunk chunk = BenchmarkTerrain.generateChunk(position, blockManager, extraDataManager);
+            chunkProvider.chunks.put(position, chunk);
+            voxelWorld.loadChunk(chunk, toBlockIds(chunk));
+        }
+        raycaster = new VoxelRaycaster(chunkProvider);
+
+        FastRandom random = new FastRandom(12);
+        for (int i = 0; i < PARTICLES; i++) {
+            pool.reviveParticle();
+            int i3 = i * 3;
+            pool.position[i3] = random.nextFloat(0, WORLD_SIZE * Chunks.SIZE_X);
+            pool.position[i3 + 1] = random.nextFloat(0, Chunks.SIZE_Y);
+            pool.position[i3 + 2] = random.nextFloat(0, WORLD_SIZE * Chunks.SIZE_Z);
+            pool.velocity[i3] = random.nextFloat(-10, 10);
+            pool.velocity[i3 + 1] = random.nextFloat(-10, 10);
+            pool.velocity[i3 + 2] = random.nextFloat(-10, 10);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        physics.dispose();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PARTICLES)
+    public int voxelRaycast() {
+        return raycaster.checkCollisions(pool, DELTA);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PARTICLES)
+    public int bulletRayTrace() {
+        int hits = 0;
+        for (int i = 0; i < pool.livingParticles(); i++) {
+            int i3 = i * 3;
+            Vector3f position = new Vector3f(pool.position[i3], pool.position[i3 + 1], pool.position[i3 + 2]);
+            Vector3f velocity = new Vector3f(pool.velocity[i3], pool.velocity[i3 + 1], pool.velocity[i3 + 2]);
+            if (physics.rayTrace(position, velocity, velocity.length() * DELTA, StandardCollisionGroup.WORLD).isHit()) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Lists the ids of the blocks of the chunk in the order the voxel world of the physics engine expects them.
+     */
+    private static ShortBuffer toBlockIds(Chunk chunk) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(2 * Chunks.SIZE_X * Chunks.SIZE_Y * Chunks.SIZE_Z);
+        buffer.order(ByteOrder.nativeOrder());
+        for (int z = 0; z < Chunks.SIZE_Z; z++) {
+            for (int x = 0; x < Chunks.SIZE_X; x++) {
+                for (int y = 0; y < Chunks.SIZE_Y; y++) {
+                    buffer.putShort(chunk.getBlock(x, y, z).getId());
+                }
+            }
+        }
+        buffer.rewind();
+        return buffer.asShortBuffer();
+    }
+
+    private static class BenchmarkChunkProvider implements ChunkProvider {
+        private final Map<Vector3ic, Chunk> chunks = Maps.newHashMap();
+
+        @Override
+        public ChunkViewCore getSubview(BlockRegionc region, Vector3ic offset) {
+            return null;
+        }
+
+        @Override
+        public void setWorldEntity(EntityRef entity) {
+            // do nothing
+        }
+
+        @Override
+        public void update() {
+            // do nothing
+        }
+
+        @Override
+        public boolean reloadChunk(Vector3ic pos) {
+            return false;
+        }
+
+        @Override
+        public void purgeWorld() {
+            // do nothing
+        }
+
+        @Override
+        public boolean isChunkReady(Vector3ic pos) {
+            return chunks.containsKey(pos);
+        }
+
+        @Override
+        public Chunk getChunk(int x, int y, int z) {
+            return getChunk(new Vector3i(x, y, z));
+        }
+
+        @Override
+        public Chunk getChunk(Vector3ic chunkPos) {
+            return chunks.get(chunkPos);
+        }
+
+        @Override
+        public void dispose() {
+            // do nothing
+        }
+
+        @Override
+        public void shutdown() {
+            // do nothing
+        }
+
+        @Override
+        public Collection<Chunk> getAllChunks() {
+            return chunks.values();
+        }
+
+        @Override
+        public void restart() {
+            // do nothing
+        }
+    }
+}
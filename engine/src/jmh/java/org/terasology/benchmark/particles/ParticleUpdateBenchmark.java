@@ -0,0 +1,108 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.particles;
+
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.particles.ParticleData;
+import org.terasology.engine.particles.ParticleDataMask;
+import org.terasology.engine.particles.ParticlePool;
+import org.terasology.engine.particles.components.affectors.AccelerationAffectorComponent;
+import org.terasology.engine.particles.components.affectors.VelocityAffectorComponent;
+import org.terasology.engine.particles.functions.affectors.AccelerationAffectorFunction;
+import org.terasology.engine.particles.functions.affectors.VelocityAffectorFunction;
+import org.terasology.engine.utilities.random.FastRandom;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways of applying the velocity and acceleration affectors to 100k particles spread over 200 emitter
+ * pools: copying each particle in and out of the temporary particle data as the particle updater used to, the bulk
+ * affector API, and the bulk affector API with the pools updated in parallel. The scores are in nanoseconds per
+ * particle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+@State(Scope.Thread)
+public class ParticleUpdateBenchmark {
+
+    private static final int POOLS = 200;
+    private static final int PARTICLES_PER_POOL = 500;
+    private static final int PARTICLES = POOLS * PARTICLES_PER_POOL;
+    private static final float DELTA = 1 / 60f;
+
+    private final VelocityAffectorFunction velocityFunction = new VelocityAffectorFunction();
+    private final VelocityAffectorComponent velocityComponent = new VelocityAffectorComponent();
+    private final AccelerationAffectorFunction accelerationFunction = new AccelerationAffectorFunction();
+    private final AccelerationAffectorComponent accelerationComponent =
+            new AccelerationAffectorComponent(new Vector3f(0, -9.81f, 0));
+    private final FastRandom random = new FastRandom(12);
+    private final ParticlePool[] pools = new ParticlePool[POOLS];
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < POOLS; i++) {
+            ParticlePool pool = new ParticlePool(PARTICLES_PER_POOL);
+            for (int j = 0; j < PARTICLES_PER_POOL; j++) {
+                pool.reviveParticle();
+            }
+            for (int j = 0; j < pool.velocity.length; j++) {
+                pool.position[j] = random.nextFloat(-16, 16);
+                pool.velocity[j] = random.nextFloat(-1, 1);
+            }
+            pools[i] = pool;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PARTICLES)
+    public ParticlePool[] perParticle() {
+        int mask = ParticleDataMask.ALL.toInt();
+        for (ParticlePool pool : pools) {
+            ParticleData particleData = pool.temporaryParticleData;
+            for (int i = 0; i < pool.livingParticles(); i++) {
+                pool.loadTemporaryDataFrom(i, mask);
+                velocityFunction.update(velocityComponent, particleData, random, DELTA);
+                accelerationFunction.update(accelerationComponent, particleData, random, DELTA);
+                pool.storeTemporaryDataAt(i, mask);
+            }
+        }
+        return pools;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PARTICLES)
+    public ParticlePool[] bulk() {
+        for (ParticlePool pool : pools) {
+            update(pool);
+        }
+        return pools;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PARTICLES)
+    public ParticlePool[] bulkParallel() {
+        Arrays.stream(pools).parallel().forEach(this::update);
+        return pools;
+    }
+
+    private void update(ParticlePool pool) {
+        velocityFunction.update(velocityComponent, pool, 0, pool.livingParticles(), random, DELTA);
+        accelerationFunction.update(accelerationComponent, pool, 0, pool.livingParticles(), random, DELTA);
+    }
+}
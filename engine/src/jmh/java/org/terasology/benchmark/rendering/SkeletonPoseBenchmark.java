@@ -0,0 +1,145 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.rendering;
+
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.rendering.assets.animation.MeshAnimationFrame;
+import org.terasology.engine.rendering.assets.skeletalmesh.Bone;
+import org.terasology.engine.rendering.logic.SkeletonPose;
+import org.terasology.engine.utilities.random.FastRandom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluating the poses of a number of animated skeletons for one frame, without any entities involved.
+ * <p>
+ * The allocating variant interpolates into new vectors and composes new matrices up the bone hierarchy for every bone,
+ * as the skeleton renderer used to. The other variants evaluate preallocated {@link SkeletonPose}s, one skeleton after
+ * the other or in parallel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+@State(Scope.Thread)
+public class SkeletonPoseBenchmark {
+
+    @Param({"16", "128"})
+    private int skeletons;
+
+    @Param({"32"})
+    private int bones;
+
+    private List<Bone> skeletonBones;
+    private List<String> boneNames;
+    private MeshAnimationFrame frameA;
+    private MeshAnimationFrame frameB;
+    private SkeletonPose[] poses;
+    private float interpolation;
+
+    @Setup
+    public void setup() {
+        FastRandom random = new FastRandom(12);
+        skeletonBones = new ArrayList<>();
+        boneNames = new ArrayList<>();
+        List<Vector3f> positionsA = new ArrayList<>();
+        List<Vector3f> positionsB = new ArrayList<>();
+        List<Quaternionf> rotationsA = new ArrayList<>();
+        List<Quaternionf> rotationsB = new ArrayList<>();
+        List<Vector3f> scales = new ArrayList<>();
+        for (int i = 0; i < bones; i++) {
+            Bone bone = new Bone(i, "bone" + i, new Matrix4f().translation(0, 0.5f, 0));
+            if (i > 0) {
+                skeletonBones.get((i - 1) / 2).addChild(bone);
+            }
+            bone.setInverseBindMatrix(bone.getObjectTransform().invert());
+            skeletonBones.add(bone);
+            boneNames.add(bone.getName());
+            positionsA.add(random.nextVector3f(new Vector3f()));
+            positionsB.add(random.nextVector3f(new Vector3f()));
+            rotationsA.add(new Quaternionf().rotationXYZ(random.nextFloat(), random.nextFloat(), random.nextFloat()));
+            rotationsB.add(new Quaternionf().rotationXYZ(random.nextFloat(), random.nextFloat(), random.nextFloat()));
+            scales.add(new Vector3f(1, 1, 1));
+        }
+        frameA = new MeshAnimationFrame(positionsA, rotationsA, scales);
+        frameB = new MeshAnimationFrame(positionsB, rotationsB, scales);
+
+        poses = new SkeletonPose[skeletons];
+        for (int i = 0; i < skeletons; i++) {
+            poses[i] = new SkeletonPose(skeletonBones);
+            poses[i].setAnimatedBones(boneNames);
+        }
+    }
+
+    @Benchmark
+    public Matrix4f[] allocating() {
+        interpolation = (interpolation + 0.01f) % 1;
+        Matrix4f[] boneTransforms = null;
+        for (int s = 0; s < skeletons; s++) {
+            Vector3f[] positions = new Vector3f[bones];
+            Quaternionf[] rotations = new Quaternionf[bones];
+            for (int i = 0; i < bones; i++) {
+                positions[i] = frameA.getPosition(i).lerp(frameB.getPosition(i), interpolation, new Vector3f());
+                rotations[i] = frameA.getRotation(i).slerp(frameB.getRotation(i), interpolation, new Quaternionf());
+                rotations[i].normalize();
+            }
+            boneTransforms = new Matrix4f[bones];
+            for (Bone bone : skeletonBones) {
+                Matrix4f boneTransform = new Matrix4f();
+                relativeTransform(bone, positions, rotations, boneTransform);
+                boneTransform.mul(bone.getInverseBindMatrix());
+                boneTransforms[bone.getIndex()] = boneTransform.transpose();
+            }
+        }
+        return boneTransforms;
+    }
+
+    private static void relativeTransform(Bone bone, Vector3f[] positions, Quaternionf[] rotations, Matrix4f out) {
+        if (bone.getParent() != null) {
+            relativeTransform(bone.getParent(), positions, rotations, out);
+        }
+        int i = bone.getIndex();
+        out.mul(new Matrix4f().translationRotateScale(positions[i], rotations[i], 1));
+    }
+
+    @Benchmark
+    public SkeletonPose[] pooled() {
+        setFrames();
+        for (SkeletonPose pose : poses) {
+            pose.evaluate();
+        }
+        return poses;
+    }
+
+    @Benchmark
+    public SkeletonPose[] pooledParallel() {
+        setFrames();
+        Arrays.stream(poses).parallel().forEach(SkeletonPose::evaluate);
+        return poses;
+    }
+
+    private void setFrames() {
+        interpolation = (interpolation + 0.01f) % 1;
+        for (SkeletonPose pose : poses) {
+            pose.setFrames(frameA, frameB, interpolation);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.world;
+
+import org.joml.Vector2ic;
+import org.joml.Vector3i;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmark.chunks.BenchmarkBlockManager;
+import org.terasology.engine.utilities.procedural.BrownianNoise;
+import org.terasology.engine.utilities.procedural.Noise;
+import org.terasology.engine.utilities.procedural.SimplexNoise;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.chunks.internal.ChunkImpl;
+import org.terasology.engine.world.generation.Border3D;
+import org.terasology.engine.world.generation.Facet;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.GeneratingRegion;
+import org.terasology.engine.world.generation.Produces;
+import org.terasology.engine.world.generation.Region;
+import org.terasology.engine.world.generation.Requires;
+import org.terasology.engine.world.generation.WorldBuilder;
+import org.terasology.engine.world.generation.WorldImpl;
+import org.terasology.engine.world.generation.WorldRasterizer;
+import org.terasology.engine.world.generation.facets.ElevationFacet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating a full-height column of chunks from a noise based elevation, with and without sharing the 2D
+ * facets between the chunks of the column.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class ColumnGenerationBenchmark {
+
+    private static final int COLUMN_HEIGHT = 8;
+
+    @Benchmark
+    @OperationsPerInvocation(COLUMN_HEIGHT)
+    public void generateColumn(Generator generator) {
+        generator.generateColumn();
+    }
+
+    @State(Scope.Thread)
+    public static class Generator {
+        @Param({"true", "false"})
+        private boolean cached;
+
+        private final BenchmarkBlockManager blockManager = new BenchmarkBlockManager();
+        private final ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+        private final Vector3i position = new Vector3i();
+        private WorldImpl world;
+        private int column;
+
+        @Setup
+        public void setup() {
+            WorldBuilder worldBuilder = new WorldBuilder(null);
+            worldBuilder.setSeed(12);
+            worldBuilder.addProvider(new ElevationProvider());
+            worldBuilder.addRasterizer(new ElevationRasterizer(blockManager.getStone()));
+            world = (WorldImpl) worldBuilder.build();
+            world.initialize();
+        }
+
+        /**
+         * Generates the chunks of a new column from the bottom up, as they would be generated when moving through the
+         * world.
+         */
+        void generateColumn() {
+            column++;
+            for (int y = -COLUMN_HEIGHT / 2; y < COLUMN_HEIGHT / 2; y++) {
+                Chunk chunk = new ChunkImpl(position.set(column, y, 0), blockManager, extraDataManager);
+                world.rasterizeChunk(chunk, entity -> { });
+                if (!cached) {
+                    world.getFacetCache().invalidateAll();
+                }
+            }
+        }
+    }
+
+    @Produces(ElevationFacet.class)
+    public static class ElevationProvider implements FacetProvider {
+        private Noise noise;
+
+        @Override
+        public void setSeed(long seed) {
+            noise = new BrownianNoise(new SimplexNoise(seed), 8);
+        }
+
+        @Override
+        public void process(GeneratingRegion region) {
+            Border3D border = region.getBorderForFacet(ElevationFacet.class);
+            ElevationFacet facet = new ElevationFacet(region.getRegion(), border);
+            for (Vector2ic pos : facet.getWorldArea()) {
+                facet.setWorld(pos, 64 * noise.noise(pos.x() / 256f, pos.y() / 256f));
+            }
+            region.setRegionFacet(ElevationFacet.class, facet);
+        }
+    }
+
+    @Requires(@Facet(ElevationFacet.class))
+    public static class ElevationRasterizer implements WorldRasterizer {
+        private final Block stone;
+
+        ElevationRasterizer(Block stone) {
+            this.stone = stone;
+        }
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void generateChunk(Chunk chunk, Region chunkRegion) {
+            ElevationFacet elevation = chunkRegion.getFacet(ElevationFacet.class);
+            Vector3i worldPos = new Vector3i();
+            for (int x = 0; x < Chunks.SIZE_X; x++) {
+                for (int z = 0; z < Chunks.SIZE_Z; z++) {
+                    chunk.chunkToWorldPosition(x, 0, z, worldPos);
+                    float height = elevation.getWorld(worldPos.x, worldPos.z);
+                    for (int y = 0; y < Chunks.SIZE_Y && worldPos.y + y < height; y++) {
+                        chunk.setBlock(x, y, z, stone);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.benchmark.world;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3i;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmark.chunks.BenchmarkBlockManager;
+import org.terasology.benchmark.chunks.BenchmarkTerrain;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.propagation.BatchPropagator;
+import org.terasology.engine.world.propagation.BlockChange;
+import org.terasology.engine.world.propagation.LocalChunkView;
+import org.terasology.engine.world.propagation.PropagationRules;
+import org.terasology.engine.world.propagation.PropagatorWorldView;
+import org.terasology.engine.world.propagation.StandardBatchPropagator;
+import org.terasology.engine.world.propagation.SunlightRegenBatchPropagator;
+import org.terasology.engine.world.propagation.light.InternalLightProcessor;
+import org.terasology.engine.world.propagation.light.LightMerger;
+import org.terasology.engine.world.propagation.light.LightPropagationRules;
+import org.terasology.engine.world.propagation.light.SunlightPropagationRules;
+import org.terasology.engine.world.propagation.light.SunlightRegenPropagationRules;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the light propagators on the two workloads they see in game: merging the light of a chunk with its 3x3x3
+ * neighbourhood after generation, and single blocks being placed and removed in a lit world.
+ * <p>
+ * Run with {@code -prof gc} to see the allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Fork(1)
+@Measurement(iterations = 1)
+public class LightPropagationBenchmark {
+
+    @Benchmark
+    public Chunk mergeNeighbourhood(Neighbourhood neighbourhood) {
+        return new LightMerger().merge(neighbourhood.chunks);
+    }
+
+    /**
+     * Places a block above the surface, shadowing the column below it, and removes it again, so that every invocation
+     * starts from the same light.
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void placeAndRemoveBlock(LitWorld world) {
+        world.change(world.air, world.stone);
+        world.change(world.stone, world.air);
+    }
+
+    private static Chunk[] generateNeighbourhood(BenchmarkBlockManager blockManager,
+                                                 ExtraBlockDataManager extraDataManager) {
+        Chunk[] chunks = new Chunk[27];
+        for (int x = -1; x <= 1; x++) {
+            for (int y = -1; y <= 1; y++) {
+                for (int z = -1; z <= 1; z++) {
+                    Chunk chunk = BenchmarkTerrain.generateChunk(new Vector3i(x, y, z), blockManager,
+                            extraDataManager);
+                    InternalLightProcessor.generateInternalLighting(chunk);
+                    chunk.deflate();
+                    chunks[(x + 1) + 3 * (y + 1) + 9 * (z + 1)] = chunk;
+                }
+            }
+        }
+        return chunks;
+    }
+
+    @State(Scope.Thread)
+    public static class Neighbourhood {
+        private final BenchmarkBlockManager blockManager = new BenchmarkBlockManager();
+        private final ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+        private Chunk[] chunks;
+
+        /**
+         * Merging changes the light of the chunks, so every merge needs freshly generated ones.
+         */
+        @Setup(Level.Invocation)
+        public void setup() {
+            chunks = generateNeighbourhood(blockManager, extraDataManager);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LitWorld {
+        private final BenchmarkBlockManager blockManager = new BenchmarkBlockManager();
+        private final ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+        private final List<BatchPropagator> propagators = Lists.newArrayList();
+        private final Vector3i position = new Vector3i();
+        private final Vector3i relativePosition = new Vector3i();
+        private Block air;
+        private Block stone;
+        private Chunk center;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            air = blockManager.getAir();
+            stone = blockManager.getStone();
+
+            // Ordered as LocalChunkView expects, LightMerger sorts its own copy
+            Chunk[] chunks = generateNeighbourhood(blockManager, extraDataManager);
+            center = new LightMerger().merge(chunks.clone());
+
+            SunlightRegenPropagationRules regenRules = new SunlightRegenPropagationRules();
+            propagators.add(new StandardBatchPropagator(new LightPropagationRules(),
+                    new LocalChunkView(chunks, new LightPropagationRules())));
+            PropagatorWorldView regenWorldView = new LocalChunkView(chunks, regenRules);
+            PropagationRules sunlightRules = new SunlightPropagationRules(regenWorldView);
+            PropagatorWorldView sunlightWorldView = new LocalChunkView(chunks, sunlightRules);
+            BatchPropagator sunlightPropagator = new StandardBatchPropagator(sunlightRules, sunlightWorldView);
+            propagators.add(new SunlightRegenBatchPropagator(regenRules, regenWorldView, sunlightPropagator,
+                    sunlightWorldView));
+            propagators.add(sunlightPropagator);
+
+            int x = Chunks.SIZE_X / 2;
+            int z = Chunks.SIZE_Z / 2;
+            int surface = Chunks.SIZE_Y - 1;
+            while (surface > 0 && center.getBlock(x, surface - 1, z) == air) {
+                surface--;
+            }
+            relativePosition.set(x, Math.min(surface + 2, Chunks.SIZE_Y - 1), z);
+            center.chunkToWorldPosition(relativePosition, position);
+        }
+
+        void change(Block from, Block to) {
+            center.setBlock(relativePosition, to);
+            BlockChange change = new BlockChange(position, from, to);
+            for (BatchPropagator propagator : propagators) {
+                propagator.process(change);
+            }
+        }
+    }
+}
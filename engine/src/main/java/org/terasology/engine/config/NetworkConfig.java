@@ -34,6 +34,26 @@ public class NetworkConfig {
      */
     private String masterServer = "meta.terasology.org";
 
+    /**
+     * The compression codec a client asks for when joining a server, if the server supports it
+     */
+    private String compressionCodec = "lz4";
+
+    /**
+     * Memory a server may use to share encoded chunks between the clients they are sent to, in megabytes
+     */
+    private int chunkCacheSize = 32;
+
+    /**
+     * Whether the native epoll transport is used on Linux, instead of the Java NIO transport
+     */
+    private boolean nativeTransport;
+
+    /**
+     * The number of threads handling the connections of a server, or 0 for twice the number of processors
+     */
+    private int workerThreads;
+
     public void clear() {
         servers.clear();
     }
@@ -81,4 +101,36 @@ public String getMasterServer() {
     public void setMasterServer(String masterServer) {
         this.masterServer = masterServer;
     }
+
+    public String getCompressionCodec() {
+        return compressionCodec;
+    }
+
+    public void setCompressionCodec(String compressionCodec) {
+        this.compressionCodec = compressionCodec;
+    }
+
+    public int getChunkCacheSize() {
+        return chunkCacheSize;
+    }
+
+    public void setChunkCacheSize(int chunkCacheSize) {
+        this.chunkCacheSize = chunkCacheSize;
+    }
+
+    public boolean isNativeTransport() {
+        return nativeTransport;
+    }
+
+    public void setNativeTransport(boolean nativeTransport) {
+        this.nativeTransport = nativeTransport;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
 }
@@ -6,6 +6,7 @@
 import org.terasology.engine.core.subsystem.Resolution;
 import org.terasology.gestalt.module.sandbox.API;
 import org.terasology.engine.rendering.cameras.PerspectiveCameraSettings;
+import org.terasology.engine.rendering.primitives.ChunkVertexFormat;
 import org.terasology.engine.rendering.nui.layers.mainMenu.videoSettings.DisplayModeSetting;
 import org.terasology.engine.rendering.nui.layers.mainMenu.videoSettings.ScreenshotSize;
 import org.terasology.engine.rendering.world.viewDistance.ViewDistance;
@@ -65,6 +66,7 @@ public class RenderingConfig extends AbstractSubscribable {
     public static final String SCREENSHOT_FORMAT = "ScreenshotFormat";
     public static final String DUMP_SHADERS = "DumpShaders";
     public static final String VOLUMETRIC_FOG = "VolumetricFog";
+    public static final String CHUNK_VERTEX_FORMAT = "ChunkVertexFormat";
 
     private int pixelFormat;
     private int windowPosX;
@@ -113,6 +115,7 @@ public class RenderingConfig extends AbstractSubscribable {
     private int uiScale = 100;
     private boolean dumpShaders;
     private boolean volumetricFog;
+    private ChunkVertexFormat chunkVertexFormat = ChunkVertexFormat.STANDARD;
     private ScreenshotSize screenshotSize;
     private String screenshotFormat;
     private PerspectiveCameraSettings cameraSettings;
@@ -678,4 +681,18 @@ public void setVolumetricFog(boolean volumetricFog) {
         propertyChangeSupport.firePropertyChange(VOLUMETRIC_FOG, oldValue, this.volumetricFog);
     }
 
+    /**
+     * The layout chunk mesh vertices are stored in. The packed layout takes less than half the memory, at a lower
+     * precision.
+     */
+    public ChunkVertexFormat getChunkVertexFormat() {
+        return chunkVertexFormat;
+    }
+
+    public void setChunkVertexFormat(ChunkVertexFormat chunkVertexFormat) {
+        ChunkVertexFormat oldFormat = this.chunkVertexFormat;
+        this.chunkVertexFormat = chunkVertexFormat;
+        propertyChangeSupport.firePropertyChange(CHUNK_VERTEX_FORMAT, oldFormat, this.chunkVertexFormat);
+    }
+
 }
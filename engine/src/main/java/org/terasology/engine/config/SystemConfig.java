@@ -7,6 +7,7 @@
 import org.terasology.engine.config.flexible.Setting;
 import org.terasology.engine.config.flexible.constraints.LocaleConstraint;
 import org.terasology.engine.config.flexible.constraints.NumberRangeConstraint;
+import org.terasology.engine.config.flexible.constraints.StringConstraint;
 
 import java.util.Locale;
 import java.util.Locale.Category;
@@ -36,6 +37,32 @@ public class SystemConfig extends AutoConfig {
             constraint(new NumberRangeConstraint<>(0, Integer.MAX_VALUE, false, false))
     );
 
+    public final Setting<Integer> chunkProcessingThreads = setting(
+            type(Integer.class),
+            defaultValue(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)),
+            name("Chunk generation threads"),
+            constraint(new NumberRangeConstraint<>(1, 256, true, true))
+    );
+
+    public final Setting<Integer> chunkMeshingThreads = setting(
+            type(Integer.class),
+            defaultValue(Math.max(1, Runtime.getRuntime().availableProcessors() / 2)),
+            name("Chunk meshing threads"),
+            constraint(new NumberRangeConstraint<>(1, 256, true, true))
+    );
+
+    public final Setting<Boolean> sharedChunkWorkerPool = setting(
+            type(Boolean.class),
+            defaultValue(false),
+            name("Share chunk worker threads")
+    );
+
+    public final Setting<Boolean> parallelLightPropagation = setting(
+            type(Boolean.class),
+            defaultValue(false),
+            name("Parallel light propagation")
+    );
+
     public final Setting<Integer> maxSecondsBetweenSaves = setting(
             type(Integer.class),
             defaultValue(60),
@@ -50,6 +77,25 @@ public class SystemConfig extends AutoConfig {
             constraint(new NumberRangeConstraint<>(0, 100, false, false))
     );
 
+    public final Setting<Boolean> chunkRegionFiles = setting(
+            type(Boolean.class),
+            defaultValue(false),
+            name("Save chunks in region files")
+    );
+
+    public final Setting<String> chunkCompression = setting(
+            type(String.class),
+            defaultValue("deflate"),
+            name("Chunk compression codec"),
+            constraint(new StringConstraint(StringConstraint.regex("deflate|lz4")))
+    );
+
+    public final Setting<Boolean> archetypeEntityStorage = setting(
+            type(Boolean.class),
+            defaultValue(false),
+            name("Store entities by archetype")
+    );
+
     public final Setting<Boolean> debugEnabled = setting(
             type(Boolean.class),
             defaultValue(false),
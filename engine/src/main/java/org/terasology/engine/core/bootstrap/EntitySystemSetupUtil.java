@@ -4,11 +4,13 @@
 package org.terasology.engine.core.bootstrap;
 
 import org.terasology.engine.audio.events.PlaySoundEvent;
+import org.terasology.engine.config.SystemConfig;
 import org.terasology.engine.context.Context;
 import org.terasology.engine.core.module.ModuleManager;
 import org.terasology.engine.entitySystem.Component;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.internal.ArchetypeEntityPool;
 import org.terasology.engine.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.engine.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.engine.entitySystem.event.Event;
@@ -105,7 +107,13 @@ public static void addEntityManagementRelatedClasses(Context context) {
         NetworkSystem networkSystem = context.get(NetworkSystem.class);
 
         // Entity Manager
-        PojoEntityManager entityManager = new PojoEntityManager();
+        SystemConfig systemConfig = context.get(SystemConfig.class);
+        PojoEntityManager entityManager;
+        if (systemConfig != null && systemConfig.archetypeEntityStorage.get()) {
+            entityManager = new PojoEntityManager(ArchetypeEntityPool::new);
+        } else {
+            entityManager = new PojoEntityManager();
+        }
         context.put(EntityManager.class, entityManager);
         context.put(EngineEntityManager.class, entityManager);
 
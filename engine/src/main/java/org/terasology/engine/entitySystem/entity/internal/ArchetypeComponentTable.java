@@ -0,0 +1,487 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.entitySystem.entity.internal;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import org.terasology.engine.entitySystem.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A component table which groups entities by the set of component classes they have, their archetype.
+ * <p>
+ * The entities of an archetype are stored in rows of a table with one column per component class, so iterating over
+ * the entities with some set of components only visits the archetypes that contain all of them, and costs time
+ * proportional to the number of entities found. Entity and component counts are kept up to date as components are
+ * added and removed.
+ * <p>
+ * Adding or removing a component moves the entity to the table of another archetype, which reorders the rows of both
+ * tables. An iterator over the components of a class therefore fails with a {@link ConcurrentModificationException}
+ * once a component of that class has been added or removed, or an entity with a component of that class has gained or
+ * lost another component. Changes to entities without a component of the class, and replacing a component an entity
+ * already has, do not affect it.
+ */
+public class ArchetypeComponentTable extends ComponentTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<Set<Class<? extends Component>>, Archetype> archetypes = Maps.newHashMap();
+    private final Map<Class<? extends Component>, ComponentColumns> archetypesByComponent = Maps.newHashMap();
+    private final TLongObjectMap<Row> rows = new TLongObjectHashMap<>();
+    private final TObjectIntMap<Class<? extends Component>> componentCounts = new TObjectIntHashMap<>();
+    private final Archetype emptyArchetype = getArchetype(Collections.emptySet());
+
+    @Override
+    public <T extends Component> T get(long entityId, Class<T> componentClass) {
+        Row row = rows.get(entityId);
+        if (row == null) {
+            return null;
+        }
+        int column = row.archetype.columnOf(componentClass);
+        return column < 0 ? null : componentClass.cast(row.archetype.columns[column][row.index]);
+    }
+
+    @Override
+    public Component put(long entityId, Component component) {
+        Class<? extends Component> componentClass = component.getClass();
+        Row row = rows.get(entityId);
+        if (row == null) {
+            row = new Row();
+            rows.put(entityId, row);
+            emptyArchetype.withComponent(componentClass).add(entityId, row, null, 0);
+        } else {
+            int column = row.archetype.columnOf(componentClass);
+            if (column >= 0) {
+                Component old = row.archetype.columns[column][row.index];
+                row.archetype.columns[column][row.index] = component;
+                return old;
+            }
+            move(entityId, row, row.archetype.withComponent(componentClass));
+        }
+        row.archetype.columns[row.archetype.columnOf(componentClass)][row.index] = component;
+        componentCounts.adjustOrPutValue(componentClass, 1, 1);
+        return null;
+    }
+
+    @Override
+    public <T extends Component> Component remove(long entityId, Class<T> componentClass) {
+        Row row = rows.get(entityId);
+        if (row == null) {
+            return null;
+        }
+        int column = row.archetype.columnOf(componentClass);
+        if (column < 0) {
+            return null;
+        }
+        Component old = row.archetype.columns[column][row.index];
+        Archetype target = row.archetype.withoutComponent(componentClass);
+        if (target == emptyArchetype) {
+            row.archetype.remove(row.index);
+            rows.remove(entityId);
+        } else {
+            move(entityId, row, target);
+        }
+        componentCounts.adjustValue(componentClass, -1);
+        return old;
+    }
+
+    @Override
+    public List<Component> removeAndReturnComponentsOf(long entityId) {
+        List<Component> components = getComponentsInNewList(entityId);
+        remove(entityId);
+        return components;
+    }
+
+    @Override
+    public void remove(long entityId) {
+        Row row = rows.remove(entityId);
+        if (row != null) {
+            for (Class<? extends Component> componentClass : row.archetype.componentClasses) {
+                componentCounts.adjustValue(componentClass, -1);
+            }
+            row.archetype.remove(row.index);
+        }
+    }
+
+    @Override
+    public void clear() {
+        archetypes.values().forEach(Archetype::clear);
+        rows.clear();
+        componentCounts.clear();
+        for (ComponentColumns componentColumns : archetypesByComponent.values()) {
+            componentColumns.modCount++;
+        }
+    }
+
+    @Override
+    public int getComponentCount(Class<? extends Component> componentClass) {
+        return componentCounts.get(componentClass);
+    }
+
+    @Override
+    public Iterable<Component> iterateComponents(long entityId) {
+        return getComponentsInNewList(entityId);
+    }
+
+    @Override
+    public List<Component> getComponentsInNewList(long entityId) {
+        Row row = rows.get(entityId);
+        if (row == null) {
+            return Lists.newArrayList();
+        }
+        Archetype archetype = row.archetype;
+        List<Component> components = Lists.newArrayListWithCapacity(archetype.columns.length);
+        for (Component[] column : archetype.columns) {
+            components.add(column[row.index]);
+        }
+        return components;
+    }
+
+    @Override
+    public <T extends Component> TLongObjectIterator<T> componentIterator(Class<T> componentClass) {
+        ComponentColumns found = archetypesByComponent.get(componentClass);
+        if (found == null) {
+            return null;
+        }
+        return new ColumnIterator<>(found, componentClass);
+    }
+
+    @Override
+    public TLongIterator entityIdIterator() {
+        return TLongArrayList.wrap(rows.keys()).iterator();
+    }
+
+    @Override
+    public int numEntities() {
+        return rows.size();
+    }
+
+    /**
+     * @return the ids of the entities which have all of the given components, at the time this method got called.
+     */
+    @SafeVarargs
+    public final long[] getEntityIdsWith(Class<? extends Component>... componentClasses) {
+        TLongArrayList result = new TLongArrayList();
+        for (Archetype archetype : getArchetypesWith(componentClasses)) {
+            result.add(archetype.entityIds, 0, archetype.size);
+        }
+        return result.toArray();
+    }
+
+    /**
+     * @return the number of entities which have all of the given components.
+     */
+    @SafeVarargs
+    public final int getEntityCountWith(Class<? extends Component>... componentClasses) {
+        if (componentClasses.length == 0) {
+            return numEntities();
+        }
+        if (componentClasses.length == 1) {
+            return getComponentCount(componentClasses[0]);
+        }
+        int count = 0;
+        for (Archetype archetype : getArchetypesWith(componentClasses)) {
+            count += archetype.size;
+        }
+        return count;
+    }
+
+    private List<Archetype> getArchetypesWith(Class<? extends Component>[] componentClasses) {
+        if (componentClasses.length == 0) {
+            return Lists.newArrayList(archetypes.values());
+        }
+        // start from the component found in the fewest archetypes
+        List<Archetype> candidates = null;
+        for (Class<? extends Component> componentClass : componentClasses) {
+            ComponentColumns found = archetypesByComponent.get(componentClass);
+            if (found == null) {
+                return Collections.emptyList();
+            }
+            if (candidates == null || found.archetypes.size() < candidates.size()) {
+                candidates = found.archetypes;
+            }
+        }
+        List<Archetype> result = Lists.newArrayList();
+        for (Archetype archetype : candidates) {
+            if (archetype.size > 0 && archetype.hasAll(componentClasses)) {
+                result.add(archetype);
+            }
+        }
+        return result;
+    }
+
+    private void move(long entityId, Row row, Archetype target) {
+        Archetype source = row.archetype;
+        int sourceIndex = row.index;
+        target.add(entityId, row, source, sourceIndex);
+        source.remove(sourceIndex);
+    }
+
+    private Archetype getArchetype(Set<Class<? extends Component>> componentClasses) {
+        Archetype archetype = archetypes.get(componentClasses);
+        if (archetype == null) {
+            archetype = new Archetype(ImmutableSet.copyOf(componentClasses));
+            archetypes.put(archetype.componentClassSet, archetype);
+            for (int i = 0; i < archetype.componentClasses.length; i++) {
+                ComponentColumns componentColumns = archetypesByComponent.computeIfAbsent(archetype.componentClasses[i],
+                        k -> new ComponentColumns());
+                componentColumns.archetypes.add(archetype);
+                archetype.componentColumns[i] = componentColumns;
+            }
+        }
+        return archetype;
+    }
+
+    /**
+     * The location of an entity: its archetype and the row within the archetype's table.
+     */
+    private static final class Row {
+        private Archetype archetype;
+        private int index;
+    }
+
+    /**
+     * The archetypes with a column for one component class, and the number of times rows have been added to or removed
+     * from them.
+     */
+    private static final class ComponentColumns {
+        private final List<Archetype> archetypes = Lists.newArrayList();
+        private int modCount;
+    }
+
+    private final class Archetype {
+        private final Set<Class<? extends Component>> componentClassSet;
+        private final Class<? extends Component>[] componentClasses;
+        private final ComponentColumns[] componentColumns;
+        private final Map<Class<? extends Component>, Archetype> withComponent = Maps.newHashMap();
+        private final Map<Class<? extends Component>, Archetype> withoutComponent = Maps.newHashMap();
+
+        private Component[][] columns;
+        private long[] entityIds;
+        private Row[] entityRows;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        Archetype(Set<Class<? extends Component>> componentClasses) {
+            this.componentClassSet = componentClasses;
+            this.componentClasses = componentClasses.toArray(new Class[0]);
+            this.componentColumns = new ComponentColumns[this.componentClasses.length];
+            this.columns = new Component[this.componentClasses.length][INITIAL_CAPACITY];
+            this.entityIds = new long[INITIAL_CAPACITY];
+            this.entityRows = new Row[INITIAL_CAPACITY];
+        }
+
+        int columnOf(Class<?> componentClass) {
+            for (int i = 0; i < componentClasses.length; i++) {
+                if (componentClasses[i] == componentClass) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        boolean hasAll(Class<? extends Component>[] requested) {
+            for (Class<? extends Component> componentClass : requested) {
+                if (columnOf(componentClass) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Archetype withComponent(Class<? extends Component> componentClass) {
+            Archetype result = withComponent.get(componentClass);
+            if (result == null) {
+                result = getArchetype(ImmutableSet.<Class<? extends Component>>builder()
+                        .addAll(componentClassSet).add(componentClass).build());
+                withComponent.put(componentClass, result);
+            }
+            return result;
+        }
+
+        Archetype withoutComponent(Class<? extends Component> componentClass) {
+            Archetype result = withoutComponent.get(componentClass);
+            if (result == null) {
+                Set<Class<? extends Component>> remaining = Collections.emptySet();
+                if (componentClasses.length > 1) {
+                    remaining = ImmutableSet.copyOf(Arrays.stream(componentClasses)
+                            .filter(c -> c != componentClass).iterator());
+                }
+                result = getArchetype(remaining);
+                withoutComponent.put(componentClass, result);
+            }
+            return result;
+        }
+
+        /**
+         * Appends a row for the entity, copying the components it had in the source archetype.
+         */
+        void add(long entityId, Row row, Archetype source, int sourceIndex) {
+            if (size == entityIds.length) {
+                int capacity = size * 2;
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = Arrays.copyOf(columns[i], capacity);
+                }
+                entityIds = Arrays.copyOf(entityIds, capacity);
+                entityRows = Arrays.copyOf(entityRows, capacity);
+            }
+            if (source != null) {
+                for (int i = 0; i < componentClasses.length; i++) {
+                    int sourceColumn = source.columnOf(componentClasses[i]);
+                    columns[i][size] = sourceColumn < 0 ? null : source.columns[sourceColumn][sourceIndex];
+                }
+            }
+            entityIds[size] = entityId;
+            entityRows[size] = row;
+            row.archetype = this;
+            row.index = size;
+            size++;
+            changed();
+        }
+
+        /**
+         * Removes a row by moving the last row into its place.
+         */
+        void remove(int index) {
+            int last = size - 1;
+            if (index != last) {
+                for (Component[] column : columns) {
+                    column[index] = column[last];
+                }
+                entityIds[index] = entityIds[last];
+                entityRows[index] = entityRows[last];
+                entityRows[index].index = index;
+            }
+            for (Component[] column : columns) {
+                column[last] = null;
+            }
+            entityRows[last] = null;
+            size = last;
+            changed();
+        }
+
+        void clear() {
+            for (Component[] column : columns) {
+                Arrays.fill(column, 0, size, null);
+            }
+            Arrays.fill(entityRows, 0, size, null);
+            size = 0;
+        }
+
+        private void changed() {
+            for (ComponentColumns componentColumns : componentColumns) {
+                componentColumns.modCount++;
+            }
+        }
+    }
+
+    /**
+     * Iterates over one component column of several archetypes.
+     */
+    private final class ColumnIterator<T extends Component> implements TLongObjectIterator<T> {
+        private final ComponentColumns componentColumns;
+        private final List<Archetype> archetypeList;
+        private final Class<T> componentClass;
+        private int expectedModCount;
+        private int archetypeIndex;
+        private int rowIndex = -1;
+        private Archetype current;
+        private int column;
+        private boolean removable;
+
+        ColumnIterator(ComponentColumns componentColumns, Class<T> componentClass) {
+            this.componentColumns = componentColumns;
+            this.archetypeList = componentColumns.archetypes;
+            this.componentClass = componentClass;
+            this.expectedModCount = componentColumns.modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (current != null && rowIndex + 1 < current.size) {
+                return true;
+            }
+            for (int i = current == null ? archetypeIndex : archetypeIndex + 1; i < archetypeList.size(); i++) {
+                if (archetypeList.get(i).size > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void advance() {
+            checkForComodification();
+            removable = true;
+            if (current != null && rowIndex + 1 < current.size) {
+                rowIndex++;
+                return;
+            }
+            int i = current == null ? archetypeIndex : archetypeIndex + 1;
+            while (i < archetypeList.size() && archetypeList.get(i).size == 0) {
+                i++;
+            }
+            if (i == archetypeList.size()) {
+                throw new NoSuchElementException();
+            }
+            archetypeIndex = i;
+            current = archetypeList.get(i);
+            column = current.columnOf(componentClass);
+            rowIndex = 0;
+        }
+
+        @Override
+        public long key() {
+            return current.entityIds[rowIndex];
+        }
+
+        @Override
+        public T value() {
+            return componentClass.cast(current.columns[column][rowIndex]);
+        }
+
+        @Override
+        public T setValue(T val) {
+            T old = value();
+            current.columns[column][rowIndex] = val;
+            return old;
+        }
+
+        /**
+         * Removes the component of the current entity. The last row of the archetype takes the place of the entity, so
+         * the iterator visits that row next.
+         */
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (!removable) {
+                throw new IllegalStateException();
+            }
+            removable = false;
+            ArchetypeComponentTable.this.remove(key(), componentClass);
+            rowIndex--;
+            expectedModCount = componentColumns.modCount;
+        }
+
+        private void checkForComodification() {
+            if (componentColumns.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.entitySystem.entity.internal;
+
+import org.terasology.engine.entitySystem.Component;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+
+import java.util.Arrays;
+
+/**
+ * An entity pool which stores its components in an {@link ArchetypeComponentTable}.
+ * <p>
+ * Finding the entities with a set of components takes time proportional to the number of entities found rather than
+ * to the number of entities in the pool, and counting them does not iterate over entities at all.
+ */
+public class ArchetypeEntityPool extends PojoEntityPool {
+
+    private final ArchetypeComponentTable componentStore;
+
+    public ArchetypeEntityPool(PojoEntityManager entityManager) {
+        this(entityManager, new ArchetypeComponentTable());
+    }
+
+    private ArchetypeEntityPool(PojoEntityManager entityManager, ArchetypeComponentTable componentStore) {
+        super(entityManager, componentStore);
+        this.componentStore = componentStore;
+    }
+
+    @Override
+    protected Iterable<EntityRef> iterateEntitiesWith(Class<? extends Component>[] componentClasses) {
+        if (componentClasses.length == 0) {
+            return super.iterateEntitiesWith(componentClasses);
+        }
+        return () -> Arrays.stream(componentStore.getEntityIdsWith(componentClasses))
+                // Components may have been removed since the ids were collected
+                .filter(id -> Arrays.stream(componentClasses)
+                        .allMatch(component -> componentStore.get(id, component) != null))
+                .mapToObj(this::getEntity)
+                .iterator();
+    }
+
+    @Override
+    public int getCountOfEntitiesWith(Class<? extends Component>[] componentClasses) {
+        return componentStore.getEntityCountWith(componentClasses);
+    }
+}
@@ -41,6 +41,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import static org.terasology.engine.entitySystem.entity.internal.EntityScope.SECTOR;
 
@@ -52,8 +53,9 @@ public class PojoEntityManager implements EngineEntityManager {
     private long nextEntityId = 1;
     private TLongSet loadedIds = new TLongHashSet();
 
-    private EngineEntityPool globalPool = new PojoEntityPool(this);
-    private PojoSectorManager sectorManager = new PojoSectorManager(this);
+    private final Function<PojoEntityManager, EngineEntityPool> poolFactory;
+    private EngineEntityPool globalPool;
+    private PojoSectorManager sectorManager;
     private Map<Long, EngineEntityPool> poolMap = new MapMaker().initialCapacity(1000).makeMap();
     private List<EngineEntityPool> worldPools = Lists.newArrayList();
     private Map<EngineEntityPool, Long> poolCounts = new HashMap<EngineEntityPool, Long>();
@@ -70,6 +72,19 @@ public class PojoEntityManager implements EngineEntityManager {
 
     private TypeHandlerLibrary typeSerializerLibrary;
 
+    public PojoEntityManager() {
+        this(PojoEntityPool::new);
+    }
+
+    /**
+     * @param poolFactory creates the global, world and sector entity pools, e.g. {@code ArchetypeEntityPool::new}
+     */
+    public PojoEntityManager(Function<PojoEntityManager, EngineEntityPool> poolFactory) {
+        this.poolFactory = poolFactory;
+        this.globalPool = createPool();
+        this.sectorManager = new PojoSectorManager(this);
+    }
+
     @Override
     public RefStrategy getEntityRefStrategy() {
         return refStrategy;
@@ -144,7 +159,7 @@ public void createWorldPools(GameManifest game) {
         Map<String, WorldInfo> worldInfoMap = gameManifest.getWorldInfoMap();
         worldManager = new WorldManager(gameManifest.getWorldInfo(TerasologyConstants.MAIN_WORLD));
         for (Map.Entry<String, WorldInfo> worldInfoEntry : worldInfoMap.entrySet()) {
-            EngineEntityPool pool = new PojoEntityPool(this);
+            EngineEntityPool pool = createPool();
             //pool.create();
             worldPools.add(pool);
             worldManager.addWorldPool(worldInfoEntry.getValue(), pool);
@@ -616,6 +631,10 @@ public Optional<EngineEntityPool> getPool(long id) {
         return pool;
     }
 
+    protected EngineEntityPool createPool() {
+        return poolFactory.apply(this);
+    }
+
     /**
      * Assign the given entity to the given pool.
      * <p>
@@ -31,10 +31,15 @@ public class PojoEntityPool implements EngineEntityPool {
     private PojoEntityManager entityManager;
 
     private Map<Long, BaseEntityRef> entityStore = new MapMaker().weakValues().concurrencyLevel(4).initialCapacity(1000).makeMap();
-    private ComponentTable componentStore = new ComponentTable();
+    private ComponentTable componentStore;
 
     public PojoEntityPool(PojoEntityManager entityManager) {
+        this(entityManager, new ComponentTable());
+    }
+
+    protected PojoEntityPool(PojoEntityManager entityManager, ComponentTable componentStore) {
         this.entityManager = entityManager;
+        this.componentStore = componentStore;
     }
 
     @Override
@@ -285,6 +290,13 @@ public EntityRef getEntity(long entityId) {
     @SafeVarargs
     @Override
     public final Iterable<EntityRef> getEntitiesWith(Class<? extends Component>... componentClasses) {
+        return iterateEntitiesWith(componentClasses);
+    }
+
+    /**
+     * Implements {@link #getEntitiesWith}, which has to be final to be safe for generic varargs.
+     */
+    protected Iterable<EntityRef> iterateEntitiesWith(Class<? extends Component>[] componentClasses) {
         return () -> entityStore.keySet().stream()
                 //Keep entities which have all of the required components
                 .filter(id -> Arrays.stream(componentClasses)
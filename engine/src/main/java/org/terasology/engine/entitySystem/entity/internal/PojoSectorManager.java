@@ -24,7 +24,7 @@ public class PojoSectorManager implements EngineSectorManager {
     public PojoSectorManager(PojoEntityManager entityManager) {
         this.entityManager = entityManager;
         pools = new ArrayList<>();
-        pools.add(new PojoEntityPool(entityManager));
+        pools.add(entityManager.createPool());
     }
 
     @Override
@@ -32,6 +32,7 @@
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -42,15 +43,22 @@
 
 /**
  * An implementation of the EventSystem.
+ * <p>
+ * The handlers an event is dispatched to only depend on the type of the event and on which of the components that
+ * handlers of that type filter on the entity has. The sorted handler lists are therefore cached per event type and
+ * per such component signature, and dropped whenever a handler is registered or unregistered.
  */
 public class EventSystemImpl implements EventSystem {
 
     private static final Logger logger = LoggerFactory.getLogger(EventSystemImpl.class);
+    private static final EventHandlerInfo[] NO_HANDLERS = new EventHandlerInfo[0];
     private final boolean isAutority;
 
     private Map<Class<? extends Event>, SetMultimap<Class<? extends Component>, EventHandlerInfo>> componentSpecificHandlers = Maps.newHashMap();
     private SetMultimap<Class<? extends Event>, EventHandlerInfo> generalHandlers = HashMultimap.create();
     private Comparator<EventHandlerInfo> priorityComparator = new EventHandlerPriorityComparator();
+    private final boolean cacheDispatchTables;
+    private final Map<Class<? extends Event>, DispatchTable> dispatchTables = Maps.newHashMap();
 
     // Event metadata
     private BiMap<ResourceUrn, Class<? extends Event>> eventIdMap = HashBiMap.create();
@@ -61,7 +69,17 @@ public class EventSystemImpl implements EventSystem {
 
 
     public EventSystemImpl(boolean isAutority) {
+        this(isAutority, true);
+    }
+
+    /**
+     * @param isAutority whether this event system runs on the authority
+     * @param cacheDispatchTables whether to cache the sorted handlers for each event type and component signature,
+     *         rather than selecting and sorting them for every event sent
+     */
+    public EventSystemImpl(boolean isAutority, boolean cacheDispatchTables) {
         this.isAutority = isAutority;
+        this.cacheDispatchTables = cacheDispatchTables;
         this.mainThread = Thread.currentThread();
     }
 
@@ -134,6 +152,7 @@ public void registerEventHandler(ComponentSystem handler) {
 
     @Override
     public void unregisterEventHandler(ComponentSystem handler) {
+        dispatchTables.clear();
         componentSpecificHandlers.values().stream()
                 .map(eventHandlers -> eventHandlers.values().iterator())
                 .forEach(eventHandlerIterator -> {
@@ -156,6 +175,7 @@ public void unregisterEventHandler(ComponentSystem handler) {
 
     private void addEventHandler(Class<? extends Event> type, EventHandlerInfo handler, Collection<Class<?
             extends Component>> components) {
+        dispatchTables.clear();
         if (components.isEmpty()) {
             generalHandlers.put(type, handler);
             for (Class<? extends Event> childType : childEvents.get(type)) {
@@ -197,6 +217,7 @@ public <T extends Event> void registerEventReceiver(EventReceiver<T> eventReceiv
     @Override
     public <T extends Event> void unregisterEventReceiver(EventReceiver<T> eventReceiver, Class<T> eventClass, Class<
             ? extends Component>... componentTypes) {
+        dispatchTables.clear();
         SetMultimap<Class<? extends Component>, EventHandlerInfo> eventHandlerMap =
                 componentSpecificHandlers.get(eventClass);
         if (eventHandlerMap != null) {
@@ -225,9 +246,12 @@ public void send(EntityRef entity, Event event) {
         if (Thread.currentThread() != mainThread) {
             pendingEvents.offer(new PendingEvent(entity, event));
         } else {
-            Set<EventHandlerInfo> selectedHandlersSet = selectEventHandlers(event.getClass(), entity);
-            List<EventHandlerInfo> selectedHandlers = Lists.newArrayList(selectedHandlersSet);
-            selectedHandlers.sort(priorityComparator);
+            EventHandlerInfo[] selectedHandlers;
+            if (cacheDispatchTables) {
+                selectedHandlers = getDispatchTable(event.getClass()).getHandlers(entity);
+            } else {
+                selectedHandlers = sortHandlers(selectEventHandlers(event.getClass(), entity));
+            }
 
             if (event instanceof ConsumableEvent) {
                 sendConsumableEvent(entity, event, selectedHandlers);
@@ -237,7 +261,7 @@ public void send(EntityRef entity, Event event) {
         }
     }
 
-    private void sendStandardEvent(EntityRef entity, Event event, List<EventHandlerInfo> selectedHandlers) {
+    private void sendStandardEvent(EntityRef entity, Event event, EventHandlerInfo[] selectedHandlers) {
         for (EventHandlerInfo handler : selectedHandlers) {
             // Check isValid at each stage in case components were removed.
             if (handler.isValidFor(entity)) {
@@ -246,7 +270,7 @@ private void sendStandardEvent(EntityRef entity, Event event, List<EventHandlerI
         }
     }
 
-    private void sendConsumableEvent(EntityRef entity, Event event, List<EventHandlerInfo> selectedHandlers) {
+    private void sendConsumableEvent(EntityRef entity, Event event, EventHandlerInfo[] selectedHandlers) {
         ConsumableEvent consumableEvent = (ConsumableEvent) event;
         for (EventHandlerInfo handler : selectedHandlers) {
             // Check isValid at each stage in case components were removed.
@@ -264,20 +288,44 @@ public void send(EntityRef entity, Event event, Component component) {
         if (Thread.currentThread() != mainThread) {
             pendingEvents.offer(new PendingEvent(entity, event, component));
         } else {
-            SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers =
-                    componentSpecificHandlers.get(event.getClass());
-            if (handlers != null) {
-                List<EventHandlerInfo> eventHandlers = Lists.newArrayList(handlers.get(component.getClass()));
-                eventHandlers.sort(priorityComparator);
-                for (EventHandlerInfo eventHandler : eventHandlers) {
-                    if (eventHandler.isValidFor(entity)) {
-                        eventHandler.invoke(entity, event);
-                    }
+            EventHandlerInfo[] eventHandlers;
+            if (cacheDispatchTables) {
+                eventHandlers = getDispatchTable(event.getClass()).getHandlers(component.getClass());
+            } else {
+                eventHandlers = selectComponentEventHandlers(event.getClass(), component.getClass());
+            }
+            for (EventHandlerInfo eventHandler : eventHandlers) {
+                if (eventHandler.isValidFor(entity)) {
+                    eventHandler.invoke(entity, event);
                 }
             }
         }
     }
 
+    private DispatchTable getDispatchTable(Class<? extends Event> eventType) {
+        DispatchTable table = dispatchTables.get(eventType);
+        if (table == null) {
+            table = new DispatchTable(eventType);
+            dispatchTables.put(eventType, table);
+        }
+        return table;
+    }
+
+    private EventHandlerInfo[] sortHandlers(Collection<EventHandlerInfo> handlers) {
+        EventHandlerInfo[] result = handlers.toArray(new EventHandlerInfo[0]);
+        Arrays.sort(result, priorityComparator);
+        return result;
+    }
+
+    private EventHandlerInfo[] selectComponentEventHandlers(Class<? extends Event> eventType,
+                                                            Class<? extends Component> componentType) {
+        SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers = componentSpecificHandlers.get(eventType);
+        if (handlers == null) {
+            return NO_HANDLERS;
+        }
+        return sortHandlers(handlers.get(componentType));
+    }
+
     private Set<EventHandlerInfo> selectEventHandlers(Class<? extends Event> eventType, EntityRef entity) {
         Set<EventHandlerInfo> result = Sets.newHashSet();
         result.addAll(generalHandlers.get(eventType));
@@ -303,6 +351,52 @@ public void setToCurrentThread() {
         mainThread = Thread.currentThread();
     }
 
+    /**
+     * The sorted handlers of an event type, for each combination of the components its handlers filter on.
+     * <p>
+     * Entities are looked up by which of those components they have, so an entity gaining or losing a component
+     * simply maps to another entry rather than invalidating one.
+     */
+    private final class DispatchTable {
+        private final Class<? extends Event> eventType;
+        private final List<Class<? extends Component>> filterComponents;
+        private final Map<BitSet, EventHandlerInfo[]> handlersBySignature = Maps.newHashMap();
+        private final Map<Class<? extends Component>, EventHandlerInfo[]> handlersByComponent = Maps.newHashMap();
+        // Reused between lookups; handlers are never invoked while a signature is being built
+        private final BitSet signature = new BitSet();
+
+        DispatchTable(Class<? extends Event> eventType) {
+            this.eventType = eventType;
+            SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers =
+                    componentSpecificHandlers.get(eventType);
+            this.filterComponents = handlers == null ? ImmutableList.of() : ImmutableList.copyOf(handlers.keySet());
+        }
+
+        EventHandlerInfo[] getHandlers(EntityRef entity) {
+            signature.clear();
+            for (int i = 0; i < filterComponents.size(); i++) {
+                if (entity.hasComponent(filterComponents.get(i))) {
+                    signature.set(i);
+                }
+            }
+            EventHandlerInfo[] handlers = handlersBySignature.get(signature);
+            if (handlers == null) {
+                handlers = sortHandlers(selectEventHandlers(eventType, entity));
+                handlersBySignature.put((BitSet) signature.clone(), handlers);
+            }
+            return handlers;
+        }
+
+        EventHandlerInfo[] getHandlers(Class<? extends Component> componentType) {
+            EventHandlerInfo[] handlers = handlersByComponent.get(componentType);
+            if (handlers == null) {
+                handlers = selectComponentEventHandlers(eventType, componentType);
+                handlersByComponent.put(componentType, handlers);
+            }
+            return handlers;
+        }
+    }
+
     private interface EventHandlerInfo {
         boolean isValidFor(EntityRef entity);
 
@@ -329,6 +423,9 @@ private static class ByteCodeEventHandlerInfo implements EventHandlerInfo {
         private ImmutableList<Class<? extends Component>> filterComponents;
         private ImmutableList<Class<? extends Component>> componentParams;
         private int priority;
+        // Only used on the main thread; the method has already received its arguments if it sends an event that
+        // invokes this handler again
+        private final Object[] params;
 
         ByteCodeEventHandlerInfo(ComponentSystem handler,
                                  Method method,
@@ -345,6 +442,7 @@ private static class ByteCodeEventHandlerInfo implements EventHandlerInfo {
             this.filterComponents = ImmutableList.copyOf(filterComponents);
             this.componentParams = ImmutableList.copyOf(componentParams);
             this.priority = priority;
+            this.params = new Object[2 + componentParams.size()];
         }
 
         @Override
@@ -364,7 +462,6 @@ public void invoke(EntityRef entity, Event event) {
             //
             // There might be specific events that can be safely handled here. In that case, we should add the try-catch
             // back in for the most specific exception type as possible.
-            Object[] params = new Object[2 + componentParams.size()];
             params[0] = event;
             params[1] = entity;
             for (int i = 0; i < componentParams.size(); ++i) {
@@ -378,6 +475,7 @@ public void invoke(EntityRef entity, Event event) {
             try {
                 methodAccess.invoke(handler, methodIndex, params);
             } finally {
+                Arrays.fill(params, null);
                 if (!activity.isEmpty()) {
                     PerformanceMonitor.endActivity();
                 }
@@ -127,6 +127,28 @@ public static TObjectDoubleMap<String> getAllocationMean() {
         return instance.getAllocationMean();
     }
 
+    /**
+     * Records the latest value of a named metric, such as a queue depth or a throughput figure.
+     * <br><br>
+     * Unlike activities, metrics may be recorded from any thread. A later call with the same name replaces the
+     * previously recorded value.
+     *
+     * @param metricName the name of the metric.
+     * @param value the current value of the metric.
+     */
+    public static void recordMetric(String metricName, double value) {
+        instance.recordMetric(metricName, value);
+    }
+
+    /**
+     * Returns a mapping from the name of a metric to the value most recently recorded through recordMetric().
+     *
+     * @return a snapshot of the recorded metrics.
+     */
+    public static TObjectDoubleMap<String> getRecordedMetrics() {
+        return instance.getRecordedMetrics();
+    }
+
     /**
      * Enables or disables the Performance Monitoring system.
      * <br><br>
@@ -3,6 +3,7 @@
 package org.terasology.engine.monitoring.impl;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import gnu.trove.map.TObjectDoubleMap;
 import gnu.trove.map.TObjectLongMap;
@@ -17,6 +18,7 @@
 
 import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Active implementation of Performance Monitor
@@ -44,6 +46,7 @@ public class PerformanceMonitorImpl implements PerformanceMonitorInternal {
     private final TObjectLongMap<String> runningExecutionTotals;
     private final TObjectLongMap<String> runningAllocationTotals;
     private final TObjectDoubleMap<String> spikeData;
+    private final Map<String, Double> recordedMetrics;
 
     private final TObjectDoubleProcedure<String> decayLargestExecutionTime;
     private final TObjectLongProcedure<String> updateExecutionTimeTotalAndSpikeData;
@@ -66,6 +69,7 @@ public PerformanceMonitorImpl() {
         runningExecutionTotals = new TObjectLongHashMap<>();
         runningAllocationTotals = new TObjectLongHashMap<>();
         spikeData = new TObjectDoubleHashMap<>();
+        recordedMetrics = Maps.newConcurrentMap();
 
         decayLargestExecutionTime  = new DecayerOfActivityLargestExecutionTime();
         updateExecutionTimeTotalAndSpikeData = new UpdaterOfActivityExecutionTimeTotalAndSpikeData();
@@ -179,6 +183,18 @@ public TObjectDoubleMap<String> getAllocationMean() {
         return activityToMeanMap;
     }
 
+    @Override
+    public void recordMetric(String metricName, double value) {
+        recordedMetrics.put(metricName, value);
+    }
+
+    @Override
+    public TObjectDoubleMap<String> getRecordedMetrics() {
+        TObjectDoubleMap<String> metrics = new TObjectDoubleHashMap<>();
+        recordedMetrics.forEach(metrics::put);
+        return metrics;
+    }
+
     private class ActivityInfo {
         public String name;
         public long startTime;
@@ -21,4 +21,8 @@ public interface PerformanceMonitorInternal {
     TObjectDoubleMap<String> getDecayingSpikes();
 
     TObjectDoubleMap<String> getAllocationMean();
+
+    void recordMetric(String metricName, double value);
+
+    TObjectDoubleMap<String> getRecordedMetrics();
 }
@@ -29,4 +29,19 @@ public interface NetMetricSource {
      * @return The amount of bytes sent since last time this method was called
      */
     int getSentBytesSinceLastCall();
+
+    /**
+     * @return The amount of chunks sent since last time this method was called
+     */
+    int getSentChunksSinceLastCall();
+
+    /**
+     * @return The amount of bytes of encoded chunks sent since last time this method was called
+     */
+    int getSentChunkBytesSinceLastCall();
+
+    /**
+     * @return The amount of chunks waiting to be sent
+     */
+    int getQueuedChunks();
 }
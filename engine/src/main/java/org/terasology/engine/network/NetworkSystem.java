@@ -52,6 +52,16 @@ public interface NetworkSystem extends BlockRegistrationListener {
 
     int getOutgoingBytesDelta();
 
+    /**
+     * @return The number of chunks sent to clients since last request
+     */
+    int getOutgoingChunksDelta();
+
+    /**
+     * @return The number of chunks waiting to be sent to clients
+     */
+    int getQueuedChunks();
+
     void forceDisconnect(Client client);
 
     void setContext(Context context);
@@ -0,0 +1,139 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.WorldChangeListener;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.protobuf.EntityData;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shares the encoded form of chunks between the clients they are sent to, so a chunk is encoded once however many
+ * clients need it.
+ * <p>
+ * An entry belongs to the chunk instance it was encoded from, and is dropped when a block or extra data value in that
+ * chunk changes. Encodings that were started before such a change are not cached. Once the serialized size of the
+ * entries exceeds the budget, the least recently sent chunks are evicted.
+ */
+public class ChunkBroadcastCache implements WorldChangeListener {
+
+    private final long budget;
+    private final Map<Vector3i, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    private long generation;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param budget the serialized size in bytes of the chunks kept, or 0 to not keep any
+     */
+    public ChunkBroadcastCache(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * @param chunk a chunk to send to a client
+     * @return the encoded chunk, from the cache if it was encoded since it last changed
+     */
+    public EntityData.ChunkStore getEncoded(Chunk chunk) {
+        Vector3i pos = new Vector3i(chunk.getPosition());
+        long encodeGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(pos);
+            if (entry != null && entry.chunk.get() == chunk) {
+                hits++;
+                return entry.data;
+            }
+            misses++;
+            encodeGeneration = generation;
+        }
+
+        EntityData.ChunkStore data = chunk.encode().build();
+        synchronized (this) {
+            if (generation == encodeGeneration) {
+                put(pos, new Entry(chunk, data));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Drops the encoded form of the chunk at the given position.
+     */
+    public synchronized void invalidate(Vector3ic chunkPos) {
+        generation++;
+        Entry entry = entries.remove(new Vector3i(chunkPos));
+        if (entry != null) {
+            size -= entry.size;
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * @return the serialized size in bytes of the chunks kept
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public void onBlockChanged(Vector3ic pos, Block newBlock, Block originalBlock) {
+        invalidate(Chunks.toChunkPos(pos, new Vector3i()));
+    }
+
+    @Override
+    public void onExtraDataChanged(int i, Vector3ic pos, int newData, int oldData) {
+        invalidate(Chunks.toChunkPos(pos, new Vector3i()));
+    }
+
+    private void put(Vector3i pos, Entry entry) {
+        if (entry.size > budget) {
+            return;
+        }
+        Entry previous = entries.put(pos, entry);
+        if (previous != null) {
+            size -= previous.size;
+        }
+        size += entry.size;
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (size > budget) {
+            size -= iterator.next().size;
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        // Weak, so cached chunks can still be unloaded
+        private final WeakReference<Chunk> chunk;
+        private final EntityData.ChunkStore data;
+        private final int size;
+
+        Entry(Chunk chunk, EntityData.ChunkStore data) {
+            this.chunk = new WeakReference<>(chunk);
+            this.data = data;
+            this.size = data.getSerializedSize();
+        }
+    }
+}
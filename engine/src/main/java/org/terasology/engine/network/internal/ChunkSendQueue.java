@@ -0,0 +1,104 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.chunks.Chunk;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The chunks waiting to be sent to a client, nearest to the chunk the client is in first.
+ * <p>
+ * The chunks are only reordered when the client moves to another chunk. Removed chunks stay in the heap until they
+ * reach the top or the heap is rebuilt.
+ */
+public class ChunkSendQueue {
+
+    private final Map<Vector3i, Entry> entries = Maps.newHashMap();
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparingLong(entry -> entry.distance));
+    private final Vector3i center = new Vector3i();
+
+    /**
+     * Adds a chunk to send, replacing any chunk waiting at the same position.
+     */
+    public void add(Vector3ic pos, Chunk chunk) {
+        Entry entry = new Entry(new Vector3i(pos), chunk);
+        entry.distance = entry.pos.distanceSquared(center);
+        entries.put(entry.pos, entry);
+        heap.add(entry);
+        if (heap.size() > 2 * entries.size() + 16) {
+            rebuild();
+        }
+    }
+
+    /**
+     * @return whether a chunk was waiting at the position
+     */
+    public boolean remove(Vector3ic pos) {
+        return entries.remove(new Vector3i(pos)) != null;
+    }
+
+    /**
+     * Sets the chunk the client is in, which the order of the chunks is based on.
+     */
+    public void setCenter(Vector3ic chunkPos) {
+        if (!center.equals(chunkPos.x(), chunkPos.y(), chunkPos.z())) {
+            center.set(chunkPos);
+            rebuild();
+        }
+    }
+
+    /**
+     * Removes the chunk nearest to the center.
+     *
+     * @return the nearest chunk, or null if there are none waiting
+     */
+    public Chunk poll() {
+        Entry entry = heap.poll();
+        while (entry != null) {
+            if (entries.get(entry.pos) == entry) {
+                entries.remove(entry.pos);
+                return entry.chunk;
+            }
+            entry = heap.poll();
+        }
+        return null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public void clear() {
+        entries.clear();
+        heap.clear();
+    }
+
+    private void rebuild() {
+        heap.clear();
+        for (Entry entry : entries.values()) {
+            entry.distance = entry.pos.distanceSquared(center);
+        }
+        heap.addAll(entries.values());
+    }
+
+    private static final class Entry {
+        private final Vector3i pos;
+        private final Chunk chunk;
+        private long distance;
+
+        Entry(Vector3i pos, Chunk chunk) {
+            this.pos = pos;
+            this.chunk = chunk;
+        }
+    }
+}
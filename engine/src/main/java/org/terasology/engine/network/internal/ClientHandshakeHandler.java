@@ -16,6 +16,8 @@
 import org.terasology.engine.identity.PublicIdentityCertificate;
 import org.terasology.engine.identity.storageServiceClient.StorageServiceWorker;
 import org.terasology.engine.identity.storageServiceClient.StorageServiceWorkerStatus;
+import org.terasology.engine.utilities.compression.CompressionCodec;
+import org.terasology.engine.utilities.compression.CompressionCodecs;
 import org.terasology.protobuf.NetData;
 import org.terasology.engine.registry.CoreRegistry;
 
@@ -49,6 +51,7 @@ public class ClientHandshakeHandler extends ChannelInboundHandlerAdapter {
     private boolean requestedCertificate;
     private ClientIdentity identity;
     private PublicIdentityCertificate serverCertificate;
+    private CompressionCodec compressionCodec = CompressionCodecs.DEFLATE;
 
     public ClientHandshakeHandler(JoinStatusImpl joinStatus) {
         this.joinStatus = joinStatus;
@@ -97,6 +100,10 @@ private void processHandshakeVerification(NetData.HandshakeVerification handshak
             return;
         }
 
+        // The server switched to the chosen codec right after sending the verification
+        logger.info("Using {} compression", compressionCodec.getName());
+        HandshakeCommon.switchCompressionDecoder(ctx.pipeline(), compressionCodec);
+
         // And we're authenticated.
         ctx.pipeline().remove(this);
         channelAuthenticated(ctx);
@@ -223,11 +230,17 @@ private void sendCertificate(NetData.HandshakeHello helloMessage, ChannelHandler
         logger.info("Sending client certificate");
         PublicIdentityCertificate pubClientCert = identity.getPlayerPublicCertificate();
 
-        clientHello = NetData.HandshakeHello.newBuilder()
+        NetData.HandshakeHello.Builder clientHelloBuilder = NetData.HandshakeHello.newBuilder()
                 .setRandom(ByteString.copyFrom(clientRandom))
                 .setCertificate(NetMessageUtil.convert(pubClientCert))
-                .setTimestamp(System.currentTimeMillis())
-                .build();
+                .setTimestamp(System.currentTimeMillis());
+        if (helloMessage.getCompressionCodecCount() > 0) {
+            // Servers which don't offer codecs only support the default one
+            compressionCodec = HandshakeCommon.chooseCompressionCodec(helloMessage,
+                    config.getNetwork().getCompressionCodec());
+            clientHelloBuilder.addCompressionCodec(compressionCodec.getName());
+        }
+        clientHello = clientHelloBuilder.build();
 
         byte[] dataToSign = Bytes.concat(helloMessage.toByteArray(), clientHello.toByteArray());
         byte[] signature = identity.getPlayerPrivateCertificate().sign(dataToSign);
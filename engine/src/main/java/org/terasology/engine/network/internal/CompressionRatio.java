@@ -0,0 +1,50 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+/**
+ * Estimates how many bytes a message takes on the wire, from how much the compression of a channel has shrunk the
+ * messages written to it so far.
+ * <p>
+ * The ratio is only updated once enough bytes have been written, so the framing overhead of small messages and the
+ * bytes still waiting in the compressor do not skew it, and it starts out at 1 until then.
+ */
+class CompressionRatio {
+
+    /**
+     * The serialized bytes collected before the ratio is updated.
+     */
+    static final int SAMPLE_BYTES = 16 * 1024;
+    private static final float SMOOTHING = 0.25f;
+    private static final float MIN_RATIO = 0.02f;
+
+    private float ratio = 1;
+    private long sampledSerializedBytes;
+    private long sampledWireBytes;
+
+    /**
+     * @param serializedBytes the bytes of the messages written since the last call
+     * @param wireBytes the bytes which left the compression since the last call
+     */
+    void record(long serializedBytes, long wireBytes) {
+        sampledSerializedBytes += serializedBytes;
+        sampledWireBytes += wireBytes;
+        if (sampledSerializedBytes >= SAMPLE_BYTES) {
+            float sample = Math.max(MIN_RATIO, (float) sampledWireBytes / sampledSerializedBytes);
+            ratio += (sample - ratio) * SMOOTHING;
+            sampledSerializedBytes = 0;
+            sampledWireBytes = 0;
+        }
+    }
+
+    /**
+     * @return the estimated compressed size of a message of the given serialized size, at least 1
+     */
+    int estimateWireSize(int serializedBytes) {
+        return Math.max(1, Math.round(serializedBytes * ratio));
+    }
+
+    float getRatio() {
+        return ratio;
+    }
+}
@@ -0,0 +1,78 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import java.util.BitSet;
+
+/**
+ * The components of a network entity that were added, changed or removed since it was last sent to a client, by
+ * network component id.
+ */
+public class EntityDelta {
+
+    private final BitSet added = new BitSet();
+    private final BitSet changed = new BitSet();
+    private final BitSet removed = new BitSet();
+
+    public void componentAdded(int componentId) {
+        if (removed.get(componentId)) {
+            removed.clear(componentId);
+            changed.set(componentId);
+        } else {
+            added.set(componentId);
+        }
+    }
+
+    public void componentChanged(int componentId) {
+        if (!added.get(componentId)) {
+            changed.set(componentId);
+        }
+    }
+
+    public void componentRemoved(int componentId) {
+        if (added.get(componentId)) {
+            added.clear(componentId);
+        } else {
+            changed.clear(componentId);
+            removed.set(componentId);
+        }
+    }
+
+    public BitSet getAdded() {
+        return added;
+    }
+
+    public BitSet getChanged() {
+        return changed;
+    }
+
+    public BitSet getRemoved() {
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof EntityDelta) {
+            EntityDelta other = (EntityDelta) o;
+            return added.equals(other.added) && changed.equals(other.changed) && removed.equals(other.removed);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * added.hashCode() + changed.hashCode()) + removed.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "EntityDelta{added=" + added + ", changed=" + changed + ", removed=" + removed + "}";
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import com.google.common.collect.Lists;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.network.serialization.ServerComponentFieldCheck;
+import org.terasology.engine.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.protobuf.EntityData;
+
+import java.util.List;
+
+/**
+ * The entity updates serialized during a net tick, so clients sent the same changes of an entity share them.
+ * <p>
+ * Updates differ only by the changes and whether the client owns the entity, so most clients watching an entity
+ * receive the same update. The cache has to be cleared before each net tick, and an entity invalidated whenever its
+ * components change during the tick.
+ */
+public class EntityDeltaCache {
+
+    private static final ServerComponentFieldCheck OWNED_CHECK = new ServerComponentFieldCheck(true, false);
+    private static final ServerComponentFieldCheck NOT_OWNED_CHECK = new ServerComponentFieldCheck(false, false);
+
+    private final TIntObjectMap<List<CachedUpdate>> updates = new TIntObjectHashMap<>();
+    private int hits;
+    private int misses;
+
+    /**
+     * The delta must not change while the cache holds it.
+     *
+     * @return the serialized update, or null if none of the changes have to be sent to the client
+     */
+    public EntityData.PackedEntity getUpdate(NetworkEntitySerializer serializer, int netId, EntityRef entity,
+                                             EntityDelta delta, boolean owned) {
+        List<CachedUpdate> entityUpdates = updates.get(netId);
+        if (entityUpdates == null) {
+            entityUpdates = Lists.newArrayListWithCapacity(2);
+            updates.put(netId, entityUpdates);
+        }
+        for (CachedUpdate cached : entityUpdates) {
+            if (cached.owned == owned && cached.delta.equals(delta)) {
+                hits++;
+                return cached.update;
+            }
+        }
+        misses++;
+        EntityData.PackedEntity update = serializer.serialize(entity, delta.getAdded(), delta.getChanged(),
+                delta.getRemoved(), owned ? OWNED_CHECK : NOT_OWNED_CHECK);
+        entityUpdates.add(new CachedUpdate(owned, delta, update));
+        return update;
+    }
+
+    /**
+     * Drops the updates of an entity whose components changed since they were serialized.
+     */
+    public void invalidate(int netId) {
+        updates.remove(netId);
+    }
+
+    public void clear() {
+        updates.clear();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    private static final class CachedUpdate {
+        private final boolean owned;
+        private final EntityDelta delta;
+        private final EntityData.PackedEntity update;
+
+        CachedUpdate(boolean owned, EntityDelta delta, EntityData.PackedEntity update) {
+            this.owned = owned;
+            this.delta = delta;
+            this.update = update;
+        }
+    }
+}
@@ -3,17 +3,31 @@
 package org.terasology.engine.network.internal;
 
 import com.google.common.primitives.Bytes;
+import io.netty.channel.ChannelPipeline;
 import org.terasology.engine.identity.IdentityConstants;
 import org.terasology.engine.identity.SecretGenerator;
+import org.terasology.engine.utilities.compression.CompressionCodec;
+import org.terasology.engine.utilities.compression.CompressionCodecs;
 import org.terasology.protobuf.NetData;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.util.Optional;
 
 /**
  * Common methods for both server and client ends of the authentication handshake
  */
 public final class HandshakeCommon {
 
+    /**
+     * Name of the pipeline handler compressing messages from the server to the client
+     */
+    public static final String COMPRESSION_ENCODER = "compressionEncoder";
+
+    /**
+     * Name of the pipeline handler decompressing messages from the server on the client
+     */
+    public static final String COMPRESSION_DECODER = "compressionDecoder";
+
     private HandshakeCommon() {
     }
 
@@ -54,4 +68,68 @@ public static SecretKeySpec generateSymmetricKey(byte[] masterSecret, byte[] cli
     public static byte[] getSignatureData(NetData.HandshakeHello serverHello, NetData.HandshakeHello clientHello) {
         return Bytes.concat(serverHello.toByteArray(), clientHello.toByteArray());
     }
+
+    /**
+     * Lists all supported compression codecs in the server hello, for the client to choose from.
+     *
+     * @param serverHello the hello to add the codecs to
+     */
+    public static void addSupportedCompressionCodecs(NetData.HandshakeHello.Builder serverHello) {
+        for (CompressionCodec codec : CompressionCodecs.getAll()) {
+            serverHello.addCompressionCodec(codec.getName());
+        }
+    }
+
+    /**
+     * Chooses the compression codec for the messages from the server. The preferred codec is used if the server
+     * supports it, otherwise the connection stays with {@link CompressionCodecs#DEFLATE}, which all servers support.
+     *
+     * @param serverHello the hello received from the server
+     * @param preferredCodec name of the codec the client would like to use
+     * @return the chosen codec
+     */
+    public static CompressionCodec chooseCompressionCodec(NetData.HandshakeHello serverHello, String preferredCodec) {
+        if (!serverHello.getCompressionCodecList().contains(preferredCodec)) {
+            return CompressionCodecs.DEFLATE;
+        }
+        return CompressionCodecs.byName(preferredCodec).orElse(CompressionCodecs.DEFLATE);
+    }
+
+    /**
+     * @param clientHello the hello received from the client
+     * @return the compression codec chosen by the client, or {@link CompressionCodecs#DEFLATE} if it chose none
+     */
+    public static CompressionCodec getChosenCompressionCodec(NetData.HandshakeHello clientHello) {
+        if (clientHello.getCompressionCodecCount() != 1) {
+            return CompressionCodecs.DEFLATE;
+        }
+        Optional<CompressionCodec> codec = CompressionCodecs.byName(clientHello.getCompressionCodec(0));
+        return codec.orElse(CompressionCodecs.DEFLATE);
+    }
+
+    /**
+     * Replaces the compression encoder of the server end with one of the given codec. Must be called on the event loop
+     * right after writing the last message of the handshake, as the client switches its decoder after reading it.
+     *
+     * @param pipeline the pipeline of the server end of the connection
+     * @param codec the codec to switch to
+     */
+    public static void switchCompressionEncoder(ChannelPipeline pipeline, CompressionCodec codec) {
+        if (codec != CompressionCodecs.DEFLATE) {
+            pipeline.replace(COMPRESSION_ENCODER, COMPRESSION_ENCODER, codec.createEncoder());
+        }
+    }
+
+    /**
+     * Replaces the compression decoder of the client end with one of the given codec. Must be called on the event loop
+     * while handling the last message of the handshake.
+     *
+     * @param pipeline the pipeline of the client end of the connection
+     * @param codec the codec to switch to
+     */
+    public static void switchCompressionDecoder(ChannelPipeline pipeline, CompressionCodec codec) {
+        if (codec != CompressionCodecs.DEFLATE) {
+            pipeline.replace(COMPRESSION_DECODER, COMPRESSION_DECODER, codec.createDecoder());
+        }
+    }
 }
@@ -10,6 +10,7 @@
 import org.terasology.engine.network.NetMetricSource;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A generic Netty handler for recording metrics on sent and received bytes and messages.
@@ -22,6 +23,10 @@ public class MetricRecordingHandler extends ChannelDuplexHandler implements NetM
     private AtomicInteger receivedBytes = new AtomicInteger();
     private AtomicInteger sentMessages = new AtomicInteger();
     private AtomicInteger sentBytes = new AtomicInteger();
+    private final AtomicLong totalSentBytes = new AtomicLong();
+    private AtomicInteger sentChunks = new AtomicInteger();
+    private AtomicInteger sentChunkBytes = new AtomicInteger();
+    private volatile int queuedChunks;
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
@@ -36,6 +41,7 @@ public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
         ByteBuf buf = (ByteBuf) msg;
         sentMessages.incrementAndGet();
         sentBytes.addAndGet(buf.readableBytes());
+        totalSentBytes.addAndGet(buf.readableBytes());
         super.write(ctx, msg, promise);
     }
 
@@ -58,4 +64,40 @@ public int getSentMessagesSinceLastCall() {
     public int getSentBytesSinceLastCall() {
         return sentBytes.getAndSet(0);
     }
+
+    @Override
+    public int getSentChunksSinceLastCall() {
+        return sentChunks.getAndSet(0);
+    }
+
+    @Override
+    public int getSentChunkBytesSinceLastCall() {
+        return sentChunkBytes.getAndSet(0);
+    }
+
+    @Override
+    public int getQueuedChunks() {
+        return queuedChunks;
+    }
+
+    /**
+     * @return all bytes written to the socket so far, which unlike the metrics are not reset by reading them
+     */
+    long getTotalSentBytes() {
+        return totalSentBytes.get();
+    }
+
+    /**
+     * Records a chunk being scheduled for sending, as chunks are not distinguishable in the written data.
+     *
+     * @param bytes the serialized size of the encoded chunk
+     */
+    void recordChunkSent(int bytes) {
+        sentChunks.incrementAndGet();
+        sentChunkBytes.addAndGet(bytes);
+    }
+
+    void setQueuedChunks(int queuedChunks) {
+        this.queuedChunks = queuedChunks;
+    }
 }
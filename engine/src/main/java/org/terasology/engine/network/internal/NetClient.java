@@ -4,13 +4,13 @@
 package org.terasology.engine.network.internal;
 
 import com.google.common.base.Objects;
-import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
-import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import gnu.trove.iterator.TIntIterator;
+import gnu.trove.iterator.TIntObjectIterator;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 import io.netty.channel.Channel;
@@ -58,7 +58,6 @@
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -69,7 +68,7 @@
  */
 public class NetClient extends AbstractClient implements WorldChangeListener {
     private static final Logger logger = LoggerFactory.getLogger(NetClient.class);
-    private static final float NET_TICK_RATE = 0.05f;
+    private static final float CHUNK_BURST_SECONDS = 0.5f;
 
     private Time time;
     private NetworkSystemImpl networkSystem;
@@ -77,7 +76,7 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private NetworkEntitySerializer entitySerializer;
     private EventSerializer eventSerializer;
     private EventLibrary eventLibrary;
-    private NetMetricSource metricSource;
+    private MetricRecordingHandler metricSource;
 
     // Relevance
     private Set<Vector3i> relevantChunks = Sets.newHashSet();
@@ -85,18 +84,16 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
 
     // Entity replication data
     private TIntSet netInitial = new TIntHashSet();
-    private TIntSet netDirty = new TIntHashSet();
+    private TIntObjectMap<EntityDelta> netDirty = new TIntObjectHashMap<>();
     private TIntSet netRemoved = new TIntHashSet();
-    private SetMultimap<Integer, Class<? extends Component>> dirtyComponents = LinkedHashMultimap.create();
-    private SetMultimap<Integer, Class<? extends Component>> addedComponents = LinkedHashMultimap.create();
-    private SetMultimap<Integer, Class<? extends Component>> removedComponents = LinkedHashMultimap.create();
 
     private String preferredName = "Player";
     private long lastReceivedTime;
     private ViewDistance viewDistance = ViewDistance.NEAR;
-    private float chunkSendCounter = 1.0f;
-
-    private float chunkSendRate = 0.05469f;
+    private final TokenBucket chunkBandwidth = new TokenBucket(CHUNK_BURST_SECONDS);
+    private final CompressionRatio compressionRatio = new CompressionRatio();
+    private long unsampledSerializedBytes;
+    private long sampledWireBytes;
 
     private PublicIdentityCertificate identity;
 
@@ -106,7 +103,8 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private List<NetData.EventMessage> queuedOutgoingEvents = Lists.newArrayList();
     private final List<BlockFamily> newlyRegisteredFamilies = Lists.newArrayList();
 
-    private Map<Vector3i, Chunk> readyChunks = Maps.newLinkedHashMap();
+    private final ChunkSendQueue readyChunks = new ChunkSendQueue();
+    private final List<EntityData.ChunkStore> scheduledChunks = Lists.newArrayList();
     private Set<Vector3i> invalidatedChunks = Sets.newLinkedHashSet();
 
 
@@ -118,6 +116,7 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private AtomicInteger receivedBytes = new AtomicInteger();
     private AtomicInteger sentMessages = new AtomicInteger();
     private AtomicInteger sentBytes = new AtomicInteger();
+    private boolean pendingFlush;
     private Color color;
 
     /**
@@ -128,7 +127,7 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
      */
     public NetClient(Channel channel, NetworkSystemImpl networkSystem, PublicIdentityCertificate identity) {
         this.channel = channel;
-        metricSource = (NetMetricSource) channel.pipeline().get(MetricRecordingHandler.NAME);
+        metricSource = (MetricRecordingHandler) channel.pipeline().get(MetricRecordingHandler.NAME);
         this.networkSystem = networkSystem;
         this.time = CoreRegistry.get(Time.class);
         this.identity = identity;
@@ -234,35 +233,75 @@ private void sendRegisteredBlocks(NetData.NetMessage.Builder message) {
     }
 
     private void sendNewChunks(NetData.NetMessage.Builder message) {
-        if (!readyChunks.isEmpty()) {
-            chunkSendCounter += chunkSendRate * NET_TICK_RATE * networkSystem.getBandwidthPerClient();
-            if (chunkSendCounter > 1.0f) {
-                chunkSendCounter -= 1.0f;
-                Vector3i center = new Vector3i();
-                LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
-                if (loc != null) {
-                    Vector3f target = loc.getWorldPosition(new Vector3f());
-                    if (target.isFinite()) {
-                        center.set(target, RoundingMode.HALF_UP); // use center as temporary variable
-                        Chunks.toChunkPos(center, center); // update center to chunkPos
-                    }
-                }
-                Vector3i pos = null;
-                long distance = Integer.MAX_VALUE;
-                for (Vector3i chunkPos : readyChunks.keySet()) {
-                    long chunkDistance = chunkPos.distanceSquared(center);
-                    if (pos == null || chunkDistance < distance) {
-                        pos = chunkPos;
-                        distance = chunkDistance;
-                    }
-                }
-                Chunk chunk = readyChunks.remove(pos);
-                relevantChunks.add(pos);
-                message.addChunkInfo(chunk.encode());
+        message.addAllChunkInfo(scheduledChunks);
+        scheduledChunks.clear();
+        metricSource.setQueuedChunks(readyChunks.size());
+    }
+
+    /**
+     * Orders the chunks waiting to be sent by their distance to the client's character, if it moved to another chunk.
+     *
+     * @return whether any chunks are waiting to be sent
+     */
+    boolean prepareChunkSends() {
+        updateCompressionRatio();
+        if (readyChunks.isEmpty()) {
+            return false;
+        }
+        EntityRef character = getEntity().getComponent(ClientComponent.class).character;
+        LocationComponent loc = character.getComponent(LocationComponent.class);
+        if (loc != null) {
+            Vector3f target = loc.getWorldPosition(new Vector3f());
+            if (target.isFinite()) {
+                Vector3i center = new Vector3i(target, RoundingMode.HALF_UP);
+                readyChunks.setCenter(Chunks.toChunkPos(center, center));
             }
-        } else {
-            chunkSendCounter = 1.0f;
         }
+        return true;
+    }
+
+    private void updateCompressionRatio() {
+        long wireBytes = metricSource.getTotalSentBytes();
+        compressionRatio.record(unsampledSerializedBytes, wireBytes - sampledWireBytes);
+        unsampledSerializedBytes = 0;
+        sampledWireBytes = wireBytes;
+    }
+
+    /**
+     * @param bytesPerSecond the share of the upstream bandwidth this client may use for chunks
+     * @param seconds the time since the last refill
+     */
+    void refillChunkBandwidth(float bytesPerSecond, float seconds) {
+        chunkBandwidth.refill(bytesPerSecond, seconds);
+    }
+
+    /**
+     * Schedules the nearest waiting chunk to be sent with the next message, if this client has bandwidth left.
+     * <p>
+     * The bandwidth is charged with the estimated compressed size of the chunk, as the bandwidth is a rate on the wire
+     * and the compression of the channel only shrinks the messages further down the pipeline.
+     *
+     * @param serverBandwidth the bandwidth shared by all clients, which the chunk also uses
+     * @return whether this client can be sent another chunk this tick
+     */
+    boolean scheduleChunkSend(TokenBucket serverBandwidth) {
+        if (!chunkBandwidth.hasTokens()) {
+            return false;
+        }
+        Chunk chunk = readyChunks.poll();
+        if (chunk == null) {
+            return false;
+        }
+        EntityData.ChunkStore encoded = networkSystem.getChunkBroadcastCache().getEncoded(chunk);
+        int size = encoded.getSerializedSize();
+        int wireSize = compressionRatio.estimateWireSize(size);
+        chunkBandwidth.consume(wireSize);
+        serverBandwidth.consume(wireSize);
+        relevantChunks.add(new Vector3i(chunk.getPosition()));
+        networkSystem.getInterestManager().addRelevantChunk(this, chunk.getPosition());
+        scheduledChunks.add(encoded);
+        metricSource.recordChunkSent(size);
+        return chunkBandwidth.hasTokens() && !readyChunks.isEmpty();
     }
 
     private void sendChunkInvalidations(NetData.NetMessage.Builder message) {
@@ -271,6 +310,7 @@ private void sendChunkInvalidations(NetData.NetMessage.Builder message) {
             Vector3i pos = i.next();
             i.remove();
             relevantChunks.remove(pos);
+            networkSystem.getInterestManager().removeRelevantChunk(this, pos);
             message.addInvalidateChunk(NetData.InvalidateChunkMessage.newBuilder().setPos(NetMessageUtil.convert(pos)));
         }
         invalidatedChunks.clear();
@@ -284,42 +324,50 @@ public void setNetRemoved(int netId) {
         if (!netInitial.remove(netId)) {
             netRemoved.add(netId);
         }
-        dirtyComponents.keySet().remove(netId);
-        addedComponents.keySet().remove(netId);
-        removedComponents.keySet().remove(netId);
         netDirty.remove(netId);
         netRelevant.remove(netId);
     }
 
     public void setComponentAdded(int networkId, Class<? extends Component> component) {
-        if (netRelevant.contains(networkId) && !netInitial.contains(networkId)) {
-            if (removedComponents.remove(networkId, component)) {
-                dirtyComponents.put(networkId, component);
-            } else {
-                addedComponents.put(networkId, component);
-                netDirty.add(networkId);
-            }
+        EntityDelta delta = getDelta(networkId, component);
+        if (delta != null) {
+            delta.componentAdded(entitySerializer.getComponentId(component));
         }
     }
 
     public void setComponentRemoved(int networkId, Class<? extends Component> component) {
-        if (netRelevant.contains(networkId) && !netInitial.contains(networkId)) {
-            if (!addedComponents.remove(networkId, component)) {
-                removedComponents.put(networkId, component);
-                if (!dirtyComponents.remove(networkId, component)) {
-                    netDirty.add(networkId);
-                }
-            }
+        EntityDelta delta = getDelta(networkId, component);
+        if (delta != null) {
+            delta.componentRemoved(entitySerializer.getComponentId(component));
         }
     }
 
     public void setComponentDirty(int netId, Class<? extends Component> componentType) {
-        if (netRelevant.contains(netId) && !netInitial.contains(netId) && !addedComponents.get(netId).contains(componentType)) {
-            dirtyComponents.put(netId, componentType);
-            netDirty.add(netId);
+        EntityDelta delta = getDelta(netId, componentType);
+        if (delta != null) {
+            delta.componentChanged(entitySerializer.getComponentId(componentType));
         }
     }
 
+    /**
+     * @return the changes to send for an entity, or null if the client isn't sent changes of the entity or component
+     */
+    private EntityDelta getDelta(int netId, Class<? extends Component> component) {
+        if (!netRelevant.contains(netId) || netInitial.contains(netId)) {
+            return null;
+        }
+        if (entitySerializer.getComponentId(component) < 0) {
+            logger.error("Replicated component without network id: {}", component);
+            return null;
+        }
+        EntityDelta delta = netDirty.get(netId);
+        if (delta == null) {
+            delta = new EntityDelta();
+            netDirty.put(netId, delta);
+        }
+        return delta;
+    }
+
     public void connected(EntityManager entityManager, NetworkEntitySerializer newEntitySerializer,
                           EventSerializer newEventSerializer, EventLibrary newEventLibrary) {
         this.entitySerializer = newEntitySerializer;
@@ -364,18 +412,33 @@ public boolean isLocal() {
         return false;
     }
 
+    /**
+     * Queues a message, which goes out with the next {@link #flush()}.
+     */
     void send(NetData.NetMessage data) {
         logger.trace("Sending packet with size {}", data.getSerializedSize());
         sentMessages.incrementAndGet();
         sentBytes.addAndGet(data.getSerializedSize());
-        channel.writeAndFlush(data);
+        unsampledSerializedBytes += data.getSerializedSize();
+        channel.write(data);
+        pendingFlush = true;
+    }
+
+    /**
+     * Sends the queued messages, so the messages of a frame go out in as few writes to the socket as possible.
+     */
+    void flush() {
+        if (pendingFlush) {
+            pendingFlush = false;
+            channel.flush();
+        }
     }
 
     @Override
     public void onChunkRelevant(Vector3ic pos, Chunk chunk) {
         Vector3i result = new Vector3i(pos);
         invalidatedChunks.remove(result);
-        readyChunks.put(result, chunk);
+        readyChunks.add(result, chunk);
     }
 
     @Override
@@ -448,25 +511,26 @@ private void processEntityUpdates(NetData.NetMessage message) {
     }
 
     private void sendDirtyEntities(NetData.NetMessage.Builder message) {
-        TIntIterator dirtyIterator = netDirty.iterator();
+        EntityDeltaCache deltaCache = networkSystem.getEntityDeltaCache();
+        TIntObjectIterator<EntityDelta> dirtyIterator = netDirty.iterator();
         while (dirtyIterator.hasNext()) {
-            int netId = dirtyIterator.next();
+            dirtyIterator.advance();
+            int netId = dirtyIterator.key();
+            EntityDelta delta = dirtyIterator.value();
+            if (delta.isEmpty()) {
+                continue;
+            }
             EntityRef entity = networkSystem.getEntity(netId);
             if (!entity.exists()) {
                 logger.error("Sending non-existent entity update for netId {}", netId);
             }
             boolean isOwner = networkSystem.getOwner(entity) == this;
-            EntityData.PackedEntity entityData = entitySerializer.serialize(entity, addedComponents.get(netId),
-                    dirtyComponents.get(netId), removedComponents.get(netId),
-                    new ServerComponentFieldCheck(isOwner, false));
+            EntityData.PackedEntity entityData = deltaCache.getUpdate(entitySerializer, netId, entity, delta, isOwner);
             if (entityData != null) {
                 message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entityData).setNetId(netId));
             }
         }
         netDirty.clear();
-        addedComponents.clear();
-        removedComponents.clear();
-        dirtyComponents.clear();
     }
 
     private void sendRemovedEntities(NetData.NetMessage.Builder message) {
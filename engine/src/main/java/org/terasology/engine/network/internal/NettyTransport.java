@@ -0,0 +1,82 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Netty transports connections can use.
+ */
+public enum NettyTransport {
+    NIO {
+        @Override
+        public EventLoopGroup createEventLoopGroup(int threads) {
+            return new NioEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getChannelClass() {
+            return NioSocketChannel.class;
+        }
+    },
+    /**
+     * The native transport of Linux, which avoids the selector overhead and garbage of NIO.
+     */
+    EPOLL {
+        @Override
+        public EventLoopGroup createEventLoopGroup(int threads) {
+            return new EpollEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> getServerChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getChannelClass() {
+            return EpollSocketChannel.class;
+        }
+    };
+
+    private static final Logger logger = LoggerFactory.getLogger(NettyTransport.class);
+
+    /**
+     * @param threads the number of threads, or 0 for Netty's default of twice the number of processors
+     */
+    public abstract EventLoopGroup createEventLoopGroup(int threads);
+
+    public abstract Class<? extends ServerChannel> getServerChannelClass();
+
+    public abstract Class<? extends SocketChannel> getChannelClass();
+
+    /**
+     * @param preferNative whether to use the native transport if this platform supports it
+     * @return the transport to use
+     */
+    public static NettyTransport select(boolean preferNative) {
+        if (preferNative) {
+            if (Epoll.isAvailable()) {
+                return EPOLL;
+            }
+            logger.warn("Native transport is unavailable, falling back to NIO", Epoll.unavailabilityCause());
+        }
+        return NIO;
+    }
+}
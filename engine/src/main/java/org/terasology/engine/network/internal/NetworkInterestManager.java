@@ -0,0 +1,311 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.network.NetworkComponent.ReplicateMode;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Decides which clients each network entity is replicated to.
+ * <p>
+ * Entities replicated to relevant clients are kept in a grid of chunk sized cells by their position, as are the
+ * clients each cell is relevant to. Such an entity is replicated to the clients of its cell and to its owner, so
+ * entities and clients moving only touch the cells involved. Entities without a position are replicated to every
+ * client.
+ *
+ * @param <C> the type of the clients
+ */
+public class NetworkInterestManager<C> {
+
+    private final ObjIntConsumer<C> onSubscribed;
+    private final ObjIntConsumer<C> onUnsubscribed;
+
+    private final Set<C> clients = Sets.newLinkedHashSet();
+    private final TIntObjectMap<Entry<C>> entities = new TIntObjectHashMap<>();
+    private final Map<Vector3i, Cell<C>> cells = Maps.newHashMap();
+    private final SetMultimap<C, Vector3i> clientCells = HashMultimap.create();
+
+    /**
+     * @param onSubscribed called with a client and the network id of an entity that became relevant to it
+     * @param onUnsubscribed called with a client and the network id of an entity that is no longer relevant to it
+     */
+    public NetworkInterestManager(ObjIntConsumer<C> onSubscribed, ObjIntConsumer<C> onUnsubscribed) {
+        this.onSubscribed = onSubscribed;
+        this.onUnsubscribed = onUnsubscribed;
+    }
+
+    /**
+     * Adds a client, subscribing it to the entities that are relevant to it.
+     */
+    public void addClient(C client) {
+        if (clients.add(client)) {
+            entities.forEachValue(entry -> {
+                if (isRelevant(entry, client)) {
+                    subscribe(entry, client);
+                }
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Removes a client, without notifying it of the entities it is no longer subscribed to.
+     */
+    public void removeClient(C client) {
+        if (clients.remove(client)) {
+            for (Vector3i pos : clientCells.removeAll(client)) {
+                Cell<C> cell = cells.get(pos);
+                cell.clients.remove(client);
+                removeIfEmpty(pos, cell);
+            }
+            entities.forEachValue(entry -> {
+                entry.subscribers.remove(client);
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Adds an entity, subscribing the clients it is relevant to.
+     *
+     * @param cell the chunk the entity is in, or null if it has no position
+     * @param owner the client owning the entity, if any
+     */
+    public void addEntity(int netId, ReplicateMode mode, Vector3ic cell, C owner) {
+        removeEntity(netId);
+        Entry<C> entry = new Entry<>(netId, mode);
+        entities.put(netId, entry);
+        place(entry, cell, owner);
+        for (C client : getCandidates(entry)) {
+            subscribe(entry, client);
+        }
+    }
+
+    /**
+     * Removes an entity, unsubscribing the clients it was replicated to.
+     */
+    public void removeEntity(int netId) {
+        Entry<C> entry = entities.remove(netId);
+        if (entry != null) {
+            removeFromCell(entry);
+            for (C client : entry.subscribers) {
+                onUnsubscribed.accept(client, netId);
+            }
+        }
+    }
+
+    /**
+     * Moves an entity to another chunk, or takes away its position if the cell is null.
+     */
+    public void moveEntity(int netId, Vector3ic cell) {
+        Entry<C> entry = entities.get(netId);
+        if (entry != null && !sameCell(entry.cell, cell)) {
+            update(entry, cell, entry.owner);
+        }
+    }
+
+    /**
+     * Changes the client owning an entity.
+     *
+     * @param owner the new owner, or null if no client owns the entity
+     */
+    public void setOwner(int netId, C owner) {
+        Entry<C> entry = entities.get(netId);
+        if (entry != null && !Objects.equal(entry.owner, owner)) {
+            update(entry, entry.cell, owner);
+        }
+    }
+
+    /**
+     * Makes a chunk relevant to a client, subscribing it to the entities in the chunk.
+     */
+    public void addRelevantChunk(C client, Vector3ic chunkPos) {
+        Vector3i pos = new Vector3i(chunkPos);
+        if (!clients.contains(client) || !clientCells.put(client, pos)) {
+            return;
+        }
+        Cell<C> cell = cells.computeIfAbsent(pos, key -> new Cell<>());
+        cell.clients.add(client);
+        cell.entities.forEach(netId -> {
+            Entry<C> entry = entities.get(netId);
+            if (!entry.subscribers.contains(client)) {
+                subscribe(entry, client);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Makes a chunk irrelevant to a client, unsubscribing it from the entities in the chunk it doesn't own.
+     */
+    public void removeRelevantChunk(C client, Vector3ic chunkPos) {
+        Vector3i pos = new Vector3i(chunkPos);
+        if (!clientCells.remove(client, pos)) {
+            return;
+        }
+        Cell<C> cell = cells.get(pos);
+        cell.clients.remove(client);
+        cell.entities.forEach(netId -> {
+            Entry<C> entry = entities.get(netId);
+            if (entry.subscribers.contains(client) && !isRelevant(entry, client)) {
+                unsubscribe(entry, client);
+            }
+            return true;
+        });
+        removeIfEmpty(pos, cell);
+    }
+
+    /**
+     * @return the clients an entity is replicated to
+     */
+    public Collection<C> getSubscribers(int netId) {
+        Entry<C> entry = entities.get(netId);
+        if (entry == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(entry.subscribers);
+    }
+
+    public boolean isSubscribed(C client, int netId) {
+        Entry<C> entry = entities.get(netId);
+        return entry != null && entry.subscribers.contains(client);
+    }
+
+    public void clear() {
+        clients.clear();
+        entities.clear();
+        cells.clear();
+        clientCells.clear();
+    }
+
+    private void update(Entry<C> entry, Vector3ic cell, C owner) {
+        removeFromCell(entry);
+        place(entry, cell, owner);
+
+        Iterator<C> iterator = entry.subscribers.iterator();
+        while (iterator.hasNext()) {
+            C client = iterator.next();
+            if (!isRelevant(entry, client)) {
+                iterator.remove();
+                onUnsubscribed.accept(client, entry.netId);
+            }
+        }
+        for (C client : getCandidates(entry)) {
+            if (!entry.subscribers.contains(client)) {
+                subscribe(entry, client);
+            }
+        }
+    }
+
+    private void place(Entry<C> entry, Vector3ic cell, C owner) {
+        entry.cell = cell == null ? null : new Vector3i(cell);
+        entry.owner = owner;
+        if (entry.mode == ReplicateMode.RELEVANT && entry.cell != null) {
+            cells.computeIfAbsent(entry.cell, key -> new Cell<>()).entities.add(entry.netId);
+        }
+    }
+
+    private void removeFromCell(Entry<C> entry) {
+        if (entry.mode == ReplicateMode.RELEVANT && entry.cell != null) {
+            Cell<C> cell = cells.get(entry.cell);
+            cell.entities.remove(entry.netId);
+            removeIfEmpty(entry.cell, cell);
+        }
+    }
+
+    private void removeIfEmpty(Vector3i pos, Cell<C> cell) {
+        if (cell.entities.isEmpty() && cell.clients.isEmpty()) {
+            cells.remove(pos);
+        }
+    }
+
+    /**
+     * @return the clients the entity is relevant to
+     */
+    private Collection<C> getCandidates(Entry<C> entry) {
+        boolean hasOwner = entry.owner != null && clients.contains(entry.owner);
+        switch (entry.mode) {
+            case OWNER:
+                return hasOwner ? Collections.singleton(entry.owner) : Collections.emptySet();
+            case RELEVANT:
+                if (entry.cell != null) {
+                    Cell<C> cell = cells.get(entry.cell);
+                    if (!hasOwner || cell.clients.contains(entry.owner)) {
+                        return cell.clients;
+                    }
+                    List<C> candidates = Lists.newArrayList(cell.clients);
+                    candidates.add(entry.owner);
+                    return candidates;
+                }
+                return clients;
+            default:
+                return clients;
+        }
+    }
+
+    private boolean isRelevant(Entry<C> entry, C client) {
+        switch (entry.mode) {
+            case OWNER:
+                return client.equals(entry.owner);
+            case RELEVANT:
+                return entry.cell == null || client.equals(entry.owner)
+                        || clientCells.containsEntry(client, entry.cell);
+            default:
+                return true;
+        }
+    }
+
+    private void subscribe(Entry<C> entry, C client) {
+        entry.subscribers.add(client);
+        onSubscribed.accept(client, entry.netId);
+    }
+
+    private void unsubscribe(Entry<C> entry, C client) {
+        entry.subscribers.remove(client);
+        onUnsubscribed.accept(client, entry.netId);
+    }
+
+    private static boolean sameCell(Vector3i current, Vector3ic cell) {
+        if (current == null || cell == null) {
+            return current == cell;
+        }
+        return current.equals(cell.x(), cell.y(), cell.z());
+    }
+
+    private static final class Entry<C> {
+        private final int netId;
+        private final ReplicateMode mode;
+        private final Set<C> subscribers = Sets.newLinkedHashSet();
+        private Vector3i cell;
+        private C owner;
+
+        Entry(int netId, ReplicateMode mode) {
+            this.netId = netId;
+            this.mode = mode;
+        }
+    }
+
+    private static final class Cell<C> {
+        private final TIntSet entities = new TIntHashSet();
+        private final Set<C> clients = Sets.newLinkedHashSet();
+    }
+}
@@ -15,6 +15,7 @@
 import gnu.trove.map.hash.TIntLongHashMap;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelException;
 import io.netty.channel.ChannelFuture;
@@ -22,10 +23,9 @@
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.GlobalEventExecutor;
+import org.joml.Vector3f;
+import org.joml.Vector3i;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.config.Config;
@@ -46,6 +46,7 @@
 import org.terasology.engine.entitySystem.metadata.ComponentMetadata;
 import org.terasology.engine.entitySystem.metadata.EventLibrary;
 import org.terasology.engine.entitySystem.metadata.EventMetadata;
+import org.terasology.engine.logic.location.LocationComponent;
 import org.terasology.engine.monitoring.PerformanceMonitor;
 import org.terasology.engine.network.Client;
 import org.terasology.engine.network.JoinStatus;
@@ -69,6 +70,7 @@
 import org.terasology.engine.world.WorldProvider;
 import org.terasology.engine.world.block.BlockManager;
 import org.terasology.engine.world.block.family.BlockFamily;
+import org.terasology.engine.world.chunks.Chunks;
 import org.terasology.engine.world.chunks.remoteChunkProvider.RemoteChunkProvider;
 import org.terasology.engine.world.generator.WorldGenerator;
 import org.terasology.gestalt.module.Module;
@@ -86,7 +88,9 @@
 import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -101,6 +105,7 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private static final int OWNER_DEPTH_LIMIT = 50;
     private static final int NET_TICK_RATE = 50;
     private static final int NULL_NET_ID = 0;
+    private static final float CHUNK_BURST_SECONDS = 0.5f;
     private final Set<Client> clientList = Sets.newLinkedHashSet();
     private final Set<NetClient> netClientList = Sets.newLinkedHashSet();
     // Shared
@@ -122,8 +127,8 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     // Server only
     private ChannelGroup allChannels = new DefaultChannelGroup("tera-channels", GlobalEventExecutor.INSTANCE);
     private ChannelFuture serverChannelFuture;
-    private NioEventLoopGroup bossGroup;
-    private NioEventLoopGroup workerGroup;
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
 
     private BlockingQueue<NetClient> newClients = Queues.newLinkedBlockingQueue();
     private BlockingQueue<NetClient> disconnectedClients = Queues.newLinkedBlockingQueue();
@@ -132,6 +137,12 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private Map<EntityRef, EntityRef> ownerLookup = Maps.newHashMap();
     private SetMultimap<EntityRef, EntityRef> ownedLookup = HashMultimap.create();
     private StorageManager storageManager;
+    private final ChunkBroadcastCache chunkBroadcastCache;
+    private final TokenBucket chunkBandwidth = new TokenBucket(CHUNK_BURST_SECONDS);
+    private int chunkSendRotation;
+    private final EntityDeltaCache entityDeltaCache = new EntityDeltaCache();
+    private final NetworkInterestManager<NetClient> interestManager =
+            new NetworkInterestManager<>(NetClient::setNetInitial, NetClient::setNetRemoved);
 
     // Client only
     private ServerImpl server;
@@ -141,6 +152,7 @@ public NetworkSystemImpl(Time time, Context context) {
         this.time = time;
         this.config = context.get(Config.class).getNetwork();
         this.hibernationSettings = Optional.ofNullable(context.get(HibernationManager.class));
+        this.chunkBroadcastCache = new ChunkBroadcastCache(config.getChunkCacheSize() * 1024L * 1024L);
     }
 
     @Override
@@ -157,20 +169,22 @@ public void host(int port, boolean dedicatedServer) throws HostingFailedExceptio
                 generateSerializationTables();
 
                 // Configure the server.
-                bossGroup = new NioEventLoopGroup();
-                workerGroup = new NioEventLoopGroup();
+                NettyTransport transport = NettyTransport.select(config.isNativeTransport());
+                bossGroup = transport.createEventLoopGroup(1);
+                workerGroup = transport.createEventLoopGroup(config.getWorkerThreads());
                 ServerBootstrap b = new ServerBootstrap();
                 b.group(bossGroup, workerGroup)
-                        .channel(NioServerSocketChannel.class)
+                        .channel(transport.getServerChannelClass())
                         .option(ChannelOption.SO_BACKLOG, 100)
                         .localAddress(port)
                         .childOption(ChannelOption.TCP_NODELAY, true)
                         .childOption(ChannelOption.SO_KEEPALIVE, true)
+                        .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                         .childHandler(new TerasologyServerPipelineFactory(this));
                 // Start the server.
                 serverChannelFuture = b.bind();
 
-                logger.info("Started server on port {}", port);
+                logger.info("Started server on port {} using the {} transport", port, transport);
                 if (config.getServerMOTD() != null) {
                     logger.info("Server MOTD is \"{}\"", config.getServerMOTD());
                 } else {
@@ -219,12 +233,13 @@ public JoinStatus join(String address, int port) throws InterruptedException {
             }
             ChannelFuture connectCheck = null;
 
-            clientGroup = new NioEventLoopGroup();
+            NettyTransport transport = NettyTransport.select(config.isNativeTransport());
+            clientGroup = transport.createEventLoopGroup(0);
             try {
                 Bootstrap clientBootstrap = new Bootstrap();
 
                 clientBootstrap.group(clientGroup);
-                clientBootstrap.channel(NioSocketChannel.class);
+                clientBootstrap.channel(transport.getChannelClass());
                 clientBootstrap.option(ChannelOption.SO_KEEPALIVE, true);
                 clientBootstrap.option(ChannelOption.TCP_NODELAY, true);
                 clientBootstrap.remoteAddress(new InetSocketAddress(address, port));
@@ -314,6 +329,13 @@ public void shutdown() {
         ownedLookup.clear();
         ownershipHelper = null;
         storageManager = null;
+        WorldProvider worldProvider = context != null ? context.get(WorldProvider.class) : null;
+        if (worldProvider != null) {
+            worldProvider.unregisterListener(chunkBroadcastCache);
+        }
+        chunkBroadcastCache.clear();
+        interestManager.clear();
+        entityDeltaCache.clear();
         logger.info("Network shutdown");
     }
 
@@ -338,10 +360,17 @@ public void update() {
                     nextNetworkTick += NET_TICK_RATE;
                     netTick = true;
                 }
+                if (netTick && mode.isServer()) {
+                    scheduleChunkSends();
+                    entityDeltaCache.clear();
+                }
                 PerformanceMonitor.startActivity("Client update");
                 for (Client client : clientList) {
                     client.update(netTick);
                 }
+                for (NetClient client : netClientList) {
+                    client.flush();
+                }
                 PerformanceMonitor.endActivity();
                 if (server != null) {
                     server.update(netTick);
@@ -350,6 +379,43 @@ public void update() {
         }
     }
 
+    /**
+     * Picks the chunks each client is sent this net tick.
+     * <p>
+     * All chunks share the upstream bandwidth, which is charged with their estimated compressed size. Clients waiting
+     * for chunks take turns, starting with a different client each tick, and each can use an equal share of the
+     * bandwidth.
+     */
+    private void scheduleChunkSends() {
+        float bytesPerSecond = config.getUpstreamBandwidth() * 1000f / 8f;
+        float tickSeconds = NET_TICK_RATE / 1000f;
+        chunkBandwidth.refill(bytesPerSecond, tickSeconds);
+
+        List<NetClient> waitingClients = Lists.newArrayList();
+        for (NetClient client : netClientList) {
+            if (client.prepareChunkSends()) {
+                waitingClients.add(client);
+            }
+        }
+        if (waitingClients.isEmpty()) {
+            return;
+        }
+        float fairShare = bytesPerSecond / waitingClients.size();
+        for (NetClient client : waitingClients) {
+            client.refillChunkBandwidth(fairShare, tickSeconds);
+        }
+
+        Collections.rotate(waitingClients, chunkSendRotation++ % waitingClients.size());
+        while (chunkBandwidth.hasTokens() && !waitingClients.isEmpty()) {
+            Iterator<NetClient> iterator = waitingClients.iterator();
+            while (iterator.hasNext() && chunkBandwidth.hasTokens()) {
+                if (!iterator.next().scheduleChunkSend(chunkBandwidth)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
     private void processPendingDisconnects() {
         if (!disconnectedClients.isEmpty()) {
             List<NetClient> removedPlayers = Lists.newArrayListWithExpectedSize(disconnectedClients.size());
@@ -405,6 +471,18 @@ NetClient getNetOwner(EntityRef entity) {
         return null;
     }
 
+    ChunkBroadcastCache getChunkBroadcastCache() {
+        return chunkBroadcastCache;
+    }
+
+    EntityDeltaCache getEntityDeltaCache() {
+        return entityDeltaCache;
+    }
+
+    NetworkInterestManager<NetClient> getInterestManager() {
+        return interestManager;
+    }
+
     public int getBandwidthPerClient() {
         if (netClientList.size() > 0) {
             return config.getUpstreamBandwidth() / netClientList.size();
@@ -452,20 +530,8 @@ public void registerNetworkEntity(EntityRef entity) {
             netComponent.setNetworkId(nextNetId++);
             entity.saveComponent(netComponent);
             netIdToEntityId.put(netComponent.getNetworkId(), entity.getId());
-            switch (netComponent.replicateMode) {
-                case OWNER:
-                    NetClient clientPlayer = getNetOwner(entity);
-                    if (clientPlayer != null) {
-                        clientPlayer.setNetInitial(netComponent.getNetworkId());
-                    }
-                    break;
-                default:
-                    for (NetClient client : netClientList) {
-                        // TODO: Relevance Check
-                        client.setNetInitial(netComponent.getNetworkId());
-                    }
-                    break;
-            }
+            interestManager.addEntity(netComponent.getNetworkId(), netComponent.replicateMode, getInterestCell(entity),
+                    getNetOwner(entity));
             EntityRef owner = entity.getOwner();
             if (owner.exists()) {
                 ownerLookup.put(entity, owner);
@@ -520,15 +586,8 @@ private void recursiveUpdateOwnership(EntityRef entity, NetClient lastOwner, Net
         if (networkComponent != null) {
             if (networkComponent.replicateMode == NetworkComponent.ReplicateMode.OWNER) {
                 logger.debug("{}'s owner changed from {} to {}, so replicating.", entity, lastOwner, newOwner);
-                // Remove from last owner
-                if (lastOwner != null) {
-                    lastOwner.setNetRemoved(networkComponent.getNetworkId());
-                }
-                // Add to new owner
-                if (newOwner != null) {
-                    newOwner.setNetInitial(networkComponent.getNetworkId());
-                }
             }
+            interestManager.setOwner(networkComponent.getNetworkId(), newOwner);
             for (EntityRef owned : ownedLookup.get(entity)) {
                 recursiveUpdateOwnership(owned, lastOwner, newOwner);
             }
@@ -546,9 +605,7 @@ public void unregisterNetworkEntity(EntityRef entity) {
                 logger.debug("Unregistering network entity: {} with netId {}", entity, netComponent.getNetworkId());
                 netIdToEntityId.remove(netComponent.getNetworkId());
                 if (mode.isServer()) {
-                    for (NetClient client : netClientList) {
-                        client.setNetRemoved(netComponent.getNetworkId());
-                    }
+                    interestManager.removeEntity(netComponent.getNetworkId());
                 }
                 netComponent.setNetworkId(NULL_NET_ID);
                 entity.saveComponent(netComponent);
@@ -570,6 +627,10 @@ public void connectToEntitySystem(EngineEntityManager newEntityManager, EventLib
         this.storageManager = context.get(StorageManager.class);
         this.eventLibrary = newEventLibrary;
         this.componentLibrary = entityManager.getComponentLibrary();
+        WorldProvider worldProvider = context.get(WorldProvider.class);
+        if (worldProvider != null) {
+            worldProvider.registerListener(chunkBroadcastCache);
+        }
 
         context.get(ComponentSystemManager.class).register(new NetworkEntitySystem(this), "engine:networkEntitySystem");
 
@@ -599,11 +660,15 @@ public void onEntityComponentAdded(EntityRef entity, Class<? extends Component>
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
             if (mode.isServer()) {
                 if (metadata.isReplicated()) {
-                    for (NetClient client : netClientList) {
+                    entityDeltaCache.invalidate(netComp.getNetworkId());
+                    for (NetClient client : interestManager.getSubscribers(netComp.getNetworkId())) {
                         logger.debug("Component {} added to {}", component, entity);
                         client.setComponentAdded(netComp.getNetworkId(), component);
                     }
                 }
+                if (component == LocationComponent.class) {
+                    interestManager.moveEntity(netComp.getNetworkId(), getInterestCell(entity));
+                }
             }
         }
         updatedOwnedEntities(entity, component, metadata);
@@ -616,11 +681,15 @@ public void onEntityComponentRemoved(EntityRef entity, Class<? extends Component
         if (netComp != null && netComp.getNetworkId() != NULL_NET_ID) {
             if (mode.isServer()) {
                 if (metadata.isReplicated()) {
-                    for (NetClient client : netClientList) {
+                    entityDeltaCache.invalidate(netComp.getNetworkId());
+                    for (NetClient client : interestManager.getSubscribers(netComp.getNetworkId())) {
                         logger.debug("Component {} removed from {}", component, entity);
                         client.setComponentRemoved(netComp.getNetworkId(), component);
                     }
                 }
+                if (component == LocationComponent.class) {
+                    interestManager.moveEntity(netComp.getNetworkId(), null);
+                }
             }
         }
         if (mode.isAuthority() && metadata.isReferenceOwner()) {
@@ -647,10 +716,14 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
                 case LISTEN_SERVER:
                 case DEDICATED_SERVER:
                     if (metadata.isReplicated()) {
-                        for (NetClient client : netClientList) {
+                        entityDeltaCache.invalidate(netComp.getNetworkId());
+                        for (NetClient client : interestManager.getSubscribers(netComp.getNetworkId())) {
                             client.setComponentDirty(netComp.getNetworkId(), component);
                         }
                     }
+                    if (component == LocationComponent.class) {
+                        interestManager.moveEntity(netComp.getNetworkId(), getInterestCell(entity));
+                    }
                     break;
                 case CLIENT:
                     if (server != null && metadata.isReplicatedFromOwner() && getOwnerEntity(entity).equals(server.getClientEntity())) {
@@ -762,6 +835,28 @@ public int getOutgoingBytesDelta() {
         }
     }
 
+    @Override
+    public int getOutgoingChunksDelta() {
+        int total = 0;
+        if (mode.isServer()) {
+            for (NetClient client : netClientList) {
+                total += client.getMetrics().getSentChunksSinceLastCall();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getQueuedChunks() {
+        int total = 0;
+        if (mode.isServer()) {
+            for (NetClient client : netClientList) {
+                total += client.getMetrics().getQueuedChunks();
+            }
+        }
+        return total;
+    }
+
     long getEntityId(int netId) {
         return netIdToEntityId.get(netId);
     }
@@ -827,6 +922,7 @@ private void processRemovedClient(Client client) {
             }
             NetClient netClient = (NetClient) client;
             netClientList.remove(netClient);
+            interestManager.removeClient(netClient);
         }
         clientList.remove(client);
         clientPlayerLookup.remove(client.getEntity());
@@ -841,6 +937,7 @@ private void processNewClient(NetClient client) {
         if (!serverConnectListManager.isClientAllowedToConnect(client.getId())) {
             String errorMessage = serverConnectListManager.getErrorMessage(client.getId());
             client.send(NetData.NetMessage.newBuilder().setServerInfo(getServerInfoMessage(errorMessage)).build());
+            client.flush();
             forceDisconnect(client);
             // reset kicked status so the next connection is set correctly
             kicked = false;
@@ -860,22 +957,30 @@ private void processNewClient(NetClient client) {
 
         // log after connect so that the name has been set:
         logger.info("New client entity: {}", client.getEntity());
+        // Entities may have been given to the client before it was known
         for (EntityRef netEntity : entityManager.getEntitiesWith(NetworkComponent.class)) {
             NetworkComponent netComp = netEntity.getComponent(NetworkComponent.class);
             if (netComp.getNetworkId() != NULL_NET_ID) {
-                switch (netComp.replicateMode) {
-                    case OWNER:
-                        if (client.equals(getOwner(netEntity))) {
-                            client.setNetInitial(netComp.getNetworkId());
-                        }
-                        break;
-                    default:
-                        // TODO: Relevance Check
-                        client.setNetInitial(netComp.getNetworkId());
-                        break;
-                }
+                interestManager.setOwner(netComp.getNetworkId(), getNetOwner(netEntity));
             }
         }
+        interestManager.addClient(client);
+    }
+
+    /**
+     * @return the chunk an entity is replicated to relevant clients by, or null if it is replicated to all clients
+     */
+    private Vector3i getInterestCell(EntityRef entity) {
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        // Attached entities move with their parent without their own location changing
+        if (location == null || location.getParent().exists()) {
+            return null;
+        }
+        Vector3f position = location.getWorldPosition(new Vector3f());
+        if (!position.isFinite()) {
+            return null;
+        }
+        return Chunks.toChunkPos(position, new Vector3i());
     }
 
     private void connectClient(Client client) {
@@ -0,0 +1,75 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.compression.JdkZlibEncoder;
+import io.netty.util.concurrent.FastThreadLocal;
+
+/**
+ * Encodes protobuf messages prefixed with their varint32 length, as {@code ProtobufEncoder} and
+ * {@code ProtobufVarint32LengthFieldPrepender} together do.
+ * <p>
+ * Each message is encoded into a single buffer of exactly its framed size from the channel's pooled allocator, instead
+ * of into a new heap array that is wrapped and then copied behind a separately allocated length. Heap buffers are
+ * encoded into directly. Direct buffers, used unless the compression encoder following this one only works on heap
+ * buffers, are filled from an array kept per event loop thread.
+ */
+@ChannelHandler.Sharable
+public class ProtobufFrameEncoder extends MessageToByteEncoder<MessageLite> {
+
+    private static final int MAX_KEPT_SCRATCH_SIZE = 1 << 20;
+
+    private static final FastThreadLocal<byte[]> SCRATCH = new FastThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[4096];
+        }
+    };
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, MessageLite msg, boolean preferDirect) {
+        int frameSize = getFrameSize(msg);
+        if (ctx.pipeline().get(HandshakeCommon.COMPRESSION_ENCODER) instanceof JdkZlibEncoder) {
+            return ctx.alloc().heapBuffer(frameSize);
+        }
+        return ctx.alloc().ioBuffer(frameSize);
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, MessageLite msg, ByteBuf out) throws Exception {
+        int frameSize = getFrameSize(msg);
+        out.ensureWritable(frameSize);
+        if (out.hasArray()) {
+            writeFrame(msg, out.array(), out.arrayOffset() + out.writerIndex(), frameSize);
+            out.writerIndex(out.writerIndex() + frameSize);
+        } else {
+            byte[] scratch = SCRATCH.get();
+            if (scratch.length < frameSize) {
+                scratch = new byte[Integer.highestOneBit(frameSize - 1) << 1];
+                if (scratch.length <= MAX_KEPT_SCRATCH_SIZE) {
+                    SCRATCH.set(scratch);
+                }
+            }
+            writeFrame(msg, scratch, 0, frameSize);
+            out.writeBytes(scratch, 0, frameSize);
+        }
+    }
+
+    private static void writeFrame(MessageLite msg, byte[] target, int offset, int frameSize) throws Exception {
+        CodedOutputStream stream = CodedOutputStream.newInstance(target, offset, frameSize);
+        stream.writeRawVarint32(msg.getSerializedSize());
+        msg.writeTo(stream);
+        stream.checkNoSpaceLeft();
+    }
+
+    private static int getFrameSize(MessageLite msg) {
+        int bodySize = msg.getSerializedSize();
+        return CodedOutputStream.computeRawVarint32Size(bodySize) + bodySize;
+    }
+}
@@ -13,6 +13,7 @@
 import org.terasology.engine.identity.CertificatePair;
 import org.terasology.engine.identity.IdentityConstants;
 import org.terasology.engine.identity.PublicIdentityCertificate;
+import org.terasology.engine.utilities.compression.CompressionCodec;
 import org.terasology.protobuf.NetData;
 import org.terasology.engine.registry.CoreRegistry;
 
@@ -45,11 +46,12 @@ public void channelActive(ChannelHandlerContext ctx) throws Exception {
         PublicIdentityCertificate serverPublicCert = config.getSecurity().getServerPublicCertificate();
         new SecureRandom().nextBytes(serverRandom);
 
-        serverHello = NetData.HandshakeHello.newBuilder()
+        NetData.HandshakeHello.Builder serverHelloBuilder = NetData.HandshakeHello.newBuilder()
                 .setRandom(ByteString.copyFrom(serverRandom))
                 .setCertificate(NetMessageUtil.convert(serverPublicCert))
-                .setTimestamp(System.currentTimeMillis())
-                .build();
+                .setTimestamp(System.currentTimeMillis());
+        HandshakeCommon.addSupportedCompressionCodecs(serverHelloBuilder);
+        serverHello = serverHelloBuilder.build();
 
         ctx.channel().writeAndFlush(NetData.NetMessage.newBuilder()
                 .setHandshakeHello(serverHello)
@@ -91,6 +93,11 @@ private void processClientHandshake(NetData.HandshakeHello clientHello, NetData.
                 .setHandshakeVerification(NetData.HandshakeVerification.newBuilder()
                         .setSignature(ByteString.copyFrom(serverSignature))).build());
 
+        // The client switches its decoder once it has read the verification
+        CompressionCodec compressionCodec = HandshakeCommon.getChosenCompressionCodec(clientHello);
+        logger.info("Using {} compression", compressionCodec.getName());
+        HandshakeCommon.switchCompressionEncoder(ctx.pipeline(), compressionCodec);
+
         // Identity has been established, inform the server handler and withdraw from the pipeline
         ctx.pipeline().remove(this);
         serverConnectionHandler.channelAuthenticated(clientCert);
@@ -0,0 +1,42 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.network.internal;
+
+/**
+ * A budget of bytes that refills over time, up to what the refill rate provides in a set amount of time.
+ * <p>
+ * The budget may be overdrawn, so a message larger than what a single refill provides still goes out. Nothing else is
+ * sent until the debt is paid back.
+ */
+public class TokenBucket {
+
+    private final float burstSeconds;
+    private float tokens;
+
+    /**
+     * @param burstSeconds for how long the bucket can save up unused bytes
+     */
+    public TokenBucket(float burstSeconds) {
+        this.burstSeconds = burstSeconds;
+    }
+
+    /**
+     * @param bytesPerSecond the current refill rate
+     * @param seconds the time since the last refill
+     */
+    public void refill(float bytesPerSecond, float seconds) {
+        tokens = Math.min(tokens + bytesPerSecond * seconds, bytesPerSecond * Math.max(burstSeconds, seconds));
+    }
+
+    public boolean hasTokens() {
+        return tokens > 0;
+    }
+
+    public void consume(int bytes) {
+        tokens -= bytes;
+    }
+
+    public float getTokens() {
+        return tokens;
+    }
+}
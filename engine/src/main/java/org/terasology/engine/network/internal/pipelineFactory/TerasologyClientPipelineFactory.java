@@ -7,7 +7,6 @@
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
-import io.netty.handler.codec.compression.JdkZlibDecoder;
 import io.netty.handler.codec.protobuf.ProtobufDecoder;
 import io.netty.handler.codec.protobuf.ProtobufEncoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
@@ -15,9 +14,11 @@
 import org.terasology.engine.network.internal.ClientConnectionHandler;
 import org.terasology.engine.network.internal.ClientHandler;
 import org.terasology.engine.network.internal.ClientHandshakeHandler;
+import org.terasology.engine.network.internal.HandshakeCommon;
 import org.terasology.engine.network.internal.JoinStatusImpl;
 import org.terasology.engine.network.internal.MetricRecordingHandler;
 import org.terasology.engine.network.internal.NetworkSystemImpl;
+import org.terasology.engine.utilities.compression.CompressionCodecs;
 import org.terasology.protobuf.NetData;
 
 
@@ -39,7 +40,8 @@ protected void initChannel(Channel ch) throws Exception {
         p.addLast(MetricRecordingHandler.NAME, new MetricRecordingHandler());
 
         p.addLast("lengthFrameDecoder", new LengthFieldBasedFrameDecoder(8388608, 0, 3, 0, 3));
-        p.addLast("inflateDecoder", new JdkZlibDecoder());
+        // Replaced if another codec gets chosen during the handshake
+        p.addLast(HandshakeCommon.COMPRESSION_DECODER, CompressionCodecs.DEFLATE.createDecoder());
         p.addLast("frameDecoder", new ProtobufVarint32FrameDecoder());
         p.addLast("protobufDecoder", new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
 
@@ -7,16 +7,16 @@
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.LengthFieldPrepender;
-import io.netty.handler.codec.compression.JdkZlibEncoder;
 import io.netty.handler.codec.protobuf.ProtobufDecoder;
-import io.netty.handler.codec.protobuf.ProtobufEncoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
-import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+import org.terasology.engine.network.internal.HandshakeCommon;
 import org.terasology.engine.network.internal.MetricRecordingHandler;
 import org.terasology.engine.network.internal.NetworkSystemImpl;
+import org.terasology.engine.network.internal.ProtobufFrameEncoder;
 import org.terasology.engine.network.internal.ServerConnectionHandler;
 import org.terasology.engine.network.internal.ServerHandler;
 import org.terasology.engine.network.internal.ServerHandshakeHandler;
+import org.terasology.engine.utilities.compression.CompressionCodecs;
 import org.terasology.protobuf.NetData;
 
 /**
@@ -39,9 +39,9 @@ protected void initChannel(Channel ch) throws Exception {
         p.addLast("protobufDecoder", new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
 
         p.addLast("frameLengthEncoder", new LengthFieldPrepender(3));
-        p.addLast("deflateEncoder", new JdkZlibEncoder());
-        p.addLast("frameEncoder", new ProtobufVarint32LengthFieldPrepender());
-        p.addLast("protobufEncoder", new ProtobufEncoder());
+        // Replaced if the client chooses another codec during the handshake
+        p.addLast(HandshakeCommon.COMPRESSION_ENCODER, CompressionCodecs.DEFLATE.createEncoder());
+        p.addLast("protobufEncoder", new ProtobufFrameEncoder());
 
         p.addLast("authenticationHandler", new ServerHandshakeHandler());
         p.addLast("connectionHandler", new ServerConnectionHandler(networkSystem));
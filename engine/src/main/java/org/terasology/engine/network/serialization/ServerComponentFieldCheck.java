@@ -16,8 +16,8 @@
  *
  */
 public class ServerComponentFieldCheck implements FieldSerializeCheck<Component> {
-    private boolean owned;
-    private boolean entityInitial;
+    private final boolean owned;
+    private final boolean entityInitial;
 
     public ServerComponentFieldCheck(boolean owned, boolean entityInitial) {
         this.owned = owned;
@@ -22,6 +22,7 @@
 import org.terasology.engine.physics.Physics;
 import org.terasology.engine.registry.In;
 import org.terasology.engine.registry.Share;
+import org.terasology.engine.world.chunks.ChunkProvider;
 
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -42,6 +43,9 @@ public class ParticleSystemManagerImpl extends BaseComponentSystem implements Up
     @In
     private Physics physics;
 
+    @In
+    private ChunkProvider chunkProvider;
+
     @In
     private ModuleManager moduleManager;
 
@@ -74,7 +78,7 @@ public void onEmitterDeactivated(BeforeDeactivateComponent event, EntityRef enti
      * Creates and initializes a new {@link ParticleUpdater}.
      */
     public void initialise() {
-        particleUpdater = new ParticleUpdaterImpl(physics, moduleManager);
+        particleUpdater = new ParticleUpdaterImpl(physics, chunkProvider, moduleManager, true);
         particleUpdater.initialize();
     }
 
@@ -4,6 +4,7 @@
 
 import org.terasology.engine.particles.ParticleData;
 import org.terasology.engine.particles.ParticleDataMask;
+import org.terasology.engine.particles.ParticlePool;
 import org.terasology.engine.particles.components.affectors.AccelerationAffectorComponent;
 import org.terasology.engine.particles.functions.RegisterParticleSystemFunction;
 import org.terasology.engine.utilities.random.Random;
@@ -15,6 +16,11 @@ public AccelerationAffectorFunction() {
         super(ParticleDataMask.VELOCITY);
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
     @Override
     public void update(final AccelerationAffectorComponent component,
                        final ParticleData particleData,
@@ -27,4 +33,23 @@ public void update(final AccelerationAffectorComponent component,
                 component.acceleration.z() * delta
         );
     }
+
+    @Override
+    public void update(final AccelerationAffectorComponent component,
+                       final ParticlePool pool,
+                       final int start,
+                       final int end,
+                       final Random random,
+                       final float delta
+    ) {
+        final float x = component.acceleration.x() * delta;
+        final float y = component.acceleration.y() * delta;
+        final float z = component.acceleration.z() * delta;
+        final float[] velocity = pool.velocity;
+        for (int i3 = start * 3; i3 < end * 3; i3 += 3) {
+            velocity[i3] += x;
+            velocity[i3 + 1] += y;
+            velocity[i3 + 2] += z;
+        }
+    }
 }
@@ -6,11 +6,15 @@
 import org.terasology.gestalt.module.sandbox.API;
 import org.terasology.engine.particles.ParticleData;
 import org.terasology.engine.particles.ParticleDataMask;
+import org.terasology.engine.particles.ParticlePool;
 import org.terasology.engine.particles.functions.ParticleSystemFunction;
 import org.terasology.engine.utilities.random.Random;
 
 /**
  * A affector function is called on a particle's data when it is updated to set its fields (Ex. Apply a force to a particle).
+ * <p>
+ * A single instance of each function is shared by all emitters. Emitters with separate particle pools are only
+ * updated in parallel if all their affector functions declare to be {@link #isThreadSafe() thread safe}.
  */
 
 @API
@@ -21,6 +25,39 @@ public AffectorFunction(ParticleDataMask dataMask, ParticleDataMask... dataMasks
 
     public abstract void update(T component, ParticleData particleData, Random random, float delta);
 
+    /**
+     * Updates a range of particles at once, working directly on the arrays of the pool.
+     * <p>
+     * By default this calls {@link #update(Component, ParticleData, Random, float)} for each particle, with the data
+     * selected by the data mask of this function loaded into the temporary particle data of the pool. Functions should
+     * override this to process the arrays in a single loop instead.
+     *
+     * @param component the affector component of the emitter
+     * @param pool the pool of the particles
+     * @param start index of the first particle to update
+     * @param end index after the last particle to update
+     * @param random the random number generator to use
+     * @param delta the time since the last update, in seconds
+     */
+    public void update(T component, ParticlePool pool, int start, int end, Random random, float delta) {
+        int dataMask = getDataMask();
+        for (int i = start; i < end; i++) {
+            pool.loadTemporaryDataFrom(i, dataMask);
+            update(component, pool.temporaryParticleData, random, delta);
+            pool.storeTemporaryDataAt(i, dataMask);
+        }
+    }
+
+    /**
+     * Whether this function may update separate particle pools at the same time, from different threads. This is only
+     * the case if it keeps no state between calls, or guards it itself.
+     *
+     * @return false by default, so that the pools using this function are updated one after the other
+     */
+    public boolean isThreadSafe() {
+        return false;
+    }
+
     public void beforeUpdates(T component, Random random, float delta) {
         // does nothing by default
     }
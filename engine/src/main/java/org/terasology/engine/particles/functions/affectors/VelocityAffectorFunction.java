@@ -4,6 +4,7 @@
 
 import org.terasology.engine.particles.ParticleData;
 import org.terasology.engine.particles.ParticleDataMask;
+import org.terasology.engine.particles.ParticlePool;
 import org.terasology.engine.particles.components.affectors.VelocityAffectorComponent;
 import org.terasology.engine.particles.functions.RegisterParticleSystemFunction;
 import org.terasology.engine.utilities.random.Random;
@@ -15,6 +16,11 @@ public VelocityAffectorFunction() {
         super(ParticleDataMask.POSITION, ParticleDataMask.VELOCITY);
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
     @Override
     public void update(final VelocityAffectorComponent component,
                        final ParticleData particleData,
@@ -27,4 +33,19 @@ public void update(final VelocityAffectorComponent component,
                 particleData.velocity.z() * delta
         );
     }
+
+    @Override
+    public void update(final VelocityAffectorComponent component,
+                       final ParticlePool pool,
+                       final int start,
+                       final int end,
+                       final Random random,
+                       final float delta
+    ) {
+        final float[] position = pool.position;
+        final float[] velocity = pool.velocity;
+        for (int i = start * 3; i < end * 3; i++) {
+            position[i] += velocity[i] * delta;
+        }
+    }
 }
@@ -4,6 +4,7 @@
 
 import org.terasology.engine.particles.ParticleData;
 import org.terasology.engine.particles.ParticleDataMask;
+import org.terasology.engine.particles.ParticlePool;
 import org.terasology.engine.particles.components.generators.ColorRangeGeneratorComponent;
 import org.terasology.engine.particles.functions.RegisterParticleSystemFunction;
 import org.terasology.engine.utilities.random.Random;
@@ -28,4 +29,20 @@ public void onEmission(final ColorRangeGeneratorComponent component,
             random.nextFloat(component.minColorComponents.z(), component.maxColorComponents.z()),
             random.nextFloat(component.minColorComponents.w(), component.maxColorComponents.w()));
     }
+
+    @Override
+    public void onEmission(final ColorRangeGeneratorComponent component,
+                           final ParticlePool pool,
+                           final int start,
+                           final int end,
+                           final Random random
+    ) {
+        final float[] color = pool.color;
+        for (int i4 = start * 4; i4 < end * 4; i4 += 4) {
+            color[i4] = random.nextFloat(component.minColorComponents.x(), component.maxColorComponents.x());
+            color[i4 + 1] = random.nextFloat(component.minColorComponents.y(), component.maxColorComponents.y());
+            color[i4 + 2] = random.nextFloat(component.minColorComponents.z(), component.maxColorComponents.z());
+            color[i4 + 3] = random.nextFloat(component.minColorComponents.w(), component.maxColorComponents.w());
+        }
+    }
 }
@@ -4,6 +4,7 @@
 
 import org.terasology.engine.particles.ParticleData;
 import org.terasology.engine.particles.ParticleDataMask;
+import org.terasology.engine.particles.ParticlePool;
 import org.terasology.engine.particles.components.generators.EnergyRangeGeneratorComponent;
 import org.terasology.engine.particles.functions.RegisterParticleSystemFunction;
 import org.terasology.engine.utilities.random.Random;
@@ -22,4 +23,12 @@ public EnergyRangeGeneratorFunction() {
     public void onEmission(EnergyRangeGeneratorComponent component, ParticleData particleData, Random random) {
         particleData.energy = random.nextFloat(component.minEnergy, component.maxEnergy);
     }
+
+    @Override
+    public void onEmission(EnergyRangeGeneratorComponent component, ParticlePool pool, int start, int end,
+                           Random random) {
+        for (int i = start; i < end; i++) {
+            pool.energy[i] = random.nextFloat(component.minEnergy, component.maxEnergy);
+        }
+    }
 }
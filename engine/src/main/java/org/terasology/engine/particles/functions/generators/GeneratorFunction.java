@@ -6,6 +6,7 @@
 import org.terasology.gestalt.module.sandbox.API;
 import org.terasology.engine.particles.ParticleData;
 import org.terasology.engine.particles.ParticleDataMask;
+import org.terasology.engine.particles.ParticlePool;
 import org.terasology.engine.particles.functions.ParticleSystemFunction;
 import org.terasology.engine.utilities.random.Random;
 
@@ -19,4 +20,26 @@ public GeneratorFunction(ParticleDataMask dataMask, ParticleDataMask... dataMask
     }
 
     public abstract void onEmission(T component, ParticleData particleData, Random random);
+
+    /**
+     * Initializes a range of newly emitted particles at once, working directly on the arrays of the pool.
+     * <p>
+     * By default this calls {@link #onEmission(Component, ParticleData, Random)} for each particle, with the data
+     * selected by the data mask of this function loaded into the temporary particle data of the pool. Functions should
+     * override this to fill the arrays in a single loop instead.
+     *
+     * @param component the generator component of the emitter
+     * @param pool the pool of the particles
+     * @param start index of the first emitted particle
+     * @param end index after the last emitted particle
+     * @param random the random number generator to use
+     */
+    public void onEmission(T component, ParticlePool pool, int start, int end, Random random) {
+        int dataMask = getDataMask();
+        for (int i = start; i < end; i++) {
+            pool.loadTemporaryDataFrom(i, dataMask);
+            onEmission(component, pool.temporaryParticleData, random);
+            pool.storeTemporaryDataAt(i, dataMask);
+        }
+    }
 }
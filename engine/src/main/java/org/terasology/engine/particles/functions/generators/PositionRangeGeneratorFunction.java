@@ -4,6 +4,7 @@
 
 import org.terasology.engine.particles.ParticleData;
 import org.terasology.engine.particles.ParticleDataMask;
+import org.terasology.engine.particles.ParticlePool;
 import org.terasology.engine.particles.components.generators.PositionRangeGeneratorComponent;
 import org.terasology.engine.particles.functions.RegisterParticleSystemFunction;
 import org.terasology.engine.utilities.random.Random;
@@ -29,4 +30,19 @@ public void onEmission(final PositionRangeGeneratorComponent component,
                 random.nextFloat(component.minPosition.z(), component.maxPosition.z())
         );
     }
+
+    @Override
+    public void onEmission(final PositionRangeGeneratorComponent component,
+                           final ParticlePool pool,
+                           final int start,
+                           final int end,
+                           final Random random
+    ) {
+        final float[] position = pool.position;
+        for (int i3 = start * 3; i3 < end * 3; i3 += 3) {
+            position[i3] = random.nextFloat(component.minPosition.x(), component.maxPosition.x());
+            position[i3 + 1] = random.nextFloat(component.minPosition.y(), component.maxPosition.y());
+            position[i3 + 2] = random.nextFloat(component.minPosition.z(), component.maxPosition.z());
+        }
+    }
 }
@@ -4,6 +4,7 @@
 
 import org.terasology.engine.particles.ParticleData;
 import org.terasology.engine.particles.ParticleDataMask;
+import org.terasology.engine.particles.ParticlePool;
 import org.terasology.engine.particles.components.generators.ScaleRangeGeneratorComponent;
 import org.terasology.engine.particles.functions.RegisterParticleSystemFunction;
 import org.terasology.engine.utilities.random.Random;
@@ -28,4 +29,19 @@ public void onEmission(final ScaleRangeGeneratorComponent component,
                 random.nextFloat(component.minScale.z(), component.maxScale.z())
         );
     }
+
+    @Override
+    public void onEmission(final ScaleRangeGeneratorComponent component,
+                           final ParticlePool pool,
+                           final int start,
+                           final int end,
+                           final Random random
+    ) {
+        final float[] scale = pool.scale;
+        for (int i3 = start * 3; i3 < end * 3; i3 += 3) {
+            scale[i3] = random.nextFloat(component.minScale.x(), component.maxScale.x());
+            scale[i3 + 1] = random.nextFloat(component.minScale.y(), component.maxScale.y());
+            scale[i3 + 2] = random.nextFloat(component.minScale.z(), component.maxScale.z());
+        }
+    }
 }
@@ -5,6 +5,7 @@
 import org.joml.Vector2f;
 import org.terasology.engine.particles.ParticleData;
 import org.terasology.engine.particles.ParticleDataMask;
+import org.terasology.engine.particles.ParticlePool;
 import org.terasology.engine.particles.components.generators.TextureOffsetGeneratorComponent;
 import org.terasology.engine.particles.functions.RegisterParticleSystemFunction;
 import org.terasology.engine.utilities.random.Random;
@@ -29,4 +30,18 @@ public void onEmission(TextureOffsetGeneratorComponent component, ParticleData p
         final Vector2f randomOffset = component.validOffsets.get(randomOffsetIndex);
         particleData.textureOffset.set(randomOffset);
     }
+
+    @Override
+    public void onEmission(TextureOffsetGeneratorComponent component, ParticlePool pool, int start, int end,
+                           Random random) {
+        if (component.validOffsets.size() == 0) {
+            return;
+        }
+
+        for (int i = start; i < end; i++) {
+            final Vector2f randomOffset = component.validOffsets.get(random.nextInt(component.validOffsets.size()));
+            pool.textureOffset[i * 2] = randomOffset.x();
+            pool.textureOffset[i * 2 + 1] = randomOffset.y();
+        }
+    }
 }
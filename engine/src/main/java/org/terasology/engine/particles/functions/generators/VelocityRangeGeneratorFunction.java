@@ -4,6 +4,7 @@
 
 import org.terasology.engine.particles.ParticleData;
 import org.terasology.engine.particles.ParticleDataMask;
+import org.terasology.engine.particles.ParticlePool;
 import org.terasology.engine.particles.components.generators.VelocityRangeGeneratorComponent;
 import org.terasology.engine.particles.functions.RegisterParticleSystemFunction;
 import org.terasology.engine.utilities.random.Random;
@@ -26,4 +27,19 @@ public void onEmission(final VelocityRangeGeneratorComponent component,
             random.nextFloat(component.minVelocity.y(), component.maxVelocity.y()),
             random.nextFloat(component.minVelocity.z(), component.maxVelocity.z()));
     }
+
+    @Override
+    public void onEmission(final VelocityRangeGeneratorComponent component,
+                           final ParticlePool pool,
+                           final int start,
+                           final int end,
+                           final Random random
+    ) {
+        final float[] velocity = pool.velocity;
+        for (int i3 = start * 3; i3 < end * 3; i3 += 3) {
+            velocity[i3] = random.nextFloat(component.minVelocity.x(), component.maxVelocity.x());
+            velocity[i3 + 1] = random.nextFloat(component.minVelocity.y(), component.maxVelocity.y());
+            velocity[i3 + 2] = random.nextFloat(component.minVelocity.z(), component.maxVelocity.z());
+        }
+    }
 }
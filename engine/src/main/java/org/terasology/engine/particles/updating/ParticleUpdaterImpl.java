@@ -6,6 +6,7 @@
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 import org.joml.Vector3f;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,7 +15,6 @@
 import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.math.TeraMath;
 import org.terasology.gestalt.module.ModuleEnvironment;
-import org.terasology.engine.particles.ParticleDataMask;
 import org.terasology.engine.particles.ParticlePool;
 import org.terasology.engine.particles.components.ParticleEmitterComponent;
 import org.terasology.engine.particles.functions.ParticleSystemFunction;
@@ -26,11 +26,15 @@
 import org.terasology.engine.physics.StandardCollisionGroup;
 import org.terasology.engine.utilities.ReflectionUtil;
 import org.terasology.engine.utilities.random.FastRandom;
+import org.terasology.engine.world.chunks.ChunkProvider;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 /**
  * See ParticleUpdater for more information.
@@ -40,11 +44,16 @@ public class ParticleUpdaterImpl implements ParticleUpdater {
     private static final Logger logger = LoggerFactory.getLogger(ParticleUpdaterImpl.class);
 
     /**
-     * Number used in determining how many particles to skip in each collision update step, as updating all particles is
-     * costly.
+     * Number used in determining how many particles to skip in each collision update step, when checking collisions
+     * through the physics engine, as checking all particles is costly.
      */
     private static final int PHYSICS_SKIP_NR = 100;
 
+    /**
+     * Minimum number of living particles for the particle pools to be updated in parallel.
+     */
+    private static final int PARALLEL_UPDATE_THRESHOLD = 4096;
+
     private ModuleManager moduleManager;
 
     /**
@@ -61,15 +70,38 @@ public class ParticleUpdaterImpl implements ParticleUpdater {
      * Set of all particle emitters
      */
     private final Set<ParticleEmitterComponent> registeredParticleSystems = new HashSet<>();
-    private final Set<ParticlePool> updatedParticlePools = new HashSet<>();
 
     private final FastRandom random = new FastRandom();
     private final Physics physics;
+    private final VoxelRaycaster voxelRaycaster;
+    private final boolean parallelUpdates;
     private float movingAvgDelta = 1.0f / 60.0f; // Starting guess average physics updateParticleSystem delta
 
     public ParticleUpdaterImpl(final Physics physics, final ModuleManager moduleManager) {
+        this(physics, null, moduleManager, false);
+    }
+
+    /**
+     * @param parallelUpdates whether separate particle pools may be updated in parallel, if their affector functions
+     *                        are thread safe
+     */
+    public ParticleUpdaterImpl(final Physics physics, final ModuleManager moduleManager,
+                               final boolean parallelUpdates) {
+        this(physics, null, moduleManager, parallelUpdates);
+    }
+
+    /**
+     * @param chunkProvider the blocks to check all particles against each update, or null to check a few particles
+     *                      per update through the physics engine instead
+     * @param parallelUpdates whether separate particle pools may be updated in parallel, if their affector functions
+     *                        are thread safe
+     */
+    public ParticleUpdaterImpl(final Physics physics, final ChunkProvider chunkProvider,
+                               final ModuleManager moduleManager, final boolean parallelUpdates) {
         this.physics = physics;
+        this.voxelRaycaster = chunkProvider != null ? new VoxelRaycaster(chunkProvider) : null;
         this.moduleManager = moduleManager;
+        this.parallelUpdates = parallelUpdates;
     }
 
     @Override
@@ -110,8 +142,19 @@ public void update(final float delta) {
         // This ensures that all freshly revived particles are also being updated.
         Collection<ParticleEmitterComponent> particleEmitters = ImmutableList.copyOf(registeredParticleSystems);
         particleEmitters.forEach(x -> updateParticleEmitters(x, delta));
-        particleEmitters.forEach(x -> updateParticleData(x, delta));
-        updatedParticlePools.clear();
+        for (ParticleEmitterComponent particleSystem : updateParticlePools(particleEmitters, delta)) {
+            if (particleSystem.particleCollision) {
+                if (voxelRaycaster != null) {
+                    voxelRaycaster.checkCollisions(particleSystem.particlePool, movingAvgDelta);
+                } else {
+                    checkCollision(particleSystem.particlePool, particleSystem.collisionUpdateIteration);
+                    particleSystem.collisionUpdateIteration =
+                            (particleSystem.collisionUpdateIteration + 1) % PHYSICS_SKIP_NR;
+                }
+            }
+
+            particleSystem.particlePool.prepareRendering();
+        }
     }
 
     @Override
@@ -231,40 +274,45 @@ private void updateLifeRemaining(final ParticlePool pool, final float delta) {
     /*
      * Updates particle life and processes particle affectors
      * */
-    private void updateParticles(final ParticleEmitterComponent particleSystem, final float delta) {
-        updateLifeRemaining(particleSystem.particlePool, delta);
+    private void updateParticles(final ParticleEmitterComponent particleSystem, final float delta,
+                                 final FastRandom updateRandom) {
+        final ParticlePool pool = particleSystem.particlePool;
+        updateLifeRemaining(pool, delta);
 
         particleSystem.affectorFunctionMap.forEach(
-            (component, affector) -> affector.beforeUpdates(component, random, delta)
+            (component, affector) -> affector.beforeUpdates(component, updateRandom, delta)
         );
 
-        for (int i = 0; i < particleSystem.particlePool.livingParticles(); i++) {
-            particleSystem.particlePool.loadTemporaryDataFrom(i, ParticleDataMask.ALL.toInt());
-
-            particleSystem.affectorFunctionMap.forEach(
-                (component, affector) ->
-                    affector.update(component, particleSystem.particlePool.temporaryParticleData, random, delta)
-            );
+        particleSystem.affectorFunctionMap.forEach(
+            (component, affector) -> affector.update(component, pool, 0, pool.livingParticles(), updateRandom, delta)
+        );
 
-            particleSystem.particlePool.storeTemporaryDataAt(i, ParticleDataMask.ALL.toInt());
-        }
+        particleSystem.affectorFunctionMap.forEach(
+            (component, affector) -> affector.afterUpdates(component, updateRandom, delta)
+        );
     }
 
-    private void emitParticle(final ParticleEmitterComponent particleEmitter) {
-        int index = particleEmitter.particlePool.reviveParticle();
-
-        particleEmitter.particlePool.loadTemporaryDataFrom(index, ParticleDataMask.ALL.toInt());
+    /**
+     * Revives the given number of particles and runs the generators over all of them at once.
+     */
+    private void emitParticles(final ParticleEmitterComponent particleEmitter, final int count) {
+        final ParticlePool pool = particleEmitter.particlePool;
+        final int start = pool.livingParticles();
+        for (int i = 0; i < count; i++) {
+            pool.reviveParticle();
+        }
+        final int end = start + count;
 
         particleEmitter.generatorFunctionMap.forEach(
-            (component, generator) ->
-                generator.onEmission(component, particleEmitter.particlePool.temporaryParticleData, random)
+            (component, generator) -> generator.onEmission(component, pool, start, end, random)
         );
 
-        particleEmitter.particlePool.temporaryParticleData.position.add(
-            particleEmitter.locationComponent.getWorldPosition(new Vector3f())
-        );
-
-        particleEmitter.particlePool.storeTemporaryDataAt(index, ParticleDataMask.ALL.toInt());
+        Vector3f emitterPosition = particleEmitter.locationComponent.getWorldPosition(new Vector3f());
+        for (int i3 = start * 3; i3 < end * 3; i3 += 3) {
+            pool.position[i3] += emitterPosition.x;
+            pool.position[i3 + 1] += emitterPosition.y;
+            pool.position[i3 + 2] += emitterPosition.z;
+        }
     }
 
     /**
@@ -272,8 +320,9 @@ private void emitParticle(final ParticleEmitterComponent particleEmitter) {
      */
     private void updateEmitter(final ParticleEmitterComponent particleEmitter, final int particleReviveLimit, final float delta) {
         float deltaLeft = delta;
+        int emitted = 0;
 
-        while (deltaLeft > 0 && particleEmitter.particlePool.deadParticles() > particleReviveLimit) {
+        while (deltaLeft > 0 && particleEmitter.particlePool.deadParticles() - emitted > particleReviveLimit) {
             if (particleEmitter.nextEmission < deltaLeft) {
                 deltaLeft -= particleEmitter.nextEmission;
                 float freq1 = 1.0f / particleEmitter.spawnRateMax;
@@ -284,12 +333,16 @@ private void updateEmitter(final ParticleEmitterComponent particleEmitter, final
                     particleEmitter.particleSpawnsLeft--;
                 }
 
-                emitParticle(particleEmitter);
+                emitted++;
             } else {
                 particleEmitter.nextEmission -= deltaLeft;
                 deltaLeft = 0;
             }
         }
+
+        if (emitted > 0) {
+            emitParticles(particleEmitter, emitted);
+        }
     }
 
     /**
@@ -308,26 +361,59 @@ private void updateParticleEmitters(final ParticleEmitterComponent emitter, fina
     }
 
     /**
-     * Updates the particle data inside the particle pool, referenced by the specified particle emitter. During a single
-     * update cycle, each pool is only updated once. In case multiple particle emitters are referencing it, it is only
-     * updated the first time it's encountered. The update involves updating the trajectory and life time (optionally
-     * dependent on collisions)
+     * Updates the life time of the particles inside the particle pools referenced by the specified particle emitters,
+     * and applies their affectors. During a single update cycle, each pool is only updated once. In case multiple
+     * particle emitters are referencing it, it is only updated for the first one encountered.
+     * <p>
+     * The pools are independent of each other, so they are updated in parallel if parallel updates are enabled and
+     * there are enough living particles. Each pool then gets its own random number generator, seeded from the one of
+     * the updater. Pools with an affector function which is not {@link AffectorFunction#isThreadSafe() thread safe}
+     * are always updated on the calling thread, one after the other.
      *
-     * @param particleSystem the particle system referencing the pool to update
+     * @param particleSystems the particle systems referencing the pools to update
      * @param delta delta time
+     * @return the particle systems whose pools were updated
      */
-    private void updateParticleData(final ParticleEmitterComponent particleSystem, float delta) {
-        if (!updatedParticlePools.contains(particleSystem.particlePool)) {
-            updateParticles(particleSystem, delta); // Update particle lifetime and Affectors
+    List<ParticleEmitterComponent> updateParticlePools(final Collection<ParticleEmitterComponent> particleSystems,
+                                                       final float delta) {
+        List<ParticleEmitterComponent> poolOwners = new ArrayList<>();
+        List<ParticleEmitterComponent> parallelPoolOwners = new ArrayList<>();
+        List<ParticleEmitterComponent> serialPoolOwners = new ArrayList<>();
+        Set<ParticlePool> pools = Sets.newIdentityHashSet();
+        int parallelParticles = 0;
+        for (ParticleEmitterComponent particleSystem : particleSystems) {
+            if (pools.add(particleSystem.particlePool)) {
+                poolOwners.add(particleSystem);
+                if (parallelUpdates && hasThreadSafeAffectors(particleSystem)) {
+                    parallelPoolOwners.add(particleSystem);
+                    parallelParticles += particleSystem.particlePool.livingParticles();
+                } else {
+                    serialPoolOwners.add(particleSystem);
+                }
+            }
+        }
 
-            if (particleSystem.particleCollision) {
-                checkCollision(particleSystem.particlePool, particleSystem.collisionUpdateIteration);
-                particleSystem.collisionUpdateIteration = (particleSystem.collisionUpdateIteration + 1) % PHYSICS_SKIP_NR;
+        if (parallelPoolOwners.size() > 1 && parallelParticles >= PARALLEL_UPDATE_THRESHOLD) {
+            long[] seeds = new long[parallelPoolOwners.size()];
+            for (int i = 0; i < seeds.length; i++) {
+                seeds[i] = random.nextLong();
             }
+            IntStream.range(0, parallelPoolOwners.size()).parallel()
+                    .forEach(i -> updateParticles(parallelPoolOwners.get(i), delta, new FastRandom(seeds[i])));
+            serialPoolOwners.forEach(x -> updateParticles(x, delta, random));
+        } else {
+            poolOwners.forEach(x -> updateParticles(x, delta, random));
+        }
+        return poolOwners;
+    }
 
-            particleSystem.particlePool.prepareRendering();
-            updatedParticlePools.add(particleSystem.particlePool);
+    private static boolean hasThreadSafeAffectors(ParticleEmitterComponent particleSystem) {
+        for (AffectorFunction affector : particleSystem.affectorFunctionMap.values()) {
+            if (!affector.isThreadSafe()) {
+                return false;
+            }
         }
+        return true;
     }
 
     /**
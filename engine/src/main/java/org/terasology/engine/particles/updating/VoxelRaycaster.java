@@ -0,0 +1,175 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.particles.updating;
+
+import org.terasology.engine.particles.ParticlePool;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.ChunkProvider;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.math.TeraMath;
+
+/**
+ * Casts rays against the blocks of the world by stepping through the blocks along the ray (a 3D DDA), reading the
+ * block data of the chunks directly instead of going through the physics engine.
+ * <p>
+ * Every block which is not penetrable counts as a hit over its whole volume, regardless of its collision shape. Blocks
+ * of chunks which are not loaded never block a ray. The chunk of the last block looked at is cached, so rays close to
+ * each other, like those of the particles of one emitter, rarely need to look up a chunk. The cache is cleared after
+ * each batch of rays, so no reference to an unloaded chunk is kept.
+ * <p>
+ * Instances are not thread safe.
+ */
+public final class VoxelRaycaster {
+    private final ChunkProvider chunkProvider;
+
+    private Chunk cachedChunk;
+    private boolean chunkCached;
+    private int cachedChunkX;
+    private int cachedChunkY;
+    private int cachedChunkZ;
+
+    public VoxelRaycaster(ChunkProvider chunkProvider) {
+        this.chunkProvider = chunkProvider;
+    }
+
+    /**
+     * Checks whether the ray enters a block which is not penetrable. The block the ray starts in does not count, so
+     * that a ray starting inside of a block only hits once it reaches another one.
+     *
+     * @param x the x coordinate of the origin of the ray
+     * @param y the y coordinate of the origin of the ray
+     * @param z the z coordinate of the origin of the ray
+     * @param dirX the x component of the direction of the ray, which does not need to be normalized
+     * @param dirY the y component of the direction of the ray, which does not need to be normalized
+     * @param dirZ the z component of the direction of the ray, which does not need to be normalized
+     * @param distance the length of the ray
+     * @return whether the ray hits a block
+     */
+    public boolean raycast(float x, float y, float z, float dirX, float dirY, float dirZ, float distance) {
+        try {
+            return trace(x, y, z, dirX, dirY, dirZ, distance);
+        } finally {
+            clearCache();
+        }
+    }
+
+    /**
+     * Checks all living particles of the pool for moving into a block which is not penetrable within the given time,
+     * and sets the energy of the particles that do to 0. Particles are not affected by the block they are in, so those
+     * emitted inside of a block, e.g. by an effect at the center of a block, live on until they move into another one.
+     *
+     * @param pool the particles to check
+     * @param delta the time the particles move for, in seconds
+     * @return the number of particles which hit a block
+     */
+    public int checkCollisions(ParticlePool pool, float delta) {
+        final float[] position = pool.position;
+        final float[] velocity = pool.velocity;
+        int hits = 0;
+        try {
+            for (int i = 0; i < pool.livingParticles(); i++) {
+                int i3 = i * 3;
+                float velX = velocity[i3];
+                float velY = velocity[i3 + 1];
+                float velZ = velocity[i3 + 2];
+                float distance = (float) Math.sqrt(velX * velX + velY * velY + velZ * velZ) * delta;
+                if (trace(position[i3], position[i3 + 1], position[i3 + 2], velX, velY, velZ, distance)) {
+                    pool.energy[i] = 0;
+                    hits++;
+                }
+            }
+        } finally {
+            clearCache();
+        }
+        return hits;
+    }
+
+    private boolean trace(float x, float y, float z, float dirX, float dirY, float dirZ, float distance) {
+        // Blocks are centered on integer coordinates, so shift the origin to have each block span [n, n + 1)
+        float startX = x + 0.5f;
+        float startY = y + 0.5f;
+        float startZ = z + 0.5f;
+        int blockX = TeraMath.floorToInt(startX);
+        int blockY = TeraMath.floorToInt(startY);
+        int blockZ = TeraMath.floorToInt(startZ);
+
+        float length = (float) Math.sqrt(dirX * dirX + dirY * dirY + dirZ * dirZ);
+        if (length == 0 || distance <= 0) {
+            return false;
+        }
+        float normX = dirX / length;
+        float normY = dirY / length;
+        float normZ = dirZ / length;
+
+        int stepX = (int) Math.signum(normX);
+        int stepY = (int) Math.signum(normY);
+        int stepZ = (int) Math.signum(normZ);
+        float deltaX = stepX != 0 ? Math.abs(1 / normX) : Float.POSITIVE_INFINITY;
+        float deltaY = stepY != 0 ? Math.abs(1 / normY) : Float.POSITIVE_INFINITY;
+        float deltaZ = stepZ != 0 ? Math.abs(1 / normZ) : Float.POSITIVE_INFINITY;
+        float nextX = boundaryDistance(startX, blockX, stepX, normX);
+        float nextY = boundaryDistance(startY, blockY, stepY, normY);
+        float nextZ = boundaryDistance(startZ, blockZ, stepZ, normZ);
+
+        while (true) {
+            if (nextX <= nextY && nextX <= nextZ) {
+                if (nextX > distance) {
+                    return false;
+                }
+                blockX += stepX;
+                nextX += deltaX;
+            } else if (nextY <= nextZ) {
+                if (nextY > distance) {
+                    return false;
+                }
+                blockY += stepY;
+                nextY += deltaY;
+            } else {
+                if (nextZ > distance) {
+                    return false;
+                }
+                blockZ += stepZ;
+                nextZ += deltaZ;
+            }
+            if (isSolid(blockX, blockY, blockZ)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return the distance along the ray to the first block boundary crossed on the axis
+     */
+    private static float boundaryDistance(float start, int block, int step, float dir) {
+        if (step > 0) {
+            return (block + 1 - start) / dir;
+        } else if (step < 0) {
+            return (block - start) / dir;
+        }
+        return Float.POSITIVE_INFINITY;
+    }
+
+    private boolean isSolid(int x, int y, int z) {
+        int chunkX = Chunks.toChunkPosX(x);
+        int chunkY = Chunks.toChunkPosY(y);
+        int chunkZ = Chunks.toChunkPosZ(z);
+        if (!chunkCached || chunkX != cachedChunkX || chunkY != cachedChunkY || chunkZ != cachedChunkZ) {
+            cachedChunk = chunkProvider.getChunk(chunkX, chunkY, chunkZ);
+            cachedChunkX = chunkX;
+            cachedChunkY = chunkY;
+            cachedChunkZ = chunkZ;
+            chunkCached = true;
+        }
+        if (cachedChunk == null) {
+            return false;
+        }
+        Block block = cachedChunk.getBlock(Chunks.toRelativeX(x), Chunks.toRelativeY(y), Chunks.toRelativeZ(z));
+        return !block.isPenetrable();
+    }
+
+    private void clearCache() {
+        cachedChunk = null;
+        chunkCached = false;
+    }
+}
@@ -26,16 +26,13 @@
 import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
-import java.util.zip.GZIPInputStream;
 
 /**
  * An abstract implementation of {@link StorageManager} that is able
@@ -54,8 +51,10 @@ public abstract class AbstractStorageManager implements StorageManager {
     private final EngineEntityManager entityManager;
     private final PrefabSerializer prefabSerializer;
     private final OwnershipHelper helper;
+    private final RegionFileCache regionFileCache;
 
     private boolean storeChunksInZips = true;
+    private boolean storeChunksInRegionFiles;
 
     public AbstractStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager,
                                   BlockManager blockManager, ExtraBlockDataManager extraDataManager, boolean storeChunksInZips) {
@@ -68,6 +67,8 @@ public AbstractStorageManager(Path savePath, ModuleEnvironment environment, Engi
 
         this.storagePathProvider = new StoragePathProvider(savePath);
         this.helper = new OwnershipHelper(entityManager.getComponentLibrary());
+        this.regionFileCache = new RegionFileCache(this::openChunkRegion);
+        this.storeChunksInRegionFiles = storeChunksInZips && containsChunkRegionFiles();
     }
 
     @Override
@@ -96,9 +97,8 @@ public ChunkStore loadChunkStore(Vector3ic chunkPos) {
         byte[] chunkData = loadCompressedChunk(chunkPos);
         ChunkStore store = null;
         if (chunkData != null) {
-            ByteArrayInputStream bais = new ByteArrayInputStream(chunkData);
-            try (GZIPInputStream gzipIn = new GZIPInputStream(bais)) {
-                EntityData.ChunkStore storeData = EntityData.ChunkStore.parseFrom(gzipIn);
+            try {
+                EntityData.ChunkStore storeData = ChunkCompression.decompress(chunkData);
                 store = new ChunkStoreInternal(storeData, entityManager, blockManager, extraDataManager);
             } catch (IOException e) {
                 logger.error("Failed to read existing saved chunk {}", chunkPos);
@@ -108,20 +108,50 @@ public ChunkStore loadChunkStore(Vector3ic chunkPos) {
     }
 
     protected byte[] loadChunkZip(Vector3ic chunkPos) {
-        byte[] chunkData = null;
         Vector3i chunkZipPos = storagePathProvider.getChunkZipPosition(chunkPos);
         Path chunkPath = storagePathProvider.getChunkZipPath(chunkZipPos);
-        if (Files.isRegularFile(chunkPath)) {
-            try (FileSystem chunkZip = FileSystems.newFileSystem(chunkPath, null)) {
-                Path targetChunk = chunkZip.getPath(storagePathProvider.getChunkFilename(chunkPos));
-                if (Files.isRegularFile(targetChunk)) {
-                    chunkData = Files.readAllBytes(targetChunk);
-                }
-            } catch (IOException e) {
-                logger.error("Failed to load chunk zip {}", chunkPath, e);
-            }
+        try {
+            return regionFileCache.read(chunkPath, chunkPos);
+        } catch (IOException e) {
+            logger.error("Failed to load chunk zip {}", chunkPath, e);
+            return null;
+        }
+    }
+
+    protected byte[] loadChunkRegion(Vector3ic chunkPos) {
+        Vector3i chunkRegionPos = storagePathProvider.getChunkZipPosition(chunkPos);
+        Path regionPath = storagePathProvider.getChunkRegionPath(chunkRegionPos);
+        if (!Files.isRegularFile(regionPath)) {
+            // Not converted yet
+            return loadChunkZip(chunkPos);
+        }
+        try {
+            return regionFileCache.read(regionPath, chunkPos);
+        } catch (IOException e) {
+            logger.error("Failed to load chunk region {}", regionPath, e);
+            return null;
+        }
+    }
+
+    private ChunkRegionReader openChunkRegion(Path path) throws IOException {
+        if (storagePathProvider.isChunkRegion(path)) {
+            return ChunkRegionFile.open(path, storagePathProvider);
+        }
+        return RegionZipReader.open(path, storagePathProvider);
+    }
+
+    private boolean containsChunkRegionFiles() {
+        Path worldPath = storagePathProvider.getWorldPath();
+        if (!Files.isDirectory(worldPath)) {
+            return false;
+        }
+        try (DirectoryStream<Path> regionFiles =
+                     Files.newDirectoryStream(worldPath, storagePathProvider::isChunkRegion)) {
+            return regionFiles.iterator().hasNext();
+        } catch (IOException e) {
+            logger.error("Failed to list chunk region files in {}", worldPath, e);
+            return false;
         }
-        return chunkData;
     }
 
     @Override
@@ -139,8 +169,22 @@ void setStoreChunksInZips(boolean storeChunksInZips) {
         this.storeChunksInZips = storeChunksInZips;
     }
 
+    /**
+     * Whether chunks get saved in {@link ChunkRegionFile}s instead of zips. Always true once the world contains a
+     * region file, as zips are converted to region files but never back.
+     */
+    public boolean isStoreChunksInRegionFiles() {
+        return storeChunksInRegionFiles;
+    }
+
+    protected void setStoreChunksInRegionFiles(boolean storeChunksInRegionFiles) {
+        this.storeChunksInRegionFiles = storeChunksInRegionFiles;
+    }
+
     protected byte[] loadCompressedChunk(Vector3ic chunkPos) {
-        if (isStoreChunksInZips()) {
+        if (isStoreChunksInRegionFiles()) {
+            return loadChunkRegion(chunkPos);
+        } else if (isStoreChunksInZips()) {
             return loadChunkZip(chunkPos);
         } else {
             Path chunkPath = storagePathProvider.getChunkPath(chunkPos);
@@ -206,6 +250,14 @@ protected void deactivateOrDestroyEntityRecursive(EntityRef entity) {
         }
     }
 
+    /**
+     * @return the cache of open chunk zips and region files, which must be invalidated before they get replaced or
+     *         deleted.
+     */
+    RegionFileCache getRegionFileCache() {
+        return regionFileCache;
+    }
+
     protected StoragePathProvider getStoragePathProvider() {
         return storagePathProvider;
     }
@@ -0,0 +1,72 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.persistence.internal;
+
+import org.terasology.engine.utilities.compression.CompressionCodec;
+import org.terasology.engine.utilities.compression.CompressionCodecs;
+import org.terasology.protobuf.EntityData;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Compresses and decompresses stored chunks.
+ * <p>
+ * A stored chunk starts with a two byte header: {@link #HEADER_MAGIC} followed by the id of the
+ * {@link CompressionCodec} used for the rest of the data. Chunks saved before codecs were introduced have no header
+ * and are plain gzip, which is recognized by the gzip magic number.
+ */
+final class ChunkCompression {
+    static final byte HEADER_MAGIC = (byte) 0xC5;
+    static final int HEADER_SIZE = 2;
+
+    private static final byte GZIP_MAGIC_0 = (byte) 0x1f;
+    private static final byte GZIP_MAGIC_1 = (byte) 0x8b;
+
+    private ChunkCompression() {
+    }
+
+    static byte[] compress(EntityData.ChunkStore store, CompressionCodec codec) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(HEADER_MAGIC);
+        baos.write(codec.getId());
+        try (OutputStream out = codec.compress(baos)) {
+            store.writeTo(out);
+        } catch (IOException e) {
+            // as no real IO is involved this should not happen
+            throw new RuntimeException(e);
+        }
+        return baos.toByteArray();
+    }
+
+    static EntityData.ChunkStore decompress(byte[] data) throws IOException {
+        CompressionCodec codec = getCodec(data);
+        int offset = isLegacy(data) ? 0 : HEADER_SIZE;
+        try (InputStream in = codec.decompress(new ByteArrayInputStream(data, offset, data.length - offset))) {
+            return EntityData.ChunkStore.parseFrom(in);
+        }
+    }
+
+    /**
+     * @return the codec the given stored chunk was compressed with.
+     * @throws IOException if the header is invalid or names an unknown codec.
+     */
+    static CompressionCodec getCodec(byte[] data) throws IOException {
+        if (isLegacy(data)) {
+            return CompressionCodecs.DEFLATE;
+        }
+        if (data.length < HEADER_SIZE || data[0] != HEADER_MAGIC) {
+            throw new IOException("Invalid chunk header");
+        }
+        return CompressionCodecs.byId(data[1])
+                .orElseThrow(() -> new IOException("Unknown chunk compression codec " + data[1]));
+    }
+
+    private static boolean isLegacy(byte[] data) {
+        return data.length >= 2 && data[0] == GZIP_MAGIC_0 && data[1] == GZIP_MAGIC_1;
+    }
+}
@@ -0,0 +1,87 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.persistence.internal;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Converts chunk zips of a save into {@link ChunkRegionFile}s.
+ * <p>
+ * The region file is written next to the zip under a temporary name and moved into place before the zip is deleted,
+ * so an interrupted conversion leaves either the zip or a complete region file. Where both exist, the region file
+ * wins.
+ */
+final class ChunkRegionConverter {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkRegionConverter.class);
+
+    private ChunkRegionConverter() {
+    }
+
+    /**
+     * Converts all chunk zips of the world that have no region file yet, and deletes the zips.
+     * <p>
+     * Readers of the world directory must be locked out while this runs.
+     *
+     * @return number of converted zips.
+     */
+    static int convertAll(StoragePathProvider storagePathProvider) throws IOException {
+        Path worldPath = storagePathProvider.getWorldPath();
+        if (!Files.isDirectory(worldPath)) {
+            return 0;
+        }
+        int converted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(worldPath, storagePathProvider::isChunkZip)) {
+            for (Path zipPath : files) {
+                Vector3i regionPos = storagePathProvider.getChunkRegionPosition(zipPath);
+                if (regionPos == null) {
+                    logger.warn("Skipping chunk zip with invalid name {}", zipPath);
+                    continue;
+                }
+                Path regionPath = storagePathProvider.getChunkRegionPath(regionPos);
+                if (Files.isRegularFile(regionPath)) {
+                    Files.delete(zipPath);
+                } else {
+                    convert(zipPath, regionPath, storagePathProvider);
+                    converted++;
+                }
+            }
+        }
+        if (converted > 0) {
+            logger.info("Converted {} chunk zips to region files", converted);
+        }
+        return converted;
+    }
+
+    /**
+     * Converts one chunk zip into a region file and deletes the zip.
+     */
+    static void convert(Path zipPath, Path regionPath, StoragePathProvider storagePathProvider) throws IOException {
+        Path tempPath = regionPath.resolveSibling(regionPath.getFileName() + ".tmp");
+        Files.deleteIfExists(tempPath);
+        try (RegionZipReader zip = RegionZipReader.open(zipPath, storagePathProvider);
+             ChunkRegionFile regionFile = ChunkRegionFile.openForWriting(tempPath, storagePathProvider)) {
+            Map<Integer, byte[]> chunks = Maps.newHashMap();
+            for (String entryName : zip.getEntryNames()) {
+                Vector3i chunkPos = storagePathProvider.getChunkPosition(entryName);
+                if (chunkPos == null) {
+                    logger.warn("Skipping unexpected entry {} in chunk zip {}", entryName, zipPath);
+                    continue;
+                }
+                chunks.put(storagePathProvider.getChunkIndexInRegion(chunkPos), zip.read(entryName));
+            }
+            regionFile.write(chunks);
+        }
+        ChunkRegionFile.replace(tempPath, regionPath);
+        Files.delete(zipPath);
+    }
+}
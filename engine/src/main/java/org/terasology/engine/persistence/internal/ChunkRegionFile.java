@@ -0,0 +1,325 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.persistence.internal;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector3ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Chunk region file which stores the chunks of one region in individually allocated sectors, so that saving a chunk
+ * only writes that chunk instead of rewriting the whole region.
+ * <p>
+ * Layout: sector 0 holds a magic number and the format version. It is followed by a table with one 4 byte entry per
+ * chunk of the region, holding the first sector of the chunk in the upper 24 bits and its sector count in the lower 8
+ * bits (0 if the chunk is not stored). Each chunk starts with its length in bytes, followed by the chunk data.
+ * <p>
+ * Changes are made crash safe together with {@link SaveTransactionHelper#mergeChanges()}: the chunks of a save are
+ * first written to a delta file, which is only deleted once it has been applied. Applying a delta never overwrites
+ * sectors the table still references, and updates only the table entries of chunks in the delta, so a merge
+ * interrupted at any point can simply be repeated.
+ * <p>
+ * Reads are thread safe; writes must be done by a single thread, while no one reads the file.
+ */
+final class ChunkRegionFile implements ChunkRegionReader {
+    static final int SECTOR_SIZE = 4096;
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkRegionFile.class);
+
+    private static final int MAGIC = 0x54435247; // "TCRG"
+    private static final int DELTA_MAGIC = 0x54435244; // "TCRD"
+    private static final int VERSION = 1;
+    private static final int TABLE_OFFSET = SECTOR_SIZE;
+    private static final int TABLE_ENTRY_SIZE = Integer.BYTES;
+    private static final int HEADER_SECTORS = 1 + StoragePathProvider.CHUNKS_PER_REGION * TABLE_ENTRY_SIZE / SECTOR_SIZE;
+    private static final int MAX_CHUNK_SECTORS = 0xFF;
+    /**
+     * Compact once the file has more unused sectors than this and more than it has used ones.
+     */
+    private static final int COMPACTION_MIN_FREE_SECTORS = 256;
+
+    private final Path path;
+    private final StoragePathProvider storagePathProvider;
+    private final FileChannel channel;
+    private final int[] table;
+    private final BitSet usedSectors = new BitSet();
+    private int fileSectors;
+
+    private ChunkRegionFile(Path path, StoragePathProvider storagePathProvider, FileChannel channel, int[] table,
+                            int fileSectors) {
+        this.path = path;
+        this.storagePathProvider = storagePathProvider;
+        this.channel = channel;
+        this.table = table;
+        this.fileSectors = fileSectors;
+        updateUsedSectors();
+    }
+
+    /**
+     * Opens an existing region file for reading.
+     */
+    static ChunkRegionFile open(Path path, StoragePathProvider storagePathProvider) throws IOException {
+        return open(path, storagePathProvider, FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Opens a region file for reading and writing, creating an empty one if it does not exist yet.
+     */
+    static ChunkRegionFile openForWriting(Path path, StoragePathProvider storagePathProvider) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE);
+        if (channel.size() == 0) {
+            try {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SECTORS * SECTOR_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).rewind();
+                writeFully(channel, header, 0);
+                channel.force(true);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+        return open(path, storagePathProvider, channel);
+    }
+
+    private static ChunkRegionFile open(Path path, StoragePathProvider storagePathProvider, FileChannel channel)
+            throws IOException {
+        try {
+            ByteBuffer header = readFully(channel, 0, HEADER_SECTORS * SECTOR_SIZE);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a chunk region file: " + path);
+            }
+            if (header.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("Unsupported chunk region file version " + header.getInt(Integer.BYTES) + ": "
+                        + path);
+            }
+            int[] table = new int[StoragePathProvider.CHUNKS_PER_REGION];
+            header.position(TABLE_OFFSET);
+            header.asIntBuffer().get(table);
+            int fileSectors = (int) ((channel.size() + SECTOR_SIZE - 1) / SECTOR_SIZE);
+            return new ChunkRegionFile(path, storagePathProvider, channel, table, fileSectors);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public byte[] read(Vector3ic chunkPos) throws IOException {
+        return read(storagePathProvider.getChunkIndexInRegion(chunkPos));
+    }
+
+    /**
+     * @param index index of the chunk within the region, see {@link StoragePathProvider#getChunkIndexInRegion}.
+     * @return the stored chunk, or null if there is none.
+     */
+    byte[] read(int index) throws IOException {
+        int entry = table[index];
+        if (entry == 0) {
+            return null;
+        }
+        ByteBuffer data = readFully(channel, (long) sectorOf(entry) * SECTOR_SIZE, sectorCountOf(entry) * SECTOR_SIZE);
+        int length = data.getInt();
+        if (length < 0 || length > data.remaining()) {
+            throw new IOException("Corrupt chunk " + index + " in " + path);
+        }
+        byte[] result = new byte[length];
+        data.get(result);
+        return result;
+    }
+
+    /**
+     * Stores the given chunks, replacing the previously stored versions.
+     * <p>
+     * The data is written to free sectors and synced before the table entries are updated, so that the previous
+     * versions of the chunks stay intact until the file refers to the new ones.
+     *
+     * @param chunks chunk data by index of the chunk within the region.
+     */
+    void write(Map<Integer, byte[]> chunks) throws IOException {
+        BitSet reserved = (BitSet) usedSectors.clone();
+        Map<Integer, Integer> newEntries = Maps.newHashMapWithExpectedSize(chunks.size());
+        for (Map.Entry<Integer, byte[]> chunk : chunks.entrySet()) {
+            byte[] data = chunk.getValue();
+            int sectorCount = (Integer.BYTES + data.length + SECTOR_SIZE - 1) / SECTOR_SIZE;
+            if (sectorCount > MAX_CHUNK_SECTORS) {
+                throw new IOException("Chunk " + chunk.getKey() + " is too large for a region file: " + data.length
+                        + " bytes");
+            }
+            int sector = allocate(reserved, sectorCount);
+            ByteBuffer buffer = ByteBuffer.allocate(sectorCount * SECTOR_SIZE);
+            buffer.putInt(data.length).put(data).rewind();
+            writeFully(channel, buffer, (long) sector * SECTOR_SIZE);
+            fileSectors = Math.max(fileSectors, sector + sectorCount);
+            newEntries.put(chunk.getKey(), sector << 8 | sectorCount);
+        }
+        channel.force(false);
+
+        ByteBuffer entryBuffer = ByteBuffer.allocate(TABLE_ENTRY_SIZE);
+        for (Map.Entry<Integer, Integer> entry : newEntries.entrySet()) {
+            entryBuffer.clear();
+            entryBuffer.putInt(entry.getValue()).rewind();
+            writeFully(channel, entryBuffer, TABLE_OFFSET + (long) entry.getKey() * TABLE_ENTRY_SIZE);
+            table[entry.getKey()] = entry.getValue();
+        }
+        channel.force(false);
+        updateUsedSectors();
+    }
+
+    /**
+     * @return whether enough space is unused that {@link #compact(Path, StoragePathProvider)} is worth it.
+     */
+    boolean needsCompaction() {
+        int dataSectors = fileSectors - HEADER_SECTORS;
+        int freeSectors = dataSectors - (usedSectors.cardinality() - HEADER_SECTORS);
+        return freeSectors > COMPACTION_MIN_FREE_SECTORS && freeSectors * 2 > dataSectors;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Rewrites the region file without unused sectors. The file gets replaced atomically, if the file system
+     * supports it.
+     */
+    static void compact(Path path, StoragePathProvider storagePathProvider) throws IOException {
+        Path compactedPath = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(compactedPath);
+        try (ChunkRegionFile source = open(path, storagePathProvider);
+             ChunkRegionFile target = openForWriting(compactedPath, storagePathProvider)) {
+            Map<Integer, byte[]> chunks = Maps.newHashMap();
+            for (int index = 0; index < source.table.length; index++) {
+                byte[] data = source.read(index);
+                if (data != null) {
+                    chunks.put(index, data);
+                }
+            }
+            target.write(chunks);
+        }
+        replace(compactedPath, path);
+    }
+
+    /**
+     * Writes the chunks of one region to a delta file, to be applied with {@link #applyDelta}.
+     *
+     * @param chunks chunk data by index of the chunk within the region.
+     */
+    static void writeDelta(Path deltaPath, Map<Integer, byte[]> chunks) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(deltaPath)))) {
+            out.writeInt(DELTA_MAGIC);
+            out.writeInt(chunks.size());
+            for (Map.Entry<Integer, byte[]> chunk : chunks.entrySet()) {
+                out.writeInt(chunk.getKey());
+                out.writeInt(chunk.getValue().length);
+                out.write(chunk.getValue());
+            }
+        }
+    }
+
+    /**
+     * Writes the chunks of a delta file into the region file, creating it if necessary, and compacts the region file
+     * if it has become too sparse. Applying the same delta again has no further effect.
+     */
+    static void applyDelta(Path deltaPath, Path regionPath, StoragePathProvider storagePathProvider) throws IOException {
+        Map<Integer, byte[]> chunks = Maps.newHashMap();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(deltaPath)))) {
+            if (in.readInt() != DELTA_MAGIC) {
+                throw new IOException("Not a chunk region delta file: " + deltaPath);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int index = in.readInt();
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                chunks.put(index, data);
+            }
+        }
+        boolean compact;
+        try (ChunkRegionFile regionFile = openForWriting(regionPath, storagePathProvider)) {
+            regionFile.write(chunks);
+            compact = regionFile.needsCompaction();
+        }
+        if (compact) {
+            logger.debug("Compacting chunk region file {}", regionPath);
+            compact(regionPath, storagePathProvider);
+        }
+    }
+
+    /**
+     * Moves {@code source} over {@code target}, atomically if the file system supports it.
+     */
+    static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private int allocate(BitSet reserved, int sectorCount) {
+        int start = reserved.nextClearBit(HEADER_SECTORS);
+        while (true) {
+            int end = reserved.nextSetBit(start);
+            if (end < 0 || end - start >= sectorCount) {
+                reserved.set(start, start + sectorCount);
+                return start;
+            }
+            start = reserved.nextClearBit(end);
+        }
+    }
+
+    private void updateUsedSectors() {
+        usedSectors.clear();
+        usedSectors.set(0, HEADER_SECTORS);
+        for (int entry : table) {
+            if (entry != 0) {
+                usedSectors.set(sectorOf(entry), sectorOf(entry) + sectorCountOf(entry));
+            }
+        }
+    }
+
+    private static int sectorOf(int entry) {
+        return entry >>> 8;
+    }
+
+    private static int sectorCountOf(int entry) {
+        return entry & 0xFF;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.persistence.internal;
+
+import org.joml.Vector3ic;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Read access to the stored chunks of one chunk region file, as kept open by {@link RegionFileCache}.
+ * <p>
+ * Implementations must allow concurrent reads.
+ */
+interface ChunkRegionReader extends Closeable {
+
+    /**
+     * @return the stored (compressed) chunk, or null if the region contains no data for that chunk.
+     */
+    byte[] read(Vector3ic chunkPos) throws IOException;
+}
@@ -4,14 +4,14 @@
 
 import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.engine.utilities.compression.CompressionCodec;
+import org.terasology.engine.utilities.compression.CompressionCodecs;
 import org.terasology.protobuf.EntityData;
 import org.terasology.engine.world.chunks.internal.ChunkImpl;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.Collection;
 import java.util.Set;
-import java.util.zip.GZIPOutputStream;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Provides an easy to get a compressed version of a chunk. Either the chunk most have a snapshot of it's state
@@ -59,9 +59,22 @@ public CompressedChunkBuilder(EntityData.EntityStore entityStore, ChunkImpl chun
         this.viaSnapshot = viaSnapshot;
     }
 
-    public synchronized byte[] buildEncodedChunk() {
-        if (result == null) {
+    public byte[] buildEncodedChunk() {
+        return buildEncodedChunk(CompressionCodecs.DEFLATE, null, null);
+    }
 
+    /**
+     * Like {@link #buildEncodedChunk()}, additionally measuring the time taken.
+     * <p>
+     * The result gets built only once, so the codec of the first call is used.
+     *
+     * @param codec compresses the encoded chunk.
+     * @param encodeNanos incremented by the time spent encoding the chunk; may be null.
+     * @param compressNanos incremented by the time spent compressing the encoded chunk; may be null.
+     */
+    synchronized byte[] buildEncodedChunk(CompressionCodec codec, LongAdder encodeNanos, LongAdder compressNanos) {
+        if (result == null) {
+            long start = System.nanoTime();
             EntityData.ChunkStore.Builder encoded;
             if (viaSnapshot) {
                 encoded = chunk.encodeAndReleaseSnapshot();
@@ -70,22 +83,18 @@ public synchronized byte[] buildEncodedChunk() {
             }
             encoded.setStore(entityStore);
             EntityData.ChunkStore store = encoded.build();
-            result = compressChunkStore(store);
+            long encodeEnd = System.nanoTime();
+            result = ChunkCompression.compress(store, codec);
+            if (encodeNanos != null) {
+                encodeNanos.add(encodeEnd - start);
+            }
+            if (compressNanos != null) {
+                compressNanos.add(System.nanoTime() - encodeEnd);
+            }
         }
         return result;
     }
 
-    private byte[] compressChunkStore(EntityData.ChunkStore store) {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (GZIPOutputStream gzipOut = new GZIPOutputStream(baos)) {
-            store.writeTo(gzipOut);
-        } catch (IOException e) {
-            // as no real IO is involved this should not happen
-            throw new RuntimeException(e);
-        }
-        return baos.toByteArray();
-    }
-
     public Set<EntityRef> getStoredEntities() {
         return storedEntities;
     }
@@ -33,7 +33,7 @@ public ReadOnlyStorageManager(Path savePath, ModuleEnvironment environment, Engi
 
     @Override
     public void finishSavingAndShutdown() {
-        // don't care
+        getRegionFileCache().invalidateAll();
     }
 
     @Override
@@ -38,6 +38,8 @@
 import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.rendering.opengl.ScreenGrabber;
 import org.terasology.engine.utilities.FilesUtil;
+import org.terasology.engine.utilities.compression.CompressionCodec;
+import org.terasology.engine.utilities.compression.CompressionCodecs;
 import org.terasology.engine.utilities.concurrency.ShutdownTask;
 import org.terasology.engine.utilities.concurrency.Task;
 import org.terasology.engine.utilities.concurrency.TaskMaster;
@@ -62,7 +64,13 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -70,8 +78,14 @@
 public final class ReadWriteStorageManager extends AbstractStorageManager
         implements EntityDestroySubscriber, EntityChangeSubscriber, DelayedEntityRefFactory {
     private static final Logger logger = LoggerFactory.getLogger(ReadWriteStorageManager.class);
+    private static final int CHUNK_ENCODER_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private static final long CHUNK_ENCODER_KEEP_ALIVE_SECONDS = 30;
 
     private final TaskMaster<Task> saveThreadManager;
+    /**
+     * Encodes and compresses the chunks of all save transactions. Its threads exit when there is nothing to save.
+     */
+    private final ExecutorService chunkEncoderPool = createChunkEncoderPool();
     private final SaveTransactionHelper saveTransactionHelper;
 
     /**
@@ -131,10 +145,13 @@ public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, Eng
         // TODO Ensure that the component library and the type serializer library are thread save (e.g. immutable)
         this.privateEntityManager = createPrivateEntityManager(entityManager.getComponentLibrary());
         Files.createDirectories(getStoragePathProvider().getStoragePathDirectory());
-        this.saveTransactionHelper = new SaveTransactionHelper(getStoragePathProvider());
+        this.saveTransactionHelper = new SaveTransactionHelper(getStoragePathProvider(), getRegionFileCache());
         this.saveThreadManager = TaskMaster.createFIFOTaskMaster("Saving", 1);
         this.config = CoreRegistry.get(Config.class);
         this.systemConfig = CoreRegistry.get((SystemConfig.class));
+        if (storeChunksInZips && systemConfig != null && systemConfig.chunkRegionFiles.get()) {
+            setStoreChunksInRegionFiles(true);
+        }
         this.entityRefReplacingComponentLibrary = privateEntityManager.getComponentLibrary()
                 .createCopyUsingCopyStrategy(EntityRef.class, new DelayedEntityRefCopyStrategy(this));
         this.entitySetDeltaRecorder = new EntitySetDeltaRecorder(this.entityRefReplacingComponentLibrary);
@@ -144,6 +161,32 @@ public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, Eng
 
     }
 
+    private CompressionCodec getChunkCompressionCodec() {
+        if (systemConfig == null) {
+            return CompressionCodecs.DEFLATE;
+        }
+        String name = systemConfig.chunkCompression.get();
+        Optional<CompressionCodec> codec = CompressionCodecs.byName(name);
+        if (!codec.isPresent()) {
+            logger.warn("Unknown chunk compression codec '{}', falling back to {}", name,
+                    CompressionCodecs.DEFLATE.getName());
+        }
+        return codec.orElse(CompressionCodecs.DEFLATE);
+    }
+
+    private static ExecutorService createChunkEncoderPool() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(CHUNK_ENCODER_THREADS, CHUNK_ENCODER_THREADS,
+                CHUNK_ENCODER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    thread.setName("Saving-Chunk-Encoder-" + threadIndex.getAndIncrement());
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
     private static EngineEntityManager createPrivateEntityManager(ComponentLibrary componentLibrary) {
         PojoEntityManager pojoEntityManager = new PojoEntityManager();
         pojoEntityManager.setComponentLibrary(componentLibrary);
@@ -157,7 +200,9 @@ public void finishSavingAndShutdown() {
             recordAndReplayUtils.setShutdownRequested(true);
         }
         saveThreadManager.shutdown(new ShutdownTask(), true);
+        chunkEncoderPool.shutdown();
         checkSaveTransactionAndClearUpIfItIsDone();
+        getRegionFileCache().invalidateAll();
     }
 
     private void checkSaveTransactionAndClearUpIfItIsDone() {
@@ -258,7 +303,8 @@ private void waitForCompletionOfPreviousSave() {
 
     private SaveTransaction createSaveTransaction() {
         SaveTransactionBuilder saveTransactionBuilder = new SaveTransactionBuilder(privateEntityManager,
-                entitySetDeltaRecorder, isStoreChunksInZips(), getStoragePathProvider(), worldDirectoryWriteLock,
+                entitySetDeltaRecorder, isStoreChunksInZips(), isStoreChunksInRegionFiles(), getChunkCompressionCodec(),
+                chunkEncoderPool, getStoragePathProvider(), saveTransactionHelper, worldDirectoryWriteLock,
                 recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
 
         ChunkProvider chunkProvider = CoreRegistry.get(ChunkProvider.class);
@@ -493,6 +539,15 @@ public void checkAndRepairSaveIfNecessary() throws IOException {
         if (Files.exists(getStoragePathProvider().getUnmergedChangesPath())) {
             saveTransactionHelper.mergeChanges();
         }
+        if (isStoreChunksInRegionFiles()) {
+            worldDirectoryWriteLock.lock();
+            try {
+                getRegionFileCache().invalidateAll();
+                ChunkRegionConverter.convertAll(getStoragePathProvider());
+            } finally {
+                worldDirectoryWriteLock.unlock();
+            }
+        }
     }
 
 
@@ -503,6 +558,7 @@ public void deleteWorld() {
         unloadedAndSavingChunkMap.clear();
         unloadedAndUnsavedPlayerMap.clear();
         unloadedAndSavingPlayerMap.clear();
+        getRegionFileCache().invalidateAll();
 
         try {
             FilesUtil.recursiveDelete(getStoragePathProvider().getWorldPath());
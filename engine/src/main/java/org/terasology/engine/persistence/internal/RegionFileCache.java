@@ -0,0 +1,155 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.persistence.internal;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector3ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a bounded number of chunk region files (zips or {@link ChunkRegionFile}s) open, evicting the least recently
+ * used one when full.
+ * <p>
+ * Loading the chunks around a player typically hits the same few region files many times in a row; keeping them open
+ * saves re-opening the file and re-parsing its directory for every chunk.
+ * <p>
+ * The cache is thread safe. A region file that gets evicted while another thread is still reading from it is closed
+ * once that read is done. Call {@link #invalidateAll()} before region files get replaced or deleted, while holding
+ * the lock that keeps readers out of the world directory.
+ */
+final class RegionFileCache {
+    static final int DEFAULT_CAPACITY = 16;
+
+    private static final Logger logger = LoggerFactory.getLogger(RegionFileCache.class);
+
+    private final Opener opener;
+    private final Map<Path, Handle> openFiles;
+
+    /**
+     * @param opener opens region files which are not in the cache yet.
+     */
+    RegionFileCache(Opener opener) {
+        this(opener, DEFAULT_CAPACITY);
+    }
+
+    RegionFileCache(Opener opener, int capacity) {
+        this.opener = opener;
+        openFiles = new LinkedHashMap<Path, Handle>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, Handle> eldest) {
+                if (size() > capacity) {
+                    eldest.getValue().evict();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param regionPath path of the region file.
+     * @param chunkPos position of the chunk, which must be within the region.
+     * @return the stored chunk, or null if the region file or the chunk does not exist.
+     */
+    byte[] read(Path regionPath, Vector3ic chunkPos) throws IOException {
+        Handle handle = acquire(regionPath);
+        if (handle == null) {
+            return null;
+        }
+        try {
+            return handle.reader.read(chunkPos);
+        } finally {
+            release(handle);
+        }
+    }
+
+    /**
+     * Closes all open region files. They get opened again on the next read.
+     */
+    void invalidateAll() {
+        List<Handle> evicted;
+        synchronized (openFiles) {
+            evicted = Lists.newArrayList(openFiles.values());
+            openFiles.clear();
+        }
+        evicted.forEach(Handle::evict);
+    }
+
+    /**
+     * @return number of region files currently held open by the cache.
+     */
+    int size() {
+        synchronized (openFiles) {
+            return openFiles.size();
+        }
+    }
+
+    private Handle acquire(Path regionPath) throws IOException {
+        synchronized (openFiles) {
+            Handle handle = openFiles.get(regionPath);
+            if (handle == null) {
+                if (!Files.isRegularFile(regionPath)) {
+                    return null;
+                }
+                handle = new Handle(opener.open(regionPath));
+                openFiles.put(regionPath, handle);
+            }
+            handle.users++;
+            return handle;
+        }
+    }
+
+    private void release(Handle handle) {
+        boolean close;
+        synchronized (openFiles) {
+            handle.users--;
+            close = handle.evicted && handle.users == 0;
+        }
+        if (close) {
+            handle.close();
+        }
+    }
+
+    @FunctionalInterface
+    interface Opener {
+        ChunkRegionReader open(Path regionPath) throws IOException;
+    }
+
+    private final class Handle {
+        private final ChunkRegionReader reader;
+        private int users;
+        private boolean evicted;
+
+        private Handle(ChunkRegionReader reader) {
+            this.reader = reader;
+        }
+
+        private void evict() {
+            boolean close;
+            synchronized (openFiles) {
+                evicted = true;
+                close = users == 0;
+            }
+            if (close) {
+                close();
+            }
+        }
+
+        private void close() {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close region file", e);
+            }
+        }
+    }
+}
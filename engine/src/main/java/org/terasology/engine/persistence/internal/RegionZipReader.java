@@ -0,0 +1,217 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.persistence.internal;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector3ic;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Reads entries of a chunk region zip file with positional {@link FileChannel} reads.
+ * <p>
+ * The central directory is parsed once when the reader is opened, so each entry read is a single positional read of
+ * the local header and data, instead of re-opening the archive as a zip {@link java.nio.file.FileSystem}.
+ * <p>
+ * Reads are thread safe. Only the stored and deflated compression methods are supported, which covers everything the
+ * JDK zip file system writes; ZIP64 archives are not supported, as region files are far below those limits.
+ */
+final class RegionZipReader implements ChunkRegionReader {
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+
+    private final Path path;
+    private final StoragePathProvider storagePathProvider;
+    private final FileChannel channel;
+    private final Map<String, Entry> entries;
+
+    private RegionZipReader(Path path, StoragePathProvider storagePathProvider, FileChannel channel,
+                            Map<String, Entry> entries) {
+        this.path = path;
+        this.storagePathProvider = storagePathProvider;
+        this.channel = channel;
+        this.entries = entries;
+    }
+
+    /**
+     * Opens the zip file and reads its central directory.
+     *
+     * @param storagePathProvider provides the entry names of chunks.
+     */
+    static RegionZipReader open(Path path, StoragePathProvider storagePathProvider) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new RegionZipReader(path, storagePathProvider, channel, readCentralDirectory(path, channel));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return names of all file entries in the zip.
+     */
+    Collection<String> getEntryNames() {
+        return entries.keySet();
+    }
+
+    @Override
+    public byte[] read(Vector3ic chunkPos) throws IOException {
+        return read(storagePathProvider.getChunkFilename(chunkPos));
+    }
+
+    /**
+     * @return the uncompressed content of the entry, or null if the archive has no such entry.
+     */
+    byte[] read(String entryName) throws IOException {
+        Entry entry = entries.get(entryName);
+        if (entry == null) {
+            return null;
+        }
+        ByteBuffer localHeader = readFully(entry.localHeaderOffset, LOCAL_FILE_HEADER_SIZE);
+        if (localHeader.getInt(0) != LOCAL_FILE_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid local header of " + entryName + " in " + path);
+        }
+        long dataOffset = entry.localHeaderOffset + LOCAL_FILE_HEADER_SIZE
+                + Short.toUnsignedInt(localHeader.getShort(26)) + Short.toUnsignedInt(localHeader.getShort(28));
+        ByteBuffer data = readFully(dataOffset, entry.compressedSize);
+        if (entry.method == METHOD_STORED) {
+            return data.array();
+        }
+        return inflate(entryName, data.array(), entry.size);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private byte[] inflate(String entryName, byte[] compressed, int size) throws IOException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            byte[] result = new byte[size];
+            int length = 0;
+            while (length < size && !inflater.finished()) {
+                int inflated = inflater.inflate(result, length, size - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != size) {
+                throw new ZipException("Truncated entry " + entryName + " in " + path);
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new ZipException("Corrupt entry " + entryName + " in " + path + ": " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        return readFully(channel, position, length);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static Map<String, Entry> readCentralDirectory(Path path, FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        int tailSize = (int) Math.min(fileSize, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+        ByteBuffer tail = readFully(channel, fileSize - tailSize, tailSize);
+        int end = -1;
+        for (int i = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) {
+            throw new ZipException("No end of central directory found in " + path);
+        }
+        int entryCount = Short.toUnsignedInt(tail.getShort(end + 10));
+        long directorySize = Integer.toUnsignedLong(tail.getInt(end + 12));
+        long directoryOffset = Integer.toUnsignedLong(tail.getInt(end + 16));
+        if (entryCount == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) {
+            throw new ZipException("ZIP64 archives are not supported: " + path);
+        }
+
+        ByteBuffer directory = readFully(channel, directoryOffset, (int) directorySize);
+        Map<String, Entry> entries = Maps.newHashMapWithExpectedSize(entryCount);
+        int position = 0;
+        for (int i = 0; i < entryCount; i++) {
+            if (directory.getInt(position) != CENTRAL_DIRECTORY_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory header in " + path);
+            }
+            int method = Short.toUnsignedInt(directory.getShort(position + 10));
+            long compressedSize = Integer.toUnsignedLong(directory.getInt(position + 20));
+            long size = Integer.toUnsignedLong(directory.getInt(position + 24));
+            int nameLength = Short.toUnsignedInt(directory.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(directory.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(directory.getShort(position + 32));
+            long localHeaderOffset = Integer.toUnsignedLong(directory.getInt(position + 42));
+            byte[] nameBytes = new byte[nameLength];
+            directory.position(position + CENTRAL_DIRECTORY_HEADER_SIZE);
+            directory.get(nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+            position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+
+            if (name.endsWith("/")) {
+                continue;
+            }
+            if (method != METHOD_STORED && method != METHOD_DEFLATED) {
+                throw new ZipException("Unsupported compression method " + method + " of " + name + " in " + path);
+            }
+            if (compressedSize > Integer.MAX_VALUE || size > Integer.MAX_VALUE) {
+                throw new ZipException("Entry " + name + " in " + path + " is too large");
+            }
+            entries.put(name.startsWith("/") ? name.substring(1) : name,
+                    new Entry(method, (int) compressedSize, (int) size, localHeaderOffset));
+        }
+        return entries;
+    }
+
+    private static final class Entry {
+        private final int method;
+        private final int compressedSize;
+        private final int size;
+        private final long localHeaderOffset;
+
+        private Entry(int method, int compressedSize, int size, long localHeaderOffset) {
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+}
@@ -15,11 +15,14 @@
 import org.terasology.engine.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.engine.game.GameManifest;
 import org.terasology.engine.logic.location.LocationComponent;
+import org.terasology.engine.monitoring.PerformanceMonitor;
 import org.terasology.engine.network.ClientComponent;
+import org.terasology.engine.persistence.internal.SaveTransactionResult.Phase;
 import org.terasology.engine.recording.RecordAndReplayCurrentStatus;
 import org.terasology.engine.recording.RecordAndReplaySerializer;
 import org.terasology.engine.recording.RecordAndReplayStatus;
 import org.terasology.engine.recording.RecordAndReplayUtils;
+import org.terasology.engine.utilities.compression.CompressionCodec;
 import org.terasology.engine.utilities.concurrency.AbstractTask;
 import org.terasology.engine.world.chunks.Chunks;
 import org.terasology.engine.world.chunks.internal.ChunkImpl;
@@ -27,6 +30,7 @@
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.nio.file.AccessDeniedException;
@@ -41,10 +45,16 @@
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -57,12 +67,21 @@ public class SaveTransaction extends AbstractTask {
     private static final Logger logger = LoggerFactory.getLogger(SaveTransaction.class);
 
     private static final ImmutableMap<String, String> CREATE_ZIP_OPTIONS = ImmutableMap.of("create", "true", "encoding", "UTF-8");
+    private static final Comparator<Vector3i> VECTOR_ORDER = Comparator.comparingInt((Vector3i v) -> v.x)
+            .thenComparingInt(v -> v.y)
+            .thenComparingInt(v -> v.z);
     private final GameManifest gameManifest;
     private final Lock worldDirectoryWriteLock;
     private final EngineEntityManager privateEntityManager;
     private final EntitySetDeltaRecorder deltaToSave;
     private volatile SaveTransactionResult result;
 
+    // Timings:
+    private final Map<Phase, Long> phaseNanos = Maps.newEnumMap(Phase.class);
+    private final LongAdder chunkEncodeNanos = new LongAdder();
+    private final LongAdder chunkCompressNanos = new LongAdder();
+    private long encodeWaitNanos;
+
     // Unprocessed data to save:
     private final Map<String, EntityData.PlayerStore> unloadedPlayers;
     private final Map<String, PlayerStoreBuilder> loadedPlayers;
@@ -78,6 +97,9 @@ public class SaveTransaction extends AbstractTask {
 
     // Save parameters:
     private final boolean storeChunksInZips;
+    private final boolean storeChunksInRegionFiles;
+    private final CompressionCodec chunkCodec;
+    private final ExecutorService chunkEncoderPool;
 
     // utility classes for saving:
     private final StoragePathProvider storagePathProvider;
@@ -93,8 +115,10 @@ public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaR
                            Map<String, EntityData.PlayerStore> unloadedPlayers,
                            Map<String, PlayerStoreBuilder> loadedPlayers, GlobalStoreBuilder globalStoreBuilder,
                            Map<Vector3i, CompressedChunkBuilder> unloadedChunks, Map<Vector3i, ChunkImpl> loadedChunks,
-                           GameManifest gameManifest, boolean storeChunksInZips,
-                           StoragePathProvider storagePathProvider, Lock worldDirectoryWriteLock,
+                           GameManifest gameManifest, boolean storeChunksInZips, boolean storeChunksInRegionFiles,
+                           CompressionCodec chunkCodec, ExecutorService chunkEncoderPool,
+                           StoragePathProvider storagePathProvider, SaveTransactionHelper saveTransactionHelper,
+                           Lock worldDirectoryWriteLock,
                            RecordAndReplaySerializer recordAndReplaySerializer,
                            RecordAndReplayUtils recordAndReplayUtils,
                            RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) {
@@ -107,8 +131,11 @@ public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaR
         this.globalStoreBuilder = globalStoreBuilder;
         this.gameManifest = gameManifest;
         this.storeChunksInZips = storeChunksInZips;
+        this.storeChunksInRegionFiles = storeChunksInRegionFiles;
+        this.chunkCodec = chunkCodec;
+        this.chunkEncoderPool = chunkEncoderPool;
         this.storagePathProvider = storagePathProvider;
-        this.saveTransactionHelper = new SaveTransactionHelper(storagePathProvider);
+        this.saveTransactionHelper = saveTransactionHelper;
         this.worldDirectoryWriteLock = worldDirectoryWriteLock;
         this.recordAndReplaySerializer = recordAndReplaySerializer;
         this.recordAndReplayUtils = recordAndReplayUtils;
@@ -132,8 +159,11 @@ public void run() {
                 throw new IOException("Save rand while there were unmerged changes");
             }
             saveTransactionHelper.cleanupSaveTransactionDirectory();
+            long phaseStart = System.nanoTime();
             applyDeltaToPrivateEntityManager();
+            phaseStart = endPhase(Phase.APPLY_ENTITY_DELTA, phaseStart);
             prepareChunksPlayersAndGlobalStore();
+            phaseStart = endPhase(Phase.PREPARE_STORES, phaseStart);
             createPreviewImagesFolder();
             createSaveTransactionDirectory();
             writePlayerStores();
@@ -141,13 +171,37 @@ public void run() {
             writeChunkStores();
             saveGameManifest();
             perpareChangesForMerge();
+            // Time spent waiting for the chunk encoders is already part of the encode and compress phases
+            phaseStart = endPhase(Phase.WRITE, phaseStart + encodeWaitNanos);
             mergeChanges();
-            result = SaveTransactionResult.createSuccessResult();
-            logger.info("Save game finished");
+            endPhase(Phase.MERGE, phaseStart);
+            result = SaveTransactionResult.createSuccessResult(getPhaseNanos());
+            logger.info("Save game finished: {}", result);
+            recordPhaseMetrics(result);
             saveRecordingData();
         } catch (IOException | RuntimeException t) {
             logger.error("Save game creation failed", t);
-            result = SaveTransactionResult.createFailureResult(t);
+            result = SaveTransactionResult.createFailureResult(t, getPhaseNanos());
+        }
+    }
+
+    private long endPhase(Phase phase, long phaseStart) {
+        long now = System.nanoTime();
+        phaseNanos.put(phase, Math.max(0, now - phaseStart));
+        return now;
+    }
+
+    private Map<Phase, Long> getPhaseNanos() {
+        Map<Phase, Long> result = Maps.newEnumMap(phaseNanos);
+        result.put(Phase.ENCODE_CHUNKS, chunkEncodeNanos.sum());
+        result.put(Phase.COMPRESS_CHUNKS, chunkCompressNanos.sum());
+        return result;
+    }
+
+    private void recordPhaseMetrics(SaveTransactionResult saveResult) {
+        for (Phase phase : Phase.values()) {
+            PerformanceMonitor.recordMetric("Save - " + phase.getDisplayName() + " (ms)",
+                    saveResult.getPhaseTime(phase, TimeUnit.MILLISECONDS));
         }
     }
 
@@ -386,61 +440,132 @@ private void writeGlobalStore() throws IOException {
         }
     }
 
+    /**
+     * Encodes and compresses the chunks on the encoder pool of the storage manager, while this thread writes the
+     * results in a fixed order, sorted by region.
+     */
     private void writeChunkStores() throws IOException {
         Path chunksPath = storagePathProvider.getWorldTempPath();
         Files.createDirectories(chunksPath);
-        if (storeChunksInZips) {
-            Map<Vector3i, FileSystem> newChunkZips = Maps.newHashMap();
-            for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : allChunks.entrySet()) {
-                Vector3i chunkPos = entry.getKey();
-                Vector3i chunkZipPos = storagePathProvider.getChunkZipPosition(chunkPos);
-                FileSystem zip = newChunkZips.get(chunkZipPos);
-                if (zip == null) {
-                    Path targetPath = storagePathProvider.getChunkZipTempPath(chunkZipPos);
-                    Files.deleteIfExists(targetPath);
-                    zip = FileSystems.newFileSystem(URI.create("jar:" + targetPath.toUri()), CREATE_ZIP_OPTIONS);
-                    newChunkZips.put(chunkZipPos, zip);
-                }
-                Path chunkPath = zip.getPath(storagePathProvider.getChunkFilename(chunkPos));
-                CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
-                byte[] compressedChunk = compressedChunkBuilder.buildEncodedChunk();
-                try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
-                    bos.write(compressedChunk);
-                }
+
+        List<Vector3i> chunkPositions = Lists.newArrayList(allChunks.keySet());
+        chunkPositions.sort(Comparator.comparing(storagePathProvider::getChunkZipPosition, VECTOR_ORDER)
+                .thenComparing(VECTOR_ORDER));
+        Map<Vector3i, Future<byte[]>> encodedChunks = Maps.newLinkedHashMap();
+        try {
+            for (Vector3i chunkPos : chunkPositions) {
+                CompressedChunkBuilder compressedChunkBuilder = allChunks.get(chunkPos);
+                encodedChunks.put(chunkPos, chunkEncoderPool.submit(() ->
+                        compressedChunkBuilder.buildEncodedChunk(chunkCodec, chunkEncodeNanos, chunkCompressNanos)));
+            }
+            if (storeChunksInRegionFiles) {
+                writeChunkRegionDeltas(encodedChunks);
+            } else if (storeChunksInZips) {
+                writeChunkZips(encodedChunks);
+            } else {
+                writeChunkFiles(encodedChunks);
+            }
+        } finally {
+            // the pool outlives this transaction, so don't leave work behind if writing failed
+            for (Future<byte[]> encodedChunk : encodedChunks.values()) {
+                encodedChunk.cancel(true);
             }
-            // Copy existing, unmodified content into the zips and close them
-            for (Map.Entry<Vector3i, FileSystem> chunkZipEntry : newChunkZips.entrySet()) {
-                Vector3i chunkZipPos = chunkZipEntry.getKey();
-                Path oldChunkZipPath = storagePathProvider.getChunkZipPath(chunkZipPos);
-                final FileSystem zip = chunkZipEntry.getValue();
-                if (Files.isRegularFile(oldChunkZipPath)) {
-                    try (FileSystem oldZip = FileSystems.newFileSystem(oldChunkZipPath, null)) {
-                        for (Path root : oldZip.getRootDirectories()) {
-                            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-                                @Override
-                                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
-                                        throws IOException {
-                                    if (!Files.isRegularFile(zip.getPath(file.toString()))) {
-                                        Files.copy(file, zip.getPath(file.toString()));
-                                    }
-                                    return FileVisitResult.CONTINUE;
+        }
+    }
+
+    private void writeChunkZips(Map<Vector3i, Future<byte[]>> encodedChunks) throws IOException {
+        Map<Vector3i, FileSystem> newChunkZips = Maps.newHashMap();
+        for (Map.Entry<Vector3i, Future<byte[]>> entry : encodedChunks.entrySet()) {
+            Vector3i chunkPos = entry.getKey();
+            Vector3i chunkZipPos = storagePathProvider.getChunkZipPosition(chunkPos);
+            FileSystem zip = newChunkZips.get(chunkZipPos);
+            if (zip == null) {
+                Path targetPath = storagePathProvider.getChunkZipTempPath(chunkZipPos);
+                Files.deleteIfExists(targetPath);
+                zip = FileSystems.newFileSystem(URI.create("jar:" + targetPath.toUri()), CREATE_ZIP_OPTIONS);
+                newChunkZips.put(chunkZipPos, zip);
+            }
+            Path chunkPath = zip.getPath(storagePathProvider.getChunkFilename(chunkPos));
+            byte[] compressedChunk = awaitEncodedChunk(entry.getValue());
+            try (BufferedOutputStream bos = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
+                bos.write(compressedChunk);
+            }
+        }
+        // Copy existing, unmodified content into the zips and close them
+        for (Map.Entry<Vector3i, FileSystem> chunkZipEntry : newChunkZips.entrySet()) {
+            Vector3i chunkZipPos = chunkZipEntry.getKey();
+            Path oldChunkZipPath = storagePathProvider.getChunkZipPath(chunkZipPos);
+            final FileSystem zip = chunkZipEntry.getValue();
+            if (Files.isRegularFile(oldChunkZipPath)) {
+                try (FileSystem oldZip = FileSystems.newFileSystem(oldChunkZipPath, null)) {
+                    for (Path root : oldZip.getRootDirectories()) {
+                        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                            @Override
+                            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                                    throws IOException {
+                                if (!Files.isRegularFile(zip.getPath(file.toString()))) {
+                                    Files.copy(file, zip.getPath(file.toString()));
                                 }
-                            });
-                        }
+                                return FileVisitResult.CONTINUE;
+                            }
+                        });
                     }
                 }
-                zip.close();
             }
-        } else {
-            for (Map.Entry<Vector3i, CompressedChunkBuilder> entry : allChunks.entrySet()) {
-                Vector3i chunkPos = entry.getKey();
-                CompressedChunkBuilder compressedChunkBuilder = entry.getValue();
-                byte[] compressedChunk = compressedChunkBuilder.buildEncodedChunk();
-                Path chunkPath = storagePathProvider.getChunkTempPath(chunkPos);
-                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
-                    out.write(compressedChunk);
+            zip.close();
+        }
+    }
+
+    private void writeChunkFiles(Map<Vector3i, Future<byte[]>> encodedChunks) throws IOException {
+        for (Map.Entry<Vector3i, Future<byte[]>> entry : encodedChunks.entrySet()) {
+            Path chunkPath = storagePathProvider.getChunkTempPath(entry.getKey());
+            byte[] compressedChunk = awaitEncodedChunk(entry.getValue());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(chunkPath))) {
+                out.write(compressedChunk);
+            }
+        }
+    }
+
+    /**
+     * Writes the chunks of each region into a delta file, which gets applied to the region file when merging. Unlike
+     * with zips, chunks that have not changed are neither read nor written.
+     */
+    private void writeChunkRegionDeltas(Map<Vector3i, Future<byte[]>> encodedChunks) throws IOException {
+        Vector3i currentRegionPos = null;
+        Map<Integer, byte[]> regionChunks = Maps.newTreeMap();
+        for (Map.Entry<Vector3i, Future<byte[]>> entry : encodedChunks.entrySet()) {
+            Vector3i chunkPos = entry.getKey();
+            Vector3i chunkRegionPos = storagePathProvider.getChunkZipPosition(chunkPos);
+            if (!chunkRegionPos.equals(currentRegionPos)) {
+                // Chunks are sorted by region, so the previous region is complete
+                if (currentRegionPos != null) {
+                    ChunkRegionFile.writeDelta(storagePathProvider.getChunkRegionDeltaTempPath(currentRegionPos),
+                            regionChunks);
+                    regionChunks.clear();
                 }
+                currentRegionPos = chunkRegionPos;
+            }
+            regionChunks.put(storagePathProvider.getChunkIndexInRegion(chunkPos), awaitEncodedChunk(entry.getValue()));
+        }
+        if (currentRegionPos != null) {
+            ChunkRegionFile.writeDelta(storagePathProvider.getChunkRegionDeltaTempPath(currentRegionPos), regionChunks);
+        }
+    }
+
+    private byte[] awaitEncodedChunk(Future<byte[]> encodedChunk) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return encodedChunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for chunk encoding");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw new IOException("Failed to encode chunk", e.getCause());
+        } finally {
+            encodeWaitNanos += System.nanoTime() - start;
         }
     }
 
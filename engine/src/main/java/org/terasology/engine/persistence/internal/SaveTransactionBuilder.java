@@ -11,9 +11,11 @@
 import org.terasology.engine.recording.RecordAndReplayCurrentStatus;
 import org.terasology.engine.recording.RecordAndReplaySerializer;
 import org.terasology.engine.recording.RecordAndReplayUtils;
+import org.terasology.engine.utilities.compression.CompressionCodec;
 import org.terasology.engine.world.chunks.internal.ChunkImpl;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -30,21 +32,31 @@ class SaveTransactionBuilder {
     private Map<Vector3i, ChunkImpl> loadedChunks = Maps.newHashMap();
     private GlobalStoreBuilder globalStoreBuilder;
     private final boolean storeChunksInZips;
+    private final boolean storeChunksInRegionFiles;
+    private final CompressionCodec chunkCodec;
+    private final ExecutorService chunkEncoderPool;
     private final StoragePathProvider storagePathProvider;
+    private final SaveTransactionHelper saveTransactionHelper;
     private GameManifest gameManifest;
     private RecordAndReplaySerializer recordAndReplaySerializer;
     private RecordAndReplayUtils recordAndReplayUtils;
     private RecordAndReplayCurrentStatus recordAndReplayCurrentStatus;
 
     SaveTransactionBuilder(EngineEntityManager privateEntityManager, EntitySetDeltaRecorder deltaToSave,
-                           boolean storeChunksInZips, StoragePathProvider storagePathProvider,
-                           Lock worldDirectoryWriteLock, RecordAndReplaySerializer recordAndReplaySerializer,
+                           boolean storeChunksInZips, boolean storeChunksInRegionFiles, CompressionCodec chunkCodec,
+                           ExecutorService chunkEncoderPool, StoragePathProvider storagePathProvider,
+                           SaveTransactionHelper saveTransactionHelper, Lock worldDirectoryWriteLock,
+                           RecordAndReplaySerializer recordAndReplaySerializer,
                            RecordAndReplayUtils recordAndReplayUtils,
                            RecordAndReplayCurrentStatus recordAndReplayCurrentStatus) {
         this.privateEntityManager = privateEntityManager;
         this.deltaToSave = deltaToSave;
         this.storeChunksInZips = storeChunksInZips;
+        this.storeChunksInRegionFiles = storeChunksInRegionFiles;
+        this.chunkCodec = chunkCodec;
+        this.chunkEncoderPool = chunkEncoderPool;
         this.storagePathProvider = storagePathProvider;
+        this.saveTransactionHelper = saveTransactionHelper;
         this.worldDirectoryWriteLock = worldDirectoryWriteLock;
         this.recordAndReplaySerializer = recordAndReplaySerializer;
         this.recordAndReplayUtils = recordAndReplayUtils;
@@ -74,8 +86,9 @@ void addLoadedChunk(final Vector3ic chunkPosition, final ChunkImpl chunk) {
 
     public SaveTransaction build() {
         return new SaveTransaction(privateEntityManager, deltaToSave, unloadedPlayers, loadedPlayers, globalStoreBuilder,
-                unloadedChunks, loadedChunks, gameManifest, storeChunksInZips, storagePathProvider,
-                worldDirectoryWriteLock, recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
+                unloadedChunks, loadedChunks, gameManifest, storeChunksInZips, storeChunksInRegionFiles,
+                chunkCodec, chunkEncoderPool, storagePathProvider, saveTransactionHelper, worldDirectoryWriteLock,
+                recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
 
     }
 
@@ -2,6 +2,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.engine.persistence.internal;
 
+import org.joml.Vector3i;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,9 +23,18 @@
 public class SaveTransactionHelper {
     private static final Logger logger = LoggerFactory.getLogger(SaveTransactionHelper.class);
     private final StoragePathProvider storagePathProvider;
+    private final RegionFileCache regionFileCache;
 
     public SaveTransactionHelper(StoragePathProvider storagePathProvider) {
+        this(storagePathProvider, null);
+    }
+
+    /**
+     * @param regionFileCache cache of open chunk zips, which gets invalidated before merging replaces them. May be null.
+     */
+    SaveTransactionHelper(StoragePathProvider storagePathProvider, RegionFileCache regionFileCache) {
         this.storagePathProvider = storagePathProvider;
+        this.regionFileCache = regionFileCache;
     }
 
     public void cleanupSaveTransactionDirectory() throws IOException {
@@ -56,6 +66,10 @@ public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOEx
     public void mergeChanges() throws IOException {
         final Path sourceDirectory = storagePathProvider.getUnmergedChangesPath();
         final Path targetDirectory = storagePathProvider.getStoragePathDirectory();
+        if (regionFileCache != null) {
+            // Open chunk zips would read stale data after the move, and prevent replacing the file on some systems
+            regionFileCache.invalidateAll();
+        }
 
         Files.walkFileTree(sourceDirectory, new SimpleFileVisitor<Path>() {
             boolean atomicNotPossibleLogged;
@@ -71,6 +85,10 @@ public FileVisitResult preVisitDirectory(Path sourceSubDir, BasicFileAttributes
 
             @Override
             public FileVisitResult visitFile(Path sourcePath, BasicFileAttributes attrs) throws IOException {
+                if (storagePathProvider.isChunkRegionDelta(sourcePath)) {
+                    applyChunkRegionDelta(sourcePath);
+                    return FileVisitResult.CONTINUE;
+                }
                 Path targetPath = targetDirectory.resolve(sourceDirectory.relativize(sourcePath));
                 try {
                     // Delete file, as behavior of atomic move is undefined if target file exists:
@@ -109,4 +127,22 @@ public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOEx
             }
         });
     }
+
+    /**
+     * Writes the chunks of a delta into their region file and deletes the delta. The region's zip gets converted first
+     * if there is no region file yet.
+     */
+    private void applyChunkRegionDelta(Path deltaPath) throws IOException {
+        Vector3i chunkRegionPos = storagePathProvider.getChunkRegionPosition(deltaPath);
+        if (chunkRegionPos == null) {
+            throw new IOException("Invalid chunk region delta file name: " + deltaPath);
+        }
+        Path regionPath = storagePathProvider.getChunkRegionPath(chunkRegionPos);
+        Path zipPath = storagePathProvider.getChunkZipPath(chunkRegionPos);
+        if (!Files.isRegularFile(regionPath) && Files.isRegularFile(zipPath)) {
+            ChunkRegionConverter.convert(zipPath, regionPath, storagePathProvider);
+        }
+        ChunkRegionFile.applyDelta(deltaPath, regionPath, storagePathProvider);
+        Files.delete(deltaPath);
+    }
 }
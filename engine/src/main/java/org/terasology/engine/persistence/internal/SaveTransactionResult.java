@@ -2,22 +2,29 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.engine.persistence.internal;
 
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Represents the result of a {@link SaveTransaction}
  */
 final class SaveTransactionResult {
     private final Throwable catchedThrowable;
+    private final Map<Phase, Long> phaseNanos;
 
-    private SaveTransactionResult(Throwable catchedThrowable) {
+    private SaveTransactionResult(Throwable catchedThrowable, Map<Phase, Long> phaseNanos) {
         this.catchedThrowable = catchedThrowable;
+        this.phaseNanos = Maps.newEnumMap(phaseNanos);
     }
 
-    static  SaveTransactionResult createSuccessResult() {
-        return new SaveTransactionResult(null);
+    static  SaveTransactionResult createSuccessResult(Map<Phase, Long> phaseNanos) {
+        return new SaveTransactionResult(null, phaseNanos);
     }
 
-    static  SaveTransactionResult createFailureResult(Throwable catchedThrowable) {
-        return new SaveTransactionResult(catchedThrowable);
+    static  SaveTransactionResult createFailureResult(Throwable catchedThrowable, Map<Phase, Long> phaseNanos) {
+        return new SaveTransactionResult(catchedThrowable, phaseNanos);
     }
 
     public boolean isSuccess() {
@@ -27,4 +34,44 @@ public boolean isSuccess() {
     public Throwable getCatchedThrowable() {
         return catchedThrowable;
     }
+
+    /**
+     * @return time spent in the given phase, or 0 if the save did not get that far.
+     */
+    public long getPhaseTime(Phase phase, TimeUnit unit) {
+        return unit.convert(phaseNanos.getOrDefault(phase, 0L), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(isSuccess() ? "success" : "failure");
+        for (Phase phase : Phase.values()) {
+            builder.append(", ").append(phase.getDisplayName()).append(": ")
+                    .append(getPhaseTime(phase, TimeUnit.MILLISECONDS)).append(" ms");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The phases of a save. Chunk encoding and compressing run on several threads at once; their times are the sum
+     * over all threads, and so can exceed the wall clock time of the save.
+     */
+    enum Phase {
+        APPLY_ENTITY_DELTA("Entity delta apply"),
+        PREPARE_STORES("Store preparation"),
+        ENCODE_CHUNKS("Chunk encode"),
+        COMPRESS_CHUNKS("Chunk compress"),
+        WRITE("Write"),
+        MERGE("Merge");
+
+        private final String displayName;
+
+        Phase(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
 }
@@ -18,6 +18,11 @@ public class StoragePathProvider {
     private static final String UNFINISHED_SAVE_TRANSACTION = "unfinished-save-transaction";
     private static final String UNMERGED_CHANGED = "unmerged-changes";
     private static final int CHUNK_ZIP_DIM = 32;
+    private static final String CHUNK_EXTENSION = ".chunk";
+    private static final String CHUNK_ZIP_EXTENSION = ".chunks.zip";
+    private static final String CHUNK_REGION_EXTENSION = ".chunks.region";
+    private static final String CHUNK_REGION_DELTA_EXTENSION = ".chunks.delta";
+    static final int CHUNKS_PER_REGION = CHUNK_ZIP_DIM * CHUNK_ZIP_DIM * CHUNK_ZIP_DIM;
 
     private final Path storagePathDirectory;
     private final Path playersPath;
@@ -83,6 +88,60 @@ public Path getChunkZipTempPath(Vector3i chunkZipPos) {
         return getWorldTempPath().resolve(getChunkZipFilename(chunkZipPos));
     }
 
+    public Path getChunkRegionPath(Vector3ic chunkRegionPos) {
+        return worldPath.resolve(getChunkRegionFilename(chunkRegionPos, CHUNK_REGION_EXTENSION));
+    }
+
+    public Path getChunkRegionDeltaTempPath(Vector3ic chunkRegionPos) {
+        return getWorldTempPath().resolve(getChunkRegionFilename(chunkRegionPos, CHUNK_REGION_DELTA_EXTENSION));
+    }
+
+    public boolean isChunkZip(Path path) {
+        return path.getFileName().toString().endsWith(CHUNK_ZIP_EXTENSION);
+    }
+
+    public boolean isChunkRegion(Path path) {
+        return path.getFileName().toString().endsWith(CHUNK_REGION_EXTENSION);
+    }
+
+    public boolean isChunkRegionDelta(Path path) {
+        return path.getFileName().toString().endsWith(CHUNK_REGION_DELTA_EXTENSION);
+    }
+
+    /**
+     * @param path a chunk zip, chunk region or chunk region delta file.
+     * @return the position of the chunk region the file belongs to, or null if the file name is not valid.
+     */
+    public Vector3i getChunkRegionPosition(Path path) {
+        String filename = path.getFileName().toString();
+        for (String extension : new String[]{CHUNK_ZIP_EXTENSION, CHUNK_REGION_EXTENSION, CHUNK_REGION_DELTA_EXTENSION}) {
+            if (filename.endsWith(extension)) {
+                return parsePosition(filename.substring(0, filename.length() - extension.length()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the chunk position stored in a file named by {@link #getChunkFilename(Vector3ic)}, or null if the name
+     *         is not valid.
+     */
+    public Vector3i getChunkPosition(String chunkFilename) {
+        if (!chunkFilename.endsWith(CHUNK_EXTENSION)) {
+            return null;
+        }
+        return parsePosition(chunkFilename.substring(0, chunkFilename.length() - CHUNK_EXTENSION.length()));
+    }
+
+    /**
+     * @return index of the chunk within its chunk region, between 0 and {@link #CHUNKS_PER_REGION} (exclusive).
+     */
+    public int getChunkIndexInRegion(Vector3ic chunkPos) {
+        return Math.floorMod(chunkPos.x(), CHUNK_ZIP_DIM)
+                + CHUNK_ZIP_DIM * (Math.floorMod(chunkPos.y(), CHUNK_ZIP_DIM)
+                + CHUNK_ZIP_DIM * Math.floorMod(chunkPos.z(), CHUNK_ZIP_DIM));
+    }
+
     public Path getGlobalEntityStorePath() {
         return globalEntityStorePath;
     }
@@ -92,12 +151,28 @@ public Path getGlobalEntityStoreTempPath() {
     }
 
     public String getChunkFilename(Vector3ic pos) {
-        return String.format("%d.%d.%d.chunk", pos.x(), pos.y(), pos.z());
+        return String.format("%d.%d.%d" + CHUNK_EXTENSION, pos.x(), pos.y(), pos.z());
     }
 
 
     private String getChunkZipFilename(Vector3ic pos) {
-        return String.format("%d.%d.%d.chunks.zip", pos.x(), pos.y(), pos.z());
+        return getChunkRegionFilename(pos, CHUNK_ZIP_EXTENSION);
+    }
+
+    private String getChunkRegionFilename(Vector3ic pos, String extension) {
+        return String.format("%d.%d.%d", pos.x(), pos.y(), pos.z()) + extension;
+    }
+
+    private Vector3i parsePosition(String position) {
+        String[] parts = position.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new Vector3i(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     public Vector3i getChunkZipPosition(Vector3ic chunkPos) {
@@ -7,6 +7,7 @@
 import com.google.common.collect.BiMap;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.protobuf.ByteString;
@@ -28,6 +29,9 @@
 import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
 import org.terasology.protobuf.EntityData;
 
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -256,8 +260,21 @@ public EntityRef deserialize(EntityData.PackedEntity entityData) {
     }
 
 
-    public EntityData.PackedEntity serialize(EntityRef entityRef, Set<Class<? extends Component>> added, Set<Class<? extends Component>> changed,
-                                             Set<Class<? extends Component>> removed, FieldSerializeCheck<Component> fieldCheck) {
+    /**
+     * Serializes the changes of an entity, with the components given by their network ids.
+     *
+     * @return the changes, or null if there are none to send
+     */
+    public EntityData.PackedEntity serialize(EntityRef entityRef, BitSet added, BitSet changed, BitSet removed,
+                                             FieldSerializeCheck<Component> fieldCheck) {
+        return serialize(entityRef, getComponentTypes(added), getComponentTypes(changed), getComponentTypes(removed),
+                fieldCheck);
+    }
+
+    public EntityData.PackedEntity serialize(EntityRef entityRef, Collection<Class<? extends Component>> added,
+                                             Collection<Class<? extends Component>> changed,
+                                             Collection<Class<? extends Component>> removed,
+                                             FieldSerializeCheck<Component> fieldCheck) {
         EntityData.PackedEntity.Builder entity = EntityData.PackedEntity.newBuilder();
 
         ByteString.Output fieldIds = ByteString.newOutput();
@@ -290,4 +307,20 @@ public EntityData.PackedEntity serialize(EntityRef entityRef, Set<Class<? extend
             return entity.build();
         }
     }
+
+    /**
+     * @return the network id of the component type, or -1 if it has none
+     */
+    public int getComponentId(Class<? extends Component> componentType) {
+        Integer id = idTable.get(componentType);
+        return id != null ? id : -1;
+    }
+
+    private List<Class<? extends Component>> getComponentTypes(BitSet componentIds) {
+        List<Class<? extends Component>> componentTypes = Lists.newArrayListWithCapacity(componentIds.cardinality());
+        for (int id = componentIds.nextSetBit(0); id >= 0; id = componentIds.nextSetBit(id + 1)) {
+            componentTypes.add(idTable.inverse().get(id));
+        }
+        return componentTypes;
+    }
 }
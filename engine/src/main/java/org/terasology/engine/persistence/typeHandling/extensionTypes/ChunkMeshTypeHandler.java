@@ -5,6 +5,7 @@
 
 import org.lwjgl.BufferUtils;
 import org.terasology.engine.rendering.primitives.ChunkMesh;
+import org.terasology.engine.rendering.primitives.ChunkVertexFormat;
 import org.terasology.persistence.typeHandling.PersistedData;
 import org.terasology.persistence.typeHandling.PersistedDataSerializer;
 import org.terasology.persistence.typeHandling.TypeHandler;
@@ -31,20 +32,28 @@ protected PersistedData serializeNonNull(ChunkMesh value, PersistedDataSerialize
                 data.add(serializer.serialize(buffer));
             });
         }
+        data.add(serializer.serialize(value.getVertexFormat().name()));
         return serializer.serialize(data);
     }
 
     @Override
     public Optional<ChunkMesh> deserialize(PersistedData data) {
         List<ByteBuffer> asBuffers = new ArrayList<>();
-        for (PersistedData datum : data.getAsArray()) {
+        List<PersistedData> entries = new ArrayList<>();
+        data.getAsArray().forEach(entries::add);
+        // meshes serialized before the vertex format was added end without it
+        ChunkVertexFormat vertexFormat = ChunkVertexFormat.STANDARD;
+        if (entries.size() > ChunkMesh.RenderType.values().length * 2) {
+            vertexFormat = ChunkVertexFormat.valueOf(entries.remove(entries.size() - 1).getAsString());
+        }
+        for (PersistedData datum : entries) {
             ByteBuffer buffer = datum.getAsByteBuffer();
             ByteBuffer directBuffer = BufferUtils.createByteBuffer(buffer.limit());
             directBuffer.put(buffer);
             directBuffer.rewind();
             asBuffers.add(directBuffer);
         }
-        ChunkMesh result = new ChunkMesh();
+        ChunkMesh result = new ChunkMesh(vertexFormat);
         for (ChunkMesh.RenderType renderType : ChunkMesh.RenderType.values()) {
             result.getVertexElements(renderType).buffer.copyBuffer(asBuffers.remove(0));
             result.getVertexElements(renderType).indices.copyBuffer(asBuffers.remove(0));
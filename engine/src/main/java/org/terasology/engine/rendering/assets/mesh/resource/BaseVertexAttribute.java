@@ -7,10 +7,19 @@ public class BaseVertexAttribute {
 
     public final TypeMapping mapping;
     public final int count;
+    /**
+     * Whether integer values are mapped to [0, 1], or [-1, 1] for signed types, when read by the shader.
+     */
+    public final boolean normalized;
 
     protected BaseVertexAttribute(TypeMapping mapping, int count) {
+        this(mapping, count, false);
+    }
+
+    protected BaseVertexAttribute(TypeMapping mapping, int count, boolean normalized) {
         this.mapping = mapping;
         this.count = count;
+        this.normalized = normalized;
     }
 
 }
@@ -194,7 +194,172 @@ public Vector2f read(int vertIdx, int offset, VertexResource resource, Vector2f
         }
 
     }, TypeMapping.ATTR_FLOAT, 2);
-    
+
+    /**
+     * A float in [0, 1], stored in a single byte. The shader reads it as a float again.
+     */
+    public static final VertexFloatAttribute FLOAT_1_NORMALIZED_BYTE_VERTEX_ATTRIBUTE =
+            new VertexFloatAttribute(new VertexFloatAttribute.AttributeConfiguration() {
+        @Override
+        public void write(float value, int vertIdx, int offset, VertexResource resource) {
+            int bufferStart = vertIdx * resource.inStride() + offset;
+            ByteBuffer buffer = resource.buffer();
+            buffer.put(bufferStart, (byte) toUnsignedNormalized(value, 0xff));
+        }
+
+        @Override
+        public float read(int vertIdx, int offset, VertexResource resource) {
+            int bufferStart = vertIdx * resource.inStride() + offset;
+            ByteBuffer buffer = resource.buffer();
+            return Byte.toUnsignedInt(buffer.get(bufferStart)) / (float) 0xff;
+        }
+    }, TypeMapping.ATTR_UNSIGNED_BYTE, 1, true);
+
+    /**
+     * A vector with components in [-1, 1], such as a normal, stored in a signed byte per component. The shader reads
+     * it as a float vector again.
+     */
+    public static final VertexAttribute<Vector3fc, Vector3f> VECTOR_3_F_NORMALIZED_BYTE_VERTEX_ATTRIBUTE =
+            new VertexAttribute<>(Vector3f.class, new VertexAttribute.AttributeConfiguration<Vector3fc, Vector3f>() {
+        @Override
+        public void write(Vector3fc value, int vertIdx, int offset, VertexResource resource) {
+            int bufferStart = vertIdx * resource.inStride() + offset;
+            ByteBuffer buffer = resource.buffer();
+            buffer.put(bufferStart, toSignedNormalizedByte(value.x()));
+            buffer.put(bufferStart + Byte.BYTES, toSignedNormalizedByte(value.y()));
+            buffer.put(bufferStart + Byte.BYTES * 2, toSignedNormalizedByte(value.z()));
+        }
+
+        @Override
+        public Vector3f read(int vertIdx, int offset, VertexResource resource, Vector3f dest) {
+            int bufferStart = vertIdx * resource.inStride() + offset;
+            ByteBuffer buffer = resource.buffer();
+            dest.x = fromSignedNormalizedByte(buffer.get(bufferStart));
+            dest.y = fromSignedNormalizedByte(buffer.get(bufferStart + Byte.BYTES));
+            dest.z = fromSignedNormalizedByte(buffer.get(bufferStart + Byte.BYTES * 2));
+            return dest;
+        }
+
+    }, TypeMapping.ATTR_BYTE, 3, true);
+
+    /**
+     * A vector with components in [0, 1], such as texture atlas coordinates, stored in an unsigned short per
+     * component. The shader reads it as a float vector again.
+     */
+    public static final VertexAttribute<Vector2fc, Vector2f> VECTOR_2_F_NORMALIZED_SHORT_VERTEX_ATTRIBUTE =
+            new VertexAttribute<>(Vector2f.class, new VertexAttribute.AttributeConfiguration<Vector2fc, Vector2f>() {
+        @Override
+        public void write(Vector2fc value, int vertIdx, int offset, VertexResource resource) {
+            int bufferStart = vertIdx * resource.inStride() + offset;
+            ByteBuffer buffer = resource.buffer();
+            buffer.putShort(bufferStart, (short) toUnsignedNormalized(value.x(), 0xffff));
+            buffer.putShort(bufferStart + Short.BYTES, (short) toUnsignedNormalized(value.y(), 0xffff));
+        }
+
+        @Override
+        public Vector2f read(int vertIdx, int offset, VertexResource resource, Vector2f dest) {
+            int bufferStart = vertIdx * resource.inStride() + offset;
+            ByteBuffer buffer = resource.buffer();
+            dest.x = Short.toUnsignedInt(buffer.getShort(bufferStart)) / (float) 0xffff;
+            dest.y = Short.toUnsignedInt(buffer.getShort(bufferStart + Short.BYTES)) / (float) 0xffff;
+            return dest;
+        }
+
+    }, TypeMapping.ATTR_UNSIGNED_SHORT, 2, true);
+
+    /**
+     * A vector stored as half precision floats. These keep 11 significant bits, so positions within a chunk keep a
+     * precision of at least 1/32 of a block.
+     */
+    public static final VertexAttribute<Vector3fc, Vector3f> VECTOR_3_F_HALF_VERTEX_ATTRIBUTE =
+            new VertexAttribute<>(Vector3f.class, new VertexAttribute.AttributeConfiguration<Vector3fc, Vector3f>() {
+        @Override
+        public void write(Vector3fc value, int vertIdx, int offset, VertexResource resource) {
+            int bufferStart = vertIdx * resource.inStride() + offset;
+            ByteBuffer buffer = resource.buffer();
+            buffer.putShort(bufferStart, toHalfFloat(value.x()));
+            buffer.putShort(bufferStart + Short.BYTES, toHalfFloat(value.y()));
+            buffer.putShort(bufferStart + Short.BYTES * 2, toHalfFloat(value.z()));
+        }
+
+        @Override
+        public Vector3f read(int vertIdx, int offset, VertexResource resource, Vector3f dest) {
+            int bufferStart = vertIdx * resource.inStride() + offset;
+            ByteBuffer buffer = resource.buffer();
+            dest.x = fromHalfFloat(buffer.getShort(bufferStart));
+            dest.y = fromHalfFloat(buffer.getShort(bufferStart + Short.BYTES));
+            dest.z = fromHalfFloat(buffer.getShort(bufferStart + Short.BYTES * 2));
+            return dest;
+        }
+
+    }, TypeMapping.ATTR_HALF_FLOAT, 3);
+
     private GLAttributes() {
     }
+
+    private static int toUnsignedNormalized(float value, int max) {
+        return Math.round(Math.min(Math.max(value, 0f), 1f) * max);
+    }
+
+    private static byte toSignedNormalizedByte(float value) {
+        return (byte) Math.round(Math.min(Math.max(value, -1f), 1f) * Byte.MAX_VALUE);
+    }
+
+    private static float fromSignedNormalizedByte(byte value) {
+        return Math.max(value / (float) Byte.MAX_VALUE, -1f);
+    }
+
+    /**
+     * Converts a float to the bits of the nearest half precision float. Values too large for half precision become
+     * infinite.
+     */
+    static short toHalfFloat(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int floatExponent = (bits >>> 23) & 0xff;
+        int mantissa = bits & 0x7fffff;
+        if (floatExponent == 0xff) {
+            return (short) (sign | 0x7c00 | (mantissa != 0 ? 0x200 : 0));
+        }
+        int exponent = floatExponent - 127 + 15;
+        if (exponent >= 0x1f) {
+            return (short) (sign | 0x7c00);
+        }
+        if (exponent <= 0) {
+            if (exponent < -10) {
+                return (short) sign;
+            }
+            int shift = 14 - exponent;
+            mantissa |= 0x800000;
+            int half = mantissa >> shift;
+            if ((mantissa >> (shift - 1) & 1) != 0) {
+                half++;
+            }
+            return (short) (sign | half);
+        }
+        // rounding may carry into the exponent, which still yields the correct result
+        int half = sign | exponent << 10 | mantissa >> 13;
+        if ((mantissa & 0x1000) != 0) {
+            half++;
+        }
+        return (short) half;
+    }
+
+    /**
+     * Converts the bits of a half precision float to a float.
+     */
+    static float fromHalfFloat(short half) {
+        int bits = half & 0xffff;
+        int sign = (bits & 0x8000) << 16;
+        int exponent = (bits >>> 10) & 0x1f;
+        int mantissa = bits & 0x3ff;
+        if (exponent == 0x1f) {
+            return Float.intBitsToFloat(sign | 0x7f800000 | mantissa << 13);
+        }
+        if (exponent == 0) {
+            float value = mantissa * 0x1p-24f;
+            return sign != 0 ? -value : value;
+        }
+        return Float.intBitsToFloat(sign | (exponent - 15 + 127) << 23 | mantissa << 13);
+    }
 }
@@ -9,7 +9,10 @@ public enum TypeMapping {
     ATTR_FLOAT(Float.BYTES, GL30.GL_FLOAT),
     ATTR_SHORT(Short.BYTES, GL30.GL_SHORT),
     ATTR_BYTE(Byte.BYTES, GL30.GL_BYTE),
-    ATTR_INT(Integer.BYTES, GL30.GL_INT);
+    ATTR_INT(Integer.BYTES, GL30.GL_INT),
+    ATTR_UNSIGNED_BYTE(Byte.BYTES, GL30.GL_UNSIGNED_BYTE),
+    ATTR_UNSIGNED_SHORT(Short.BYTES, GL30.GL_UNSIGNED_SHORT),
+    ATTR_HALF_FLOAT(Short.BYTES, GL30.GL_HALF_FLOAT);
 
     public final int size;
     public final int glType;
@@ -25,6 +25,19 @@ protected VertexAttribute(Class<I> type, AttributeConfiguration<T, I> attributeC
         this.configuration = attributeConfiguration;
     }
 
+    /**
+     * @param type the mapping type
+     * @param mapping maps a primitive to a given supported type.
+     * @param count the number elements that is described by the target
+     * @param normalized whether the shader reads the integer values mapped to [0, 1] or [-1, 1]
+     */
+    protected VertexAttribute(Class<I> type, AttributeConfiguration<T, I> attributeConfiguration, TypeMapping mapping,
+                              int count, boolean normalized) {
+        super(mapping, count, normalized);
+        this.type = type;
+        this.configuration = attributeConfiguration;
+    }
+
     public interface AttributeConfiguration<U, V> {
         void write(U value, int vertIdx, int offset, VertexResource resource);
 
@@ -15,6 +15,17 @@ protected VertexFloatAttribute(VertexFloatAttribute.AttributeConfiguration attri
         this.configuration = attributeConfiguration;
     }
 
+    /**
+     * @param mapping maps a primitive to a given supported type.
+     * @param count the number elements that is described by the target
+     * @param normalized whether the shader reads the integer values mapped to [0, 1] or [-1, 1]
+     */
+    protected VertexFloatAttribute(VertexFloatAttribute.AttributeConfiguration attributeConfiguration,
+                                   TypeMapping mapping, int count, boolean normalized) {
+        super(mapping, count, normalized);
+        this.configuration = attributeConfiguration;
+    }
+
     public interface AttributeConfiguration {
         void write(float value, int vertIdx, int offset, VertexResource resource);
 
@@ -0,0 +1,215 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.rendering.logic;
+
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Quaternionfc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.terasology.engine.rendering.assets.animation.MeshAnimationFrame;
+import org.terasology.engine.rendering.assets.skeletalmesh.Bone;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The pose of a single skeleton, evaluated from the frames of an animation into preallocated buffers.
+ * <p>
+ * The local transforms of the bones are stored in flat float arrays, and the object space and skinning transforms in
+ * matrices created once per skeleton, so evaluating a pose allocates nothing. Bones which are not part of the current
+ * animation keep their last local transform, which initially is the one of the bind pose.
+ * <p>
+ * Different poses can be evaluated in parallel, but a single pose must not be used by more than one thread at a time.
+ */
+public final class SkeletonPose {
+    private final Bone[] bones;
+    private final int[] parents;
+    /**
+     * The indices of the bones, ordered so that each bone comes after its parent.
+     */
+    private final int[] evaluationOrder;
+
+    private final float[] positions;
+    private final float[] rotations;
+    private final float[] scales;
+    private final Matrix4f[] objectTransforms;
+    private final Matrix4f[] skinningTransforms;
+    private final List<Matrix4f> skinningTransformList;
+
+    private int[] animatedBones = new int[0];
+    private MeshAnimationFrame frameA;
+    private MeshAnimationFrame frameB;
+    private float interpolation;
+
+    private final Vector3f tempPosition = new Vector3f();
+    private final Vector3f tempScale = new Vector3f();
+    private final Quaternionf tempRotation = new Quaternionf();
+    private final Matrix4f tempLocalTransform = new Matrix4f();
+
+    /**
+     * @param bones the bones of the skeletal mesh, with indices from 0 to the number of bones
+     */
+    public SkeletonPose(Collection<Bone> bones) {
+        int boneCount = bones.size();
+        this.bones = new Bone[boneCount];
+        for (Bone bone : bones) {
+            this.bones[bone.getIndex()] = bone;
+        }
+        parents = new int[boneCount];
+        positions = new float[boneCount * 3];
+        rotations = new float[boneCount * 4];
+        scales = new float[boneCount];
+        objectTransforms = new Matrix4f[boneCount];
+        skinningTransforms = new Matrix4f[boneCount];
+        for (int i = 0; i < boneCount; i++) {
+            Bone bone = this.bones[i];
+            parents[i] = bone.getParentIndex();
+            setLocalTransform(i, bone.getLocalPosition(), bone.getLocalRotation(), bone.getLocalScale().x);
+            objectTransforms[i] = new Matrix4f();
+            skinningTransforms[i] = new Matrix4f();
+        }
+        skinningTransformList = Collections.unmodifiableList(Arrays.asList(skinningTransforms));
+
+        evaluationOrder = new int[boneCount];
+        int ordered = 0;
+        for (int i = 0; i < boneCount; i++) {
+            if (parents[i] == -1) {
+                ordered = addSubtree(this.bones[i], ordered);
+            }
+        }
+        evaluate();
+    }
+
+    private int addSubtree(Bone bone, int ordered) {
+        evaluationOrder[ordered++] = bone.getIndex();
+        for (Bone child : bone.getChildren()) {
+            ordered = addSubtree(child, ordered);
+        }
+        return ordered;
+    }
+
+    public int getBoneCount() {
+        return bones.length;
+    }
+
+    /**
+     * @return the index of the parent of the bone, or -1 if it is a root bone
+     */
+    public int getParentIndex(int bone) {
+        return parents[bone];
+    }
+
+    /**
+     * Sets the bones the frames of the animation refer to. Bones the mesh does not have are ignored.
+     *
+     * @param boneNames the names of the bones of the animation, in the order of the bone data of its frames
+     */
+    public void setAnimatedBones(List<String> boneNames) {
+        animatedBones = new int[boneNames.size()];
+        for (int i = 0; i < animatedBones.length; i++) {
+            animatedBones[i] = -1;
+            for (Bone bone : bones) {
+                if (bone.getName().equals(boneNames.get(i))) {
+                    animatedBones[i] = bone.getIndex();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the frames to interpolate between during the next evaluation.
+     *
+     * @param interpolation the weight of the second frame, from 0 to 1
+     */
+    public void setFrames(MeshAnimationFrame first, MeshAnimationFrame second, float interpolation) {
+        this.frameA = first;
+        this.frameB = second;
+        this.interpolation = interpolation;
+    }
+
+    /**
+     * Interpolates the local transforms of the animated bones between the frames set, if any, and updates the object
+     * space and skinning transforms of all bones.
+     */
+    public void evaluate() {
+        if (frameA != null && frameB != null) {
+            for (int i = 0; i < animatedBones.length; i++) {
+                int bone = animatedBones[i];
+                if (bone == -1) {
+                    continue;
+                }
+                frameA.getPosition(i).lerp(frameB.getPosition(i), interpolation, tempPosition);
+                frameA.getRotation(i).slerp(frameB.getRotation(i), interpolation, tempRotation).normalize();
+                frameA.getBoneScale(i).lerp(frameB.getBoneScale(i), interpolation, tempScale);
+                setLocalTransform(bone, tempPosition, tempRotation, tempScale.x);
+            }
+            frameA = null;
+            frameB = null;
+        }
+
+        for (int bone : evaluationOrder) {
+            int i3 = bone * 3;
+            int i4 = bone * 4;
+            float scale = scales[bone];
+            tempLocalTransform.translationRotateScale(positions[i3], positions[i3 + 1], positions[i3 + 2],
+                    rotations[i4], rotations[i4 + 1], rotations[i4 + 2], rotations[i4 + 3], scale, scale, scale);
+            Matrix4f objectTransform = objectTransforms[bone];
+            if (parents[bone] == -1) {
+                objectTransform.set(tempLocalTransform);
+            } else {
+                objectTransforms[parents[bone]].mul(tempLocalTransform, objectTransform);
+            }
+            objectTransform.mul(bones[bone].getInverseBindMatrix(), skinningTransforms[bone]).transpose();
+        }
+    }
+
+    /**
+     * Sets the local transform of the bone, e.g. to one set by another system. It is used by the next evaluation, and
+     * kept until the bone is animated again.
+     */
+    public void setLocalTransform(int bone, Vector3fc position, Quaternionfc rotation, float scale) {
+        int i3 = bone * 3;
+        int i4 = bone * 4;
+        positions[i3] = position.x();
+        positions[i3 + 1] = position.y();
+        positions[i3 + 2] = position.z();
+        rotations[i4] = rotation.x();
+        rotations[i4 + 1] = rotation.y();
+        rotations[i4 + 2] = rotation.z();
+        rotations[i4 + 3] = rotation.w();
+        scales[bone] = scale;
+    }
+
+    public Vector3f getLocalPosition(int bone, Vector3f dest) {
+        int i3 = bone * 3;
+        return dest.set(positions[i3], positions[i3 + 1], positions[i3 + 2]);
+    }
+
+    public Quaternionf getLocalRotation(int bone, Quaternionf dest) {
+        int i4 = bone * 4;
+        return dest.set(rotations[i4], rotations[i4 + 1], rotations[i4 + 2], rotations[i4 + 3]);
+    }
+
+    public float getLocalScale(int bone) {
+        return scales[bone];
+    }
+
+    /**
+     * @return the transform of the bone relative to the skeleton, as of the last evaluation
+     */
+    public Matrix4f getObjectTransform(int bone) {
+        return objectTransforms[bone];
+    }
+
+    /**
+     * @return the transposed skinning transforms of all bones, ordered by bone index, as of the last evaluation
+     */
+    public List<Matrix4f> getSkinningTransforms() {
+        return skinningTransformList;
+    }
+}
@@ -3,10 +3,12 @@
 
 package org.terasology.engine.rendering.logic;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.joml.Matrix3f;
 import org.joml.Matrix4f;
 import org.joml.Quaternionf;
+import org.joml.Quaternionfc;
 import org.joml.Vector3f;
 import org.joml.Vector3fc;
 import org.lwjgl.BufferUtils;
@@ -16,7 +18,9 @@
 import org.terasology.engine.config.Config;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnChangedComponent;
 import org.terasology.engine.entitySystem.event.ReceiveEvent;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
@@ -30,6 +34,7 @@
 import org.terasology.engine.rendering.assets.animation.MeshAnimationFrame;
 import org.terasology.engine.rendering.assets.material.Material;
 import org.terasology.engine.rendering.assets.skeletalmesh.Bone;
+import org.terasology.engine.rendering.assets.skeletalmesh.SkeletalMesh;
 import org.terasology.engine.rendering.opengl.OpenGLSkeletalMesh;
 import org.terasology.engine.rendering.world.WorldRenderer;
 import org.terasology.engine.utilities.Assets;
@@ -38,6 +43,7 @@
 import java.nio.FloatBuffer;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import static org.lwjgl.opengl.GL11.GL_DEPTH_TEST;
@@ -54,6 +60,11 @@ public class SkeletonRenderer extends BaseComponentSystem implements RenderSyste
 
     private static final Logger logger = LoggerFactory.getLogger(SkeletonRenderer.class);
 
+    /**
+     * Minimum number of skeletons to evaluate the poses of in parallel.
+     */
+    private static final int PARALLEL_EVALUATION_THRESHOLD = 16;
+
     @In
     private EntityManager entityManager;
 
@@ -65,6 +76,25 @@ public class SkeletonRenderer extends BaseComponentSystem implements RenderSyste
 
     private Random random = new Random();
 
+    private final Map<EntityRef, AnimatedSkeleton> skeletons = Maps.newHashMap();
+    private final Map<EntityRef, BoneEntity> boneEntities = Maps.newHashMap();
+    private boolean syncingBoneEntities;
+    private final List<AnimatedSkeleton> posesToEvaluate = Lists.newArrayList();
+
+    private final Quaternionf worldRot = new Quaternionf();
+    private final Vector3f worldPos = new Vector3f();
+    private final Quaternionf inverseWorldRot = new Quaternionf();
+    private final Vector3f worldPositionCameraSpace = new Vector3f();
+    private final Vector3f aabbCenter = new Vector3f();
+    private final Vector3f scaledExtents = new Vector3f();
+    private final Matrix4f matrixCameraSpace = new Matrix4f();
+    private final Matrix4f modelViewMatrix = new Matrix4f();
+    private final Matrix3f normalMatrix = new Matrix3f();
+    private final AABBf transformedAabb = new AABBf();
+    private final AABBf scaledAabb = new AABBf();
+    private final FloatBuffer tempMatrixBuffer44 = BufferUtils.createFloatBuffer(16);
+    private final FloatBuffer tempMatrixBuffer33 = BufferUtils.createFloatBuffer(12);
+
     @ReceiveEvent(components = {SkeletalMeshComponent.class, LocationComponent.class})
     public void newSkeleton(OnActivatedComponent event, EntityRef entity) {
         SkeletalMeshComponent skeleton = entity.getComponent(SkeletalMeshComponent.class);
@@ -98,13 +128,72 @@ public void newSkeleton(OnActivatedComponent event, EntityRef entity) {
             }
         }
         entity.saveComponent(skeleton);
+        removeSkeleton(entity);
+        getSkeleton(entity, skeleton);
+    }
+
+    @ReceiveEvent(components = SkeletalMeshComponent.class)
+    public void onSkeletonDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
+        removeSkeleton(entity);
+    }
+
+    /**
+     * Keeps track of the bones which have other entities attached, and applies the transforms other systems set on
+     * bone entities, e.g. to make a head look at something, to the poses.
+     */
+    @ReceiveEvent(components = LocationComponent.class)
+    public void onBoneLocationChanged(OnChangedComponent event, EntityRef entity) {
+        if (syncingBoneEntities) {
+            return;
+        }
+        BoneEntity boneEntity = boneEntities.get(entity);
+        if (boneEntity == null) {
+            return;
+        }
+        AnimatedSkeleton skeleton = boneEntity.skeleton;
+        int bone = boneEntity.index;
+        LocationComponent boneLoc = entity.getComponent(LocationComponent.class);
+        boolean observed = isObserved(skeleton.bones[bone], boneLoc);
+        if (observed != skeleton.observedBones[bone]) {
+            skeleton.observedBones[bone] = observed;
+            skeleton.syncBonesValid = false;
+        }
+        if (!skeleton.matchesEntityTransform(bone, boneLoc)) {
+            skeleton.rememberEntityTransform(bone, boneLoc);
+            skeleton.pose.setLocalTransform(bone, boneLoc.getLocalPosition(), boneLoc.getLocalRotation(),
+                    boneLoc.getLocalScale());
+            skeleton.poseChanged = true;
+            if (!skeleton.controlledBones[bone]) {
+                skeleton.controlledBones[bone] = true;
+                skeleton.syncBonesValid = false;
+            }
+        }
     }
 
+    /**
+     * Advances the animations of all skeletons and evaluates their poses, in parallel if there are enough of them.
+     * <p>
+     * The bone entities are only updated with the new pose when something else is attached to them, or to one of
+     * their child bones, when other systems have set their transforms before, or when the skeletons are rendered for
+     * debugging.
+     */
     @Override
     public void update(float delta) {
         for (EntityRef entity : entityManager.getEntitiesWith(SkeletalMeshComponent.class, LocationComponent.class)) {
             updateSkeletalMeshOfEntity(entity, delta);
         }
+
+        if (posesToEvaluate.size() >= PARALLEL_EVALUATION_THRESHOLD) {
+            posesToEvaluate.parallelStream().forEach(skeleton -> skeleton.pose.evaluate());
+        } else {
+            posesToEvaluate.forEach(skeleton -> skeleton.pose.evaluate());
+        }
+
+        boolean syncAll = config.getRendering().getDebug().isRenderSkeletons();
+        for (AnimatedSkeleton skeleton : posesToEvaluate) {
+            syncBoneEntities(skeleton, syncAll);
+        }
+        posesToEvaluate.clear();
     }
 
     private void updateSkeletalMeshOfEntity(EntityRef entity, float delta) {
@@ -140,7 +229,7 @@ private void updateSkeletalMeshOfEntity(EntityRef entity, float delta) {
                 MeshAnimation finishedAnimation = skeletalMeshComp.animation;
                 skeletalMeshComp.animationTime = animationDuration;
                 MeshAnimationFrame frame = skeletalMeshComp.animation.getFrame(skeletalMeshComp.animation.getFrameCount() - 1);
-                updateSkeleton(skeletalMeshComp, frame, frame, 1.0f);
+                updateSkeleton(entity, skeletalMeshComp, frame, frame, 1.0f);
                 // Set animation to null so that AnimEndEvent fires only once
                 skeletalMeshComp.animation = null;
                 entity.saveComponent(skeletalMeshComp);
@@ -164,7 +253,7 @@ private void updateSkeletalMeshOfEntity(EntityRef entity, float delta) {
         }
         MeshAnimationFrame frameA = skeletalMeshComp.animation.getFrame(frameAId);
         MeshAnimationFrame frameB = skeletalMeshComp.animation.getFrame(frameBId);
-        updateSkeleton(skeletalMeshComp, frameA, frameB, framePos - frameAId);
+        updateSkeleton(entity, skeletalMeshComp, frameA, frameB, framePos - frameAId);
         entity.saveComponent(skeletalMeshComp);
     }
 
@@ -183,25 +272,126 @@ private static MeshAnimation randomAnimationData(SkeletalMeshComponent skeletalM
         return animationPool.get(random.nextInt(animationPool.size()));
     }
 
-    private void updateSkeleton(SkeletalMeshComponent skeletalMeshComp, MeshAnimationFrame frameA, MeshAnimationFrame frameB,
-                                float interpolationVal) {
-        for (int i = 0; i < skeletalMeshComp.animation.getBoneCount(); ++i) {
-            String boneName = skeletalMeshComp.animation.getBoneName(i);
-            Bone bone = skeletalMeshComp.mesh.getBone(boneName);
-            EntityRef boneEntity = skeletalMeshComp.boneEntities.get(boneName);
-            if (boneEntity == null || bone == null) {
+    /**
+     * Sets the frames to interpolate between for the pose of the skeleton, which is evaluated once all skeletons are
+     * updated.
+     */
+    private void updateSkeleton(EntityRef entity, SkeletalMeshComponent skeletalMeshComp, MeshAnimationFrame frameA,
+                                MeshAnimationFrame frameB, float interpolationVal) {
+        if (skeletalMeshComp.boneEntities == null) {
+            return;
+        }
+        AnimatedSkeleton skeleton = getSkeleton(entity, skeletalMeshComp);
+        if (skeleton.animation != skeletalMeshComp.animation) {
+            List<String> boneNames = Lists.newArrayListWithCapacity(skeletalMeshComp.animation.getBoneCount());
+            for (int i = 0; i < skeletalMeshComp.animation.getBoneCount(); ++i) {
+                boneNames.add(skeletalMeshComp.animation.getBoneName(i));
+            }
+            skeleton.pose.setAnimatedBones(boneNames);
+            skeleton.animation = skeletalMeshComp.animation;
+        }
+        skeleton.pose.setFrames(frameA, frameB, interpolationVal);
+        if (!skeleton.queued) {
+            skeleton.queued = true;
+            posesToEvaluate.add(skeleton);
+        }
+    }
+
+    private AnimatedSkeleton getSkeleton(EntityRef entity, SkeletalMeshComponent skeletalMeshComp) {
+        AnimatedSkeleton skeleton = skeletons.get(entity);
+        if (skeleton == null || skeleton.mesh != skeletalMeshComp.mesh) {
+            if (skeleton != null) {
+                unbindBoneEntities(skeleton);
+            }
+            skeleton = new AnimatedSkeleton(skeletalMeshComp.mesh);
+            skeletons.put(entity, skeleton);
+        }
+        if (skeleton.boneEntityMap != skeletalMeshComp.boneEntities) {
+            unbindBoneEntities(skeleton);
+            bindBoneEntities(skeleton, skeletalMeshComp.boneEntities);
+        }
+        return skeleton;
+    }
+
+    private void removeSkeleton(EntityRef entity) {
+        AnimatedSkeleton skeleton = skeletons.remove(entity);
+        if (skeleton != null) {
+            unbindBoneEntities(skeleton);
+        }
+    }
+
+    /**
+     * Looks up the entities of the bones once, and which of them are observed. The changes to them are tracked by
+     * {@link #onBoneLocationChanged} from then on.
+     */
+    private void bindBoneEntities(AnimatedSkeleton skeleton, Map<String, EntityRef> boneEntityMap) {
+        skeleton.boneEntityMap = boneEntityMap;
+        if (boneEntityMap == null) {
+            return;
+        }
+        for (int i = 0; i < skeleton.bones.length; i++) {
+            EntityRef boneEntity = boneEntityMap.get(skeleton.bones[i].getName());
+            LocationComponent boneLoc = boneEntity != null ? boneEntity.getComponent(LocationComponent.class) : null;
+            if (boneLoc == null) {
+                logger.warn("Unable to resolve bone \"{}\"", skeleton.bones[i].getName());
                 continue;
             }
-            LocationComponent boneLoc = boneEntity.getComponent(LocationComponent.class);
-            if (boneLoc != null) {
-                Vector3f newPos = frameA.getPosition(i).lerp(frameB.getPosition(i), interpolationVal, new Vector3f());
-                boneLoc.setLocalPosition(newPos);
-                Quaternionf newRot = frameA.getRotation(i).slerp(frameB.getRotation(i), interpolationVal, new Quaternionf());
-                newRot.normalize();
-                boneLoc.setLocalRotation(newRot);
-                boneLoc.setLocalScale(frameA.getBoneScale(i).lerp(frameB.getBoneScale(i), interpolationVal, new Vector3f()).x);
-                boneEntity.saveComponent(boneLoc);
+            skeleton.boneEntities[i] = boneEntity;
+            boneEntities.put(boneEntity, new BoneEntity(skeleton, i));
+            skeleton.rememberEntityTransform(i, boneLoc);
+            skeleton.observedBones[i] = isObserved(skeleton.bones[i], boneLoc);
+        }
+        skeleton.syncBonesValid = false;
+    }
+
+    private void unbindBoneEntities(AnimatedSkeleton skeleton) {
+        for (int i = 0; i < skeleton.bones.length; i++) {
+            if (skeleton.boneEntities[i] != null) {
+                boneEntities.remove(skeleton.boneEntities[i]);
+                skeleton.boneEntities[i] = null;
+            }
+        }
+        Arrays.fill(skeleton.observedBones, false);
+        Arrays.fill(skeleton.controlledBones, false);
+        skeleton.syncBonesValid = false;
+        skeleton.boneEntityMap = null;
+    }
+
+    /**
+     * @return whether the bone entity has children besides the entities of the child bones
+     */
+    private static boolean isObserved(Bone bone, LocationComponent boneLoc) {
+        return boneLoc.getChildren().size() > bone.getChildren().size();
+    }
+
+    /**
+     * Copies the local transforms of the observed bones and of the bones whose transform other systems have set, and
+     * of all of their parent bones, to their bone entities.
+     */
+    private void syncBoneEntities(AnimatedSkeleton skeleton, boolean syncAll) {
+        skeleton.queued = false;
+        skeleton.poseChanged = false;
+        if (!skeleton.syncBonesValid) {
+            skeleton.updateSyncBones();
+        }
+        syncingBoneEntities = true;
+        try {
+            for (int i = 0; i < skeleton.bones.length; i++) {
+                EntityRef boneEntity = skeleton.boneEntities[i];
+                if (boneEntity == null || !syncAll && !skeleton.syncBones[i]) {
+                    continue;
+                }
+                LocationComponent boneLoc = boneEntity.getComponent(LocationComponent.class);
+                if (boneLoc != null) {
+                    boneLoc.setLocalPosition(skeleton.pose.getLocalPosition(i, skeleton.tempPosition));
+                    boneLoc.setLocalRotation(skeleton.pose.getLocalRotation(i, skeleton.tempRotation));
+                    boneLoc.setLocalScale(skeleton.pose.getLocalScale(i));
+                    boneEntity.saveComponent(boneLoc);
+                    skeleton.rememberEntityTransform(i, boneLoc);
+                }
             }
+        } finally {
+            syncingBoneEntities = false;
         }
     }
 
@@ -209,13 +399,6 @@ private void updateSkeleton(SkeletalMeshComponent skeletalMeshComp, MeshAnimatio
     public void renderOpaque() {
         Vector3fc cameraPosition = worldRenderer.getActiveCamera().getPosition();
 
-        Quaternionf worldRot = new Quaternionf();
-        Vector3f worldPos = new Vector3f();
-        Quaternionf inverseWorldRot = new Quaternionf();
-
-        FloatBuffer tempMatrixBuffer44 = BufferUtils.createFloatBuffer(16);
-        FloatBuffer tempMatrixBuffer33 = BufferUtils.createFloatBuffer(12);
-
         for (EntityRef entity : entityManager.getEntitiesWith(SkeletalMeshComponent.class, LocationComponent.class)) {
 
             SkeletalMeshComponent skeletalMesh = entity.getComponent(SkeletalMeshComponent.class);
@@ -239,14 +422,15 @@ public void renderOpaque() {
             float worldScale = location.getWorldScale();
 
 
-            aabb = aabb.transform(new Matrix4f().translationRotateScale(worldPos, worldRot, worldScale), new AABBf());
+            aabb = aabb.transform(matrixCameraSpace.translationRotateScale(worldPos, worldRot, worldScale),
+                    transformedAabb);
 
             //Scale bounding box for skeletalMesh.
             Vector3f scale = skeletalMesh.scale;
 
-            Vector3f aabbCenter = aabb.center(new Vector3f());
-            Vector3f scaledExtents = aabb.extent(new Vector3f()).mul(scale.x(), scale.y(), scale.z());
-            aabb = new AABBf(aabbCenter, aabbCenter).expand(scaledExtents);
+            aabb.center(aabbCenter);
+            aabb.extent(scaledExtents).mul(scale.x(), scale.y(), scale.z());
+            aabb = scaledAabb.setMin(aabbCenter).setMax(aabbCenter).expand(scaledExtents);
 
             if (!worldRenderer.getActiveCamera().hasInSight(aabb)) {
                 continue;
@@ -261,42 +445,29 @@ public void renderOpaque() {
             skeletalMesh.material.setMatrix4("projectionMatrix", worldRenderer.getActiveCamera().getProjectionMatrix());
             skeletalMesh.material.bindTextures();
 
-            Vector3f worldPositionCameraSpace = new Vector3f();
             worldPos.sub(cameraPosition, worldPositionCameraSpace);
 
             worldPositionCameraSpace.y += skeletalMesh.heightOffset;
-            Matrix4f matrixCameraSpace = new Matrix4f().translationRotateScale(worldPositionCameraSpace, worldRot, worldScale);
+            matrixCameraSpace.translationRotateScale(worldPositionCameraSpace, worldRot, worldScale);
 
-            Matrix4f modelViewMatrix = worldRenderer.getActiveCamera().getViewMatrix().mul(matrixCameraSpace, new Matrix4f());
+            worldRenderer.getActiveCamera().getViewMatrix().mul(matrixCameraSpace, modelViewMatrix);
             modelViewMatrix.get(tempMatrixBuffer44);
             skeletalMesh.material.setMatrix4("modelViewMatrix", tempMatrixBuffer44, true);
 
-            modelViewMatrix.normal(new Matrix3f()).get(tempMatrixBuffer33);
+            modelViewMatrix.normal(normalMatrix).get(tempMatrixBuffer33);
             skeletalMesh.material.setMatrix3("normalMatrix", tempMatrixBuffer33, true);
 
             skeletalMesh.material.setFloat("sunlight", worldRenderer.getMainLightIntensityAt(worldPos), true);
             skeletalMesh.material.setFloat("blockLight", worldRenderer.getBlockLightIntensityAt(worldPos), true);
 
-            Matrix4f[] boneTransforms = new Matrix4f[skeletalMesh.mesh.getBones().size()];
-            for (Bone bone : skeletalMesh.mesh.getBones()) {
-                EntityRef boneEntity = skeletalMesh.boneEntities.get(bone.getName());
-                if (boneEntity == null) {
-                    boneEntity = EntityRef.NULL;
-                }
-                LocationComponent boneLocation = boneEntity.getComponent(LocationComponent.class);
-                if (boneLocation != null) {
-                    Matrix4f boneTransform = new Matrix4f();
-                    boneLocation.getRelativeTransform(boneTransform, entity);
-                    boneTransform.mul(bone.getInverseBindMatrix());
-                    boneTransforms[bone.getIndex()] = boneTransform.transpose();
-                } else {
-                    logger.warn("Unable to resolve bone \"{}\"", bone.getName());
-                    boneTransforms[bone.getIndex()] = new Matrix4f();
-
-                }
+            AnimatedSkeleton skeleton = getSkeleton(entity, skeletalMesh);
+            if (skeleton.poseChanged) {
+                skeleton.pose.evaluate();
+                skeleton.poseChanged = false;
             }
+            SkeletonPose pose = skeleton.pose;
             ((OpenGLSkeletalMesh) skeletalMesh.mesh).setScaleTranslate(skeletalMesh.scale, skeletalMesh.translate);
-            ((OpenGLSkeletalMesh) skeletalMesh.mesh).render(Arrays.asList(boneTransforms));
+            ((OpenGLSkeletalMesh) skeletalMesh.mesh).render(pose.getSkinningTransforms());
         }
     }
 
@@ -311,9 +482,6 @@ public void renderOverlay() {
             material.setMatrix4("projectionMatrix", worldRenderer.getActiveCamera().getProjectionMatrix());
             Vector3f worldPos = new Vector3f();
 
-            FloatBuffer tempMatrixBuffer44 = BufferUtils.createFloatBuffer(16);
-            FloatBuffer tempMatrixBuffer33 = BufferUtils.createFloatBuffer(12);
-
             for (EntityRef entity : entityManager.getEntitiesWith(SkeletalMeshComponent.class, LocationComponent.class)) {
                 LocationComponent location = entity.getComponent(LocationComponent.class);
                 SkeletalMeshComponent meshComp = entity.getComponent(SkeletalMeshComponent.class);
@@ -381,4 +549,104 @@ private void renderBone(EntityRef boneEntity) {
             glEnd();
         }
     }
+
+    /**
+     * The pose of the skeletal mesh of an entity, and the state needed to update it.
+     */
+    private static final class AnimatedSkeleton {
+        private final SkeletalMesh mesh;
+        private final Bone[] bones;
+        private final SkeletonPose pose;
+        private final EntityRef[] boneEntities;
+        /**
+         * The bones with other entities attached to their entities.
+         */
+        private final boolean[] observedBones;
+        /**
+         * The bones whose entities other systems have set the transform of.
+         */
+        private final boolean[] controlledBones;
+        /**
+         * The observed and controlled bones, and their parents.
+         */
+        private final boolean[] syncBones;
+        /**
+         * The local position, rotation and scale of each bone entity, as last written or seen.
+         */
+        private final float[] entityTransforms;
+        private final Vector3f tempPosition = new Vector3f();
+        private final Quaternionf tempRotation = new Quaternionf();
+        private MeshAnimation animation;
+        private Map<String, EntityRef> boneEntityMap;
+        private boolean syncBonesValid;
+        private boolean poseChanged;
+        private boolean queued;
+
+        AnimatedSkeleton(SkeletalMesh mesh) {
+            this.mesh = mesh;
+            this.pose = new SkeletonPose(mesh.getBones());
+            this.bones = new Bone[pose.getBoneCount()];
+            for (Bone bone : mesh.getBones()) {
+                bones[bone.getIndex()] = bone;
+            }
+            this.boneEntities = new EntityRef[bones.length];
+            this.observedBones = new boolean[bones.length];
+            this.controlledBones = new boolean[bones.length];
+            this.syncBones = new boolean[bones.length];
+            this.entityTransforms = new float[bones.length * 8];
+        }
+
+        private void updateSyncBones() {
+            Arrays.fill(syncBones, false);
+            for (int i = 0; i < bones.length; i++) {
+                if (observedBones[i] || controlledBones[i]) {
+                    for (int bone = i; bone != -1 && !syncBones[bone]; bone = pose.getParentIndex(bone)) {
+                        syncBones[bone] = true;
+                    }
+                }
+            }
+            syncBonesValid = true;
+        }
+
+        private void rememberEntityTransform(int bone, LocationComponent boneLoc) {
+            Vector3fc position = boneLoc.getLocalPosition();
+            Quaternionfc rotation = boneLoc.getLocalRotation();
+            int i8 = bone * 8;
+            entityTransforms[i8] = position.x();
+            entityTransforms[i8 + 1] = position.y();
+            entityTransforms[i8 + 2] = position.z();
+            entityTransforms[i8 + 3] = rotation.x();
+            entityTransforms[i8 + 4] = rotation.y();
+            entityTransforms[i8 + 5] = rotation.z();
+            entityTransforms[i8 + 6] = rotation.w();
+            entityTransforms[i8 + 7] = boneLoc.getLocalScale();
+        }
+
+        private boolean matchesEntityTransform(int bone, LocationComponent boneLoc) {
+            Vector3fc position = boneLoc.getLocalPosition();
+            Quaternionfc rotation = boneLoc.getLocalRotation();
+            int i8 = bone * 8;
+            return entityTransforms[i8] == position.x()
+                    && entityTransforms[i8 + 1] == position.y()
+                    && entityTransforms[i8 + 2] == position.z()
+                    && entityTransforms[i8 + 3] == rotation.x()
+                    && entityTransforms[i8 + 4] == rotation.y()
+                    && entityTransforms[i8 + 5] == rotation.z()
+                    && entityTransforms[i8 + 6] == rotation.w()
+                    && entityTransforms[i8 + 7] == boneLoc.getLocalScale();
+        }
+    }
+
+    /**
+     * The skeleton a bone entity belongs to, and the index of its bone.
+     */
+    private static final class BoneEntity {
+        private final AnimatedSkeleton skeleton;
+        private final int index;
+
+        BoneEntity(AnimatedSkeleton skeleton, int index) {
+            this.skeleton = skeleton;
+            this.index = index;
+        }
+    }
 }
@@ -40,7 +40,9 @@ public void initialise() {
         register(new AllocationsMode());
         register(new RunningThreadsMode());
         register(new WorldRendererMode());
+        register(new WorldGenerationMode());
         register(new HeapAllocationMode());
+        register(new RecordedMetricsMode());
         register(new RenderingExecTimeMeansMode("\n- Rendering - Execution Time: Running Means - Sorted Alphabetically -"));
         currentMode = defaultMode;
     }
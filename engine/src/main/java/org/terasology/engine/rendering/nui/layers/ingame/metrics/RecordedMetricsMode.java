@@ -0,0 +1,50 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.rendering.nui.layers.ingame.metrics;
+
+import gnu.trove.map.TObjectDoubleMap;
+import org.terasology.engine.monitoring.PerformanceMonitor;
+
+import java.text.NumberFormat;
+import java.util.Arrays;
+
+/**
+ * Displays the metrics recorded through {@link PerformanceMonitor#recordMetric(String, double)}, sorted by name.
+ */
+final class RecordedMetricsMode extends MetricsMode {
+    private final StringBuilder builder = new StringBuilder();
+    private final NumberFormat format;
+
+    RecordedMetricsMode() {
+        super("\n- Recorded Metrics -");
+        format = NumberFormat.getInstance();
+        format.setMaximumFractionDigits(2);
+    }
+
+    @Override
+    public String getMetrics() {
+        builder.setLength(0);
+        builder.append(getName());
+        builder.append("\n");
+        TObjectDoubleMap<String> metrics = PerformanceMonitor.getRecordedMetrics();
+        String[] names = metrics.keys(new String[metrics.size()]);
+        Arrays.sort(names);
+        for (String name : names) {
+            builder.append(name);
+            builder.append(": ");
+            builder.append(format.format(metrics.get(name)));
+            builder.append("\n");
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean isPerformanceManagerMode() {
+        return true;
+    }
+}
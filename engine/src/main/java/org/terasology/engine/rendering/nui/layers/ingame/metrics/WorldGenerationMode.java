@@ -0,0 +1,52 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.rendering.nui.layers.ingame.metrics;
+
+import org.terasology.engine.registry.CoreRegistry;
+import org.terasology.engine.world.generation.ColumnFacetCache;
+import org.terasology.engine.world.generation.World;
+import org.terasology.engine.world.generation.WorldImpl;
+import org.terasology.engine.world.generator.WorldGenerator;
+
+final class WorldGenerationMode extends MetricsMode {
+
+    WorldGenerationMode() {
+        super("\n- World Generation -");
+    }
+
+    @Override
+    public String getMetrics() {
+        ColumnFacetCache facetCache = getFacetCache();
+        if (facetCache == null) {
+            return getName();
+        }
+        StringBuilder builder = new StringBuilder();
+        builder.append(getName());
+        builder.append("\n");
+        builder.append(String.format("Facet cache hits: %d%n", facetCache.getHits()));
+        builder.append(String.format("Facet cache misses: %d%n", facetCache.getMisses()));
+        builder.append(String.format("Facet cache hit rate: %.1f%%%n", 100 * facetCache.getHitRate()));
+        builder.append(String.format("Facet cache entries: %d%n", facetCache.size()));
+        return builder.toString();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return getFacetCache() != null;
+    }
+
+    @Override
+    public boolean isPerformanceManagerMode() {
+        return false;
+    }
+
+    private static ColumnFacetCache getFacetCache() {
+        WorldGenerator worldGenerator = CoreRegistry.get(WorldGenerator.class);
+        if (worldGenerator == null) {
+            return null;
+        }
+        World world = worldGenerator.getWorld();
+        return world instanceof WorldImpl ? ((WorldImpl) world).getFacetCache() : null;
+    }
+}
@@ -58,7 +58,8 @@ default VBOContext buildVBO(int vbo, AllocationType allocation, VertexResource[]
             for (VertexResource.VertexDefinition attribute : resource.definitions()) {
                 GL30.glEnableVertexAttribArray(attribute.location);
                 GL30.glVertexAttribPointer(attribute.location, attribute.attribute.count,
-                        attribute.attribute.mapping.glType, false, resource.inStride(), offset + attribute.offset);
+                        attribute.attribute.mapping.glType, attribute.attribute.normalized, resource.inStride(),
+                        offset + attribute.offset);
             }
             offset += resource.inSize();
         }
@@ -62,9 +62,11 @@ public enum RenderPhase {
 
     /* STATS */
     private int triangleCount = -1;
+    private int dataSize;
 
     /* TEMPORARY DATA */
     private VertexElements[] vertexElements = new VertexElements[RenderType.values().length];
+    private final ChunkVertexFormat vertexFormat;
 
     private boolean disposed;
 
@@ -76,11 +78,20 @@ public enum RenderPhase {
     private int timeToGenerateOptimizedBuffers;
 
     public ChunkMesh() {
+        this(ChunkVertexFormat.STANDARD);
+    }
+
+    public ChunkMesh(ChunkVertexFormat vertexFormat) {
+        this.vertexFormat = vertexFormat;
         for (RenderType type : RenderType.values()) {
-            vertexElements[type.ordinal()] = new VertexElements();
+            vertexElements[type.ordinal()] = new VertexElements(vertexFormat);
         }
     }
 
+    public ChunkVertexFormat getVertexFormat() {
+        return vertexFormat;
+    }
+
     public VertexElements getVertexElements(RenderType renderType) {
         return vertexElements[renderType.ordinal()];
     }
@@ -105,6 +116,7 @@ public boolean generateVBOs() {
                 // Make sure that if it has already been generated, the previous buffers are freed
                 dispose();
                 disposed = false;
+                dataSize = getDataSize();
 
                 for (RenderType type : RenderType.values()) {
                     generateVBO(type);
@@ -144,7 +156,8 @@ private void generateVBO(RenderType type) {
                             definition.attribute.mapping.glType, elements.buffer.inStride(), definition.offset);
                 } else {
                     GL30.glVertexAttribPointer(definition.location, definition.attribute.count,
-                            definition.attribute.mapping.glType, false, elements.buffer.inStride(), definition.offset);
+                            definition.attribute.mapping.glType, definition.attribute.normalized,
+                            elements.buffer.inStride(), definition.offset);
                 }
             }
 
@@ -280,6 +293,23 @@ public boolean isEmpty() {
         return triangleCount == 0;
     }
 
+    /**
+     * The memory taken by the vertex and index data of the mesh. Once the data has been discarded, this is the memory
+     * taken by the generated VBOs.
+     *
+     * @return the size of the vertex and index data in bytes
+     */
+    public int getDataSize() {
+        if (vertexElements == null) {
+            return dataSize;
+        }
+        int size = 0;
+        for (VertexElements elements : vertexElements) {
+            size += elements.buffer.inSize() + elements.indices.inSize();
+        }
+        return size;
+    }
+
     void setTimeToGenerateBlockVertices(int timeToGenerateBlockVertices) {
         this.timeToGenerateBlockVertices = timeToGenerateBlockVertices;
     }
@@ -325,24 +355,24 @@ public static class VertexElements {
         public final VertexIntegerAttributeBinding flags;
         public final VertexIntegerAttributeBinding frames;
 
-        public final VertexFloatAttributeBinding sunlight;         // this could be changed to a single byte
-        public final VertexFloatAttributeBinding blockLight;       // this could be changed to a single byte
-        public final VertexFloatAttributeBinding ambientOcclusion; // this could be changed to a single byte
+        public final VertexFloatAttributeBinding sunlight;         // a single byte in the packed format
+        public final VertexFloatAttributeBinding blockLight;       // a single byte in the packed format
+        public final VertexFloatAttributeBinding ambientOcclusion; // a single byte in the packed format
         public  int vertexCount;
 
 
-        VertexElements() {
+        VertexElements(ChunkVertexFormat format) {
             VertexResourceBuilder builder = new VertexResourceBuilder();
-            position = builder.add(VERTEX_INDEX, GLAttributes.VECTOR_3_F_VERTEX_ATTRIBUTE);
-            normals = builder.add(NORMAL_INDEX, GLAttributes.VECTOR_3_F_VERTEX_ATTRIBUTE);
-            uv0 = builder.add(UV0_INDEX, GLAttributes.VECTOR_2_F_VERTEX_ATTRIBUTE);
+            position = builder.add(VERTEX_INDEX, format.getPosition());
+            normals = builder.add(NORMAL_INDEX, format.getNormal());
+            uv0 = builder.add(UV0_INDEX, format.getUv());
 
             flags = builder.add(FLAGS_INDEX, GLAttributes.BYTE_1_VERTEX_ATTRIBUTE);
             frames = builder.add(FRAME_INDEX, GLAttributes.BYTE_1_VERTEX_ATTRIBUTE);
 
-            sunlight = builder.add(SUNLIGHT_INDEX, GLAttributes.FLOAT_1_VERTEX_ATTRIBUTE);
-            blockLight = builder.add(BLOCK_INDEX, GLAttributes.FLOAT_1_VERTEX_ATTRIBUTE);
-            ambientOcclusion = builder.add(AMBIENT_OCCLUSION_INDEX, GLAttributes.FLOAT_1_VERTEX_ATTRIBUTE);
+            sunlight = builder.add(SUNLIGHT_INDEX, format.getLight());
+            blockLight = builder.add(BLOCK_INDEX, format.getLight());
+            ambientOcclusion = builder.add(AMBIENT_OCCLUSION_INDEX, format.getLight());
 
             buffer = builder.build();
         }
@@ -4,6 +4,8 @@
 
 import com.google.common.base.Stopwatch;
 import org.joml.Vector3f;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.terasology.engine.monitoring.PerformanceMonitor;
 import org.terasology.engine.world.ChunkView;
 import org.terasology.engine.world.block.Block;
@@ -17,10 +19,48 @@
  */
 public final class ChunkTessellator {
 
+    private static final Logger logger = LoggerFactory.getLogger(ChunkTessellator.class);
+
     private static int statVertexArrayUpdateCount;
 
+    private final boolean greedyMeshing;
+    private final ChunkVertexFormat vertexFormat;
+
     public ChunkTessellator() {
+        this(false);
+    }
 
+    /**
+     * @param greedyMeshing whether to merge adjacent faces of full cube blocks into larger quads, see
+     *         {@link GreedyMesher}
+     */
+    public ChunkTessellator(boolean greedyMeshing) {
+        this(greedyMeshing, ChunkVertexFormat.STANDARD);
+    }
+
+    /**
+     * @param greedyMeshing whether to merge adjacent faces of full cube blocks into larger quads, see
+     *         {@link GreedyMesher}
+     * @param vertexFormat the layout to store the vertices of the generated meshes in. The quads merged by greedy
+     *         meshing repeat their texture beyond the atlas tile, which {@link ChunkVertexFormat#PACKED} cannot store,
+     *         so {@link ChunkVertexFormat#STANDARD} is used instead when combined with greedy meshing.
+     */
+    public ChunkTessellator(boolean greedyMeshing, ChunkVertexFormat vertexFormat) {
+        this.greedyMeshing = greedyMeshing;
+        if (greedyMeshing && vertexFormat == ChunkVertexFormat.PACKED) {
+            logger.warn("The {} chunk vertex format does not support greedy meshing, using {} instead",
+                    ChunkVertexFormat.PACKED, ChunkVertexFormat.STANDARD);
+            this.vertexFormat = ChunkVertexFormat.STANDARD;
+        } else {
+            this.vertexFormat = vertexFormat;
+        }
+    }
+
+    /**
+     * @return the layout the vertices of the generated meshes are stored in
+     */
+    public ChunkVertexFormat getVertexFormat() {
+        return vertexFormat;
     }
 
     public ChunkMesh generateMesh(ChunkView chunkView) {
@@ -29,7 +69,7 @@ public ChunkMesh generateMesh(ChunkView chunkView) {
 
     public ChunkMesh generateMesh(ChunkView chunkView, float scale, int border) {
         PerformanceMonitor.startActivity("GenerateMesh");
-        ChunkMesh mesh = new ChunkMesh();
+        ChunkMesh mesh = new ChunkMesh(vertexFormat);
 
         final Stopwatch watch = Stopwatch.createStarted();
 
@@ -39,11 +79,17 @@ public ChunkMesh generateMesh(ChunkView chunkView, float scale, int border) {
 
         // The mesh extends into the borders in the horizontal directions, but not vertically upwards, in order to cover
         // gaps between LOD chunks of different scales, but also avoid multiple overlapping ocean surfaces.
+        GreedyMesher greedyMesher = null;
+        if (greedyMeshing) {
+            greedyMesher = new GreedyMesher(chunkView, mesh, Chunks.SIZE_X, Chunks.SIZE_Y - border * 2, Chunks.SIZE_Z);
+            greedyMesher.generate();
+        }
         for (int x = 0; x < Chunks.SIZE_X; x++) {
             for (int z = 0; z < Chunks.SIZE_Z; z++) {
                 for (int y = 0; y < Chunks.SIZE_Y - border * 2; y++) {
                     Block block = chunkView.getBlock(x, y, z);
-                    if (block != null && block.getMeshGenerator() != null) {
+                    if (block != null && block.getMeshGenerator() != null
+                            && (greedyMesher == null || !greedyMesher.canMerge(block))) {
                         block.getMeshGenerator().generateChunkMesh(chunkView, mesh, x, y, z);
                     }
                 }
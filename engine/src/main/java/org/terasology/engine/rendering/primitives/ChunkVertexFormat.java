@@ -0,0 +1,72 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.rendering.primitives;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.terasology.engine.rendering.assets.mesh.resource.GLAttributes;
+import org.terasology.engine.rendering.assets.mesh.resource.VertexAttribute;
+import org.terasology.engine.rendering.assets.mesh.resource.VertexFloatAttribute;
+
+/**
+ * The layouts chunk mesh vertices can be stored in.
+ * <p>
+ * All layouts bind the same attributes to the same locations, and the shader reads them as the same floats, so the
+ * chunk material works with each of them. They only differ in the precision and memory taken per vertex.
+ */
+public enum ChunkVertexFormat {
+    /**
+     * Stores positions, normals, texture coordinates and lighting as 32 bit floats, taking 46 bytes per vertex.
+     */
+    STANDARD(GLAttributes.VECTOR_3_F_VERTEX_ATTRIBUTE,
+            GLAttributes.VECTOR_3_F_VERTEX_ATTRIBUTE,
+            GLAttributes.VECTOR_2_F_VERTEX_ATTRIBUTE,
+            GLAttributes.FLOAT_1_VERTEX_ATTRIBUTE),
+
+    /**
+     * Stores positions as half floats, normals as signed bytes, texture coordinates as unsigned shorts and lighting
+     * as unsigned bytes, taking 18 bytes per vertex.
+     * <p>
+     * Positions keep a precision of 1/32 of a block within a chunk, texture coordinates of 1/16 of a texel in a 4096
+     * texel wide atlas and lighting of 1/255. Texture coordinates outside of [0, 1] are clamped, so this format cannot
+     * be used with greedy meshing.
+     */
+    PACKED(GLAttributes.VECTOR_3_F_HALF_VERTEX_ATTRIBUTE,
+            GLAttributes.VECTOR_3_F_NORMALIZED_BYTE_VERTEX_ATTRIBUTE,
+            GLAttributes.VECTOR_2_F_NORMALIZED_SHORT_VERTEX_ATTRIBUTE,
+            GLAttributes.FLOAT_1_NORMALIZED_BYTE_VERTEX_ATTRIBUTE);
+
+    private final VertexAttribute<Vector3fc, Vector3f> position;
+    private final VertexAttribute<Vector3fc, Vector3f> normal;
+    private final VertexAttribute<Vector2fc, Vector2f> uv;
+    private final VertexFloatAttribute light;
+
+    ChunkVertexFormat(VertexAttribute<Vector3fc, Vector3f> position, VertexAttribute<Vector3fc, Vector3f> normal,
+                      VertexAttribute<Vector2fc, Vector2f> uv, VertexFloatAttribute light) {
+        this.position = position;
+        this.normal = normal;
+        this.uv = uv;
+        this.light = light;
+    }
+
+    VertexAttribute<Vector3fc, Vector3f> getPosition() {
+        return position;
+    }
+
+    VertexAttribute<Vector3fc, Vector3f> getNormal() {
+        return normal;
+    }
+
+    VertexAttribute<Vector2fc, Vector2f> getUv() {
+        return uv;
+    }
+
+    /**
+     * @return the attribute of the sunlight, block light and ambient occlusion
+     */
+    VertexFloatAttribute getLight() {
+        return light;
+    }
+}
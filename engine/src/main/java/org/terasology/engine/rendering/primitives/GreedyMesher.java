@@ -0,0 +1,296 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.rendering.primitives;
+
+import com.google.common.collect.Maps;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.joml.Vector3ic;
+import org.terasology.engine.math.Side;
+import org.terasology.engine.world.ChunkView;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockAppearance;
+import org.terasology.engine.world.block.BlockPart;
+import org.terasology.engine.world.block.shapes.BlockMeshPart;
+
+import java.util.Map;
+
+/**
+ * Tessellates the faces of full cube blocks, merging adjacent coplanar faces of the same block and lighting into
+ * larger quads.
+ * <p>
+ * Only blocks using the {@link BlockMeshGeneratorSingleShape} with a plain quad for each side, and which are neither
+ * liquid, waving, double sided nor animated, are merged. All other blocks have to be tessellated by their own mesh
+ * generator. Faces are only merged if all of their corners have the same lighting, otherwise they are added on their
+ * own.
+ * <p>
+ * The texture coordinates of a merged quad repeat those of a single face once per block, so they extend past the
+ * texture's tile in the atlas. The chunk material has to wrap them within the tile to show the texture repeated,
+ * which the current one does not do, so the game does not use greedy meshing yet.
+ */
+final class GreedyMesher {
+    private static final float EPSILON = 1e-4f;
+    private static final int[] SIDE_AXES = new int[Side.values().length];
+
+    private final ChunkView view;
+    private final ChunkMesh mesh;
+    private final int[] size;
+    private final Map<Block, Boolean> mergeable = Maps.newIdentityHashMap();
+
+    private final Block[] maskBlocks;
+    private final float[] maskSunlight;
+    private final float[] maskBlockLight;
+    private final float[] maskOcclusion;
+
+    private final Vector3f vertexPos = new Vector3f();
+    private final Vector2f texCoord = new Vector2f();
+    private final Vector2f texGradientU = new Vector2f();
+    private final Vector2f texGradientV = new Vector2f();
+
+    static {
+        for (Side side : Side.values()) {
+            Vector3ic direction = side.direction();
+            SIDE_AXES[side.ordinal()] = direction.x() != 0 ? 0 : direction.y() != 0 ? 1 : 2;
+        }
+    }
+
+    /**
+     * @param view the blocks to tessellate, and their surroundings
+     * @param mesh the mesh to add the quads to
+     * @param sizeX the number of blocks to tessellate along the x axis, starting at 0
+     * @param sizeY the number of blocks to tessellate along the y axis, starting at 0
+     * @param sizeZ the number of blocks to tessellate along the z axis, starting at 0
+     */
+    GreedyMesher(ChunkView view, ChunkMesh mesh, int sizeX, int sizeY, int sizeZ) {
+        this.view = view;
+        this.mesh = mesh;
+        this.size = new int[] {sizeX, sizeY, sizeZ};
+        int maxSliceArea = Math.max(sizeX * sizeY, Math.max(sizeY * sizeZ, sizeX * sizeZ));
+        maskBlocks = new Block[maxSliceArea];
+        maskSunlight = new float[maxSliceArea];
+        maskBlockLight = new float[maxSliceArea];
+        maskOcclusion = new float[maxSliceArea];
+    }
+
+    /**
+     * @return whether the faces of the block are tessellated by this mesher
+     */
+    boolean canMerge(Block block) {
+        return mergeable.computeIfAbsent(block, GreedyMesher::isMergeable);
+    }
+
+    private static boolean isMergeable(Block block) {
+        if (!(block.getMeshGenerator() instanceof BlockMeshGeneratorSingleShape)
+                || block.isLiquid() || block.isWaving() || block.isDoubleSided()) {
+            return false;
+        }
+        BlockAppearance appearance = block.getPrimaryAppearance();
+        if (appearance.getPart(BlockPart.CENTER) != null) {
+            return false;
+        }
+        for (Side side : Side.values()) {
+            BlockMeshPart part = appearance.getPart(BlockPart.fromSide(side));
+            if (!block.isFullSide(side) || part == null || part.getTexFrames() != 1 || !isUnitQuad(part, side)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the part is a single quad covering the whole side of the block.
+     */
+    private static boolean isUnitQuad(BlockMeshPart part, Side side) {
+        if (part.size() != 4 || part.indicesSize() != 6) {
+            return false;
+        }
+        int axis = SIDE_AXES[side.ordinal()];
+        float expected = 0.5f * side.direction().get(axis);
+        for (int i = 0; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            for (int component = 0; component < 3; component++) {
+                float value = vertex.get(component);
+                if (component == axis ? Math.abs(value - expected) > EPSILON
+                        : Math.abs(Math.abs(value) - 0.5f) > EPSILON) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tessellates the visible faces of all mergeable blocks.
+     */
+    void generate() {
+        int[] pos = new int[3];
+        for (Side side : Side.values()) {
+            int axis = SIDE_AXES[side.ordinal()];
+            int axisU = (axis + 1) % 3;
+            int axisV = (axis + 2) % 3;
+            int sizeU = size[axisU];
+            int sizeV = size[axisV];
+            for (int slice = 0; slice < size[axis]; slice++) {
+                pos[axis] = slice;
+                for (int v = 0; v < sizeV; v++) {
+                    pos[axisV] = v;
+                    for (int u = 0; u < sizeU; u++) {
+                        pos[axisU] = u;
+                        addToMask(side, pos[0], pos[1], pos[2], u + v * sizeU);
+                    }
+                }
+                mergeMask(side, pos, axis, axisU, axisV);
+            }
+        }
+    }
+
+    /**
+     * Puts the face into the mask if it is visible and evenly lit, or adds it to the mesh right away if it is not.
+     */
+    private void addToMask(Side side, int x, int y, int z, int index) {
+        maskBlocks[index] = null;
+        Block block = view.getBlock(x, y, z);
+        if (block == null || !canMerge(block)) {
+            return;
+        }
+        Vector3ic direction = side.direction();
+        Block adjacent = view.getBlock(x + direction.x(), y + direction.y(), z + direction.z());
+        if (!BlockMeshGeneratorSingleShape.isSideVisibleForBlockTypes(adjacent, block, side)) {
+            return;
+        }
+
+        BlockMeshPart part = block.getPrimaryAppearance().getPart(BlockPart.fromSide(side));
+        float[] first = null;
+        boolean even = true;
+        for (int i = 0; i < part.size() && even; i++) {
+            float[] vertexLighting = BlockMeshPart.calcLightingValuesForVertexPos(view,
+                    vertexPos.set(part.getVertex(i)).add(x, y, z), part.getNormal(i));
+            if (first == null) {
+                first = vertexLighting;
+            } else {
+                even = first[0] == vertexLighting[0] && first[1] == vertexLighting[1]
+                        && first[2] == vertexLighting[2];
+            }
+        }
+
+        if (even) {
+            maskBlocks[index] = block;
+            maskSunlight[index] = first[0];
+            maskBlockLight[index] = first[1];
+            maskOcclusion[index] = first[2];
+        } else {
+            part.appendTo(mesh, view, x, y, z, BlockMeshGeneratorSingleShape.getRenderType(block),
+                    getVertexFlag(block, side));
+        }
+    }
+
+    /**
+     * Covers the faces in the mask with as few rectangles as possible, growing each along u first, then along v.
+     */
+    private void mergeMask(Side side, int[] pos, int axis, int axisU, int axisV) {
+        int sizeU = size[axisU];
+        int sizeV = size[axisV];
+        for (int v = 0; v < sizeV; v++) {
+            for (int u = 0; u < sizeU; u++) {
+                int index = u + v * sizeU;
+                if (maskBlocks[index] == null) {
+                    continue;
+                }
+                int width = 1;
+                while (u + width < sizeU && matches(index, index + width)) {
+                    width++;
+                }
+                int height = 1;
+                while (v + height < sizeV && rowMatches(index, index + height * sizeU, width)) {
+                    height++;
+                }
+
+                pos[axisU] = u;
+                pos[axisV] = v;
+                addQuad(side, pos, axisU, axisV, width, height, index);
+
+                for (int dv = 0; dv < height; dv++) {
+                    for (int du = 0; du < width; du++) {
+                        maskBlocks[index + du + dv * sizeU] = null;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean rowMatches(int index, int rowStart, int width) {
+        for (int du = 0; du < width; du++) {
+            if (!matches(index, rowStart + du)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(int index, int other) {
+        return maskBlocks[index] == maskBlocks[other]
+                && maskSunlight[index] == maskSunlight[other]
+                && maskBlockLight[index] == maskBlockLight[other]
+                && maskOcclusion[index] == maskOcclusion[other];
+    }
+
+    /**
+     * Adds the side of the block at the given position, stretched over width by height blocks.
+     */
+    private void addQuad(Side side, int[] pos, int axisU, int axisV, int width, int height, int maskIndex) {
+        Block block = maskBlocks[maskIndex];
+        BlockMeshPart part = block.getPrimaryAppearance().getPart(BlockPart.fromSide(side));
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(BlockMeshGeneratorSingleShape.getRenderType(block));
+        int flag = getVertexFlag(block, side).getValue();
+        textureGradient(part, axisU, axisV, texGradientU);
+        textureGradient(part, axisV, axisU, texGradientV);
+
+        int nextIndex = elements.vertexCount;
+        elements.buffer.reserveElements(nextIndex + part.size());
+        for (int i = 0; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            float stretchU = vertex.get(axisU) > 0 ? width - 1 : 0;
+            float stretchV = vertex.get(axisV) > 0 ? height - 1 : 0;
+            vertexPos.set(vertex).add(pos[0], pos[1], pos[2]);
+            vertexPos.setComponent(axisU, vertexPos.get(axisU) + stretchU);
+            vertexPos.setComponent(axisV, vertexPos.get(axisV) + stretchV);
+            texCoord.set(part.getTexCoord(i))
+                    .add(texGradientU.x * stretchU, texGradientU.y * stretchU)
+                    .add(texGradientV.x * stretchV, texGradientV.y * stretchV);
+
+            elements.position.put(vertexPos);
+            elements.normals.put(part.getNormal(i));
+            elements.uv0.put(texCoord);
+            elements.flags.put(flag);
+            elements.frames.put(0);
+            elements.sunlight.put(maskSunlight[maskIndex]);
+            elements.blockLight.put(maskBlockLight[maskIndex]);
+            elements.ambientOcclusion.put(maskOcclusion[maskIndex]);
+        }
+        elements.vertexCount += part.size();
+
+        for (int i = 0; i < part.indicesSize(); i++) {
+            elements.indices.put(part.getIndex(i) + nextIndex);
+        }
+    }
+
+    /**
+     * Finds how the texture coordinates of the part change per block along the axis.
+     */
+    private static void textureGradient(BlockMeshPart part, int axis, int otherAxis, Vector2f dest) {
+        Vector3f origin = part.getVertex(0);
+        for (int i = 1; i < part.size(); i++) {
+            Vector3f vertex = part.getVertex(i);
+            float delta = vertex.get(axis) - origin.get(axis);
+            if (Math.abs(delta) > EPSILON && Math.abs(vertex.get(otherAxis) - origin.get(otherAxis)) < EPSILON) {
+                part.getTexCoord(i).sub(part.getTexCoord(0), dest).div(delta);
+                return;
+            }
+        }
+        dest.zero();
+    }
+
+    private static ChunkVertexFlag getVertexFlag(Block block, Side side) {
+        return block.isGrass() && side.isHorizontal() ? ChunkVertexFlag.COLOR_MASK : ChunkVertexFlag.NORMAL;
+    }
+}
@@ -9,16 +9,17 @@
 import org.joml.Vector3i;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.engine.monitoring.ThreadActivity;
+import org.terasology.engine.monitoring.ThreadMonitor;
 import org.terasology.engine.monitoring.chunk.ChunkMonitor;
 import org.terasology.engine.rendering.primitives.ChunkMesh;
 import org.terasology.engine.rendering.primitives.ChunkTessellator;
-import org.terasology.engine.utilities.concurrency.TaskMaster;
 import org.terasology.engine.world.ChunkView;
 import org.terasology.engine.world.WorldProvider;
 import org.terasology.engine.world.chunks.Chunk;
 import org.terasology.engine.world.chunks.Chunks;
 import org.terasology.engine.world.chunks.pipeline.ChunkTask;
-import org.terasology.engine.world.chunks.pipeline.ShutdownChunkTask;
+import org.terasology.engine.world.chunks.pipeline.ChunkWorkerPools;
 
 import java.util.Collections;
 import java.util.Comparator;
@@ -26,14 +27,15 @@
 import java.util.Set;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Provides the mechanism for updating and generating chunk meshes.
  *
  */
 public final class ChunkMeshUpdateManager {
-    private static final int NUM_TASK_THREADS = 8;
-
     private static final Logger logger = LoggerFactory.getLogger(ChunkMeshUpdateManager.class);
 
     /* CHUNK UPDATES */
@@ -41,7 +43,7 @@ public final class ChunkMeshUpdateManager {
 
     private final BlockingDeque<Chunk> chunksComplete = Queues.newLinkedBlockingDeque();
 
-    private TaskMaster<ChunkTask> chunkUpdater;
+    private final ExecutorService chunkUpdater;
 
     private final ChunkTessellator tessellator;
     private final WorldProvider worldProvider;
@@ -57,7 +59,8 @@ public ChunkMeshUpdateManager(ChunkTessellator tessellator, WorldProvider worldP
         this.tessellator = tessellator;
         this.worldProvider = worldProvider;
 
-        chunkUpdater = TaskMaster.createPriorityTaskMaster("Chunk-Updater", NUM_TASK_THREADS, 100, new ChunkUpdaterComparator());
+        chunkUpdater = ChunkWorkerPools.createExecutor("Chunk-Updater", ChunkWorkerPools.getMeshingThreads(),
+                new PriorityBlockingQueue<>(100, new ChunkUpdaterComparator()), ChunkWorkerPools.isSharedPoolEnabled());
     }
 
     /**
@@ -102,8 +105,9 @@ private void executeChunkUpdate(final Chunk c) {
 
         ChunkUpdateTask task = new ChunkUpdateTask(c, tessellator, worldProvider, this);
         try {
-            chunkUpdater.put(task);
-        } catch (InterruptedException e) {
+            chunkUpdater.execute(task);
+        } catch (RejectedExecutionException e) {
+            chunksProcessing.remove(c);
             logger.error("Failed to enqueue task {}", task, e);
         }
     }
@@ -113,12 +117,13 @@ private void finishedProcessing(Chunk c) {
     }
 
     public void shutdown() {
-        chunkUpdater.shutdown(new ShutdownChunkTask(), false);
+        chunkUpdater.shutdownNow();
     }
 
 
-    private static class ChunkUpdateTask implements ChunkTask {
+    private static class ChunkUpdateTask implements ChunkTask, Runnable {
 
+        private final Vector3i position;
         private Chunk c;
         private ChunkTessellator tessellator;
         private WorldProvider worldProvider;
@@ -127,6 +132,7 @@ private static class ChunkUpdateTask implements ChunkTask {
         ChunkUpdateTask(Chunk chunk, ChunkTessellator tessellator, WorldProvider worldProvider, ChunkMeshUpdateManager chunkMeshUpdateManager) {
             this.chunkMeshUpdateManager = chunkMeshUpdateManager;
             this.c = chunk;
+            this.position = chunk.getPosition(new Vector3i());
             this.tessellator = tessellator;
             this.worldProvider = worldProvider;
         }
@@ -142,8 +148,22 @@ public boolean isTerminateSignal() {
             return false;
         }
 
+        @Override
+        public Vector3i getPosition() {
+            return position;
+        }
+
         @Override
         public void run() {
+            try (ThreadActivity ignored = ThreadMonitor.startThreadActivity(getName())) {
+                updateMesh();
+            } catch (RuntimeException e) {
+                ThreadMonitor.addError(e);
+                logger.error("Error in thread {}", Thread.currentThread().getName(), e);
+            }
+        }
+
+        private void updateMesh() {
             ChunkMesh newMesh;
             ChunkView chunkView = worldProvider.getLocalView(c.getPosition(new org.joml.Vector3i()));
             if (chunkView != null) {
@@ -173,16 +193,13 @@ public Chunk getChunk() {
         }
     }
 
-    private class ChunkUpdaterComparator implements Comparator<ChunkTask> {
+    private class ChunkUpdaterComparator implements Comparator<Runnable> {
         @Override
-        public int compare(ChunkTask o1, ChunkTask o2) {
-            return score(o1) - score(o2);
+        public int compare(Runnable o1, Runnable o2) {
+            return score((ChunkUpdateTask) o1) - score((ChunkUpdateTask) o2);
         }
 
-        private int score(ChunkTask task) {
-            if (task.isTerminateSignal()) {
-                return -1;
-            }
+        private int score(ChunkUpdateTask task) {
             return distFromRegion(task.getPosition(), new Vector3i(cameraChunkPosX, cameraChunkPosY, cameraChunkPosZ, RoundingMode.FLOOR));
         }
 
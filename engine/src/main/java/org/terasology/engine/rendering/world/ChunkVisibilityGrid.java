@@ -0,0 +1,268 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.rendering.world;
+
+import com.google.common.collect.Collections2;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.joml.geom.AABBf;
+import org.terasology.joml.geom.AABBfc;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The chunks around the camera which may be rendered, kept so that finding the ones in sight and ordering them from
+ * front to back does not require visiting or sorting all of them.
+ * <p>
+ * The chunks are grouped into cells of {@link #CELL_SIZE} chunks along each axis. A cell which is out of sight is
+ * skipped with a single test against its bounds, so the cost of a visibility query grows with the number of cells and
+ * of chunks in the visible cells only. The chunks are also kept in buckets by their distance to a center chunk, which
+ * is updated on insertion and removal, and used to order chunks from front to back with a counting sort instead of a
+ * comparison sort. The order is exact up to the width of a bucket, {@link #BUCKET_WIDTH} blocks.
+ * <p>
+ * This class is not thread safe.
+ */
+class ChunkVisibilityGrid {
+    /**
+     * The number of chunks along each axis of a cell.
+     */
+    static final int CELL_SIZE = 4;
+    /**
+     * The range of distances in blocks covered by a bucket.
+     */
+    static final int BUCKET_WIDTH = Chunks.SIZE_X / 2;
+
+    private final Map<Vector3ic, Entry> entries = Maps.newHashMap();
+    private final Map<Vector3ic, Cell> cells = Maps.newHashMap();
+    private final List<List<Entry>> buckets = Lists.newArrayList();
+    private final Vector3i center = new Vector3i();
+
+    private final List<Entry> visibleEntries = Lists.newArrayList();
+    private Entry[] sortedEntries = new Entry[0];
+    private int[] bucketOffsets = new int[0];
+    private final Vector3i tempPosition = new Vector3i();
+
+    /**
+     * Adds the chunk, replacing any other chunk at the same position.
+     */
+    public void add(Chunk chunk) {
+        Vector3i position = chunk.getPosition(new Vector3i());
+        Entry previous = entries.get(position);
+        if (previous != null) {
+            if (previous.chunk == chunk) {
+                return;
+            }
+            remove(position);
+        }
+        Entry entry = new Entry(chunk, position);
+        entries.put(position, entry);
+        addToBucket(entry);
+
+        Vector3i cellPosition = cellPosition(position, new Vector3i());
+        Cell cell = cells.get(cellPosition);
+        if (cell == null) {
+            cell = new Cell();
+            cells.put(cellPosition, cell);
+        }
+        entry.cell = cell;
+        entry.cellSlot = cell.entries.size();
+        cell.entries.add(entry);
+        cell.bounds.union(chunk.getAABB());
+    }
+
+    /**
+     * Removes the chunk at the given position, if there is any.
+     *
+     * @return the chunk removed, or null if there was none
+     */
+    public Chunk remove(Vector3ic position) {
+        Entry entry = entries.remove(position);
+        if (entry == null) {
+            return null;
+        }
+        removeFromBucket(entry);
+
+        Cell cell = entry.cell;
+        removeSwapped(cell.entries, entry.cellSlot).cellSlot = entry.cellSlot;
+        if (cell.entries.isEmpty()) {
+            cells.remove(cellPosition(position, tempPosition));
+        } else {
+            cell.updateBounds();
+        }
+        return entry.chunk;
+    }
+
+    public Chunk get(Vector3ic position) {
+        Entry entry = entries.get(position);
+        return entry != null ? entry.chunk : null;
+    }
+
+    public boolean contains(Chunk chunk) {
+        Entry entry = entries.get(chunk.getPosition(tempPosition));
+        return entry != null && entry.chunk == chunk;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Sets the chunk the distances of the chunks are measured from. This only redistributes the chunks over the
+     * buckets, and does nothing if the center has not changed.
+     */
+    public void setCenter(Vector3ic chunkPosition) {
+        if (center.equals(chunkPosition)) {
+            return;
+        }
+        center.set(chunkPosition);
+        for (List<Entry> bucket : buckets) {
+            bucket.clear();
+        }
+        for (Entry entry : entries.values()) {
+            addToBucket(entry);
+        }
+    }
+
+    /**
+     * Appends the chunks which are in sight to the list, ordered from the nearest to the farthest one.
+     *
+     * @param inSight tells whether a bounding box is in sight, e.g. {@code camera::hasInSight}
+     */
+    public void collectVisible(Predicate<AABBfc> inSight, List<? super Chunk> result) {
+        visibleEntries.clear();
+        for (Cell cell : cells.values()) {
+            if (inSight.test(cell.bounds)) {
+                for (Entry entry : cell.entries) {
+                    if (inSight.test(entry.chunk.getAABB())) {
+                        visibleEntries.add(entry);
+                    }
+                }
+            }
+        }
+        if (bucketOffsets.length < buckets.size() + 1) {
+            bucketOffsets = new int[buckets.size() + 1];
+        }
+        if (sortedEntries.length < visibleEntries.size()) {
+            sortedEntries = new Entry[entries.size()];
+        }
+
+        Arrays.fill(bucketOffsets, 0);
+        for (Entry entry : visibleEntries) {
+            bucketOffsets[entry.bucket + 1]++;
+        }
+        for (int i = 1; i < bucketOffsets.length; i++) {
+            bucketOffsets[i] += bucketOffsets[i - 1];
+        }
+        for (Entry entry : visibleEntries) {
+            sortedEntries[bucketOffsets[entry.bucket]++] = entry;
+        }
+        for (int i = 0; i < visibleEntries.size(); i++) {
+            result.add(sortedEntries[i].chunk);
+            sortedEntries[i] = null;
+        }
+        visibleEntries.clear();
+    }
+
+    /**
+     * Appends up to the given number of chunks to the list, ordered from the nearest to the farthest one.
+     */
+    public void collectNearest(int maxChunks, List<? super Chunk> result) {
+        int remaining = maxChunks;
+        for (List<Entry> bucket : buckets) {
+            for (int i = 0; i < bucket.size() && remaining > 0; i++) {
+                result.add(bucket.get(i).chunk);
+                remaining--;
+            }
+            if (remaining == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return all chunks in the grid, in no particular order
+     */
+    public Collection<Chunk> getChunks() {
+        return Collections2.transform(entries.values(), entry -> entry.chunk);
+    }
+
+    public void clear() {
+        entries.clear();
+        cells.clear();
+        buckets.clear();
+    }
+
+    private void addToBucket(Entry entry) {
+        int bucket = bucketIndex(entry.position);
+        while (buckets.size() <= bucket) {
+            buckets.add(Lists.newArrayList());
+        }
+        List<Entry> bucketEntries = buckets.get(bucket);
+        entry.bucket = bucket;
+        entry.bucketSlot = bucketEntries.size();
+        bucketEntries.add(entry);
+    }
+
+    private void removeFromBucket(Entry entry) {
+        removeSwapped(buckets.get(entry.bucket), entry.bucketSlot).bucketSlot = entry.bucketSlot;
+    }
+
+    private int bucketIndex(Vector3ic position) {
+        long dx = (long) (position.x() - center.x) * Chunks.SIZE_X;
+        long dy = (long) (position.y() - center.y) * Chunks.SIZE_Y;
+        long dz = (long) (position.z() - center.z) * Chunks.SIZE_Z;
+        return (int) Math.sqrt(dx * dx + dy * dy + dz * dz) / BUCKET_WIDTH;
+    }
+
+    /**
+     * Removes the entry at the slot by moving the last entry of the list into it.
+     *
+     * @return the entry now at the slot, or the removed one if it was the last
+     */
+    private static Entry removeSwapped(List<Entry> list, int slot) {
+        Entry last = list.remove(list.size() - 1);
+        if (slot < list.size()) {
+            list.set(slot, last);
+        }
+        return last;
+    }
+
+    private static Vector3i cellPosition(Vector3ic chunkPosition, Vector3i dest) {
+        return dest.set(Math.floorDiv(chunkPosition.x(), CELL_SIZE), Math.floorDiv(chunkPosition.y(), CELL_SIZE),
+                Math.floorDiv(chunkPosition.z(), CELL_SIZE));
+    }
+
+    private static final class Entry {
+        private final Chunk chunk;
+        private final Vector3ic position;
+        private Cell cell;
+        private int cellSlot;
+        private int bucket;
+        private int bucketSlot;
+
+        private Entry(Chunk chunk, Vector3ic position) {
+            this.chunk = chunk;
+            this.position = position;
+        }
+    }
+
+    private static final class Cell {
+        private final List<Entry> entries = Lists.newArrayListWithCapacity(CELL_SIZE * CELL_SIZE * CELL_SIZE);
+        private final AABBf bounds = new AABBf();
+
+        private void updateBounds() {
+            bounds.set(entries.get(0).chunk.getAABB());
+            for (int i = 1; i < entries.size(); i++) {
+                bounds.union(entries.get(i).chunk.getAABB());
+            }
+        }
+    }
+}
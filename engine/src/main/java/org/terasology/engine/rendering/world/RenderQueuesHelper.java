@@ -5,18 +5,23 @@
 import org.terasology.engine.world.chunks.RenderableChunk;
 
 import java.util.PriorityQueue;
+import java.util.Queue;
 
+/**
+ * The chunks to render in each phase. All queues list the chunks from front to back, except the one of the alpha
+ * blended chunks, which lists them from back to front.
+ */
 public class RenderQueuesHelper {
-    public final PriorityQueue<RenderableChunk> chunksOpaque;
-    public final PriorityQueue<RenderableChunk> chunksOpaqueShadow;
-    public final PriorityQueue<RenderableChunk> chunksOpaqueReflection;
-    public final PriorityQueue<RenderableChunk> chunksAlphaReject;
+    public final Queue<RenderableChunk> chunksOpaque;
+    public final Queue<RenderableChunk> chunksOpaqueShadow;
+    public final Queue<RenderableChunk> chunksOpaqueReflection;
+    public final Queue<RenderableChunk> chunksAlphaReject;
     public final PriorityQueue<RenderableChunk> chunksAlphaBlend;
 
-    RenderQueuesHelper(PriorityQueue<RenderableChunk> chunksOpaque,
-                       PriorityQueue<RenderableChunk> chunksOpaqueShadow,
-                       PriorityQueue<RenderableChunk> chunksOpaqueReflection,
-                       PriorityQueue<RenderableChunk> chunksAlphaReject,
+    RenderQueuesHelper(Queue<RenderableChunk> chunksOpaque,
+                       Queue<RenderableChunk> chunksOpaqueShadow,
+                       Queue<RenderableChunk> chunksOpaqueReflection,
+                       Queue<RenderableChunk> chunksAlphaReject,
                        PriorityQueue<RenderableChunk> chunksAlphaBlend) {
 
         this.chunksOpaque = chunksOpaque;
@@ -33,10 +33,9 @@
 import org.terasology.joml.geom.AABBfc;
 import org.terasology.math.TeraMath;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
 import java.util.PriorityQueue;
 
@@ -62,7 +61,8 @@ class RenderableWorldImpl implements RenderableWorld {
 
     private ChunkTessellator chunkTessellator;
     private final ChunkMeshUpdateManager chunkMeshUpdateManager;
-    private final List<Chunk> chunksInProximityOfCamera = Lists.newArrayListWithCapacity(MAX_LOADABLE_CHUNKS);
+    private final ChunkVisibilityGrid chunksInProximityOfCamera = new ChunkVisibilityGrid();
+    private final List<RenderableChunk> chunksToQueue = Lists.newArrayListWithCapacity(MAX_LOADABLE_CHUNKS);
     private BlockRegion renderableRegion = new BlockRegion(BlockRegion.INVALID);
     private ViewDistance currentViewDistance;
     private RenderQueuesHelper renderQueues;
@@ -96,11 +96,11 @@ class RenderableWorldImpl implements RenderableWorld {
             lodChunkProvider = null;
         }
 
-        renderQueues = new RenderQueuesHelper(new PriorityQueue<>(MAX_LOADABLE_CHUNKS,
-                new ChunkFrontToBackComparator()),
-                new PriorityQueue<>(MAX_LOADABLE_CHUNKS, new ChunkFrontToBackComparator()),
-                new PriorityQueue<>(MAX_LOADABLE_CHUNKS, new ChunkFrontToBackComparator()),
-                new PriorityQueue<>(MAX_LOADABLE_CHUNKS, new ChunkFrontToBackComparator()),
+        // the chunks are added to the opaque queues from front to back already, see queueVisibleChunks
+        renderQueues = new RenderQueuesHelper(new ArrayDeque<>(MAX_LOADABLE_CHUNKS),
+                new ArrayDeque<>(MAX_LOADABLE_CHUNKS),
+                new ArrayDeque<>(MAX_LOADABLE_CHUNKS),
+                new ArrayDeque<>(MAX_LOADABLE_CHUNKS),
                 new PriorityQueue<>(MAX_LOADABLE_CHUNKS, new ChunkBackToFrontComparator()));
     }
 
@@ -110,7 +110,6 @@ public void onChunkLoaded(Vector3ic chunkCoordinates) {
             Chunk chunk = chunkProvider.getChunk(chunkCoordinates);
             if (chunk != null) {
                 chunksInProximityOfCamera.add(chunk);
-                Collections.sort(chunksInProximityOfCamera, new ChunkFrontToBackComparator());
                 if (lodChunkProvider != null) {
                     lodChunkProvider.onRealChunkLoaded(chunkCoordinates);
                 }
@@ -129,15 +128,9 @@ public void onChunkLoaded(Vector3ic chunkCoordinates) {
     @Override
     public void onChunkUnloaded(Vector3ic chunkCoordinates) {
         if (renderableRegion.contains(chunkCoordinates)) {
-            Chunk chunk;
-            Iterator<Chunk> iterator = chunksInProximityOfCamera.iterator();
-            while (iterator.hasNext()) {
-                chunk = iterator.next();
-                if (chunk.getPosition(new org.joml.Vector3i()).equals(chunkCoordinates)) {
-                    chunk.disposeMesh();
-                    iterator.remove();
-                    break;
-                }
+            Chunk chunk = chunksInProximityOfCamera.remove(chunkCoordinates);
+            if (chunk != null) {
+                chunk.disposeMesh();
             }
         }
         if (lodChunkProvider != null) {
@@ -214,35 +207,27 @@ public void update() {
     @Override
     public boolean updateChunksInProximity(BlockRegion newRenderableRegion) {
         if (!newRenderableRegion.equals(renderableRegion)) {
+            chunksInProximityOfCamera.setCenter(new Vector3i(
+                    Math.floorDiv(newRenderableRegion.minX() + newRenderableRegion.maxX(), 2),
+                    Math.floorDiv(newRenderableRegion.minY() + newRenderableRegion.maxY(), 2),
+                    Math.floorDiv(newRenderableRegion.minZ() + newRenderableRegion.maxZ(), 2)));
             Chunk chunk;
             for (Vector3ic chunkPositionToRemove : renderableRegion) {
                 if (!newRenderableRegion.contains(chunkPositionToRemove)) {
-                    Iterator<Chunk> nearbyChunks = chunksInProximityOfCamera.iterator();
-                    for (Iterator<Chunk> it = nearbyChunks; it.hasNext();) {
-                        chunk = it.next();
-                        if (chunk.getPosition(new org.joml.Vector3i()).equals(chunkPositionToRemove)) {
-                            chunk.disposeMesh();
-                            nearbyChunks.remove();
-                            break;
-                        }
-
+                    chunk = chunksInProximityOfCamera.remove(chunkPositionToRemove);
+                    if (chunk != null) {
+                        chunk.disposeMesh();
                     }
                 }
             }
-            boolean chunksHaveBeenAdded = false;
             for (Vector3ic chunkPositionToAdd : newRenderableRegion) {
                 if (!renderableRegion.contains(chunkPositionToAdd)) {
                     chunk = chunkProvider.getChunk(chunkPositionToAdd);
                     if (chunk != null) {
                         chunksInProximityOfCamera.add(chunk);
-                        chunksHaveBeenAdded = true;
                     }
                 }
             }
-
-            if (chunksHaveBeenAdded) {
-                Collections.sort(chunksInProximityOfCamera, new ChunkFrontToBackComparator());
-            }
             renderableRegion = newRenderableRegion;
             return true;
         }
@@ -321,71 +306,93 @@ public int queueVisibleChunks(boolean isFirstRenderingStageForCurrentFrame) {
         statIgnoredPhases = 0;
 
         int processedChunks = 0;
-        int chunkCounter = 0;
 
         renderQueues.clear();
 
         ChunkMesh mesh;
         boolean isDynamicShadows = renderingConfig.isDynamicShadows();
 
-        List<RenderableChunk> allChunks = new ArrayList<>(chunksInProximityOfCamera);
-        allChunks.addAll(chunkMeshRenderer.getRenderableChunks());
+        // only the chunks around the camera are kept in the visibility grid, which lists them from front to back. The
+        // others are tested one by one, and queued after those of the grid, also from front to back.
+        List<RenderableChunk> otherChunks = new ArrayList<>(chunkMeshRenderer.getRenderableChunks());
         if (lodChunkProvider != null) {
-            lodChunkProvider.addAllChunks(allChunks);
+            lodChunkProvider.addAllChunks(otherChunks);
         }
-
-        for (RenderableChunk chunk : allChunks) {
-            if (isChunkValidForRender(chunk)) {
-                mesh = chunk.getMesh();
-
-                if (isDynamicShadows
-                        && isFirstRenderingStageForCurrentFrame
-                        && chunkCounter < maxChunksForShadows
-                        && isChunkVisibleFromMainLight(chunk)) {
-                    if (triangleCount(mesh, ChunkMesh.RenderPhase.OPAQUE) > 0) {
+        Vector3f cameraPosition = playerCamera.getPosition();
+        otherChunks.sort(Comparator.comparingDouble(chunk -> squaredDistanceToCamera(chunk, cameraPosition)));
+
+        if (isDynamicShadows && isFirstRenderingStageForCurrentFrame) {
+            chunksToQueue.clear();
+            chunksInProximityOfCamera.collectNearest(maxChunksForShadows, chunksToQueue);
+            for (int i = 0; i < otherChunks.size() && chunksToQueue.size() < maxChunksForShadows; i++) {
+                chunksToQueue.add(otherChunks.get(i));
+            }
+            for (RenderableChunk chunk : chunksToQueue) {
+                if (isChunkValidForRender(chunk) && isChunkVisibleFromMainLight(chunk)) {
+                    if (triangleCount(chunk.getMesh(), ChunkMesh.RenderPhase.OPAQUE) > 0) {
                         renderQueues.chunksOpaqueShadow.add(chunk);
                     } else {
                         statIgnoredPhases++;
                     }
                 }
+            }
+        }
 
-                if (isChunkVisible(chunk)) {
-                    if (triangleCount(mesh, ChunkMesh.RenderPhase.OPAQUE) > 0) {
-                        renderQueues.chunksOpaque.add(chunk);
-                    } else {
-                        statIgnoredPhases++;
-                    }
-
-                    if (triangleCount(mesh, ChunkMesh.RenderPhase.REFRACTIVE) > 0) {
-                        renderQueues.chunksAlphaBlend.add(chunk);
-                    } else {
-                        statIgnoredPhases++;
-                    }
+        chunksToQueue.clear();
+        chunksInProximityOfCamera.collectVisible(playerCamera::hasInSight, chunksToQueue);
+        for (RenderableChunk chunk : otherChunks) {
+            if (isChunkVisible(chunk)) {
+                chunksToQueue.add(chunk);
+            }
+        }
+        for (RenderableChunk chunk : chunksToQueue) {
+            if (isChunkValidForRender(chunk)) {
+                mesh = chunk.getMesh();
 
-                    if (triangleCount(mesh, ChunkMesh.RenderPhase.ALPHA_REJECT) > 0 && chunkCounter < MAX_BILLBOARD_CHUNKS) {
-                        renderQueues.chunksAlphaReject.add(chunk);
-                    } else {
-                        statIgnoredPhases++;
-                    }
+                if (triangleCount(mesh, ChunkMesh.RenderPhase.OPAQUE) > 0) {
+                    renderQueues.chunksOpaque.add(chunk);
+                } else {
+                    statIgnoredPhases++;
+                }
 
-                    statVisibleChunks++;
+                if (triangleCount(mesh, ChunkMesh.RenderPhase.REFRACTIVE) > 0) {
+                    renderQueues.chunksAlphaBlend.add(chunk);
+                } else {
+                    statIgnoredPhases++;
+                }
 
-                    if (statVisibleChunks < MAX_ANIMATED_CHUNKS) {
-                        chunk.setAnimated(true);
-                    } else {
-                        chunk.setAnimated(false);
-                    }
+                if (triangleCount(mesh, ChunkMesh.RenderPhase.ALPHA_REJECT) > 0
+                        && statVisibleChunks < MAX_BILLBOARD_CHUNKS) {
+                    renderQueues.chunksAlphaReject.add(chunk);
+                } else {
+                    statIgnoredPhases++;
                 }
 
-                if (isChunkVisibleReflection(chunk)) {
-                    renderQueues.chunksOpaqueReflection.add(chunk);
+                statVisibleChunks++;
+
+                if (statVisibleChunks < MAX_ANIMATED_CHUNKS) {
+                    chunk.setAnimated(true);
+                } else {
+                    chunk.setAnimated(false);
                 }
             }
-            chunkCounter++;
+        }
+
+        chunksToQueue.clear();
+        chunksInProximityOfCamera.collectVisible(this::isInSightOfReflection, chunksToQueue);
+        for (RenderableChunk chunk : otherChunks) {
+            if (isInSightOfReflection(chunk.getAABB())) {
+                chunksToQueue.add(chunk);
+            }
+        }
+        for (RenderableChunk chunk : chunksToQueue) {
+            if (isChunkValidForRender(chunk)) {
+                renderQueues.chunksOpaqueReflection.add(chunk);
+            }
         }
 
         if (isFirstRenderingStageForCurrentFrame) {
-            for (Chunk chunk : chunksInProximityOfCamera) {
+            for (Chunk chunk : chunksInProximityOfCamera.getChunks()) {
                 if (isChunkValidForRender(chunk) && (chunk.isDirty() || !chunk.hasMesh())) {
                     statDirtyChunks++;
                     chunkMeshUpdateManager.queueChunkUpdate(chunk);
@@ -393,6 +400,7 @@ && isChunkVisibleFromMainLight(chunk)) {
                 }
             }
         }
+        chunksToQueue.clear();
 
         PerformanceMonitor.endActivity();
         return processedChunks;
@@ -434,8 +442,7 @@ private boolean isChunkVisible(Camera camera, RenderableChunk chunk) {
         return camera.hasInSight(chunk.getAABB());
     }
 
-    private boolean isChunkVisibleReflection(RenderableChunk chunk) {
-        AABBfc bounds = chunk.getAABB();
+    private boolean isInSightOfReflection(AABBfc bounds) {
         return playerCamera.getViewFrustumReflected().testAab(bounds.minX(), bounds.minY(), bounds.minZ(),
                 bounds.maxX(), bounds.maxY(), bounds.maxZ());
     }
@@ -487,25 +494,8 @@ private static float squaredDistanceToCamera(RenderableChunk chunk, Vector3f cam
     }
 
     // TODO: find the right place to check if the activeCamera has changed,
-    // TODO: so that the comparators can hold an up-to-date reference to it
+    // TODO: so that the comparator can hold an up-to-date reference to it
     // TODO: and avoid having to find it on a per-comparison basis.
-    private static class ChunkFrontToBackComparator implements Comparator<RenderableChunk> {
-
-        @Override
-        public int compare(RenderableChunk chunk1, RenderableChunk chunk2) {
-            Preconditions.checkNotNull(chunk1);
-            Preconditions.checkNotNull(chunk2);
-            Vector3f cameraPosition = CoreRegistry.get(WorldRenderer.class).getActiveCamera().getPosition();
-            double distance1 = squaredDistanceToCamera(chunk1, cameraPosition);
-            double distance2 = squaredDistanceToCamera(chunk2, cameraPosition);
-
-            // Using Double.compare as simple d1 < d2 comparison is flagged as problematic by Jenkins
-            // On the other hand Double.compare can return any positive/negative value apparently,
-            // hence the need for Math.signum().
-            return (int) Math.signum(Double.compare(distance1, distance2));
-        }
-    }
-
     private static class ChunkBackToFrontComparator implements Comparator<RenderableChunk> {
 
         @Override
@@ -154,7 +154,9 @@ public WorldRendererImpl(Context context) {
         LocalPlayerSystem localPlayerSystem = context.get(LocalPlayerSystem.class);
         localPlayerSystem.setPlayerCamera(playerCamera);
 
-        context.put(ChunkTessellator.class, new ChunkTessellator());
+        // no greedy meshing yet, as the chunk material does not wrap the texture coordinates of merged quads within
+        // their atlas tiles
+        context.put(ChunkTessellator.class, new ChunkTessellator(false, renderingConfig.getChunkVertexFormat()));
 
         renderableWorld = new RenderableWorldImpl(context, playerCamera);
         renderQueues = renderableWorld.getRenderQueues();
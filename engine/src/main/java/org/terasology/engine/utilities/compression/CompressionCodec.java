@@ -0,0 +1,52 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.utilities.compression;
+
+import io.netty.channel.ChannelHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A compression algorithm usable both for stored data (as streams) and for network connections (as netty handlers).
+ * <p>
+ * Implementations must be stateless; every call of the factory methods returns a new, independent stream or handler.
+ *
+ * @see CompressionCodecs
+ */
+public interface CompressionCodec {
+
+    /**
+     * @return the name under which the codec is selected in the config and negotiated with remote peers.
+     */
+    String getName();
+
+    /**
+     * @return the id written to the header of stored data. Must be unique and never change, as it is persisted.
+     */
+    byte getId();
+
+    /**
+     * @param out receives the compressed data. Closing the returned stream finishes the data and closes it.
+     * @return a stream compressing everything written to it.
+     */
+    OutputStream compress(OutputStream out) throws IOException;
+
+    /**
+     * @param in provides data compressed by {@link #compress(OutputStream)}.
+     * @return a stream of the decompressed data.
+     */
+    InputStream decompress(InputStream in) throws IOException;
+
+    /**
+     * @return a new outbound handler compressing {@link io.netty.buffer.ByteBuf}s, to be used in a channel pipeline.
+     */
+    ChannelHandler createEncoder();
+
+    /**
+     * @return a new inbound handler decompressing what {@link #createEncoder()} produced.
+     */
+    ChannelHandler createDecoder();
+}
@@ -0,0 +1,155 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.utilities.concurrency;
+
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor which keeps its tasks in a queue of its own and runs at most {@code parallelism} of them at a time on a
+ * backing executor.
+ * <p>
+ * This allows several consumers with their own task ordering (e.g. priority queues) to share the threads of one pool,
+ * typically a {@link java.util.concurrent.ForkJoinPool}, instead of each owning a fixed set of threads.
+ * <p>
+ * Each drain pass runs a limited number of tasks before handing its thread back to the backing executor, so that one
+ * busy consumer cannot starve the others.
+ */
+public class QueueDrainingExecutor extends AbstractExecutorService {
+    private static final Logger logger = LoggerFactory.getLogger(QueueDrainingExecutor.class);
+    private static final int TASKS_PER_DRAIN = 16;
+
+    private final Executor backingExecutor;
+    private final BlockingQueue<Runnable> queue;
+    private final int parallelism;
+    private final AtomicInteger activeDrainers = new AtomicInteger();
+    private final Object terminationLock = new Object();
+    private volatile boolean shutdown;
+
+    /**
+     * @param backingExecutor executor providing the threads.
+     * @param queue queue holding the tasks; its ordering decides which task runs next.
+     * @param parallelism maximum number of tasks running at the same time.
+     */
+    public QueueDrainingExecutor(Executor backingExecutor, BlockingQueue<Runnable> queue, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Must have at least one thread.");
+        }
+        this.backingExecutor = backingExecutor;
+        this.queue = queue;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return the queue holding tasks which have not started yet.
+     */
+    public BlockingQueue<Runnable> getQueue() {
+        return queue;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown || !queue.offer(command)) {
+            throw new RejectedExecutionException("Task " + command + " rejected");
+        }
+        startDrainer();
+    }
+
+    private void startDrainer() {
+        while (!queue.isEmpty()) {
+            int active = activeDrainers.get();
+            if (active >= parallelism) {
+                return;
+            }
+            if (activeDrainers.compareAndSet(active, active + 1)) {
+                try {
+                    backingExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    drainerFinished();
+                    throw e;
+                }
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            int executed = 0;
+            while (executed++ < TASKS_PER_DRAIN && (task = queue.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Error in task {}", task, e);
+                }
+            }
+        } finally {
+            drainerFinished();
+        }
+        // Tasks may have been queued after our last poll, or we stopped early to yield the thread.
+        startDrainer();
+    }
+
+    private void drainerFinished() {
+        if (activeDrainers.decrementAndGet() == 0 && shutdown) {
+            synchronized (terminationLock) {
+                terminationLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting new tasks. Tasks already queued still run.
+     */
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        synchronized (terminationLock) {
+            terminationLock.notifyAll();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        List<Runnable> pending = Lists.newArrayList();
+        queue.drainTo(pending);
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && activeDrainers.get() == 0 && queue.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (terminationLock) {
+            while (!isTerminated()) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                terminationLock.wait(remaining);
+            }
+            return true;
+        }
+    }
+}
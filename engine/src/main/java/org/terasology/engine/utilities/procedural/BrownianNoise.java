@@ -3,6 +3,8 @@
 
 package org.terasology.engine.utilities.procedural;
 
+import java.util.Arrays;
+
 /**
  * Computes Brownian noise based on some noise generator.
  * Originally, Brown integrates white noise, but using other noises can be sometimes useful, too.
@@ -105,6 +107,64 @@ public float noise(float x, float y, float z) {
         return result * scale;
     }
 
+    /**
+     * Returns Fractional Brownian Motion at many positions, computing each octave for all of them with one call to the
+     * base noise.
+     */
+    @Override
+    public void noise(float[] x, float[] y, float[] result, int count) {
+        float[] workingX = Arrays.copyOf(x, count);
+        float[] workingY = Arrays.copyOf(y, count);
+        float[] octave = new float[count];
+        float lacunarityFactor = (float) getLacunarity();
+        Arrays.fill(result, 0, count, 0.0f);
+        for (int i = 0; i < getOctaves(); i++) {
+            other.noise(workingX, workingY, octave, count);
+            float weight = spectralWeights[i];
+            for (int n = 0; n < count; n++) {
+                result[n] += octave[n] * weight;
+            }
+
+            // Same random offsets as for a single position
+            float offsetX = 10 * other.noise(i + 0.5f, 0.5f);
+            float offsetY = 10 * other.noise(-i - 0.5f, -0.5f);
+            for (int n = 0; n < count; n++) {
+                workingX[n] = workingX[n] * lacunarityFactor + offsetX;
+                workingY[n] = workingY[n] * lacunarityFactor + offsetY;
+            }
+        }
+        for (int n = 0; n < count; n++) {
+            result[n] *= scale;
+        }
+    }
+
+    /**
+     * Returns Fractional Brownian Motion at many positions, computing each octave for all of them with one call to the
+     * base noise.
+     */
+    @Override
+    public void noise(float[] x, float[] y, float[] z, float[] result, int count) {
+        float[] workingX = Arrays.copyOf(x, count);
+        float[] workingY = Arrays.copyOf(y, count);
+        float[] workingZ = Arrays.copyOf(z, count);
+        float[] octave = new float[count];
+        float lacunarityFactor = (float) getLacunarity();
+        Arrays.fill(result, 0, count, 0.0f);
+        for (int i = 0; i < getOctaves(); i++) {
+            other.noise(workingX, workingY, workingZ, octave, count);
+            float weight = spectralWeights[i];
+            for (int n = 0; n < count; n++) {
+                result[n] += octave[n] * weight;
+                workingX[n] *= lacunarityFactor;
+                workingY[n] *= lacunarityFactor;
+                workingZ[n] *= lacunarityFactor;
+            }
+        }
+        for (int n = 0; n < count; n++) {
+            result[n] *= scale;
+        }
+    }
+
     private static float computeScale(float[] spectralWeights) {
         float sum = 0;
         for (float weight : spectralWeights) {
@@ -3,6 +3,9 @@
 
 package org.terasology.engine.utilities.procedural;
 
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegionc;
+
 /**
  * Provides or generates noise
  *
@@ -46,4 +49,111 @@ public interface Noise {
      * @return The noise value in the range [-1..1]
      */
     float noise(float x, float y, float z);
+
+    /**
+     * Computes the noise values at many positions in one call. The positions are given as separate arrays of
+     * coordinates, so that implementations can process them in tight loops which the JIT is able to vectorize.
+     * <p>
+     * The results match those of {@link #noise(float, float)} for each position, up to floating point rounding.
+     *
+     * @param x Positions on the x-axis
+     * @param y Positions on the y-axis
+     * @param result Receives the noise value of each position, at the same index
+     * @param count The number of positions, starting at index 0
+     */
+    default void noise(float[] x, float[] y, float[] result, int count) {
+        for (int i = 0; i < count; i++) {
+            result[i] = noise(x[i], y[i]);
+        }
+    }
+
+    /**
+     * Computes the noise values at many positions in one call. The positions are given as separate arrays of
+     * coordinates, so that implementations can process them in tight loops which the JIT is able to vectorize.
+     * <p>
+     * The results match those of {@link #noise(float, float, float)} for each position, up to floating point rounding.
+     *
+     * @param x Positions on the x-axis
+     * @param y Positions on the y-axis
+     * @param z Positions on the z-axis
+     * @param result Receives the noise value of each position, at the same index
+     * @param count The number of positions, starting at index 0
+     */
+    default void noise(float[] x, float[] y, float[] z, float[] result, int count) {
+        for (int i = 0; i < count; i++) {
+            result[i] = noise(x[i], y[i], z[i]);
+        }
+    }
+
+    /**
+     * Returns the noise values of all positions in the area.
+     *
+     * @param area The area to compute the noise for
+     * @return The noise values, with x varying fastest
+     */
+    default float[] noise(BlockAreac area) {
+        return noise(area, 1);
+    }
+
+    /**
+     * Returns the noise values of all positions in the area, with the positions scaled by the given factor.
+     *
+     * @param area The area to compute the noise for
+     * @param scale The factor to multiply each position with
+     * @return The noise values, with x varying fastest
+     */
+    default float[] noise(BlockAreac area, float scale) {
+        int size = area.getSizeX() * area.getSizeY();
+        float[] x = new float[size];
+        float[] y = new float[size];
+        int index = 0;
+        for (int posY = area.minY(); posY <= area.maxY(); posY++) {
+            for (int posX = area.minX(); posX <= area.maxX(); posX++) {
+                x[index] = scale * posX;
+                y[index] = scale * posY;
+                index++;
+            }
+        }
+        float[] result = new float[size];
+        noise(x, y, result, size);
+        return result;
+    }
+
+    /**
+     * Returns the noise values of all positions in the region.
+     *
+     * @param region The region to compute the noise for
+     * @return The noise values, with x varying fastest and z slowest
+     */
+    default float[] noise(BlockRegionc region) {
+        return noise(region, 1);
+    }
+
+    /**
+     * Returns the noise values of all positions in the region, with the positions scaled by the given factor.
+     *
+     * @param region The region to compute the noise for
+     * @param scale The factor to multiply each position with
+     * @return The noise values, with x varying fastest and z slowest
+     */
+    default float[] noise(BlockRegionc region, float scale) {
+        int size = region.volume();
+        float[] x = new float[size];
+        float[] y = new float[size];
+        float[] z = new float[size];
+        int index = 0;
+        for (int posZ = region.minZ(); posZ <= region.maxZ(); posZ++) {
+            for (int posY = region.minY(); posY <= region.maxY(); posY++) {
+                for (int posX = region.minX(); posX <= region.maxX(); posX++) {
+                    x[index] = scale * posX;
+                    y[index] = scale * posY;
+                    z[index] = scale * posZ;
+                    index++;
+                }
+            }
+        }
+        float[] result = new float[size];
+        noise(x, y, z, result, size);
+        return result;
+    }
 }
@@ -47,6 +47,14 @@ public class SimplexNoise extends AbstractNoise implements Noise2D, Noise3D {
             new Grad(1, 1, 1, 0), new Grad(1, 1, -1, 0), new Grad(1, -1, 1, 0), new Grad(1, -1, -1, 0),
             new Grad(-1, 1, 1, 0), new Grad(-1, 1, -1, 0), new Grad(-1, -1, 1, 0), new Grad(-1, -1, -1, 0)};
 
+    // The gradients of grad3 as plain arrays, for the batched noise
+    private static final float[] GRAD3_X = {1, -1, 1, -1, 1, -1, 1, -1, 0, 0, 0, 0};
+    private static final float[] GRAD3_Y = {1, 1, -1, -1, 0, 0, 0, 0, 1, -1, 1, -1};
+    private static final float[] GRAD3_Z = {0, 0, 0, 0, 1, 1, -1, -1, 1, 1, -1, -1};
+
+    // Number of positions whose cells are looked up before computing their noise
+    private static final int BATCH_SIZE = 256;
+
     // Skewing and unskewing factors for 2, 3, and 4 dimensions
     private static final float F2 = 0.5f * (float) (Math.sqrt(3.0f) - 1.0f);
     private static final float G2 = (3.0f - (float) Math.sqrt(3.0f)) / 6.0f;
@@ -58,6 +66,7 @@ public class SimplexNoise extends AbstractNoise implements Noise2D, Noise3D {
     private final short[] perm;
     private final short[] permMod12;
     private final int permCount;
+    private final int permMask;
     /**
      * Initialize permutations with a given seed and grid dimension.
      *
@@ -79,6 +88,7 @@ public SimplexNoise(long seed, int gridDim) {
         FastRandom rand = new FastRandom(seed);
 
         permCount = gridDim;
+        permMask = Integer.bitCount(gridDim) == 1 ? gridDim - 1 : -1;
 
         perm = new short[permCount * 2];
         permMod12 = new short[permCount * 2];
@@ -338,6 +348,170 @@ public float noise(float xin, float yin, float zin) {
     }
 
 
+    /**
+     * 2D simplex noise of many positions. The cell lookups are done first, for a batch of positions at a time, so that
+     * the contributions of the corners can be computed in loops without branches or table lookups.
+     */
+    @Override
+    public void noise(float[] xin, float[] yin, float[] result, int count) {
+        int batchSize = Math.min(count, BATCH_SIZE);
+        float[] x0 = new float[batchSize];
+        float[] y0 = new float[batchSize];
+        float[] x1 = new float[batchSize];
+        float[] y1 = new float[batchSize];
+        float[] gx0 = new float[batchSize];
+        float[] gy0 = new float[batchSize];
+        float[] gx1 = new float[batchSize];
+        float[] gy1 = new float[batchSize];
+        float[] gx2 = new float[batchSize];
+        float[] gy2 = new float[batchSize];
+
+        for (int start = 0; start < count; start += BATCH_SIZE) {
+            int size = Math.min(count - start, BATCH_SIZE);
+            for (int n = 0; n < size; n++) {
+                float x = xin[start + n];
+                float y = yin[start + n];
+                float s = (x + y) * F2;
+                int i = TeraMath.floorToInt(x + s);
+                int j = TeraMath.floorToInt(y + s);
+                float t = (i + j) * G2;
+                float xo0 = i - t;
+                float yo0 = j - t;
+                x0[n] = x - xo0;
+                y0[n] = y - yo0;
+                int i1 = x0[n] > y0[n] ? 1 : 0;
+                int j1 = 1 - i1;
+                x1[n] = x0[n] - i1 + G2;
+                y1[n] = y0[n] - j1 + G2;
+
+                int ii = wrap(i);
+                int jj = wrap(j);
+                int gi0 = permMod12[ii + perm[jj]];
+                int gi1 = permMod12[ii + i1 + perm[jj + j1]];
+                int gi2 = permMod12[ii + 1 + perm[jj + 1]];
+                gx0[n] = GRAD3_X[gi0];
+                gy0[n] = GRAD3_Y[gi0];
+                gx1[n] = GRAD3_X[gi1];
+                gy1[n] = GRAD3_Y[gi1];
+                gx2[n] = GRAD3_X[gi2];
+                gy2[n] = GRAD3_Y[gi2];
+            }
+
+            for (int n = 0; n < size; n++) {
+                float x2 = x0[n] - 1.0f + 2.0f * G2;
+                float y2 = y0[n] - 1.0f + 2.0f * G2;
+                float t0 = Math.max(0.5f - x0[n] * x0[n] - y0[n] * y0[n], 0);
+                float t1 = Math.max(0.5f - x1[n] * x1[n] - y1[n] * y1[n], 0);
+                float t2 = Math.max(0.5f - x2 * x2 - y2 * y2, 0);
+                t0 *= t0;
+                t1 *= t1;
+                t2 *= t2;
+                float n0 = t0 * t0 * (gx0[n] * x0[n] + gy0[n] * y0[n]);
+                float n1 = t1 * t1 * (gx1[n] * x1[n] + gy1[n] * y1[n]);
+                float n2 = t2 * t2 * (gx2[n] * x2 + gy2[n] * y2);
+                result[start + n] = 70.0f * (n0 + n1 + n2);
+            }
+        }
+    }
+
+    /**
+     * 3D simplex noise of many positions. The cell lookups are done first, for a batch of positions at a time, so that
+     * the contributions of the corners can be computed in loops without branches or table lookups.
+     */
+    @Override
+    public void noise(float[] xin, float[] yin, float[] zin, float[] result, int count) {
+        int batchSize = Math.min(count, BATCH_SIZE);
+        float[] x0 = new float[batchSize];
+        float[] y0 = new float[batchSize];
+        float[] z0 = new float[batchSize];
+        float[] x1 = new float[batchSize];
+        float[] y1 = new float[batchSize];
+        float[] z1 = new float[batchSize];
+        float[] x2 = new float[batchSize];
+        float[] y2 = new float[batchSize];
+        float[] z2 = new float[batchSize];
+        int[] gi0 = new int[batchSize];
+        int[] gi1 = new int[batchSize];
+        int[] gi2 = new int[batchSize];
+        int[] gi3 = new int[batchSize];
+
+        for (int start = 0; start < count; start += BATCH_SIZE) {
+            int size = Math.min(count - start, BATCH_SIZE);
+            for (int n = 0; n < size; n++) {
+                float x = xin[start + n];
+                float y = yin[start + n];
+                float z = zin[start + n];
+                float s = (x + y + z) * F3;
+                int i = TeraMath.floorToInt(x + s);
+                int j = TeraMath.floorToInt(y + s);
+                int k = TeraMath.floorToInt(z + s);
+                float t = (i + j + k) * G3;
+                float xo0 = i - t;
+                float yo0 = j - t;
+                float zo0 = k - t;
+                float dx = x - xo0;
+                float dy = y - yo0;
+                float dz = z - zo0;
+
+                // Same ranking as in the scalar version, without the nested branches
+                int i1 = dx >= dy && dx >= dz ? 1 : 0;
+                int j1 = dx < dy && dy >= dz ? 1 : 0;
+                int k1 = 1 - i1 - j1;
+                int i2 = dx >= dy || dx >= dz ? 1 : 0;
+                int j2 = dx < dy || dy >= dz ? 1 : 0;
+                int k2 = 2 - i2 - j2;
+
+                x0[n] = dx;
+                y0[n] = dy;
+                z0[n] = dz;
+                x1[n] = dx - i1 + G3;
+                y1[n] = dy - j1 + G3;
+                z1[n] = dz - k1 + G3;
+                x2[n] = dx - i2 + 2.0f * G3;
+                y2[n] = dy - j2 + 2.0f * G3;
+                z2[n] = dz - k2 + 2.0f * G3;
+
+                int ii = wrap(i);
+                int jj = wrap(j);
+                int kk = wrap(k);
+                gi0[n] = permMod12[ii + perm[jj + perm[kk]]];
+                gi1[n] = permMod12[ii + i1 + perm[jj + j1 + perm[kk + k1]]];
+                gi2[n] = permMod12[ii + i2 + perm[jj + j2 + perm[kk + k2]]];
+                gi3[n] = permMod12[ii + 1 + perm[jj + 1 + perm[kk + 1]]];
+            }
+
+            for (int n = 0; n < size; n++) {
+                float x3 = x0[n] - 1.0f + 3.0f * G3;
+                float y3 = y0[n] - 1.0f + 3.0f * G3;
+                float z3 = z0[n] - 1.0f + 3.0f * G3;
+                float t0 = Math.max(0.6f - x0[n] * x0[n] - y0[n] * y0[n] - z0[n] * z0[n], 0);
+                float t1 = Math.max(0.6f - x1[n] * x1[n] - y1[n] * y1[n] - z1[n] * z1[n], 0);
+                float t2 = Math.max(0.6f - x2[n] * x2[n] - y2[n] * y2[n] - z2[n] * z2[n], 0);
+                float t3 = Math.max(0.6f - x3 * x3 - y3 * y3 - z3 * z3, 0);
+                t0 *= t0;
+                t1 *= t1;
+                t2 *= t2;
+                t3 *= t3;
+                float n0 = t0 * t0 * dot3(gi0[n], x0[n], y0[n], z0[n]);
+                float n1 = t1 * t1 * dot3(gi1[n], x1[n], y1[n], z1[n]);
+                float n2 = t2 * t2 * dot3(gi2[n], x2[n], y2[n], z2[n]);
+                float n3 = t3 * t3 * dot3(gi3[n], x3, y3, z3);
+                result[start + n] = 32.0f * (n0 + n1 + n2 + n3);
+            }
+        }
+    }
+
+    /**
+     * @return the coordinate modulo the grid dimension, without a division if the dimension is a power of two
+     */
+    private int wrap(int coordinate) {
+        return permMask >= 0 ? coordinate & permMask : Math.floorMod(coordinate, permCount);
+    }
+
+    private static float dot3(int gradient, float x, float y, float z) {
+        return GRAD3_X[gradient] * x + GRAD3_Y[gradient] * y + GRAD3_Z[gradient] * z;
+    }
+
     /**
      * 4D simplex noise, better simplex rank ordering method 2012-03-09
      *
@@ -11,6 +11,7 @@
 import org.terasology.engine.world.block.BlockArea;
 import org.terasology.engine.world.block.BlockAreac;
 import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
 
 public class SubSampledNoise extends AbstractNoise {
 
@@ -51,10 +52,7 @@ public float noise(float x, float y) {
         return TeraMath.biLerp(q00, q10, q01, q11, xMod / sampleRate, yMod / sampleRate);
     }
 
-    public float[] noise(BlockAreac area) {
-        return noise(area, 1);
-    }
-
+    @Override
     public float[] noise(BlockAreac area, float scale) {
         BlockArea fullRegion = determineRequiredRegion(area);
         float[] keyData = getKeyValues(fullRegion, scale);
@@ -100,15 +98,18 @@ private float[] mapExpand(float[] keyData, BlockAreac fullRegion) {
     private float[] getKeyValues(BlockAreac fullRegion, float scale) {
         int xDim = fullRegion.getSizeX() / sampleRate + 1;
         int yDim = fullRegion.getSizeY() / sampleRate + 1;
-        float[] fullData = new float[xDim * yDim];
+        float[] positionsX = new float[xDim * yDim];
+        float[] positionsY = new float[xDim * yDim];
         for (int y = 0; y < yDim; y++) {
             for (int x = 0; x < xDim; x++) {
                 int actualX = x * sampleRate + fullRegion.minX();
                 int actualY = y * sampleRate + fullRegion.minY();
-                fullData[x + y * xDim] = source.noise(zoom.x * scale * actualX, zoom.y * scale * actualY);
+                positionsX[x + y * xDim] = zoom.x * scale * actualX;
+                positionsY[x + y * xDim] = zoom.y * scale * actualY;
             }
         }
-
+        float[] fullData = new float[xDim * yDim];
+        source.noise(positionsX, positionsY, fullData, fullData.length);
         return fullData;
     }
 
@@ -144,18 +145,15 @@ public float noise(float x, float y, float z) {
         return TeraMath.triLerp(q000, q100, q010, q110, q001, q101, q011, q111, xMod / sampleRate, yMod / sampleRate, zMod / sampleRate);
     }
 
-    public float[] noise(BlockRegion region) {
-        return noise(region, 1);
-    }
-
-    public float[] noise(BlockRegion region, float scale) {
+    @Override
+    public float[] noise(BlockRegionc region, float scale) {
         BlockRegion fullRegion = determineRequiredRegion(region);
         float[] keyData = getKeyValues(fullRegion, scale);
         float[] fullData = mapExpand(keyData, fullRegion);
         return getSubset(fullData, fullRegion, region);
     }
 
-    private float[] getSubset(float[] fullData, BlockRegion fullRegion, BlockRegion subRegion) {
+    private float[] getSubset(float[] fullData, BlockRegionc fullRegion, BlockRegionc subRegion) {
         if (subRegion.getSizeX() != fullRegion.getSizeX()
                 || subRegion.getSizeY() != fullRegion.getSizeY()
                 || subRegion.getSizeZ() != fullRegion.getSizeZ()) {
@@ -213,23 +211,27 @@ private float[] getKeyValues(BlockRegion fullRegion, float scale) {
         int xDim = fullRegion.getSizeX() / sampleRate + 1;
         int yDim = fullRegion.getSizeY() / sampleRate + 1;
         int zDim = fullRegion.getSizeZ() / sampleRate + 1;
-        float[] fullData = new float[xDim * yDim * zDim];
+        float[] positionsX = new float[xDim * yDim * zDim];
+        float[] positionsY = new float[xDim * yDim * zDim];
+        float[] positionsZ = new float[xDim * yDim * zDim];
         for (int z = 0; z < zDim; z++) {
             for (int y = 0; y < yDim; y++) {
                 for (int x = 0; x < xDim; x++) {
                     int actualX = x * sampleRate + fullRegion.minX();
                     int actualY = y * sampleRate + fullRegion.minY();
                     int actualZ = z * sampleRate + fullRegion.minZ();
-                    fullData[x + xDim * (y + yDim * z)] = source.noise(zoom.x * scale * actualX,
-                            zoom.y * scale * actualY,
-                            zoom.z * scale * actualZ);
+                    positionsX[x + xDim * (y + yDim * z)] = zoom.x * scale * actualX;
+                    positionsY[x + xDim * (y + yDim * z)] = zoom.y * scale * actualY;
+                    positionsZ[x + xDim * (y + yDim * z)] = zoom.z * scale * actualZ;
                 }
             }
         }
+        float[] fullData = new float[xDim * yDim * zDim];
+        source.noise(positionsX, positionsY, positionsZ, fullData, fullData.length);
         return fullData;
     }
 
-    private BlockRegion determineRequiredRegion(BlockRegion region) {
+    private BlockRegion determineRequiredRegion(BlockRegionc region) {
         int newMinX = region.minX() - IntMath.mod(region.minX(), sampleRate);
         int newMinY = region.minY() - IntMath.mod(region.minY(), sampleRate);
         int newMinZ = region.minZ() - IntMath.mod(region.minZ(), sampleRate);
@@ -120,7 +120,15 @@ public BlockMeshPart rotate(Quaternionf rotation) {
         return new BlockMeshPart(newVertices, newNormals, texCoords, indices, texFrames);
     }
 
-    private float[] calcLightingValuesForVertexPos(ChunkView chunkView, Vector3f vertexPos, Vector3f normal) {
+    /**
+     * Calculates the lighting of a vertex from the blocks around it.
+     *
+     * @param chunkView the blocks and light around the vertex
+     * @param vertexPos the position of the vertex, relative to the chunk view
+     * @param normal the normal of the vertex
+     * @return the sunlight, block light and ambient occlusion of the vertex
+     */
+    public static float[] calcLightingValuesForVertexPos(ChunkView chunkView, Vector3f vertexPos, Vector3f normal) {
         PerformanceMonitor.startActivity("calcLighting");
         float[] lights = new float[8];
         float[] blockLights = new float[8];
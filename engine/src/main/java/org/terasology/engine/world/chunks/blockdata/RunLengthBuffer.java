@@ -0,0 +1,139 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.world.chunks.blockdata;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * RunLengthBuffer is a growable list of runs of equal values, used to run-length encode and decode tera arrays
+ * without calling {@link TeraArray#get(int, int, int)} and {@link TeraArray#set(int, int, int, int)} for every element.
+ * <p>
+ * Adjacent runs of the same value are merged as they are added, so the runs of an array are the same no matter how
+ * the array is laid out internally.
+ *
+ * @see TeraArray#encodeRuns(RunLengthBuffer)
+ * @see TeraArray#decodeRuns(RunLengthBuffer)
+ */
+public final class RunLengthBuffer {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int[] lengths;
+    private int[] values;
+    private int size;
+
+    public RunLengthBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RunLengthBuffer(int capacity) {
+        Preconditions.checkArgument(capacity >= 0, "Parameter 'capacity' must not be negative (" + capacity + ")");
+        lengths = new int[capacity];
+        values = new int[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getLength(int index) {
+        Preconditions.checkElementIndex(index, size);
+        return lengths[index];
+    }
+
+    public int getValue(int index) {
+        Preconditions.checkElementIndex(index, size);
+        return values[index];
+    }
+
+    /**
+     * Appends a run, merging it into the last run if that has the same value. Empty runs are ignored.
+     */
+    public void add(int value, int length) {
+        if (length <= 0) {
+            return;
+        }
+        if (size > 0 && values[size - 1] == value) {
+            lengths[size - 1] += length;
+            return;
+        }
+        if (size == lengths.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size * 2);
+            lengths = Arrays.copyOf(lengths, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        lengths[size] = length;
+        values[size] = value;
+        size++;
+    }
+
+    public void removeLast() {
+        Preconditions.checkState(size > 0, "There is no run to remove");
+        size--;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    void addAll(short[] data, int from, int to) {
+        int start = from;
+        while (start < to) {
+            short value = data[start];
+            int end = start + 1;
+            while (end < to && data[end] == value) {
+                end++;
+            }
+            add(value, end - start);
+            start = end;
+        }
+    }
+
+    void addAll(byte[] data, int from, int to) {
+        int start = from;
+        while (start < to) {
+            byte value = data[start];
+            int end = start + 1;
+            while (end < to && data[end] == value) {
+                end++;
+            }
+            add(value, end - start);
+            start = end;
+        }
+    }
+
+    /**
+     * Appends the runs of the 4 bit elements stored in the high nibbles of the given bytes.
+     */
+    void addAllHi(byte[] data, int from, int to) {
+        int start = from;
+        while (start < to) {
+            int value = TeraArrayUtils.getHi(data[start]);
+            int end = start + 1;
+            while (end < to && TeraArrayUtils.getHi(data[end]) == value) {
+                end++;
+            }
+            add(value, end - start);
+            start = end;
+        }
+    }
+
+    /**
+     * Appends the runs of the 4 bit elements stored in the low nibbles of the given bytes.
+     */
+    void addAllLo(byte[] data, int from, int to) {
+        int start = from;
+        while (start < to) {
+            int value = TeraArrayUtils.getLo(data[start]);
+            int end = start + 1;
+            while (end < to && TeraArrayUtils.getLo(data[end]) == value) {
+                end++;
+            }
+            add(value, end - start);
+            start = end;
+        }
+    }
+}
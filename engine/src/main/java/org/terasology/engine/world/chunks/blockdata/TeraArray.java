@@ -132,6 +132,51 @@ public String toString() {
 
     public abstract boolean set(int x, int y, int z, int value, int expected);
 
+    /**
+     * Appends the elements of this array to the given runs, in the order of their position: x first, then z, then y.
+     * <p>
+     * Implementations should override this to read their backing arrays directly.
+     */
+    public void encodeRuns(RunLengthBuffer runs) {
+        for (int y = 0; y < sizeY; y++) {
+            for (int z = 0; z < sizeZ; z++) {
+                for (int x = 0; x < sizeX; x++) {
+                    runs.add(get(x, y, z), 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the elements of this array from the given runs, in the same order as {@link #encodeRuns(RunLengthBuffer)}.
+     * Elements past the end of the runs keep their value, runs past the end of the array are ignored.
+     */
+    public void decodeRuns(RunLengthBuffer runs) {
+        int index = 0;
+        for (int i = 0; i < runs.size() && index < sizeXYZ; i++) {
+            int end = Math.min(index + runs.getLength(i), sizeXYZ);
+            int value = runs.getValue(i);
+            while (index < end) {
+                int y = index / sizeXZ;
+                int rowStart = y * sizeXZ;
+                int to = Math.min(end - rowStart, sizeXZ);
+                fillRow(y, index - rowStart, to, value);
+                index = rowStart + to;
+            }
+        }
+    }
+
+    /**
+     * Sets the elements of the row {@code y} whose {@link #pos(int, int)} lies in {@code [from, to)} to the given value.
+     * <p>
+     * Implementations should override this to write their backing arrays directly.
+     */
+    protected void fillRow(int y, int from, int to, int value) {
+        for (int pos = from; pos < to; pos++) {
+            set(pos % sizeX, y, pos / sizeX, value);
+        }
+    }
+
     /**
      * This is the interface for tera array factories. Every tera array is required to implement a factory.
      * It should be implemented as a static subclass of the corresponding tera array class and it should be called Factory.
@@ -31,4 +31,18 @@ public static byte setLo(int value, int lo) {
     public static byte makeByte(int hi, int lo) {
         return (byte) ((hi << 4) | (lo));
     }
+
+    /**
+     * Sets the 4 bit elements {@code [from, to)} of a row stored from {@code offset} on, with the first half of the
+     * row in the high nibbles and the second half in the low nibbles.
+     */
+    public static void fillNibbles(byte[] data, int offset, int rowSizeHalf, int from, int to, int value) {
+        for (int pos = from, end = Math.min(to, rowSizeHalf); pos < end; pos++) {
+            data[offset + pos] = setHi(data[offset + pos], value);
+        }
+        for (int pos = Math.max(from, rowSizeHalf); pos < to; pos++) {
+            int i = offset + pos - rowSizeHalf;
+            data[i] = setLo(data[i], value);
+        }
+    }
 }
@@ -8,6 +8,7 @@
 
 import java.nio.ByteBuffer;
 import java.nio.ShortBuffer;
+import java.util.Arrays;
 
 /**
  * TeraDenseArray16Bit implements a dense array with elements of 16 bit size.
@@ -92,6 +93,17 @@ public boolean set(int x, int y, int z, int value, int expected) {
         return false;
     }
 
+    @Override
+    public void encodeRuns(RunLengthBuffer runs) {
+        runs.addAll(data, 0, data.length);
+    }
+
+    @Override
+    protected void fillRow(int y, int from, int to, int value) {
+        int row = y * getSizeXZ();
+        Arrays.fill(data, row + from, row + to, (short) value);
+    }
+
     public static class SerializationHandler extends TeraArray.BasicSerializationHandler<TeraDenseArray16Bit> {
 
         @Override
@@ -101,6 +101,20 @@ public boolean set(int x, int y, int z, int value, int expected) {
         return false;
     }
 
+    @Override
+    public void encodeRuns(RunLengthBuffer runs) {
+        int rowSize = getSizeXZHalf();
+        for (int row = 0; row < data.length; row += rowSize) {
+            runs.addAllHi(data, row, row + rowSize);
+            runs.addAllLo(data, row, row + rowSize);
+        }
+    }
+
+    @Override
+    protected void fillRow(int y, int from, int to, int value) {
+        TeraArrayUtils.fillNibbles(data, y * getSizeXZHalf(), getSizeXZHalf(), from, to, value);
+    }
+
     public static class SerializationHandler extends TeraDenseArrayByte.SerializationHandler<TeraDenseArray4Bit> {
 
         @Override
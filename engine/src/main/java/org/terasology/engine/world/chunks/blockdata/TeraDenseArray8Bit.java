@@ -6,6 +6,7 @@
 import com.google.common.base.Preconditions;
 import org.terasology.engine.world.chunks.deflate.TeraVisitingDeflator;
 
+import java.util.Arrays;
 
 /**
  * TeraDenseArray8Bit implements a dense array with elements of 8 bit size.
@@ -75,6 +76,17 @@ public boolean set(int x, int y, int z, int value, int expected) {
         return false;
     }
 
+    @Override
+    public void encodeRuns(RunLengthBuffer runs) {
+        runs.addAll(data, 0, data.length);
+    }
+
+    @Override
+    protected void fillRow(int y, int from, int to, int value) {
+        int row = y * getSizeXZ();
+        Arrays.fill(data, row + from, row + to, (byte) value);
+    }
+
     public static class SerializationHandler extends TeraDenseArrayByte.SerializationHandler<TeraDenseArray8Bit> {
 
         @Override
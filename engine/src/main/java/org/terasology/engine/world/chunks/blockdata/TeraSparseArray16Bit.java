@@ -168,6 +168,50 @@ public boolean set(int x, int y, int z, int value, int expected) {
         return false;
     }
 
+    @Override
+    public void encodeRuns(RunLengthBuffer runs) {
+        if (inflated == null) {
+            runs.add(fill, getSizeXYZ());
+            return;
+        }
+        for (int y = 0; y < getSizeY(); y++) {
+            short[] row = inflated[y];
+            if (row == null) {
+                runs.add(deflated[y], getSizeXZ());
+            } else {
+                runs.addAll(row, 0, getSizeXZ());
+            }
+        }
+    }
+
+    @Override
+    protected void fillRow(int y, int from, int to, int value) {
+        short shortValue = (short) value;
+        if (inflated == null) {
+            if (fill == shortValue) {
+                return;
+            }
+            this.inflated = new short[getSizeY()][];
+            this.deflated = new short[getSizeY()];
+            Arrays.fill(deflated, fill);
+        }
+        if (from == 0 && to == getSizeXZ()) {
+            inflated[y] = null;
+            deflated[y] = shortValue;
+            return;
+        }
+        short[] row = inflated[y];
+        if (row == null) {
+            if (deflated[y] == shortValue) {
+                return;
+            }
+            row = new short[getSizeXZ()];
+            Arrays.fill(row, deflated[y]);
+            inflated[y] = row;
+        }
+        Arrays.fill(row, from, to, shortValue);
+    }
+
     public static class SerializationHandler extends TeraArray.BasicSerializationHandler<TeraSparseArray16Bit> {
 
         private void putRow(final short[] row, final int length, final ByteBuffer buffer) {
@@ -172,6 +172,58 @@ public boolean set(int x, int y, int z, int value, int expected) {
         return false;
     }
 
+    @Override
+    public void encodeRuns(RunLengthBuffer runs) {
+        int rowSize = rowSize();
+        if (inflated == null && TeraArrayUtils.getHi(fill) == TeraArrayUtils.getLo(fill)) {
+            runs.add(TeraArrayUtils.getLo(fill), getSizeXYZ());
+            return;
+        }
+        for (int y = 0; y < getSizeY(); y++) {
+            byte[] row = inflated == null ? null : inflated[y];
+            if (row == null) {
+                byte packed = inflated == null ? fill : deflated[y];
+                runs.add(TeraArrayUtils.getHi(packed), rowSize);
+                runs.add(TeraArrayUtils.getLo(packed), rowSize);
+            } else {
+                runs.addAllHi(row, 0, rowSize);
+                runs.addAllLo(row, 0, rowSize);
+            }
+        }
+    }
+
+    @Override
+    protected void fillRow(int y, int from, int to, int value) {
+        if (inflated == null) {
+            if (rowMatches(fill, from, to, value)) {
+                return;
+            }
+            this.inflated = new byte[getSizeY()][];
+            this.deflated = new byte[getSizeY()];
+            Arrays.fill(deflated, fill);
+        }
+        if (from == 0 && to == getSizeXZ()) {
+            inflated[y] = null;
+            deflated[y] = TeraArrayUtils.makeByte(value, value);
+            return;
+        }
+        byte[] row = inflated[y];
+        if (row == null) {
+            if (rowMatches(deflated[y], from, to, value)) {
+                return;
+            }
+            row = new byte[rowSize()];
+            Arrays.fill(row, deflated[y]);
+            inflated[y] = row;
+        }
+        TeraArrayUtils.fillNibbles(row, 0, rowSize(), from, to, value);
+    }
+
+    private boolean rowMatches(byte packed, int from, int to, int value) {
+        return (from >= getSizeXZHalf() || TeraArrayUtils.getHi(packed) == value)
+                && (to <= getSizeXZHalf() || TeraArrayUtils.getLo(packed) == value);
+    }
+
     public static final class SerializationHandler extends TeraSparseArrayByte.SerializationHandler<TeraSparseArray4Bit> {
 
         @Override
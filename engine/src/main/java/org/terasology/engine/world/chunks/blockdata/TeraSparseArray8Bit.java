@@ -135,6 +135,50 @@ public boolean set(int x, int y, int z, int value, int expected) {
         return false;
     }
 
+    @Override
+    public void encodeRuns(RunLengthBuffer runs) {
+        if (inflated == null) {
+            runs.add(fill, getSizeXYZ());
+            return;
+        }
+        for (int y = 0; y < getSizeY(); y++) {
+            byte[] row = inflated[y];
+            if (row == null) {
+                runs.add(deflated[y], getSizeXZ());
+            } else {
+                runs.addAll(row, 0, getSizeXZ());
+            }
+        }
+    }
+
+    @Override
+    protected void fillRow(int y, int from, int to, int value) {
+        byte byteValue = (byte) value;
+        if (inflated == null) {
+            if (fill == byteValue) {
+                return;
+            }
+            this.inflated = new byte[getSizeY()][];
+            this.deflated = new byte[getSizeY()];
+            Arrays.fill(deflated, fill);
+        }
+        if (from == 0 && to == getSizeXZ()) {
+            inflated[y] = null;
+            deflated[y] = byteValue;
+            return;
+        }
+        byte[] row = inflated[y];
+        if (row == null) {
+            if (deflated[y] == byteValue) {
+                return;
+            }
+            row = new byte[getSizeXZ()];
+            Arrays.fill(row, deflated[y]);
+            inflated[y] = row;
+        }
+        Arrays.fill(row, from, to, byteValue);
+    }
+
     public static final class SerializationHandler extends TeraSparseArrayByte.SerializationHandler<TeraSparseArray8Bit> {
 
         @Override
@@ -3,12 +3,14 @@
 package org.terasology.engine.world.chunks.internal;
 
 import com.google.common.base.Preconditions;
+import com.google.common.primitives.Ints;
 import com.google.protobuf.ByteString;
 import gnu.trove.list.TByteList;
 import gnu.trove.list.array.TByteArrayList;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.chunks.blockdata.RunLengthBuffer;
 import org.terasology.engine.world.chunks.blockdata.TeraArray;
 import org.terasology.engine.world.chunks.blockdata.TeraDenseArray16Bit;
 import org.terasology.engine.world.chunks.blockdata.TeraDenseArray8Bit;
@@ -51,29 +53,22 @@ public static Chunk decode(EntityData.ChunkStore message, BlockManager blockMana
     }
 
     private static EntityData.RunLengthEncoding16 runLengthEncode16(TeraArray array) {
-        EntityData.RunLengthEncoding16.Builder builder = EntityData.RunLengthEncoding16.newBuilder();
-        short lastItem = (short) array.get(0, 0, 0);
-        int counter = 0;
-        for (int y = 0; y < array.getSizeY(); ++y) {
-            for (int z = 0; z < array.getSizeZ(); ++z) {
-                for (int x = 0; x < array.getSizeX(); ++x) {
-                    short item = (short) array.get(x, y, z);
-                    if (lastItem != item) {
-                        builder.addRunLengths(counter);
-                        builder.addValues(lastItem & 0xFFFF);
-                        lastItem = item;
-                        counter = 1;
-                    } else {
-                        counter++;
-                    }
-                }
-            }
+        RunLengthBuffer runs = new RunLengthBuffer();
+        array.encodeRuns(runs);
+        // A trailing run of zeros is left out, arrays being decoded into are zeroed already
+        if (runs.size() > 0 && runs.getValue(runs.size() - 1) == 0) {
+            runs.removeLast();
         }
-        if (lastItem != 0) {
-            builder.addRunLengths(counter);
-            builder.addValues(lastItem & 0xFFFF);
+        int[] runLengths = new int[runs.size()];
+        int[] values = new int[runs.size()];
+        for (int i = 0; i < runs.size(); i++) {
+            runLengths[i] = runs.getLength(i);
+            values[i] = runs.getValue(i) & 0xFFFF;
         }
-        return builder.build();
+        return EntityData.RunLengthEncoding16.newBuilder()
+                .addAllRunLengths(Ints.asList(runLengths))
+                .addAllValues(Ints.asList(values))
+                .build();
     }
 
     private static EntityData.RunLengthEncoding8 runLengthEncode8(TeraArray array) {
@@ -105,17 +100,9 @@ private static EntityData.RunLengthEncoding8 runLengthEncode8(TeraArray array) {
     }
 
     private static TeraArray runLengthDecode(EntityData.RunLengthEncoding16 data) {
-        Preconditions.checkState(data.getValuesCount() == data.getRunLengthsCount(), "Expected same number of values as runs");
-        short[] decodedData = new short[Chunks.SIZE_X * Chunks.SIZE_Y * Chunks.SIZE_Z];
-        int index = 0;
-        for (int pos = 0; pos < data.getValuesCount(); ++pos) {
-            int length = data.getRunLengths(pos);
-            short value = (short) data.getValues(pos);
-            for (int i = 0; i < length; ++i) {
-                decodedData[index++] = value;
-            }
-        }
-        return new TeraDenseArray16Bit(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z, decodedData);
+        TeraArray array = new TeraDenseArray16Bit(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z);
+        runLengthDecode(data, array);
+        return array;
     }
 
     private static TeraArray runLengthDecode(EntityData.RunLengthEncoding8 data) {
@@ -138,25 +125,11 @@ private static TeraArray runLengthDecode(EntityData.RunLengthEncoding8 data) {
      * Generic w.r.t. TeraArray subclasses, allowing the data to be used for any type of TeraArray.
      */
     private static void runLengthDecode(EntityData.RunLengthEncoding16 data, TeraArray array) {
-        int index = 0;
-        int count = 0;
-        int value = 0;
-        outer:
-        for (int y = 0; y < array.getSizeY(); ++y) {
-            for (int z = 0; z < array.getSizeZ(); ++z) {
-                for (int x = 0; x < array.getSizeX(); ++x) {
-                    if (count == 0) {
-                        if (index >= data.getRunLengthsCount()) {
-                            break outer;
-                        }
-                        count = data.getRunLengths(index);
-                        value = data.getValues(index);
-                        index++;
-                    }
-                    count--;
-                    array.set(x, y, z, value);
-                }
-            }
+        Preconditions.checkState(data.getValuesCount() == data.getRunLengthsCount(), "Expected same number of values as runs");
+        RunLengthBuffer runs = new RunLengthBuffer(data.getRunLengthsCount());
+        for (int i = 0; i < data.getRunLengthsCount(); i++) {
+            runs.add(data.getValues(i), data.getRunLengths(i));
         }
+        array.decodeRuns(runs);
     }
 }
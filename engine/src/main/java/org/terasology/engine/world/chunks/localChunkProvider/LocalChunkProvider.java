@@ -138,6 +138,13 @@ protected Future<Chunk> createOrLoadChunk(Vector3ic chunkPos) {
             });
     }
 
+    /**
+     * Re-prioritise queued chunk loading, after the relevance regions moved.
+     */
+    void updateChunkTaskPriorities() {
+        loadingPipeline.updatePriorities();
+    }
+
     public void setBlockEntityRegistry(BlockEntityRegistry value) {
         this.registry = value;
     }
@@ -402,7 +409,7 @@ public void purgeWorld() {
         storageManager.deleteWorld();
         worldEntity.send(new PurgeWorldEvent());
 
-        loadingPipeline = new ChunkProcessingPipeline(this::getChunk, relevanceSystem.createChunkTaskComporator());
+        loadingPipeline = new ChunkProcessingPipeline(this::getChunk, relevanceSystem.createChunkTaskScorer());
         loadingPipeline.addStage(
             ChunkTaskProvider.create("Chunk generate internal lightning",
                 (Consumer<Chunk>) InternalLightProcessor::generateInternalLighting))
@@ -440,7 +447,7 @@ private boolean isChunkReady(Chunk chunk) {
     // TODO: move loadingPipeline initialization into constructor.
     public void setRelevanceSystem(RelevanceSystem relevanceSystem) {
         this.relevanceSystem = relevanceSystem;
-        loadingPipeline = new ChunkProcessingPipeline(this::getChunk, relevanceSystem.createChunkTaskComporator());
+        loadingPipeline = new ChunkProcessingPipeline(this::getChunk, relevanceSystem.createChunkTaskScorer());
         loadingPipeline.addStage(
             ChunkTaskProvider.create("Chunk generate internal lightning",
                 (Consumer<Chunk>) InternalLightProcessor::generateInternalLighting))
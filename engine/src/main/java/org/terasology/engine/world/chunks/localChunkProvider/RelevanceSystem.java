@@ -22,14 +22,13 @@
 import org.terasology.engine.world.chunks.event.BeforeChunkUnload;
 import org.terasology.engine.world.chunks.event.OnChunkLoaded;
 import org.terasology.engine.world.chunks.internal.ChunkRelevanceRegion;
-import org.terasology.engine.world.chunks.pipeline.PositionFuture;
 
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Map;
-import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
 import java.util.stream.StreamSupport;
 
 /**
@@ -123,9 +122,11 @@ public void removeRelevanceEntity(EntityRef entity) {
      */
     private void updateRelevance() {
         try (Activity activity = PerformanceMonitor.startActivity("Update relevance")) {
+            boolean regionsChanged = false;
             for (ChunkRelevanceRegion chunkRelevanceRegion : regions.values()) {
                 chunkRelevanceRegion.update();
                 if (chunkRelevanceRegion.isDirty()) {
+                    regionsChanged = true;
                     for (Vector3i pos : chunkRelevanceRegion.getNeededChunks()) {
                         Chunk chunk = chunkProvider.getChunk(pos);
                         if (chunk != null) {
@@ -137,6 +138,9 @@ private void updateRelevance() {
                     chunkRelevanceRegion.setUpToDate();
                 }
             }
+            if (regionsChanged) {
+                chunkProvider.updateChunkTaskPriorities();
+            }
         }
     }
 
@@ -172,6 +176,7 @@ public void addRelevanceEntity(EntityRef entity, Vector3ic distance, ChunkRegion
         } finally {
             regionLock.writeLock().unlock();
         }
+        chunkProvider.updateChunkTaskPriorities();
 
         StreamSupport.stream(region.getCurrentRegion().spliterator(), false)
                 .sorted(new PositionRelevanceComparator()) //<-- this is n^2 cost. not sure why this needs to be sorted like this.
@@ -203,12 +208,12 @@ public boolean isChunkInRegions(Vector3ic pos) {
     }
 
     /**
-     * Create comporator for ChunkTasks, which compare by distance from region centers
+     * Create score function for ChunkTasks, which scores by distance from region centers
      *
-     * @return Comporator.
+     * @return score function, lower is more relevant.
      */
-    public Comparator<Future<Chunk>> createChunkTaskComporator() {
-        return new ChunkTaskRelevanceComparator();
+    public ToIntFunction<Vector3ic> createChunkTaskScorer() {
+        return this::regionsDistanceScore;
     }
 
     /**
@@ -270,22 +275,6 @@ private int regionsDistanceScore(Vector3ic chunk) {
         }
     }
 
-    /**
-     * Compare ChunkTasks by distance from region's centers.
-     */
-    private class ChunkTaskRelevanceComparator implements Comparator<Future<Chunk>> {
-
-        @Override
-        public int compare(Future<Chunk> o1, Future<Chunk> o2) {
-            return score((PositionFuture<?>) o1) - score((PositionFuture<?>) o2);
-        }
-
-        private int score(PositionFuture<?> task) {
-            return RelevanceSystem.this.regionsDistanceScore(task.getPosition());
-        }
-    }
-
-
     /**
      * Compare ChunkTasks by distance from region's centers.
      */
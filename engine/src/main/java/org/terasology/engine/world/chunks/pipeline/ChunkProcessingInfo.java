@@ -3,6 +3,7 @@
 
 package org.terasology.engine.world.chunks.pipeline;
 
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.SettableFuture;
 import org.joml.Vector3ic;
 import org.terasology.engine.world.chunks.pipeline.stages.ChunkTask;
@@ -10,17 +11,21 @@
 import org.terasology.engine.world.chunks.Chunk;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Future;
 
 public final class ChunkProcessingInfo {
     private final Vector3ic position;
     private final SettableFuture<Chunk> externalFuture;
+    private final Set<Vector3ic> pendingRequirements = Sets.newHashSet();
 
     private Chunk chunk;
     private ChunkTaskProvider chunkTaskProvider;
 
     private Future<Chunk> currentFuture;
     private org.terasology.engine.world.chunks.pipeline.stages.ChunkTask chunkTask;
+    private long chunkTaskCreationTime;
+    private boolean processingEnded;
 
     public ChunkProcessingInfo(Vector3ic position, SettableFuture<Chunk> externalFuture) {
         this.position = position;
@@ -67,6 +72,30 @@ public void setChunkTask(org.terasology.engine.world.chunks.pipeline.stages.Chun
         this.chunkTask = chunkTask;
     }
 
+    /**
+     * @return positions required by the current chunk task which are not available yet.
+     */
+    Set<Vector3ic> getPendingRequirements() {
+        return pendingRequirements;
+    }
+
+    /**
+     * @return {@link System#nanoTime()} at which the current chunk task was created.
+     */
+    long getChunkTaskCreationTime() {
+        return chunkTaskCreationTime;
+    }
+
+    /**
+     * Index of the stage this chunk is at: -1 while generating, {@code stages.size()} once all stages are done.
+     */
+    int getStageIndex(List<ChunkTaskProvider> stages) {
+        if (processingEnded) {
+            return stages.size();
+        }
+        return stages.indexOf(chunkTaskProvider);
+    }
+
     boolean hasNextStage(List<ChunkTaskProvider> stages) {
         if (chunkTaskProvider == null) {
             return true;
@@ -84,12 +113,14 @@ void nextStage(List<ChunkTaskProvider> stages) {
     }
 
     void endProcessing() {
+        processingEnded = true;
         externalFuture.set(chunk);
     }
 
     ChunkTask makeChunkTask() {
         if (chunkTask == null) {
             chunkTask = chunkTaskProvider.createChunkTask(position);
+            chunkTaskCreationTime = System.nanoTime();
         }
         return chunkTask;
     }
@@ -97,5 +128,6 @@ ChunkTask makeChunkTask() {
     void resetTaskState() {
         currentFuture = null;
         chunkTask = null;
+        pendingRequirements.clear();
     }
 }
@@ -6,35 +6,37 @@
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.SettableFuture;
+import gnu.trove.map.TObjectIntMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.engine.monitoring.PerformanceMonitor;
 import org.terasology.engine.monitoring.ThreadActivity;
 import org.terasology.engine.monitoring.ThreadMonitor;
-import org.terasology.engine.utilities.ReflectionUtil;
 import org.terasology.engine.world.chunks.Chunk;
 import org.terasology.engine.world.chunks.pipeline.stages.ChunkTask;
 import org.terasology.engine.world.chunks.pipeline.stages.ChunkTaskProvider;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
-import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.RunnableFuture;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -44,38 +46,53 @@
  */
 public class ChunkProcessingPipeline {
 
-    private static final int NUM_TASK_THREADS = 4;
+    private static final long HOUSEKEEPING_INTERVAL_MS = 250;
+    private static final String GENERATION_STAGE_NAME = "Generation or Loading";
+    private static final String METRIC_PREFIX = "Chunk Pipeline - ";
     private static final Logger logger = LoggerFactory.getLogger(ChunkProcessingPipeline.class);
 
     private final List<ChunkTaskProvider> stages = Lists.newArrayList();
     private final Thread reactor;
-    private final CompletionService<Chunk> chunkProcessor;
-    private final ThreadPoolExecutor executor;
+    private final BlockingQueue<PositionFuture<Chunk>> completedTasks = Queues.newLinkedBlockingQueue();
+    private final ChunkTaskQueue taskQueue;
+    private final ExecutorService executor;
     private final Function<Vector3ic, Chunk> chunkProvider;
     private final Map<Vector3ic, ChunkProcessingInfo> chunkProcessingInfoMap = Maps.newConcurrentMap();
-    private int threadIndex;
+    private final ChunkTaskDependencyIndex dependencyIndex = new ChunkTaskDependencyIndex();
+
+    // Metrics, only touched by the reactor thread.
+    private final TObjectIntMap<String> stageCompletions = new TObjectIntHashMap<>();
+    private long lastHousekeepingTime = System.nanoTime();
+    private long waitTimeTotal;
+    private int waitTimeSamples;
+
+    /**
+     * Create ChunkProcessingPipeline, with the number of threads configured in
+     * {@link org.terasology.engine.config.SystemConfig}.
+     *
+     * @param chunkProvider provides chunks which are already loaded, used to satisfy task requirements.
+     * @param relevanceScore scores chunk positions; tasks for lower scoring positions run first.
+     */
+    public ChunkProcessingPipeline(Function<Vector3ic, Chunk> chunkProvider, ToIntFunction<Vector3ic> relevanceScore) {
+        this(chunkProvider, relevanceScore, ChunkWorkerPools.getProcessingThreads(),
+                ChunkWorkerPools.isSharedPoolEnabled());
+    }
 
     /**
      * Create ChunkProcessingPipeline.
+     *
+     * @param chunkProvider provides chunks which are already loaded, used to satisfy task requirements.
+     * @param relevanceScore scores chunk positions; tasks for lower scoring positions run first.
+     * @param numThreads maximum number of chunk tasks running at the same time.
+     * @param sharedPool whether to run chunk tasks on the pool shared by all chunk workers, see
+     *         {@link ChunkWorkerPools}.
      */
-    public ChunkProcessingPipeline(Function<Vector3ic, Chunk> chunkProvider, Comparator<Future<Chunk>> comparable) {
+    public ChunkProcessingPipeline(Function<Vector3ic, Chunk> chunkProvider, ToIntFunction<Vector3ic> relevanceScore,
+                                   int numThreads, boolean sharedPool) {
         this.chunkProvider = chunkProvider;
 
-        executor = new ThreadPoolExecutor(
-                NUM_TASK_THREADS,
-                NUM_TASK_THREADS, 0L,
-                TimeUnit.MILLISECONDS,
-                new PriorityBlockingQueue(800, unwrappingComporator(comparable)),
-                this::threadFactory,
-                this::rejectQueueHandler) {
-            @Override
-            protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
-                RunnableFuture<T> newTaskFor = super.newTaskFor(callable);
-                return new PositionFuture<>(newTaskFor, ((PositionalCallable) callable).getPosition());
-            }
-        };
-        chunkProcessor = new ExecutorCompletionService<>(executor,
-                new PriorityBlockingQueue<>(800, comparable));
+        taskQueue = new ChunkTaskQueue(relevanceScore);
+        executor = ChunkWorkerPools.createExecutor("Chunk-Processing", numThreads, taskQueue, sharedPool);
         reactor = new Thread(this::chunkTaskHandler);
         reactor.setDaemon(true);
         reactor.setName("Chunk-Processing-Reactor");
@@ -83,15 +100,10 @@ protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
     }
 
     /**
-     * BlackMagic method: {@link ExecutorCompletionService} wraps task with QueueingFuture (private access)
-     * there takes wrapped task for comparing in {@link ThreadPoolExecutor}
+     * Re-scores all queued chunk tasks with the relevance score function, e.g. after a player entered another chunk.
      */
-    private Comparator unwrappingComporator(Comparator<Future<Chunk>> comparable) {
-        return (o1, o2) -> {
-                Object unwrapped1 = ReflectionUtil.readField(o1, "task");
-                Object unwrapped2 = ReflectionUtil.readField(o2, "task");
-                return comparable.compare((Future<Chunk>) unwrapped1, (Future<Chunk>) unwrapped2);
-        };
+    public void updatePriorities() {
+        taskQueue.updatePriorities();
     }
 
     /**
@@ -100,12 +112,18 @@ private Comparator unwrappingComporator(Comparator<Future<Chunk>> comparable) {
     private void chunkTaskHandler() {
         try {
             while (!executor.isTerminated()) {
-                PositionFuture<Chunk> future = (PositionFuture<Chunk>) chunkProcessor.take();
-                ChunkProcessingInfo chunkProcessingInfo = chunkProcessingInfoMap.get(future.getPosition());
-                if (chunkProcessingInfo == null) {
-                    continue; // chunk processing was cancelled.
+                PositionFuture<Chunk> future = completedTasks.poll(HOUSEKEEPING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (future != null && !future.isCancelled()) {
+                    ChunkProcessingInfo chunkProcessingInfo = chunkProcessingInfoMap.get(future.getPosition());
+                    if (chunkProcessingInfo != null) { // otherwise chunk processing was cancelled.
+                        onStageDone(future, chunkProcessingInfo);
+                    }
+                }
+                long now = System.nanoTime();
+                if (now - lastHousekeepingTime >= TimeUnit.MILLISECONDS.toNanos(HOUSEKEEPING_INTERVAL_MS)) {
+                    recheckExternalRequirements();
+                    reportMetrics(now);
                 }
-                onStageDone(future, chunkProcessingInfo);
             }
         } catch (InterruptedException e) {
             if (!executor.isTerminated()) {
@@ -117,47 +135,130 @@ private void chunkTaskHandler() {
 
     private void onStageDone(PositionFuture<Chunk> future, ChunkProcessingInfo chunkProcessingInfo) throws InterruptedException {
         try {
+            String stageName = getStageName(chunkProcessingInfo);
             chunkProcessingInfo.resetTaskState();
             chunkProcessingInfo.setChunk(future.get());
+            stageCompletions.adjustOrPutValue(stageName, 1, 1);
 
             //Move by stage.
             if (chunkProcessingInfo.hasNextStage(stages)) {
                 chunkProcessingInfo.nextStage(stages);
                 chunkProcessingInfo.makeChunkTask();
+                synchronized (dependencyIndex) {
+                    scheduleChunkTask(chunkProcessingInfo);
+                    wakeDependents(chunkProcessingInfo.getPosition());
+                }
             } else {
                 // haven't next stage
                 chunkProcessingInfo.endProcessing();
+                synchronized (dependencyIndex) {
+                    // Dependents must see the finished chunk before it leaves the pipeline.
+                    wakeDependents(chunkProcessingInfo.getPosition());
+                }
                 cleanup(chunkProcessingInfo);
             }
-            processChunkTasks();
 
         } catch (ExecutionException e) {
-            String stageName =
-                    chunkProcessingInfo.getChunkTaskProvider() == null
-                            ? "Generation or Loading"
-                            : chunkProcessingInfo.getChunkTaskProvider().getName();
             logger.error(
                     String.format("ChunkTask at position %s and stage [%s] catch error: ",
-                            chunkProcessingInfo.getPosition(), stageName),
+                            chunkProcessingInfo.getPosition(), getStageName(chunkProcessingInfo)),
                     e);
             chunkProcessingInfo.getExternalFuture().setException(e);
         } catch (CancellationException ignored) {
         }
     }
 
-    private void processChunkTasks() {
-        chunkProcessingInfoMap.values().stream()
-                .filter(chunkProcessingInfo -> chunkProcessingInfo.getChunkTask() != null && chunkProcessingInfo.getCurrentFuture() == null)
-                .forEach(chunkProcessingInfo -> {
-                    org.terasology.engine.world.chunks.pipeline.stages.ChunkTask chunkTask = chunkProcessingInfo.getChunkTask();
-                    Set<Chunk> providedChunks = chunkTask.getRequirements().stream()
-                            .map(pos -> getChunkBy(chunkProcessingInfo.getChunkTaskProvider(), pos))
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toSet());
-                    if (providedChunks.size() == chunkTask.getRequirements().size()) {
-                        chunkProcessingInfo.setCurrentFuture(runTask(chunkTask, providedChunks));
-                    }
-                });
+    private String getStageName(ChunkProcessingInfo chunkProcessingInfo) {
+        return chunkProcessingInfo.getChunkTaskProvider() == null
+                ? GENERATION_STAGE_NAME
+                : chunkProcessingInfo.getChunkTaskProvider().getName();
+    }
+
+    /**
+     * Runs the chunk task of {@code chunkProcessingInfo} if all its requirements are available, otherwise registers
+     * it in the dependency index for every missing requirement.
+     * <p>
+     * Must be called with the {@link #dependencyIndex} monitor held.
+     */
+    private void scheduleChunkTask(ChunkProcessingInfo chunkProcessingInfo) {
+        ChunkTask chunkTask = chunkProcessingInfo.getChunkTask();
+        if (chunkTask == null || chunkProcessingInfo.getCurrentFuture() != null) {
+            return;
+        }
+        Set<Vector3ic> requirements = chunkTask.getRequirements();
+        Set<Chunk> providedChunks = Sets.newHashSetWithExpectedSize(requirements.size());
+        boolean missing = false;
+        for (Vector3ic requirement : requirements) {
+            Chunk chunk = getChunkBy(chunkProcessingInfo.getChunkTaskProvider(), requirement);
+            if (chunk == null) {
+                dependencyIndex.await(chunkProcessingInfo, requirement);
+                missing = true;
+            } else {
+                providedChunks.add(chunk);
+            }
+        }
+        if (!missing) {
+            recordWaitTime(chunkProcessingInfo);
+            chunkProcessingInfo.setCurrentFuture(runTask(chunkTask, providedChunks));
+        }
+    }
+
+    /**
+     * Re-examines the tasks waiting for {@code position}, after the chunk there has advanced a stage or become
+     * available from the chunk provider.
+     * <p>
+     * Must be called with the {@link #dependencyIndex} monitor held.
+     */
+    private void wakeDependents(Vector3ic position) {
+        for (ChunkProcessingInfo waiter : dependencyIndex.takeDependents(position)) {
+            if (chunkProcessingInfoMap.get(waiter.getPosition()) != waiter) {
+                continue; // waiter's processing was stopped.
+            }
+            if (getChunkBy(waiter.getChunkTaskProvider(), position) == null) {
+                dependencyIndex.await(waiter, position);
+            } else if (dependencyIndex.satisfy(waiter, position)) {
+                scheduleChunkTask(waiter);
+            }
+        }
+    }
+
+    /**
+     * Chunks outside the pipeline can only appear through the chunk provider, which does not notify us. This covers
+     * chunks which left the pipeline before their dependents registered and chunks loaded by other means.
+     */
+    private void recheckExternalRequirements() {
+        synchronized (dependencyIndex) {
+            List<Vector3ic> available = dependencyIndex.getAwaitedPositions().stream()
+                    .filter(pos -> !chunkProcessingInfoMap.containsKey(pos) && chunkProvider.apply(pos) != null)
+                    .collect(Collectors.toList());
+            available.forEach(this::wakeDependents);
+        }
+    }
+
+    private void recordWaitTime(ChunkProcessingInfo chunkProcessingInfo) {
+        waitTimeTotal += System.nanoTime() - chunkProcessingInfo.getChunkTaskCreationTime();
+        waitTimeSamples++;
+    }
+
+    private void reportMetrics(long now) {
+        double elapsedSeconds = (now - lastHousekeepingTime) / 1e9;
+        lastHousekeepingTime = now;
+
+        PerformanceMonitor.recordMetric(METRIC_PREFIX + "Queued tasks", taskQueue.size());
+        synchronized (dependencyIndex) {
+            PerformanceMonitor.recordMetric(METRIC_PREFIX + "Waiting tasks", dependencyIndex.getWaitingTaskCount());
+        }
+        if (waitTimeSamples > 0) {
+            PerformanceMonitor.recordMetric(METRIC_PREFIX + "Mean dependency wait (ms)",
+                    TimeUnit.NANOSECONDS.toMillis(waitTimeTotal / waitTimeSamples));
+            waitTimeTotal = 0;
+            waitTimeSamples = 0;
+        }
+        stageCompletions.forEachEntry((stageName, completions) -> {
+            PerformanceMonitor.recordMetric(METRIC_PREFIX + stageName + " (chunks/s)", completions / elapsedSeconds);
+            return true;
+        });
+        stageCompletions.transformValues(completions -> 0);
     }
 
     private Chunk getChunkBy(ChunkTaskProvider requiredStage, Vector3ic position) {
@@ -167,8 +268,7 @@ private Chunk getChunkBy(ChunkTaskProvider requiredStage, Vector3ic position) {
             if (candidate == null) {
                 return null;
             }
-            ChunkTaskProvider candidateCurrentStage = candidate.getChunkTaskProvider();
-            if (stages.indexOf(candidateCurrentStage) >= stages.indexOf(requiredStage)) {
+            if (candidate.getStageIndex(stages) >= stages.indexOf(requiredStage)) {
                 chunk = candidate.getChunk();
             }
         }
@@ -176,22 +276,24 @@ private Chunk getChunkBy(ChunkTaskProvider requiredStage, Vector3ic position) {
     }
 
     private Future<Chunk> runTask(ChunkTask task, Set<Chunk> chunks) {
-        return chunkProcessor.submit(new PositionalCallable(() -> {
+        return submit(() -> {
             try (ThreadActivity ignored = ThreadMonitor.startThreadActivity(task.getName())) {
                 return task.apply(chunks);
             }
-        }, task.getPosition()));
-    }
-
-    private Thread threadFactory(Runnable runnable) {
-        Thread thread = new Thread(runnable);
-        thread.setDaemon(true);
-        thread.setName("Chunk-Processing-" + threadIndex++);
-        return thread;
+        }, task.getPosition());
     }
 
-    private void rejectQueueHandler(Runnable runnable, ThreadPoolExecutor threadPoolExecutor) {
-        logger.error("Cannot run {}  because queue is full", runnable);
+    private Future<Chunk> submit(Callable<Chunk> callable, Vector3ic position) {
+        ChunkTaskFuture future = new ChunkTaskFuture(callable, position);
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            if (!executor.isShutdown()) {
+                throw e;
+            }
+            future.cancel(false); // pipeline is shutting down.
+        }
+        return future;
     }
 
     /**
@@ -222,8 +324,7 @@ public Future<Chunk> invokeGeneratorTask(Vector3i position, Supplier<Chunk> gene
             SettableFuture<Chunk> exitFuture = SettableFuture.create();
             chunkProcessingInfo = new ChunkProcessingInfo(position, exitFuture);
             chunkProcessingInfoMap.put(position, chunkProcessingInfo);
-            chunkProcessingInfo.setCurrentFuture(chunkProcessor.submit(new PositionalCallable(generatorTask::get,
-                    position)));
+            chunkProcessingInfo.setCurrentFuture(submit(generatorTask::get, position));
             return exitFuture;
         }
     }
@@ -242,13 +343,19 @@ public void shutdown() {
         executor.shutdown();
         chunkProcessingInfoMap.keySet().forEach(this::stopProcessingAt);
         chunkProcessingInfoMap.clear();
-        executor.getQueue().clear();
+        synchronized (dependencyIndex) {
+            dependencyIndex.clear();
+        }
+        taskQueue.clear();
         reactor.interrupt();
     }
 
     public void restart() {
         chunkProcessingInfoMap.clear();
-        executor.getQueue().clear();
+        synchronized (dependencyIndex) {
+            dependencyIndex.clear();
+        }
+        taskQueue.clear();
         chunkProcessingInfoMap.keySet().forEach(this::stopProcessingAt);
     }
 
@@ -264,10 +371,14 @@ public void stopProcessingAt(Vector3ic pos) {
         }
 
         removed.getExternalFuture().cancel(true);
+        synchronized (dependencyIndex) {
+            dependencyIndex.forget(removed);
+        }
 
         Future<Chunk> currentFuture = removed.getCurrentFuture();
         if (currentFuture != null) {
             currentFuture.cancel(true);
+            taskQueue.remove(currentFuture);
         }
 
         Chunk chunk = removed.getChunk();
@@ -305,24 +416,21 @@ public Iterable<Vector3ic> getProcessingPosition() {
     }
 
     /**
-     * Dummy callable for passthru position for {@link java.util.concurrent.ThreadPoolExecutor}#newTaskFor
+     * Chunk task, which reports itself to the reactor thread when it has run.
+     * <p>
+     * Tasks which are cancelled before they run are removed from the task queue instead.
      */
-    private static final class PositionalCallable implements Callable<Chunk> {
-        private final Callable<Chunk> callable;
-        private final Vector3ic position;
-
-        private PositionalCallable(Callable<Chunk> callable, Vector3ic position) {
-            this.callable = callable;
-            this.position = position;
-        }
-
-        public Vector3ic getPosition() {
-            return position;
+    private final class ChunkTaskFuture extends PositionFuture<Chunk> {
+        private ChunkTaskFuture(Callable<Chunk> callable, Vector3ic position) {
+            super(new FutureTask<>(callable), position);
         }
 
         @Override
-        public Chunk call() throws Exception {
-            return callable.call();
+        public void run() {
+            super.run();
+            if (!isCancelled()) {
+                completedTasks.add(this);
+            }
         }
     }
 }
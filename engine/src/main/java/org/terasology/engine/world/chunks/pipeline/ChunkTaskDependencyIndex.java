@@ -0,0 +1,98 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.world.chunks.pipeline;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.joml.Vector3ic;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of waiting {@link ChunkProcessingInfo}s by the positions they are still waiting for.
+ * <p>
+ * When the chunk at some position advances a stage, only the tasks registered for that position need to be
+ * re-examined, instead of every task in the pipeline.
+ * <p>
+ * Not thread-safe; {@link ChunkProcessingPipeline} guards all access with the index's monitor.
+ */
+final class ChunkTaskDependencyIndex {
+    private final Map<Vector3ic, Set<ChunkProcessingInfo>> dependents = Maps.newHashMap();
+    private int waitingTaskCount;
+
+    /**
+     * Register that {@code waiter} cannot run until the chunk at {@code requirement} is available at its stage.
+     */
+    void await(ChunkProcessingInfo waiter, Vector3ic requirement) {
+        if (waiter.getPendingRequirements().isEmpty()) {
+            waitingTaskCount++;
+        }
+        waiter.getPendingRequirements().add(requirement);
+        dependents.computeIfAbsent(requirement, k -> Sets.newHashSet()).add(waiter);
+    }
+
+    /**
+     * Mark the requirement at {@code requirement} as satisfied for {@code waiter}.
+     *
+     * @return true if the waiter has no more pending requirements.
+     */
+    boolean satisfy(ChunkProcessingInfo waiter, Vector3ic requirement) {
+        if (waiter.getPendingRequirements().remove(requirement) && waiter.getPendingRequirements().isEmpty()) {
+            waitingTaskCount--;
+        }
+        return waiter.getPendingRequirements().isEmpty();
+    }
+
+    /**
+     * Remove and return all tasks waiting for {@code position}. Tasks which are still not satisfied must be
+     * re-registered with {@link #await}.
+     */
+    Set<ChunkProcessingInfo> takeDependents(Vector3ic position) {
+        Set<ChunkProcessingInfo> waiters = dependents.remove(position);
+        return waiters != null ? waiters : Collections.emptySet();
+    }
+
+    /**
+     * Drop all registrations of {@code waiter}, e.g. because its processing was stopped.
+     */
+    void forget(ChunkProcessingInfo waiter) {
+        Set<Vector3ic> pending = waiter.getPendingRequirements();
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (Vector3ic requirement : pending) {
+            Set<ChunkProcessingInfo> waiters = dependents.get(requirement);
+            if (waiters != null) {
+                waiters.remove(waiter);
+                if (waiters.isEmpty()) {
+                    dependents.remove(requirement);
+                }
+            }
+        }
+        pending.clear();
+        waitingTaskCount--;
+    }
+
+    /**
+     * @return positions which at least one task is waiting for.
+     */
+    Set<Vector3ic> getAwaitedPositions() {
+        return dependents.keySet();
+    }
+
+    /**
+     * @return number of tasks which are blocked on at least one requirement.
+     */
+    int getWaitingTaskCount() {
+        return waitingTaskCount;
+    }
+
+    void clear() {
+        dependents.values().forEach(waiters -> waiters.forEach(waiter -> waiter.getPendingRequirements().clear()));
+        dependents.clear();
+        waitingTaskCount = 0;
+    }
+}
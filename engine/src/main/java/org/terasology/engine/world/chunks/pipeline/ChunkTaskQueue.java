@@ -0,0 +1,311 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.world.chunks.pipeline;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.joml.Vector3ic;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Unbounded work queue for the chunk processing executor, ordered by a relevance score of the task's position.
+ * <p>
+ * Only accepts {@link PositionFuture}s. The score of each task is computed once when it is queued and only
+ * recomputed by {@link #updatePriorities()}, which re-orders the whole queue in linear time. Lower scores run first;
+ * tasks with equal scores run in submission order.
+ * <p>
+ * {@link #remove(Object)} runs in O(log n), so cancelled tasks can be dropped from the queue cheaply.
+ */
+final class ChunkTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final ToIntFunction<Vector3ic> relevanceScore;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Map<Runnable, Entry> entries = Maps.newHashMap();
+
+    private Entry[] heap = new Entry[INITIAL_CAPACITY];
+    private int size;
+    private long sequence;
+
+    /**
+     * @param relevanceScore scores a chunk position; lower scores are processed first.
+     */
+    ChunkTaskQueue(ToIntFunction<Vector3ic> relevanceScore) {
+        this.relevanceScore = relevanceScore;
+    }
+
+    /**
+     * Re-scores every queued task and restores the heap order.
+     * <p>
+     * Call this when the inputs of the relevance score change, e.g. when a player crosses a chunk boundary.
+     */
+    void updatePriorities() {
+        lock.lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                heap[i].score = relevanceScore.applyAsInt(heap[i].position);
+            }
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable runnable) {
+        Preconditions.checkArgument(runnable instanceof PositionFuture, "ChunkTaskQueue accepts only PositionFutures");
+        Vector3ic position = ((PositionFuture<?>) runnable).getPosition();
+        int score = relevanceScore.applyAsInt(position);
+        lock.lock();
+        try {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            Entry entry = new Entry(runnable, position, score, sequence++);
+            entries.put(runnable, entry);
+            entry.index = size;
+            heap[size++] = entry;
+            siftUp(entry.index);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable runnable) {
+        offer(runnable);
+    }
+
+    @Override
+    public boolean offer(Runnable runnable, long timeout, TimeUnit unit) {
+        return offer(runnable);
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return removeAt(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return removeAt(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return size == 0 ? null : removeAt(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            return size == 0 ? null : heap[0].task;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(o);
+            if (entry == null) {
+                return false;
+            }
+            removeAt(entry.index);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        lock.lock();
+        try {
+            return entries.containsKey(o);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(heap, 0, size, null);
+            entries.clear();
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        Preconditions.checkArgument(c != this, "Cannot drain queue to itself");
+        lock.lock();
+        try {
+            int drained = 0;
+            while (size > 0 && drained < maxElements) {
+                c.add(removeAt(0));
+                drained++;
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Iterates over a snapshot of the queued tasks, in no particular order.
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        lock.lock();
+        try {
+            List<Runnable> snapshot = Lists.newArrayListWithCapacity(size);
+            for (int i = 0; i < size; i++) {
+                snapshot.add(heap[i].task);
+            }
+            return snapshot.iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Runnable removeAt(int index) {
+        Entry removed = heap[index];
+        entries.remove(removed.task);
+        Entry last = heap[--size];
+        heap[size] = null;
+        if (index != size) {
+            heap[index] = last;
+            last.index = index;
+            siftDown(index);
+            if (heap[index] == last) {
+                siftUp(index);
+            }
+        }
+        return removed.task;
+    }
+
+    private void siftUp(int index) {
+        Entry entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!entry.before(heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].index = index;
+            index = parent;
+        }
+        heap[index] = entry;
+        entry.index = index;
+    }
+
+    private void siftDown(int index) {
+        Entry entry = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].before(heap[child])) {
+                child = right;
+            }
+            if (!heap[child].before(entry)) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].index = index;
+            index = child;
+        }
+        heap[index] = entry;
+        entry.index = index;
+    }
+
+    private static final class Entry {
+        private final Runnable task;
+        private final Vector3ic position;
+        private final long sequence;
+        private int score;
+        private int index;
+
+        private Entry(Runnable task, Vector3ic position, int score, long sequence) {
+            this.task = task;
+            this.position = position;
+            this.score = score;
+            this.sequence = sequence;
+        }
+
+        private boolean before(Entry other) {
+            return score < other.score || score == other.score && sequence < other.sequence;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.engine.world.chunks.pipeline;
+
+import org.terasology.engine.config.SystemConfig;
+import org.terasology.engine.registry.CoreRegistry;
+import org.terasology.engine.utilities.concurrency.QueueDrainingExecutor;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors for chunk generation and chunk meshing, as configured in {@link SystemConfig}.
+ * <p>
+ * Each executor either owns a fixed set of threads, or, if {@link SystemConfig#sharedChunkWorkerPool} is enabled, runs
+ * its tasks on one {@link ForkJoinPool} shared by all chunk workers. The configured thread count is then the maximum
+ * number of tasks of that executor running at the same time.
+ */
+public final class ChunkWorkerPools {
+
+    private ChunkWorkerPools() {
+    }
+
+    /**
+     * @return configured number of chunk generation threads, or a default based on the available processors.
+     */
+    public static int getProcessingThreads() {
+        SystemConfig systemConfig = CoreRegistry.get(SystemConfig.class);
+        return systemConfig != null
+                ? systemConfig.chunkProcessingThreads.get()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * @return configured number of chunk meshing threads, or a default based on the available processors.
+     */
+    public static int getMeshingThreads() {
+        SystemConfig systemConfig = CoreRegistry.get(SystemConfig.class);
+        return systemConfig != null
+                ? systemConfig.chunkMeshingThreads.get()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    public static boolean isSharedPoolEnabled() {
+        SystemConfig systemConfig = CoreRegistry.get(SystemConfig.class);
+        return systemConfig != null && systemConfig.sharedChunkWorkerPool.get();
+    }
+
+    /**
+     * @return the pool shared by chunk workers, created on first use with one thread per available processor.
+     */
+    public static ForkJoinPool getSharedPool() {
+        return SharedPoolHolder.POOL;
+    }
+
+    /**
+     * Create an executor running tasks from {@code queue}, on the shared pool if it is enabled.
+     *
+     * @param name prefix of the thread names, if the executor has threads of its own.
+     * @param threads maximum number of tasks running at the same time.
+     * @param queue queue for waiting tasks.
+     * @param sharedPool whether to use the shared pool instead of own threads.
+     */
+    public static ExecutorService createExecutor(String name, int threads, BlockingQueue<Runnable> queue,
+                                                 boolean sharedPool) {
+        if (sharedPool) {
+            return new QueueDrainingExecutor(getSharedPool(), queue, threads);
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue,
+                runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    thread.setName(name + "-" + threadIndex.getAndIncrement());
+                    return thread;
+                });
+    }
+
+    private static final class SharedPoolHolder {
+        private static final ForkJoinPool POOL = new ForkJoinPool(
+                Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("Chunk-Worker-" + thread.getPoolIndex());
+                    return thread;
+                },
+                null,
+                true);
+    }
+}
@@ -27,15 +27,12 @@
 import org.terasology.engine.world.chunks.event.BeforeChunkUnload;
 import org.terasology.engine.world.chunks.event.OnChunkLoaded;
 import org.terasology.engine.world.chunks.pipeline.ChunkProcessingPipeline;
-import org.terasology.engine.world.chunks.pipeline.PositionFuture;
 import org.terasology.engine.world.chunks.pipeline.stages.ChunkTaskProvider;
 
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -59,13 +56,15 @@ public class RemoteChunkProvider implements ChunkProvider {
     private final Map<Vector3ic, Chunk> chunkCache = Maps.newHashMap();
     private final BlockManager blockManager;
     private final ChunkProcessingPipeline loadingPipeline;
+    private final LocalPlayer localPlayer;
+    private volatile Vector3ic localPlayerChunkPos = new Vector3i();
     private EntityRef worldEntity = EntityRef.NULL;
     private ChunkReadyListener listener;
 
     public RemoteChunkProvider(BlockManager blockManager, LocalPlayer localPlayer) {
         this.blockManager = blockManager;
-        loadingPipeline = new ChunkProcessingPipeline(this::getChunk,
-            new LocalPlayerRelativeChunkComparator(localPlayer));
+        this.localPlayer = localPlayer;
+        loadingPipeline = new ChunkProcessingPipeline(this::getChunk, this::distanceToLocalPlayer);
 
         loadingPipeline.addStage(
             ChunkTaskProvider.create("Chunk generate internal lightning",
@@ -100,6 +99,7 @@ public void invalidateChunks(Vector3ic pos) {
 
     @Override
     public void update() {
+        updateLocalPlayerChunkPos();
         if (listener != null) {
             checkForUnload();
         }
@@ -117,6 +117,24 @@ public void update() {
         }
     }
 
+    /**
+     * Re-prioritise chunk processing when the local player entered another chunk.
+     */
+    private void updateLocalPlayerChunkPos() {
+        Vector3i chunkPos = Chunks.toChunkPos(localPlayer.getPosition(new Vector3f()), new Vector3i());
+        if (!chunkPos.equals(localPlayerChunkPos)) {
+            localPlayerChunkPos = chunkPos;
+            loadingPipeline.updatePriorities();
+        }
+    }
+
+    /**
+     * Chunk task score: distance in chunks from the local player, as of the last update.
+     */
+    private int distanceToLocalPlayer(Vector3ic chunkPos) {
+        return (int) localPlayerChunkPos.distance(chunkPos);
+    }
+
     private void checkForUnload() {
         List<Vector3ic> positions = Lists.newArrayListWithCapacity(invalidateChunks.size());
         invalidateChunks.drainTo(positions);
@@ -198,21 +216,4 @@ public ChunkViewCore getSubview(BlockRegionc region, Vector3ic offset) {
     public void setWorldEntity(EntityRef entity) {
         this.worldEntity = entity;
     }
-
-    private final class LocalPlayerRelativeChunkComparator implements Comparator<Future<Chunk>> {
-        private final LocalPlayer localPlayer;
-
-        private LocalPlayerRelativeChunkComparator(LocalPlayer localPlayer) {
-            this.localPlayer = localPlayer;
-        }
-
-        @Override
-        public int compare(Future<Chunk> o1, Future<Chunk> o2) {
-            return score((PositionFuture<?>) o1) - score((PositionFuture<?>) o2);
-        }
-
-        private int score(PositionFuture<?> task) {
-            return (int) Chunks.toChunkPos(localPlayer.getPosition(new Vector3f()), new Vector3i()).distance(task.getPosition());
-        }
-    }
 }
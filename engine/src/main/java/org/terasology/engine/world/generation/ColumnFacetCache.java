@@ -0,0 +1,249 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.generation;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.terasology.engine.world.block.BlockRegionc;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Shares the 2D facets generated for a chunk with the chunks above and below it, which would generate the very same
+ * facets.
+ * <p>
+ * Only facets whose whole provider chain requires, produces and updates nothing but {@link WorldFacet2D}s are cached,
+ * and only if no provider outside of the chain updates any of the facets the chain produces. A cache entry holds all
+ * facets produced by the chain, keyed by the requested facet, the horizontal extent of the region and the scale.
+ * Providers of cached facets must not depend on the vertical extent of the region, and cached facets are shared
+ * between regions, so they must not be modified once generated.
+ * <p>
+ * The cache is thread safe and keeps a bounded number of entries, evicting the least recently used one when full. If
+ * several threads need the same entry at once, one of them generates it and the others wait for it.
+ */
+public final class ColumnFacetCache {
+    static final int DEFAULT_CAPACITY = 512;
+
+    private final Map<Key, CompletableFuture<Map<Class<? extends WorldFacet>, WorldFacet>>> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    ColumnFacetCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    ColumnFacetCache(int capacity) {
+        entries = new LinkedHashMap<Key, CompletableFuture<Map<Class<? extends WorldFacet>, WorldFacet>>>(
+                capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Key, CompletableFuture<Map<Class<? extends WorldFacet>, WorldFacet>>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Finds the provider chains whose results may be cached.
+     *
+     * @param facetProviderChains the provider chains of each facet, in the order they have to be run
+     * @return the chains of the facets that may be cached
+     */
+    static Map<Class<? extends WorldFacet>, CacheableChain> findCacheableChains(
+            ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains) {
+        Map<Class<? extends WorldFacet>, CacheableChain> result = Maps.newHashMap();
+        for (Class<? extends WorldFacet> facet : facetProviderChains.keySet()) {
+            if (!WorldFacet2D.class.isAssignableFrom(facet)) {
+                continue;
+            }
+            List<FacetProvider> providers = facetProviderChains.get(facet);
+            Set<Class<? extends WorldFacet>> outputs = Sets.newHashSet();
+            boolean cacheable = true;
+            for (FacetProvider provider : providers) {
+                Set<Class<? extends WorldFacet>> providerOutputs = getOutputs(provider);
+                outputs.addAll(providerOutputs);
+                cacheable &= providerOutputs.stream().allMatch(WorldFacet2D.class::isAssignableFrom)
+                        && getRequirements(provider).stream().allMatch(WorldFacet2D.class::isAssignableFrom);
+            }
+            for (Class<? extends WorldFacet> output : outputs) {
+                for (FacetProvider writer : facetProviderChains.get(output)) {
+                    cacheable &= providers.contains(writer) || !getOutputs(writer).contains(output);
+                }
+            }
+            if (cacheable) {
+                result.put(facet, new CacheableChain(providers, outputs));
+            }
+        }
+        return result;
+    }
+
+    private static Set<Class<? extends WorldFacet>> getOutputs(FacetProvider provider) {
+        Set<Class<? extends WorldFacet>> outputs = Sets.newHashSet();
+        Produces produces = provider.getClass().getAnnotation(Produces.class);
+        if (produces != null) {
+            outputs.addAll(ImmutableList.copyOf(produces.value()));
+        }
+        Updates updates = provider.getClass().getAnnotation(Updates.class);
+        if (updates != null) {
+            for (Facet facet : updates.value()) {
+                outputs.add(facet.value());
+            }
+        }
+        return outputs;
+    }
+
+    private static Set<Class<? extends WorldFacet>> getRequirements(FacetProvider provider) {
+        Set<Class<? extends WorldFacet>> requirements = Sets.newHashSet();
+        Requires requires = provider.getClass().getAnnotation(Requires.class);
+        if (requires != null) {
+            for (Facet facet : requires.value()) {
+                requirements.add(facet.value());
+            }
+        }
+        return requirements;
+    }
+
+    /**
+     * @param facet the requested facet
+     * @param region the region the facet is requested for
+     * @param scale the scale of the region
+     * @param generator generates the facets of the chain, if they are not cached yet
+     * @return all facets produced by the chain of the requested facet
+     */
+    Map<Class<? extends WorldFacet>, WorldFacet> get(Class<? extends WorldFacet> facet, BlockRegionc region,
+                                                     float scale,
+                                                     Supplier<Map<Class<? extends WorldFacet>, WorldFacet>> generator) {
+        Key key = new Key(facet, region, scale);
+        CompletableFuture<Map<Class<? extends WorldFacet>, WorldFacet>> entry;
+        boolean generate = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new CompletableFuture<>();
+                entries.put(key, entry);
+                generate = true;
+            }
+        }
+        if (!generate) {
+            hits.incrementAndGet();
+            return entry.join();
+        }
+        misses.incrementAndGet();
+        try {
+            entry.complete(ImmutableMap.copyOf(generator.get()));
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.completeExceptionally(e);
+            throw e;
+        }
+        return entry.join();
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * @return number of facet requests served from the cache.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of facet requests which had to generate the facets.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the share of facet requests served from the cache, or 0 if there were none.
+     */
+    public double getHitRate() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return number of cached entries.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * The providers of a facet which may be cached, and all facets they produce.
+     */
+    static final class CacheableChain {
+        private final List<FacetProvider> providers;
+        private final Set<Class<? extends WorldFacet>> outputs;
+
+        CacheableChain(List<FacetProvider> providers, Set<Class<? extends WorldFacet>> outputs) {
+            this.providers = ImmutableList.copyOf(providers);
+            this.outputs = ImmutableSet.copyOf(outputs);
+        }
+
+        List<FacetProvider> getProviders() {
+            return providers;
+        }
+
+        Set<Class<? extends WorldFacet>> getOutputs() {
+            return outputs;
+        }
+    }
+
+    private static final class Key {
+        private final Class<? extends WorldFacet> facet;
+        private final int minX;
+        private final int minZ;
+        private final int maxX;
+        private final int maxZ;
+        private final float scale;
+
+        private Key(Class<? extends WorldFacet> facet, BlockRegionc region, float scale) {
+            this.facet = facet;
+            this.minX = region.minX();
+            this.minZ = region.minZ();
+            this.maxX = region.maxX();
+            this.maxZ = region.maxZ();
+            this.scale = scale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return minX == other.minX && minZ == other.minZ && maxX == other.maxX && maxZ == other.maxZ
+                    && Float.compare(scale, other.scale) == 0 && facet.equals(other.facet);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(facet, minX, minZ, maxX, maxZ, scale);
+        }
+    }
+}
@@ -4,10 +4,13 @@
 
 import com.google.common.collect.ClassToInstanceMap;
 import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
 import com.google.common.collect.MutableClassToInstanceMap;
 import com.google.common.collect.Sets;
 import org.terasology.engine.world.block.BlockRegion;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -17,6 +20,8 @@ public class RegionImpl implements Region, GeneratingRegion {
     private final ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains;
     private final Map<Class<? extends WorldFacet>, Border3D> borders;
     private final float scale;
+    private final ColumnFacetCache facetCache;
+    private final Map<Class<? extends WorldFacet>, ColumnFacetCache.CacheableChain> cacheableChains;
 
     private final ClassToInstanceMap<WorldFacet> generatingFacets = MutableClassToInstanceMap.create();
     private final Set<FacetProvider> processedProviders = Sets.newHashSet();
@@ -25,25 +30,42 @@ public class RegionImpl implements Region, GeneratingRegion {
     public RegionImpl(BlockRegion region,
                       ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains, Map<Class<?
             extends WorldFacet>, Border3D> borders, float scale) {
+        this(region, facetProviderChains, borders, scale, null, Collections.emptyMap());
+    }
+
+    /**
+     * @param facetCache cache to share facets with the other regions in the same column
+     * @param cacheableChains the provider chains of the facets which may be cached
+     */
+    RegionImpl(BlockRegion region, ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains,
+               Map<Class<? extends WorldFacet>, Border3D> borders, float scale, ColumnFacetCache facetCache,
+               Map<Class<? extends WorldFacet>, ColumnFacetCache.CacheableChain> cacheableChains) {
         this.region = region;
         this.facetProviderChains = facetProviderChains;
         this.borders = borders;
         this.scale = scale;
+        this.facetCache = facetCache;
+        this.cacheableChains = cacheableChains;
     }
 
     @Override
     public <T extends WorldFacet> T getFacet(Class<T> dataType) {
         T facet = generatedFacets.getInstance(dataType);
         if (facet == null) {
-            for (FacetProvider provider : facetProviderChains.get(dataType)) {
-                if (!processedProviders.contains(provider)) {
-                    if (scale == 1) {
-                        provider.process(this);
-                    } else {
-                        ((ScalableFacetProvider) provider).process(this, scale);
+            if (!fetchCached(dataType)) {
+                List<FacetProvider> providers = facetProviderChains.get(dataType);
+                if (facetCache != null) {
+                    // Take the cacheable facets the chain depends on from the cache, rather than generating them
+                    for (FacetProvider provider : providers) {
+                        Requires requires = provider.getClass().getAnnotation(Requires.class);
+                        if (requires != null) {
+                            for (Facet requirement : requires.value()) {
+                                fetchCached(requirement.value());
+                            }
+                        }
                     }
-                    processedProviders.add(provider);
                 }
+                process(providers);
             }
             facet = generatingFacets.getInstance(dataType);
             generatedFacets.put(dataType, facet);
@@ -51,6 +73,46 @@ public <T extends WorldFacet> T getFacet(Class<T> dataType) {
         return facet;
     }
 
+    /**
+     * Takes the facets of a cacheable chain from the cache, unless part of the chain has already been processed.
+     *
+     * @return whether the facets were taken from the cache
+     */
+    private boolean fetchCached(Class<? extends WorldFacet> dataType) {
+        ColumnFacetCache.CacheableChain cacheableChain = cacheableChains.get(dataType);
+        if (facetCache == null || cacheableChain == null
+                || !Collections.disjoint(processedProviders, cacheableChain.getProviders())) {
+            return false;
+        }
+        Map<Class<? extends WorldFacet>, WorldFacet> facets = facetCache.get(dataType, region, scale, () -> {
+            process(cacheableChain.getProviders());
+            Map<Class<? extends WorldFacet>, WorldFacet> generated = Maps.newHashMap();
+            for (Class<? extends WorldFacet> output : cacheableChain.getOutputs()) {
+                WorldFacet outputFacet = generatingFacets.get(output);
+                if (outputFacet != null) {
+                    generated.put(output, outputFacet);
+                }
+            }
+            return generated;
+        });
+        generatingFacets.putAll(facets);
+        processedProviders.addAll(cacheableChain.getProviders());
+        return true;
+    }
+
+    private void process(List<FacetProvider> providers) {
+        for (FacetProvider provider : providers) {
+            if (!processedProviders.contains(provider)) {
+                if (scale == 1) {
+                    provider.process(this);
+                } else {
+                    ((ScalableFacetProvider) provider).process(this, scale);
+                }
+                processedProviders.add(provider);
+            }
+        }
+    }
+
     @Override
     public BlockRegion getRegion() {
         return region;
@@ -21,6 +21,9 @@ public class WorldImpl implements World {
     private final List<EntityProvider> entityProviders;
     private final Map<Class<? extends WorldFacet>, Border3D> borders;
     private final int seaLevel;
+    private final ColumnFacetCache facetCache = new ColumnFacetCache();
+    private final Map<Class<? extends WorldFacet>, ColumnFacetCache.CacheableChain> cacheableChains;
+    private final Map<Class<? extends WorldFacet>, ColumnFacetCache.CacheableChain> scalableCacheableChains;
 
     public WorldImpl(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetProviderChains,
                      ListMultimap<Class<? extends WorldFacet>, FacetProvider> scalableFacetProviderChains,
@@ -36,6 +39,8 @@ public WorldImpl(ListMultimap<Class<? extends WorldFacet>, FacetProvider> facetP
         this.entityProviders = entityProviders;
         this.borders = borders;
         this.seaLevel = seaLevel;
+        this.cacheableChains = ColumnFacetCache.findCacheableChains(facetProviderChains);
+        this.scalableCacheableChains = ColumnFacetCache.findCacheableChains(scalableFacetProviderChains);
     }
 
     @Override
@@ -43,6 +48,24 @@ public Region getWorldData(BlockRegion region, float scale) {
         return new RegionImpl(region, scale == 1 ? facetProviderChains : scalableFacetProviderChains, borders, scale);
     }
 
+    /**
+     * Creates the region to generate a chunk from, sharing 2D facets with the other chunks in its column.
+     */
+    Region getChunkData(BlockRegion region, float scale) {
+        if (scale == 1) {
+            return new RegionImpl(region, facetProviderChains, borders, scale, facetCache, cacheableChains);
+        }
+        return new RegionImpl(region, scalableFacetProviderChains, borders, scale, facetCache,
+                scalableCacheableChains);
+    }
+
+    /**
+     * @return the cache of the 2D facets used to generate chunks
+     */
+    public ColumnFacetCache getFacetCache() {
+        return facetCache;
+    }
+
     @Override
     public int getSeaLevel() {
         return seaLevel;
@@ -50,7 +73,7 @@ public int getSeaLevel() {
 
     @Override
     public void rasterizeChunk(Chunk chunk, EntityBuffer buffer) {
-        Region chunkRegion = getWorldData(new BlockRegion(chunk.getRegion()), 1);
+        Region chunkRegion = getChunkData(new BlockRegion(chunk.getRegion()), 1);
         for (WorldRasterizer rasterizer : worldRasterizers) {
             rasterizer.generateChunk(chunk, chunkRegion);
         }
@@ -61,7 +84,7 @@ public void rasterizeChunk(Chunk chunk, EntityBuffer buffer) {
 
     @Override
     public void rasterizeChunk(Chunk chunk, float scale) {
-        Region chunkRegion = getWorldData(new BlockRegion(chunk.getRegion()), scale);
+        Region chunkRegion = getChunkData(new BlockRegion(chunk.getRegion()), scale);
         for (WorldRasterizer rasterizer : scalableWorldRasterizers) {
             ((ScalableWorldRasterizer) rasterizer).generateChunk(chunk, chunkRegion, scale);
         }
@@ -78,6 +101,7 @@ public void initialize() {
         Collection<FacetProvider> facetProviders = new LinkedHashSet<>(facetProviderChains.values());
 
         facetProviders.forEach(FacetProvider::initialize);
+        facetCache.invalidateAll();
 
         worldRasterizers.forEach(WorldRasterizer::initialize);
 
@@ -9,6 +9,7 @@
 import com.google.common.collect.Maps;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
+import org.terasology.engine.config.SystemConfig;
 import org.terasology.engine.context.Context;
 import org.terasology.engine.core.SimpleUri;
 import org.terasology.engine.entitySystem.entity.EntityManager;
@@ -21,8 +22,10 @@
 import org.terasology.engine.world.chunks.Chunk;
 import org.terasology.engine.world.chunks.ChunkProvider;
 import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.pipeline.ChunkWorkerPools;
 import org.terasology.engine.world.propagation.BatchPropagator;
 import org.terasology.engine.world.propagation.BlockChange;
+import org.terasology.engine.world.propagation.ParallelBatchPropagation;
 import org.terasology.engine.world.propagation.PropagationRules;
 import org.terasology.engine.world.propagation.PropagatorWorldView;
 import org.terasology.engine.world.propagation.StandardBatchPropagator;
@@ -43,6 +46,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 
 public class WorldProviderCoreImpl implements WorldProviderCore {
@@ -59,7 +63,8 @@ public class WorldProviderCoreImpl implements WorldProviderCore {
     private final List<WorldChangeListener> listeners = Lists.newArrayList();
 
     private final Map<Vector3i, BlockChange> blockChanges = Maps.newHashMap();
-    private List<BatchPropagator> propagators = Lists.newArrayList();
+    private List<BatchPropagator> propagators;
+    private ParallelBatchPropagation parallelPropagation;
 
     private Block unloadedBlock;
 
@@ -77,14 +82,12 @@ public WorldProviderCoreImpl(String title, String customTitle, String seed, long
         this.worldTime = new WorldTimeImpl();
         worldTime.setMilliseconds(time);
 
-        propagators.add(new StandardBatchPropagator(new LightPropagationRules(), new LightWorldView(chunkProvider)));
-        PropagatorWorldView regenWorldView = new SunlightRegenWorldView(chunkProvider);
-        PropagationRules sunlightRules = new SunlightPropagationRules(regenWorldView);
-        PropagatorWorldView sunlightWorldView = new SunlightWorldView(chunkProvider);
-        BatchPropagator sunlightPropagator = new StandardBatchPropagator(sunlightRules, sunlightWorldView);
-        propagators.add(new SunlightRegenBatchPropagator(new SunlightRegenPropagationRules(), regenWorldView,
-                sunlightPropagator, sunlightWorldView));
-        propagators.add(sunlightPropagator);
+        propagators = createPropagators(chunkProvider);
+        SystemConfig systemConfig = context.get(SystemConfig.class);
+        if (systemConfig != null && systemConfig.parallelLightPropagation.get()) {
+            parallelPropagation = new ParallelBatchPropagation(wrapView -> createPropagators(chunkProvider, wrapView),
+                    ChunkWorkerPools.getSharedPool());
+        }
     }
 
     public WorldProviderCoreImpl(WorldInfo info, ChunkProvider chunkProvider, Block unloadedBlock,
@@ -94,6 +97,32 @@ public WorldProviderCoreImpl(WorldInfo info, ChunkProvider chunkProvider, Block
                 unloadedBlock, context);
     }
 
+    /**
+     * @return the light propagators for the world, to be run in order
+     */
+    public static List<BatchPropagator> createPropagators(ChunkProvider chunkProvider) {
+        return createPropagators(chunkProvider, UnaryOperator.identity());
+    }
+
+    /**
+     * @param wrapView wraps each of the world views the propagators work on
+     * @return the light propagators for the world, to be run in order
+     */
+    public static List<BatchPropagator> createPropagators(ChunkProvider chunkProvider,
+                                                          UnaryOperator<PropagatorWorldView> wrapView) {
+        List<BatchPropagator> propagators = Lists.newArrayList();
+        propagators.add(new StandardBatchPropagator(new LightPropagationRules(),
+                wrapView.apply(new LightWorldView(chunkProvider))));
+        PropagatorWorldView regenWorldView = wrapView.apply(new SunlightRegenWorldView(chunkProvider));
+        PropagationRules sunlightRules = new SunlightPropagationRules(regenWorldView);
+        PropagatorWorldView sunlightWorldView = wrapView.apply(new SunlightWorldView(chunkProvider));
+        BatchPropagator sunlightPropagator = new StandardBatchPropagator(sunlightRules, sunlightWorldView);
+        propagators.add(new SunlightRegenBatchPropagator(new SunlightRegenPropagationRules(), regenWorldView,
+                sunlightPropagator, sunlightWorldView));
+        propagators.add(sunlightPropagator);
+        return propagators;
+    }
+
     @Override
     public EntityRef getWorldEntity() {
         Iterator<EntityRef> iterator = entityManager.getEntitiesWith(WorldComponent.class).iterator();
@@ -120,8 +149,12 @@ public WorldInfo getWorldInfo() {
 
     @Override
     public void processPropagation() {
-        for (BatchPropagator propagator : propagators) {
-            propagator.process(blockChanges.values());
+        if (parallelPropagation != null) {
+            parallelPropagation.process(blockChanges.values());
+        } else {
+            for (BatchPropagator propagator : propagators) {
+                propagator.process(blockChanges.values());
+            }
         }
         blockChanges.clear();
     }
@@ -0,0 +1,276 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.propagation;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Uninterruptibles;
+import gnu.trove.list.array.TIntArrayList;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.Chunks;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs block changes through the light propagators on several threads, with the same results as processing them all
+ * with one set of propagators.
+ * <p>
+ * The changes are bucketed by chunk, and the interior of each chunk is relit in parallel with the others: the
+ * changes of a chunk are processed by propagators which may only read and write that chunk. Light that stays inside
+ * the chunk is done there. As soon as the propagation of a chunk needs a block outside of it, the writes already made
+ * to the chunk are undone and its changes are left for the boundary pass. As no chunk is touched by more than one of
+ * these tasks, their outcome does not depend on the order they run in.
+ * <p>
+ * The boundary pass then processes the changes of all chunks whose light crosses their borders with propagators on the
+ * whole world, on the calling thread and in the original order of the changes.
+ * <p>
+ * The chunks are taken from a shared queue by the calling thread and by helpers run on the executor. The calling thread
+ * only waits for chunks a helper has already started, so it never waits for the executor to get around to a helper.
+ */
+public class ParallelBatchPropagation {
+
+    private static final int MAX_HELPERS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    private final Function<UnaryOperator<PropagatorWorldView>, List<BatchPropagator>> propagatorFactory;
+    private final Executor executor;
+    private final List<BatchPropagator> boundaryPropagators;
+    private final Queue<InteriorPropagators> idlePropagators = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param propagatorFactory creates a set of propagators, to be run in order, working on the world through the views
+     *         given by wrapping the world views with the operator
+     * @param executor runs the helpers processing chunks next to the calling thread
+     */
+    public ParallelBatchPropagation(
+            Function<UnaryOperator<PropagatorWorldView>, List<BatchPropagator>> propagatorFactory, Executor executor) {
+        this.propagatorFactory = propagatorFactory;
+        this.executor = executor;
+        this.boundaryPropagators = propagatorFactory.apply(UnaryOperator.identity());
+    }
+
+    /**
+     * Processes the changes, and returns once all their light has been propagated.
+     */
+    public void process(Collection<BlockChange> changes) {
+        Map<Vector3ic, List<BlockChange>> chunks = groupByChunk(changes);
+        if (chunks.isEmpty()) {
+            return;
+        }
+        Batch batch = new Batch(chunks);
+        int helpers = Math.min(chunks.size() - 1, MAX_HELPERS);
+        for (int i = 0; i < helpers; i++) {
+            executor.execute(batch::processChunks);
+        }
+        batch.processChunks();
+        batch.awaitStartedChunks();
+
+        if (!batch.boundaryChunks.isEmpty()) {
+            List<BlockChange> boundaryChanges = Lists.newArrayList();
+            Vector3i chunkPos = new Vector3i();
+            for (BlockChange change : changes) {
+                if (batch.boundaryChunks.contains(Chunks.toChunkPos(change.getPosition(), chunkPos))) {
+                    boundaryChanges.add(change);
+                }
+            }
+            for (BatchPropagator propagator : boundaryPropagators) {
+                propagator.process(boundaryChanges);
+            }
+        }
+    }
+
+    /**
+     * Buckets the changes by the chunk they are in, keeping their order within each chunk.
+     *
+     * @return the changes of each chunk, ordered by their first change
+     */
+    static Map<Vector3ic, List<BlockChange>> groupByChunk(Collection<BlockChange> changes) {
+        Map<Vector3ic, List<BlockChange>> chunks = Maps.newLinkedHashMap();
+        for (BlockChange change : changes) {
+            Vector3i chunkPos = Chunks.toChunkPos(change.getPosition(), new Vector3i());
+            chunks.computeIfAbsent(chunkPos, pos -> Lists.newArrayList()).add(change);
+        }
+        return chunks;
+    }
+
+    /**
+     * Relights the interior of the chunk.
+     *
+     * @return whether the light stayed inside of the chunk, otherwise the chunk has been left as it was
+     */
+    private boolean processInterior(Vector3ic chunkPos, List<BlockChange> changes) {
+        InteriorPropagators interiorPropagators = idlePropagators.poll();
+        if (interiorPropagators == null) {
+            interiorPropagators = new InteriorPropagators();
+        }
+        ChunkInterior interior = interiorPropagators.interior;
+        interior.start(chunkPos);
+        try {
+            for (BatchPropagator propagator : interiorPropagators.propagators) {
+                propagator.process(changes);
+            }
+        } catch (LeftChunkException e) {
+            // the propagators are dropped, as they were stopped in the middle of their work
+            interior.rollback();
+            return false;
+        }
+        idlePropagators.add(interiorPropagators);
+        return true;
+    }
+
+    /**
+     * The chunks of one call to {@link #process}, shared by the calling thread and the helpers.
+     */
+    private final class Batch {
+        private final Queue<Map.Entry<Vector3ic, List<BlockChange>>> pendingChunks;
+        private final CountDownLatch unfinishedChunks;
+        private final Set<Vector3ic> boundaryChunks = ConcurrentHashMap.newKeySet();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        private Batch(Map<Vector3ic, List<BlockChange>> chunks) {
+            pendingChunks = new ConcurrentLinkedQueue<>(chunks.entrySet());
+            unfinishedChunks = new CountDownLatch(chunks.size());
+        }
+
+        private void processChunks() {
+            for (Map.Entry<Vector3ic, List<BlockChange>> chunk = pendingChunks.poll(); chunk != null;
+                 chunk = pendingChunks.poll()) {
+                try {
+                    if (!processInterior(chunk.getKey(), chunk.getValue())) {
+                        boundaryChunks.add(chunk.getKey());
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    unfinishedChunks.countDown();
+                }
+            }
+        }
+
+        /**
+         * Waits for the chunks taken by helpers to be done. Must only be called once the queue has been drained.
+         */
+        private void awaitStartedChunks() {
+            Uninterruptibles.awaitUninterruptibly(unfinishedChunks);
+            RuntimeException e = failure.get();
+            if (e != null) {
+                throw new IllegalStateException("Failed to propagate light", e);
+            }
+        }
+    }
+
+    /**
+     * A set of propagators confined to the interior of one chunk at a time.
+     */
+    private final class InteriorPropagators {
+        private final ChunkInterior interior = new ChunkInterior();
+        private final List<BatchPropagator> propagators = propagatorFactory.apply(interior::wrap);
+    }
+
+    /**
+     * The chunk the interior views are confined to, and the values they overwrote in it.
+     */
+    private static final class ChunkInterior {
+        private final Vector3i chunkPos = new Vector3i();
+        private final List<InteriorView> views = Lists.newArrayList();
+        /**
+         * The overwritten values, each packed with the index of the view and the position relative to the chunk.
+         */
+        private final TIntArrayList undoLog = new TIntArrayList();
+
+        private PropagatorWorldView wrap(PropagatorWorldView view) {
+            InteriorView interiorView = new InteriorView(this, view, views.size());
+            views.add(interiorView);
+            return interiorView;
+        }
+
+        private void start(Vector3ic pos) {
+            chunkPos.set(pos);
+            undoLog.resetQuick();
+        }
+
+        private void checkContains(Vector3ic pos) {
+            if (Chunks.toChunkPosX(pos.x()) != chunkPos.x || Chunks.toChunkPosY(pos.y()) != chunkPos.y
+                    || Chunks.toChunkPosZ(pos.z()) != chunkPos.z) {
+                throw LeftChunkException.INSTANCE;
+            }
+        }
+
+        private void logWrite(int viewIndex, Vector3ic pos, byte previousValue) {
+            int relativePos = (Chunks.toRelativeX(pos.x()) << Chunks.POWER_Y | Chunks.toRelativeY(pos.y()))
+                    << Chunks.POWER_Z | Chunks.toRelativeZ(pos.z());
+            undoLog.add(viewIndex << 24 | relativePos << 8 | previousValue & 0xFF);
+        }
+
+        private void rollback() {
+            Vector3i pos = new Vector3i();
+            for (int i = undoLog.size() - 1; i >= 0; i--) {
+                int entry = undoLog.getQuick(i);
+                int relativePos = entry >>> 8 & 0xFFFF;
+                pos.set(relativePos >> Chunks.POWER_Z >> Chunks.POWER_Y,
+                        relativePos >> Chunks.POWER_Z & Chunks.INNER_CHUNK_POS_FILTER_Y,
+                        relativePos & Chunks.INNER_CHUNK_POS_FILTER_Z);
+                pos.add(chunkPos.x * Chunks.SIZE_X, chunkPos.y * Chunks.SIZE_Y, chunkPos.z * Chunks.SIZE_Z);
+                views.get(entry >>> 24).view.setValueAt(pos, (byte) entry);
+            }
+            undoLog.resetQuick();
+        }
+    }
+
+    /**
+     * A world view failing with a {@link LeftChunkException} on any block outside of the chunk it is confined to.
+     */
+    private static final class InteriorView implements PropagatorWorldView {
+        private final ChunkInterior interior;
+        private final PropagatorWorldView view;
+        private final int index;
+
+        private InteriorView(ChunkInterior interior, PropagatorWorldView view, int index) {
+            this.interior = interior;
+            this.view = view;
+            this.index = index;
+        }
+
+        @Override
+        public byte getValueAt(Vector3ic pos) {
+            interior.checkContains(pos);
+            return view.getValueAt(pos);
+        }
+
+        @Override
+        public void setValueAt(Vector3ic pos, byte value) {
+            interior.checkContains(pos);
+            interior.logWrite(index, pos, view.getValueAt(pos));
+            view.setValueAt(pos, value);
+        }
+
+        @Override
+        public Block getBlockAt(Vector3ic pos) {
+            interior.checkContains(pos);
+            return view.getBlockAt(pos);
+        }
+    }
+
+    /**
+     * Stops the propagation of a chunk interior which reached another chunk.
+     */
+    private static final class LeftChunkException extends RuntimeException {
+        private static final LeftChunkException INSTANCE = new LeftChunkException();
+
+        private LeftChunkException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.world.propagation;
+
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.hash.TLongIntHashMap;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+
+import java.util.Arrays;
+
+/**
+ * An insertion ordered set of block positions, packed into longs so queueing a position allocates nothing.
+ * <p>
+ * Behaves like a {@code LinkedHashSet}: adding a queued position does nothing, and a removed position added again goes
+ * to the back. Positions are appended to a buffer in the order they were added. Removing one only drops it from the
+ * map of queued positions, which also stores the index of its entry in the buffer to tell stale entries apart. The
+ * buffer and map are reused once the queue is drained.
+ * <p>
+ * Positions are limited to 22 bits for x and z and 20 bits for y, about two million blocks away from the origin
+ * horizontally and half a million vertically.
+ */
+final class PositionQueue {
+
+    private static final int XZ_BITS = 22;
+    private static final int Y_BITS = 20;
+    private static final long XZ_MASK = (1L << XZ_BITS) - 1;
+    private static final long Y_MASK = (1L << Y_BITS) - 1;
+
+    private static final int NO_ENTRY = -1;
+
+    private final TLongIntHashMap queued = new TLongIntHashMap(16, 0.5f, Long.MIN_VALUE, NO_ENTRY);
+    private long[] positions = new long[64];
+    private int size;
+
+    static long pack(int x, int y, int z) {
+        return (x & XZ_MASK) << (XZ_BITS + Y_BITS) | (y & Y_MASK) << XZ_BITS | (z & XZ_MASK);
+    }
+
+    static long pack(Vector3ic pos) {
+        return pack(pos.x(), pos.y(), pos.z());
+    }
+
+    static Vector3i unpack(long packed, Vector3i dest) {
+        int x = (int) (packed >> (XZ_BITS + Y_BITS));
+        int y = (int) (packed << (64 - XZ_BITS - Y_BITS) >> (64 - Y_BITS));
+        int z = (int) (packed << (64 - XZ_BITS) >> (64 - XZ_BITS));
+        return dest.set(x, y, z);
+    }
+
+    /**
+     * @return whether the position was not queued yet
+     */
+    boolean add(Vector3ic pos) {
+        return add(pack(pos));
+    }
+
+    boolean add(long pos) {
+        if (queued.get(pos) != NO_ENTRY) {
+            return false;
+        }
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+        }
+        queued.put(pos, size);
+        positions[size++] = pos;
+        return true;
+    }
+
+    /**
+     * @return whether the position was queued
+     */
+    boolean remove(Vector3ic pos) {
+        return queued.remove(pack(pos)) != NO_ENTRY;
+    }
+
+    boolean isEmpty() {
+        return queued.isEmpty();
+    }
+
+    /**
+     * Moves all queued positions to the end of a list, in the order they were added, leaving the queue empty.
+     */
+    void drainTo(TLongArrayList target) {
+        for (int i = 0; i < size; i++) {
+            if (queued.get(positions[i]) == i) {
+                target.add(positions[i]);
+            }
+        }
+        clear();
+    }
+
+    void clear() {
+        if (size == 0) {
+            return;
+        }
+        // Clearing takes as long as the map is large, so shrink it again after a large batch
+        boolean shrink = queued.capacity() > 8 * size + 64;
+        queued.clear();
+        if (shrink) {
+            queued.compact();
+        }
+        size = 0;
+    }
+}
@@ -3,7 +3,7 @@
 package org.terasology.engine.world.propagation;
 
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
+import gnu.trove.list.array.TLongArrayList;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.engine.math.Side;
@@ -15,7 +15,6 @@
 
 import java.util.Arrays;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Function;
 
 /**
@@ -30,8 +29,11 @@ public class StandardBatchPropagator implements BatchPropagator {
     private int scale;
 
     /* Queues are stored in reverse order. Ie, strongest light is 0. */
-    private Set<Vector3ic>[] reduceQueues;
-    private Set<Vector3ic>[] increaseQueues;
+    private PositionQueue[] reduceQueues;
+    private PositionQueue[] increaseQueues;
+    private final TLongArrayList toProcess = new TLongArrayList();
+    private final Vector3i processPos = new Vector3i();
+    private final Vector3i adjacentPos = new Vector3i();
 
     private Map<Side, Vector3ic> chunkEdgeDeltas = Maps.newEnumMap(Side.class);
 
@@ -64,11 +66,11 @@ public StandardBatchPropagator(PropagationRules rules, PropagatorWorldView world
             chunkEdgeDeltas.put(side, delta);
         }
 
-        increaseQueues = new Set[rules.getMaxValue()];
-        reduceQueues = new Set[rules.getMaxValue()];
+        increaseQueues = new PositionQueue[rules.getMaxValue()];
+        reduceQueues = new PositionQueue[rules.getMaxValue()];
         for (int i = 0; i < rules.getMaxValue(); ++i) {
-            increaseQueues[i] = Sets.newLinkedHashSet();
-            reduceQueues[i] = Sets.newLinkedHashSet();
+            increaseQueues[i] = new PositionQueue();
+            reduceQueues[i] = new PositionQueue();
         }
 
     }
@@ -111,7 +113,6 @@ private void reviewChange(BlockChange blockChange) {
         }
 
         /* Process propagation out to other blocks */
-        Vector3i adjPos = new Vector3i();
         for (Side side : Side.values()) {
             PropagationComparison comparison = rules.comparePropagation(blockChange.getTo(), blockChange.getFrom(),
                     side);
@@ -119,10 +120,10 @@ private void reviewChange(BlockChange blockChange) {
             if (comparison.isRestricting() && existingValue > 0) {
                 /* If the propagation of the new value is going to be lower/reduced */
                 reduce(blockChangePosition, existingValue);
-                side.getAdjacentPos(blockChangePosition, adjPos);
-                byte adjValue = world.getValueAt(adjPos);
+                side.getAdjacentPos(blockChangePosition, adjacentPos);
+                byte adjValue = world.getValueAt(adjacentPos);
                 if (adjValue == rules.propagateValue(existingValue, side, blockChange.getFrom(), scale)) {
-                    reduce(adjPos, adjValue);
+                    reduce(adjacentPos, adjValue);
                 }
 
             } else if (comparison.isPermitting()) {
@@ -132,10 +133,10 @@ private void reviewChange(BlockChange blockChange) {
                     queueSpreadValue(blockChangePosition, existingValue);
                 }
                 /* Spread it out to the block on the side */
-                side.getAdjacentPos(blockChangePosition, adjPos);
-                byte adjValue = world.getValueAt(adjPos);
+                side.getAdjacentPos(blockChangePosition, adjacentPos);
+                byte adjValue = world.getValueAt(adjacentPos);
                 if (adjValue != PropagatorWorldView.UNAVAILABLE) {
-                    queueSpreadValue(adjPos, adjValue);
+                    queueSpreadValue(adjacentPos, adjValue);
                 }
             }
         }
@@ -159,20 +160,19 @@ private void purge(Vector3ic pos, byte oldValue) {
             world.setValueAt(pos, NO_VALUE);
         }
 
-        Vector3i adjPos = new Vector3i();
         for (Side side : Side.values()) {
             /* Handle this value being reset to the default by updating sides as needed */
             byte expectedValue = rules.propagateValue(oldValue, side, block, scale);
             if (rules.canSpreadOutOf(block, side)) {
-                side.getAdjacentPos(pos, adjPos);
-                byte adjValue = world.getValueAt(adjPos);
+                side.getAdjacentPos(pos, adjacentPos);
+                byte adjValue = world.getValueAt(adjacentPos);
                 if (adjValue == expectedValue) {
-                    Block adjBlock = world.getBlockAt(adjPos);
+                    Block adjBlock = world.getBlockAt(adjacentPos);
                     if (rules.canSpreadInto(adjBlock, side.reverse())) {
-                        reduce(adjPos, expectedValue);
+                        reduce(adjacentPos, expectedValue);
                     }
                 } else if (adjValue > 0) {
-                    queueSpreadValue(adjPos, adjValue);
+                    queueSpreadValue(adjacentPos, adjValue);
                 }
             }
         }
@@ -186,12 +186,12 @@ private void processReduction() {
             byte oldValue = (byte) (rules.getMaxValue() - depth);
 
             while (!reduceQueues[depth].isEmpty()) {
-                Set<Vector3ic> toProcess = reduceQueues[depth];
-                reduceQueues[depth] = Sets.newLinkedHashSetWithExpectedSize(toProcess.size());
+                toProcess.resetQuick();
+                reduceQueues[depth].drainTo(toProcess);
 
                 /* This step will add any new reductions to to the `reduceQueues` set */
-                for (Vector3ic pos : toProcess) {
-                    purge(pos, oldValue);
+                for (int i = 0; i < toProcess.size(); i++) {
+                    purge(PositionQueue.unpack(toProcess.getQuick(i), processPos), oldValue);
                 }
             }
         }
@@ -205,12 +205,12 @@ private void processIncrease() {
             byte value = (byte) (rules.getMaxValue() - depth);
 
             while (!increaseQueues[depth].isEmpty()) {
-                Set<Vector3ic> toProcess = increaseQueues[depth];
-                increaseQueues[depth] = Sets.newLinkedHashSetWithExpectedSize(toProcess.size());
+                toProcess.resetQuick();
+                increaseQueues[depth].drainTo(toProcess);
 
                 /* This step will add any new values to `increaseQueues` */
-                for (Vector3ic pos : toProcess) {
-                    push(pos, value);
+                for (int i = 0; i < toProcess.size(); i++) {
+                    push(PositionQueue.unpack(toProcess.getQuick(i), processPos), value);
                 }
             }
         }
@@ -228,19 +228,18 @@ private void processIncrease() {
      */
     private void push(Vector3ic pos, byte value) {
         Block block = world.getBlockAt(pos);
-        Vector3i adjPos = new Vector3i();
         for (Side side : Side.values()) {
             byte propagatedValue = rules.propagateValue(value, side, block, scale);
 
             if (rules.canSpreadOutOf(block, side)) {
-                side.getAdjacentPos(pos, adjPos);
-                byte adjValue = world.getValueAt(adjPos);
+                side.getAdjacentPos(pos, adjacentPos);
+                byte adjValue = world.getValueAt(adjacentPos);
 
                 if (adjValue < propagatedValue && adjValue != PropagatorWorldView.UNAVAILABLE) {
-                    Block adjBlock = world.getBlockAt(adjPos);
+                    Block adjBlock = world.getBlockAt(adjacentPos);
 
                     if (rules.canSpreadInto(adjBlock, side.reverse())) {
-                        increase(adjPos, propagatedValue);
+                        increase(adjacentPos, propagatedValue);
                     }
                 }
             }
@@ -268,7 +267,7 @@ private void increase(Vector3ic position, byte value) {
      */
     private void reduce(Vector3ic position, byte oldValue) {
         if (oldValue > 0) {
-            reduceQueues[rules.getMaxValue() - oldValue].add(new Vector3i(position));
+            reduceQueues[rules.getMaxValue() - oldValue].add(position);
         }
     }
 
@@ -280,7 +279,7 @@ private void reduce(Vector3ic position, byte oldValue) {
      */
     private void queueSpreadValue(Vector3ic position, byte value) {
         if (value > 1) {
-            increaseQueues[rules.getMaxValue() - value].add(new Vector3i(position));
+            increaseQueues[rules.getMaxValue() - value].add(position);
         }
     }
 
@@ -288,7 +287,7 @@ private void queueSpreadValue(Vector3ic position, byte value) {
      * Clears all the queues and cleans up the object
      */
     private void cleanUp() {
-        for (Set<Vector3ic> queue : increaseQueues) {
+        for (PositionQueue queue : increaseQueues) {
             queue.clear();
         }
     }
@@ -311,6 +310,7 @@ private void propagateDepth(Chunk adjChunk, Side side, boolean propagateExternal
                                 Function<Vector3ic, Integer> indexProvider,
                                 BlockRegion edgeRegion, int[] depths) {
         Vector3i adjPos = new Vector3i();
+        Vector3i adjWorldPos = new Vector3i();
 
         int[] adjDepth = new int[depths.length];
         int dimA = (side == Side.LEFT || side == Side.RIGHT) ? Chunks.SIZE_Y : Chunks.SIZE_X;
@@ -338,7 +338,7 @@ private void propagateDepth(Chunk adjChunk, Side side, boolean propagateExternal
                 adjPos.add(chunkEdgeDeltas.get(side));
                 byte value = rules.getValue(adjChunk, adjPos);
                 if (value > 1) {
-                    queueSpreadValue(adjChunk.chunkToWorldPosition(adjPos, new Vector3i()), value);
+                    queueSpreadValue(adjChunk.chunkToWorldPosition(adjPos, adjWorldPos), value);
                 }
             }
         }
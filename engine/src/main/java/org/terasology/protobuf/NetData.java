@@ -6673,6 +6673,26 @@ public interface HandshakeHelloOrBuilder extends
      * <code>optional sint64 timestamp = 3;</code>
      */
     long getTimestamp();
+
+    // repeated string compressionCodec = 4;
+    /**
+     * <code>repeated string compressionCodec = 4;</code>
+     */
+    java.util.List<java.lang.String>
+    getCompressionCodecList();
+    /**
+     * <code>repeated string compressionCodec = 4;</code>
+     */
+    int getCompressionCodecCount();
+    /**
+     * <code>repeated string compressionCodec = 4;</code>
+     */
+    java.lang.String getCompressionCodec(int index);
+    /**
+     * <code>repeated string compressionCodec = 4;</code>
+     */
+    com.google.protobuf.ByteString
+        getCompressionCodecBytes(int index);
   }
   /**
    * Protobuf type {@code HandshakeHello}
@@ -6748,6 +6768,14 @@ private HandshakeHello(
               timestamp_ = input.readSInt64();
               break;
             }
+            case 34: {
+              if (!((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+                compressionCodec_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00000008;
+              }
+              compressionCodec_.add(input.readBytes());
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -6756,6 +6784,9 @@ private HandshakeHello(
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e.getMessage()).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+          compressionCodec_ = new com.google.protobuf.UnmodifiableLazyStringList(compressionCodec_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -6842,10 +6873,41 @@ public long getTimestamp() {
       return timestamp_;
     }
 
+    // repeated string compressionCodec = 4;
+    public static final int COMPRESSIONCODEC_FIELD_NUMBER = 4;
+    private com.google.protobuf.LazyStringList compressionCodec_;
+    /**
+     * <code>repeated string compressionCodec = 4;</code>
+     */
+    public java.util.List<java.lang.String>
+        getCompressionCodecList() {
+      return compressionCodec_;
+    }
+    /**
+     * <code>repeated string compressionCodec = 4;</code>
+     */
+    public int getCompressionCodecCount() {
+      return compressionCodec_.size();
+    }
+    /**
+     * <code>repeated string compressionCodec = 4;</code>
+     */
+    public java.lang.String getCompressionCodec(int index) {
+      return compressionCodec_.get(index);
+    }
+    /**
+     * <code>repeated string compressionCodec = 4;</code>
+     */
+    public com.google.protobuf.ByteString
+        getCompressionCodecBytes(int index) {
+      return compressionCodec_.getByteString(index);
+    }
+
     private void initFields() {
       random_ = com.google.protobuf.ByteString.EMPTY;
       certificate_ = org.terasology.protobuf.NetData.Certificate.getDefaultInstance();
       timestamp_ = 0L;
+      compressionCodec_ = com.google.protobuf.LazyStringArrayList.EMPTY;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -6881,6 +6943,9 @@ public void writeTo(com.google.protobuf.CodedOutputStream output)
       if (((bitField0_ & 0x00000004) == 0x00000004)) {
         output.writeSInt64(3, timestamp_);
       }
+      for (int i = 0; i < compressionCodec_.size(); i++) {
+        output.writeBytes(4, compressionCodec_.getByteString(i));
+      }
       extensionWriter.writeUntil(536870912, output);
       getUnknownFields().writeTo(output);
     }
@@ -6903,6 +6968,15 @@ public int getSerializedSize() {
         size += com.google.protobuf.CodedOutputStream
           .computeSInt64Size(3, timestamp_);
       }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < compressionCodec_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(compressionCodec_.getByteString(i));
+        }
+        size += dataSize;
+        size += 1 * getCompressionCodecList().size();
+      }
       size += extensionsSerializedSize();
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -7031,6 +7105,8 @@ public Builder clear() {
         bitField0_ = (bitField0_ & ~0x00000002);
         timestamp_ = 0L;
         bitField0_ = (bitField0_ & ~0x00000004);
+        compressionCodec_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000008);
         return this;
       }
 
@@ -7075,6 +7151,12 @@ public org.terasology.protobuf.NetData.HandshakeHello buildPartial() {
           to_bitField0_ |= 0x00000004;
         }
         result.timestamp_ = timestamp_;
+        if (((bitField0_ & 0x00000008) == 0x00000008)) {
+          compressionCodec_ = new com.google.protobuf.UnmodifiableLazyStringList(
+              compressionCodec_);
+          bitField0_ = (bitField0_ & ~0x00000008);
+        }
+        result.compressionCodec_ = compressionCodec_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -7100,6 +7182,16 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.HandshakeHello other) {
         if (other.hasTimestamp()) {
           setTimestamp(other.getTimestamp());
         }
+        if (!other.compressionCodec_.isEmpty()) {
+          if (compressionCodec_.isEmpty()) {
+            compressionCodec_ = other.compressionCodec_;
+            bitField0_ = (bitField0_ & ~0x00000008);
+          } else {
+            ensureCompressionCodecIsMutable();
+            compressionCodec_.addAll(other.compressionCodec_);
+          }
+          onChanged();
+        }
         this.mergeExtensionFields(other);
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -7324,6 +7416,99 @@ public Builder clearTimestamp() {
         return this;
       }
 
+      // repeated string compressionCodec = 4;
+      private com.google.protobuf.LazyStringList compressionCodec_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureCompressionCodecIsMutable() {
+        if (!((bitField0_ & 0x00000008) == 0x00000008)) {
+          compressionCodec_ = new com.google.protobuf.LazyStringArrayList(compressionCodec_);
+          bitField0_ |= 0x00000008;
+         }
+      }
+      /**
+       * <code>repeated string compressionCodec = 4;</code>
+       */
+      public java.util.List<java.lang.String>
+          getCompressionCodecList() {
+        return java.util.Collections.unmodifiableList(compressionCodec_);
+      }
+      /**
+       * <code>repeated string compressionCodec = 4;</code>
+       */
+      public int getCompressionCodecCount() {
+        return compressionCodec_.size();
+      }
+      /**
+       * <code>repeated string compressionCodec = 4;</code>
+       */
+      public java.lang.String getCompressionCodec(int index) {
+        return compressionCodec_.get(index);
+      }
+      /**
+       * <code>repeated string compressionCodec = 4;</code>
+       */
+      public com.google.protobuf.ByteString
+          getCompressionCodecBytes(int index) {
+        return compressionCodec_.getByteString(index);
+      }
+      /**
+       * <code>repeated string compressionCodec = 4;</code>
+       */
+      public Builder setCompressionCodec(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureCompressionCodecIsMutable();
+        compressionCodec_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string compressionCodec = 4;</code>
+       */
+      public Builder addCompressionCodec(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureCompressionCodecIsMutable();
+        compressionCodec_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string compressionCodec = 4;</code>
+       */
+      public Builder addAllCompressionCodec(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureCompressionCodecIsMutable();
+        super.addAll(values, compressionCodec_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string compressionCodec = 4;</code>
+       */
+      public Builder clearCompressionCodec() {
+        compressionCodec_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string compressionCodec = 4;</code>
+       */
+      public Builder addCompressionCodecBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureCompressionCodecIsMutable();
+        compressionCodec_.add(value);
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:HandshakeHello)
     }
 
@@ -26683,9 +26868,10 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
       "uest\030e \001(\0132\023.NewIdentityRequest\022-\n\021provi" +
       "sionIdentity\030f \001(\0132\022.ProvisionIdentity\0225" +
       "\n\025handshakeVerification\030g \001(\0132\026.Handshak" +
-      "eVerification*\t\010\210\'\020\200\200\200\200\002\"a\n\016HandshakeHel" +
+      "eVerification*\t\010\210\'\020\200\200\200\200\002\"{\n\016HandshakeHel" +
       "lo\022\016\n\006random\030\001 \001(\014\022!\n\013certificate\030\002 \001(\0132" +
-      "\014.Certificate\022\021\n\ttimestamp\030\003 \001(\022*\t\010\210\'\020\200\200" +
+      "\014.Certificate\022\021\n\ttimestamp\030\003 \001(\022\022\030\n\020compres" +
+      "sionCodec\030\004 \003(\t*\t\010\210\'\020\200\200" +
       "\200\200\002\"H\n\022NewIdentityRequest\022\027\n\017preMasterSe" +
       "cret\030\001 \001(\014\022\016\n\006random\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"=\n" +
       "\021ProvisionIdentity\022\035\n\025encryptedCertifica",
@@ -26761,7 +26947,7 @@ public com.google.protobuf.ExtensionRegistry assignDescriptors(
           internal_static_HandshakeHello_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_HandshakeHello_descriptor,
-              new java.lang.String[] { "Random", "Certificate", "Timestamp", });
+              new java.lang.String[] { "Random", "Certificate", "Timestamp", "CompressionCodec", });
           internal_static_NewIdentityRequest_descriptor =
             getDescriptor().getMessageTypes().get(2);
           internal_static_NewIdentityRequest_fieldAccessorTable = new